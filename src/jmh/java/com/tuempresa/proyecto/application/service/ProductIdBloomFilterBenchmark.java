@@ -0,0 +1,62 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * Mide la memoria por millón de ids y la tasa real de falsos positivos de
+ * ProductIdBloomFilter: añade n UUIDv7 y consulta otros tantos que no están.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec \
+ *     -Djmh.main=com.tuempresa.proyecto.application.service.ProductIdBloomFilterBenchmark \
+ *     -Djmh.args="[ids]"
+ * </pre>
+ * Se repite llenando el filtro al 100% y al 200% de los ids previstos, para
+ * ver cómo se degrada si el catálogo crece entre reconstrucciones.
+ */
+public final class ProductIdBloomFilterBenchmark {
+
+    private static final double[] RATES = {0.05, 0.01, 0.001};
+
+    private ProductIdBloomFilterBenchmark() {}
+
+    public static void main(String[] args) {
+        int ids = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%d expected ids%n", ids);
+        System.out.printf("%-8s %-6s %12s %10s %8s %12s %12s %12s %12s%n",
+            "target", "fill", "MB/M ids", "bits/id", "hashes", "estimated", "measured", "add ns", "probe ns");
+        for (double rate : RATES) {
+            for (int fill : new int[] {1, 2}) {
+                run(ids, rate, fill);
+            }
+        }
+    }
+
+    private static void run(int expected, double rate, int fill) {
+        ProductIdBloomFilter filter = ProductIdBloomFilter.create(expected, rate);
+        int added = expected * fill;
+        long start = System.nanoTime();
+        for (int i = 0; i < added; i++) {
+            filter.add(UuidGenerator.generate());
+        }
+        long addNanos = (System.nanoTime() - start) / added;
+
+        int probes = 1_000_000;
+        int falsePositives = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < probes; i++) {
+            UUID absent = UuidGenerator.generate();
+            if (filter.mightContain(absent)) {
+                falsePositives++;
+            }
+        }
+        long probeNanos = (System.nanoTime() - start) / probes;
+
+        System.out.printf("%-8s %-6s %12.2f %10.1f %8d %12.4f %12.4f %12d %12d%n",
+            rate, fill * 100 + "%", filter.getBytes() / 1_048_576.0 * 1_000_000 / expected,
+            (double) filter.getBits() / expected, filter.getHashes(), filter.estimatedFalsePositiveRate(),
+            (double) falsePositives / probes, addNanos, probeNanos);
+    }
+}
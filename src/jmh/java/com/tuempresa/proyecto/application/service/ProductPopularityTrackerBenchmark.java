@@ -0,0 +1,142 @@
+package com.tuempresa.proyecto.application.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de ProductPopularityTracker.record con lecturas uniformes y con una
+ * distribución Zipf (s = 1) como la de un catálogo real, todos los hilos
+ * sobre el mismo tracker.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ProductPopularityTrackerBenchmark -t 4"
+ * </pre>
+ * Con main propio recorre 1, 2, 4 y 8 hilos:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec \
+ *     -Djmh.main=com.tuempresa.proyecto.application.service.ProductPopularityTrackerBenchmark
+ * </pre>
+ * loop lee el id del mismo array sin llamar a record, como referencia. La
+ * calidad del top-K frente al recuento exacto se comprueba en
+ * ProductPopularityTrackerTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductPopularityTrackerBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int SAMPLES = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class Workload {
+
+        @Param({"uniform", "zipf"})
+        private String distribution;
+
+        @Param({"1000000"})
+        private int products;
+
+        private ProductPopularityTracker tracker;
+        private UUID[] samples;
+
+        @Setup
+        public void setUp() {
+            tracker = new ProductPopularityTracker(true, 100, 16384, Duration.ofMinutes(1));
+            samples = sample(products, distribution.equals("zipf"), SAMPLES);
+        }
+    }
+
+    // Cada hilo recorre la secuencia desde un punto distinto
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        @Setup
+        public void setUp(ThreadParams threads) {
+            next = threads.getThreadIndex() * (SAMPLES / threads.getThreadCount());
+        }
+
+        UUID next(UUID[] samples) {
+            UUID id = samples[next];
+            next = (next + 1) & (SAMPLES - 1);
+            return id;
+        }
+    }
+
+    @Benchmark
+    public void record(Workload workload, Cursor cursor) {
+        workload.tracker.record(cursor.next(workload.samples));
+    }
+
+    @Benchmark
+    public long loop(Workload workload, Cursor cursor) {
+        return cursor.next(workload.samples).getLeastSignificantBits();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(ProductPopularityTrackerBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+
+    private static UUID[] sample(int products, boolean zipf, int size) {
+        SplittableRandom random = new SplittableRandom(1);
+        UUID[] ids = new UUID[products];
+        for (int i = 0; i < products; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        double[] cumulative = zipf ? zipfCumulative(products) : null;
+        UUID[] samples = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            int index;
+            if (zipf) {
+                int position = Arrays.binarySearch(cumulative, random.nextDouble());
+                index = Math.min(products - 1, position >= 0 ? position : -position - 1);
+            } else {
+                index = random.nextInt(products);
+            }
+            // Copia contigua, como el id recién leído de una petición, para no medir fallos de caché del array
+            samples[i] = new UUID(ids[index].getMostSignificantBits(), ids[index].getLeastSignificantBits());
+        }
+        return samples;
+    }
+
+    private static double[] zipfCumulative(int n) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
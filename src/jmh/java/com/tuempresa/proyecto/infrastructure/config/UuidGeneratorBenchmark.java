@@ -0,0 +1,71 @@
+package com.tuempresa.proyecto.infrastructure.config;
+
+import com.tuempresa.proyecto.domain.util.IdGenerationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento de las estrategias de catalog.ids.strategy con varios hilos
+ * generando a la vez sobre la misma instancia, como en la aplicación.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="UuidGeneratorBenchmark -t 8"
+ * </pre>
+ * Con main propio recorre 1, 2, 4, ..., 64 hilos:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec \
+ *     -Djmh.main=com.tuempresa.proyecto.infrastructure.config.UuidGeneratorBenchmark
+ * </pre>
+ * Con menos CPUs que hilos se mide sobre todo el coste de la contención
+ * (bloqueos y cambios de contexto), no el paralelismo. La unicidad y el orden
+ * de los ids se comprueban en IdGenerationStrategyTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidGeneratorBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    @Param({"thread-local", "shared"})
+    private String strategy;
+
+    private IdGenerationStrategy generator;
+
+    @Setup
+    public void setUp() {
+        generator = IdGenerationConfig.create(strategy);
+    }
+
+    @Benchmark
+    public UUID generate() {
+        return generator.generate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(UuidGeneratorBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.tuempresa.proyecto.infrastructure.persistence.cache;
+
+import com.tuempresa.proyecto.ProyectoApplication;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import com.tuempresa.proyecto.infrastructure.diagnostics.SqlStatementStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Compara la carga de lectura sobre la base de datos con y sin la caché de
+ * segundo nivel: arranca la aplicación sin servidor web dos veces, carga un
+ * catálogo y ejecuta la misma mezcla de operaciones contra ProductRepository.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec \
+ *     -Djmh.main=com.tuempresa.proyecto.infrastructure.persistence.cache.SecondLevelCacheBenchmark \
+ *     -Djmh.args="[productos] [operaciones]"
+ * </pre>
+ * La mezcla es 80% findById, 15% findByCategory, 0,2% findActiveProducts y
+ * el resto escrituras (save por JPA y ajustes de stock por JDBC, que
+ * invalidan). Las lecturas se concentran en el 20% de los productos y de las
+ * categorías, como en el tráfico real. Se desactiva el modelo de lectura en
+ * memoria para que todas las lecturas lleguen al repositorio.
+ */
+public final class SecondLevelCacheBenchmark {
+
+    private static final int CATEGORIES = 50;
+    private static final long SEED = 42;
+
+    private SecondLevelCacheBenchmark() {}
+
+    public static void main(String[] args) {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        // Con el classpath de pruebas está devtools, que relanzaría este main con los argumentos de Spring
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.out.printf("%d products, %d categories, %d operations%n", products, CATEGORIES, operations);
+        System.out.printf("%-8s %10s %10s %10s %10s %12s %12s%n",
+            "cache", "ms", "ops/s", "sql/op", "p99 sql", "entity hit%", "query hit%");
+        for (boolean cached : new boolean[] {false, true}) {
+            run(cached, products, operations);
+        }
+    }
+
+    private static void run(boolean cached, int products, int operations) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProyectoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:l2bench" + cached,
+                    "--catalog.cache.second-level.enabled=" + cached,
+                    "--catalog.cache.query.enabled=" + cached,
+                    "--catalog.diagnostics.sql.enabled=true",
+                    "--catalog.cache.statistics.enabled=true",
+                    "--catalog.diagnostics.jfr.enabled=false",
+                    "--catalog.read-model.enabled=false",
+                    "--catalog.price-history.enabled=false",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.tuempresa.proyecto=WARN")) {
+            ProductRepository repository = context.getBean(ProductRepository.class);
+            List<UUID> ids = seed(repository, products);
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+
+            // Calentamiento con la misma mezcla; después se miden las operaciones
+            execute(repository, ids, operations / 10, new Random(SEED + 1), new int[operations / 10]);
+            statistics.clear();
+            int[] statements = new int[operations];
+            long start = System.nanoTime();
+            execute(repository, ids, operations, new Random(SEED), statements);
+            long elapsed = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+            Arrays.sort(statements);
+            System.out.printf("%-8s %10d %10.0f %10.2f %10d %12.1f %12.1f%n",
+                cached ? "on" : "off", elapsed, operations * 1000.0 / elapsed,
+                Arrays.stream(statements).average().orElse(0), statements[(int) (operations * 0.99)],
+                ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        }
+    }
+
+    private static void execute(ProductRepository repository, List<UUID> ids, int operations,
+                                Random random, int[] statements) {
+        for (int i = 0; i < operations; i++) {
+            SqlStatementStats.reset();
+            int dice = random.nextInt(1000);
+            if (dice < 800) {
+                repository.findById(ids.get(skewed(random, ids.size())));
+            } else if (dice < 950) {
+                repository.findByCategory("Cat" + skewed(random, CATEGORIES));
+            } else if (dice < 952) {
+                repository.findActiveProducts();
+            } else if (dice < 976) {
+                repository.findById(ids.get(skewed(random, ids.size()))).ifPresent(product -> {
+                    product.addStock(1);
+                    repository.save(product);
+                });
+            } else {
+                repository.applyStockDeltas(Map.of(ids.get(skewed(random, ids.size())), -1));
+            }
+            statements[i] = SqlStatementStats.current().getStatements();
+        }
+    }
+
+    // El 80% de las veces uno del primer 20%
+    private static int skewed(Random random, int size) {
+        int hot = Math.max(1, size / 5);
+        return random.nextInt(10) < 8 ? random.nextInt(hot) : hot + random.nextInt(Math.max(1, size - hot));
+    }
+
+    private static List<UUID> seed(ProductRepository repository, int total) {
+        List<UUID> ids = new ArrayList<>(total);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            Product product = Product.create("Product " + i, "Benchmark product " + i,
+                Money.of(1 + (i % 1000) / 10.0, "EUR"), 1_000_000, "Cat" + (i % CATEGORIES));
+            ids.add(product.getId());
+            batch.add(product);
+            if (batch.size() == 1000 || i == total - 1) {
+                repository.upsertAll(batch);
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : 100.0 * hits / total;
+    }
+}
@@ -0,0 +1,92 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Mide el rendimiento de escritura (upsert por lotes) con 1, 2, 4 y 8 shards
+ * H2 en memoria, para ver cómo escala la escritura al repartir el catálogo.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec \
+ *     -Djmh.main=com.tuempresa.proyecto.infrastructure.persistence.sharding.ShardingWriteBenchmark \
+ *     -Djmh.args="[productos] [hilos]"
+ * </pre>
+ * Con H2 en memoria todos los shards comparten CPU con el benchmark, así que
+ * el resultado indica el coste del enrutado y del reparto en paralelo; la
+ * escalabilidad real se mide con bases de datos en máquinas separadas.
+ */
+public final class ShardingWriteBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8};
+
+    private ShardingWriteBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        List<List<Product>> batches = generate(total);
+        System.out.printf("%d products, %d writers, batches of %d, %d CPUs%n",
+            total, writers, BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %10s %12s%n", "shards", "ms", "rows/s");
+        for (int shardCount : SHARD_COUNTS) {
+            long elapsed = run(shardCount, writers, batches);
+            System.out.printf("%-8d %10d %12.0f%n", shardCount, elapsed, total * 1000.0 / Math.max(1, elapsed));
+        }
+    }
+
+    private static long run(int shardCount, int writers, List<List<Product>> batches) throws Exception {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            urls.add("jdbc:h2:mem:bench" + shardCount + "_" + i + ";DB_CLOSE_DELAY=-1");
+        }
+        try (ShardCluster cluster = ShardCluster.open(urls, "sa", "", writers, 1024, writers * shardCount)) {
+            ShardedProductRepository repository =
+                new ShardedProductRepository(cluster.getShards(), cluster.getShardMap(), cluster.getExecutor());
+            // Calentamiento con un lote para que el JIT y los pools estén listos
+            repository.upsertAll(batches.get(0));
+            ExecutorService pool = Executors.newFixedThreadPool(writers);
+            try {
+                long start = System.nanoTime();
+                List<Future<?>> pending = new ArrayList<>(batches.size());
+                for (List<Product> batch : batches) {
+                    pending.add(pool.submit(() -> repository.upsertAll(batch)));
+                }
+                for (Future<?> future : pending) {
+                    future.get();
+                }
+                long elapsed = (System.nanoTime() - start) / 1_000_000;
+                if (repository.count() != batches.stream().mapToLong(List::size).sum()) {
+                    throw new IllegalStateException("Row count mismatch after writing to " + shardCount + " shards");
+                }
+                return elapsed;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private static List<List<Product>> generate(int total) {
+        List<List<Product>> batches = new ArrayList<>();
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < total; i++) {
+            batch.add(Product.create("Product " + i, "Benchmark product " + i,
+                Money.of(1 + (i % 1000) / 10.0, "EUR"), i % 100, "Cat" + (i % 50)));
+            if (batch.size() == BATCH_SIZE) {
+                batches.add(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
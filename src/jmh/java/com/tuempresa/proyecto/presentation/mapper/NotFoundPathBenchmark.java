@@ -0,0 +1,83 @@
+package com.tuempresa.proyecto.presentation.mapper;
+
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.presentation.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de responder a un id inexistente antes y después de UseCaseResult.
+ *
+ * <ul>
+ *   <li>exception: el caso de uso lanza IllegalArgumentException, que sube
+ *   por depth marcos (la pila de Spring MVC entre el controlador y el
+ *   servlet tiene del orden de 100) hasta GlobalExceptionHandler.</li>
+ *   <li>result: el caso de uso devuelve UseCaseResult.notFound y el
+ *   controlador lo traduce con UseCaseResultMapper.</li>
+ * </ul>
+ * No incluye el resto del despacho HTTP, que es igual en ambos caminos.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="NotFoundPathBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    @Param({"20", "100"})
+    private int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private UUID id;
+
+    @Setup
+    public void setUp() {
+        id = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> exception() {
+        try {
+            return throwAt(depth);
+        } catch (IllegalArgumentException ex) {
+            return handler.handleIllegalArgumentException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> result() {
+        return UseCaseResultMapper.toResponse(returnAt(depth), ResponseEntity::ok);
+    }
+
+    private ResponseEntity<?> throwAt(int remaining) {
+        if (remaining == 0) {
+            throw new IllegalArgumentException("Product not found with id: " + id);
+        }
+        return throwAt(remaining - 1);
+    }
+
+    private UseCaseResult<Object> returnAt(int remaining) {
+        if (remaining == 0) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+        return returnAt(remaining - 1);
+    }
+}
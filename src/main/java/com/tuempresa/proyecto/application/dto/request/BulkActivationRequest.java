@@ -0,0 +1,32 @@
+package com.tuempresa.proyecto.application.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Activación o desactivación masiva de productos, por lista de ids o por categoría")
+public class BulkActivationRequest {
+
+    @Schema(description = "Estado a aplicar: true activa, false desactiva", example = "false", required = true)
+    @NotNull(message = "Active is required")
+    private Boolean active;
+
+    @Schema(description = "Ids de los productos (excluyente con category)")
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private List<@NotNull(message = "Ids must not be null") UUID> ids;
+
+    @Schema(description = "Categoría completa (excluyente con ids)", example = "Electronics", minLength = 2, maxLength = 50)
+    @Size(min = 2, max = 50, message = "Category must be between 2 and 50 characters")
+    private String category;
+
+    // Getters y Setters
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+
+    public List<UUID> getIds() { return ids; }
+    public void setIds(List<UUID> ids) { this.ids = ids; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+}
@@ -0,0 +1,39 @@
+package com.tuempresa.proyecto.application.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+@Schema(description = "Ajuste masivo de precios de los productos activos de una categoría")
+public class BulkPriceAdjustmentRequest {
+
+    @Schema(description = "Categoría a la que se aplica el ajuste", example = "Electronics", required = true, minLength = 2, maxLength = 50)
+    @NotBlank(message = "Category is required")
+    @Size(min = 2, max = 50, message = "Category must be between 2 and 50 characters")
+    private String category;
+
+    @Schema(description = "Porcentaje de ajuste (positivo sube, negativo baja)", example = "-10.5")
+    @DecimalMin(value = "-100", inclusive = false, message = "Percentage must be greater than -100")
+    @Digits(integer = 6, fraction = 4, message = "Percentage format is invalid")
+    private BigDecimal percentage;
+
+    @Schema(description = "Nueva moneda (ISO 4217) a asignar", example = "EUR", minLength = 3, maxLength = 3)
+    @Size(min = 3, max = 3, message = "Currency must be a 3-letter code")
+    private String currency;
+
+    @Schema(description = "Si es true solo se calcula cuántos productos se verían afectados", example = "false")
+    private boolean dryRun;
+
+    // Getters y Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public BigDecimal getPercentage() { return percentage; }
+    public void setPercentage(BigDecimal percentage) { this.percentage = percentage; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public boolean isDryRun() { return dryRun; }
+    public void setDryRun(boolean dryRun) { this.dryRun = dryRun; }
+}
@@ -0,0 +1,16 @@
+package com.tuempresa.proyecto.application.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Ajuste relativo del stock de un producto")
+public class StockAdjustmentRequest {
+
+    @Schema(description = "Unidades a sumar (positivo) o restar (negativo)", example = "-1", required = true)
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+
+    // Getters y Setters
+    public Integer getDelta() { return delta; }
+    public void setDelta(Integer delta) { this.delta = delta; }
+}
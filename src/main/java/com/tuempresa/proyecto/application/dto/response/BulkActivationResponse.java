@@ -0,0 +1,46 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Resultado de una activación o desactivación masiva")
+public class BulkActivationResponse {
+
+    @Schema(description = "Estado aplicado", example = "false")
+    private boolean active;
+
+    @Schema(description = "Categoría afectada (null si se indicaron ids)", example = "Electronics")
+    private String category;
+
+    @Schema(description = "Productos que cambiaron de estado", example = "98211")
+    private long affected;
+
+    @Schema(description = "Número de tramos ejecutados", example = "99")
+    private int chunks;
+
+    @Schema(description = "Ids que ya estaban en el estado pedido (solo por lista de ids)")
+    private List<UUID> unchanged;
+
+    @Schema(description = "Ids que no existen (solo por lista de ids)")
+    private List<UUID> notFound;
+
+    // Getters y Setters
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getAffected() { return affected; }
+    public void setAffected(long affected) { this.affected = affected; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public List<UUID> getUnchanged() { return unchanged; }
+    public void setUnchanged(List<UUID> unchanged) { this.unchanged = unchanged; }
+
+    public List<UUID> getNotFound() { return notFound; }
+    public void setNotFound(List<UUID> notFound) { this.notFound = notFound; }
+}
@@ -0,0 +1,45 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+
+@Schema(description = "Resultado de un ajuste masivo de precios")
+public class BulkPriceAdjustmentResponse {
+
+    @Schema(description = "Categoría ajustada", example = "Electronics")
+    private String category;
+
+    @Schema(description = "Porcentaje aplicado", example = "-10.5")
+    private BigDecimal percentage;
+
+    @Schema(description = "Moneda asignada (null si no cambia)", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Indica si fue una simulación", example = "false")
+    private boolean dryRun;
+
+    @Schema(description = "Productos actualizados (o que se actualizarían en una simulación)", example = "15230")
+    private long affected;
+
+    @Schema(description = "Número de tramos de clave ejecutados", example = "16")
+    private int chunks;
+
+    // Getters y Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public BigDecimal getPercentage() { return percentage; }
+    public void setPercentage(BigDecimal percentage) { this.percentage = percentage; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public boolean isDryRun() { return dryRun; }
+    public void setDryRun(boolean dryRun) { this.dryRun = dryRun; }
+
+    public long getAffected() { return affected; }
+    public void setAffected(long affected) { this.affected = affected; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+}
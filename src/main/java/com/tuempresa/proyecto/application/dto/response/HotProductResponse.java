@@ -0,0 +1,27 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Producto caliente y su puntuación")
+public class HotProductResponse {
+
+    @Schema(description = "Producto")
+    private ProductResponse product;
+
+    @Schema(description = "Lecturas recientes estimadas, con decaimiento exponencial", example = "1250")
+    private int score;
+
+    public HotProductResponse() {}
+
+    public HotProductResponse(ProductResponse product, int score) {
+        this.product = product;
+        this.score = score;
+    }
+
+    // Getters y Setters
+    public ProductResponse getProduct() { return product; }
+    public void setProduct(ProductResponse product) { this.product = product; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+}
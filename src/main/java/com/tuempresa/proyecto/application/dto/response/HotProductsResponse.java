@@ -0,0 +1,35 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Productos más consultados recientemente")
+public class HotProductsResponse {
+
+    @Schema(description = "Productos ordenados por puntuación descendente")
+    private List<HotProductResponse> items;
+
+    @Schema(description = "Semivida de la puntuación (ISO-8601): una lectura vale la mitad pasado este tiempo", example = "PT1M")
+    private String halfLife;
+
+    @Schema(description = "Lecturas registradas desde el arranque (estimación por muestreo)", example = "1500000")
+    private long recorded;
+
+    public HotProductsResponse() {}
+
+    public HotProductsResponse(List<HotProductResponse> items, String halfLife, long recorded) {
+        this.items = items;
+        this.halfLife = halfLife;
+        this.recorded = recorded;
+    }
+
+    // Getters y Setters
+    public List<HotProductResponse> getItems() { return items; }
+    public void setItems(List<HotProductResponse> items) { this.items = items; }
+
+    public String getHalfLife() { return halfLife; }
+    public void setHalfLife(String halfLife) { this.halfLife = halfLife; }
+
+    public long getRecorded() { return recorded; }
+    public void setRecorded(long recorded) { this.recorded = recorded; }
+}
@@ -0,0 +1,39 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+
+@Schema(description = "Valor del inventario de una categoría en una moneda")
+public class InventoryValuationResponse {
+
+    @Schema(description = "Categoría", example = "Electronics")
+    private String category;
+
+    @Schema(description = "Código de moneda", example = "USD")
+    private String currency;
+
+    @Schema(description = "Suma de precio × stock", example = "125430.50")
+    private BigDecimal totalValue;
+
+    @Schema(description = "Unidades en stock", example = "842")
+    private long units;
+
+    @Schema(description = "Número de productos", example = "57")
+    private long products;
+
+    // Getters y Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public BigDecimal getTotalValue() { return totalValue; }
+    public void setTotalValue(BigDecimal totalValue) { this.totalValue = totalValue; }
+
+    public long getUnits() { return units; }
+    public void setUnits(long units) { this.units = units; }
+
+    public long getProducts() { return products; }
+    public void setProducts(long products) { this.products = products; }
+}
@@ -0,0 +1,35 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Productos activos con menos stock")
+public class LowStockResponse {
+
+    @Schema(description = "Productos ordenados por stock ascendente")
+    private List<ProductResponse> items;
+
+    @Schema(description = "Umbral por debajo del cual se emite una alerta", example = "5")
+    private int threshold;
+
+    @Schema(description = "Origen de la consulta: 'index' (memoria) o 'database' (mientras el índice se carga)", example = "index")
+    private String source;
+
+    public LowStockResponse() {}
+
+    public LowStockResponse(List<ProductResponse> items, int threshold, String source) {
+        this.items = items;
+        this.threshold = threshold;
+        this.source = source;
+    }
+
+    // Getters y Setters
+    public List<ProductResponse> getItems() { return items; }
+    public void setItems(List<ProductResponse> items) { this.items = items; }
+
+    public int getThreshold() { return threshold; }
+    public void setThreshold(int threshold) { this.threshold = threshold; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+}
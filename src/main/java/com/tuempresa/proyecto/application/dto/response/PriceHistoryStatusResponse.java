@@ -0,0 +1,88 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Tamaño y métricas de escritura del historial de precios")
+public class PriceHistoryStatusResponse {
+
+    @Schema(description = "Indica si se registran los cambios de precio", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Productos con historial", example = "20000")
+    private long products;
+
+    @Schema(description = "Bloques guardados", example = "20150")
+    private long blocks;
+
+    @Schema(description = "Cambios de precio guardados", example = "31250")
+    private long changes;
+
+    @Schema(description = "Bytes de datos codificados", example = "187400")
+    private long bytes;
+
+    @Schema(description = "Bytes por cambio guardado", example = "6.0")
+    private double bytesPerChange;
+
+    @Schema(description = "Puntos añadidos al historial desde el arranque", example = "31250")
+    private long pointsAppended;
+
+    @Schema(description = "Puntos descartados por no cambiar el precio", example = "1200")
+    private long pointsSkipped;
+
+    @Schema(description = "Puntos descartados por cola llena (los recupera el feed de cambios)", example = "0")
+    private long pointsDropped;
+
+    @Schema(description = "Puntos de lotes fallidos (los recupera el feed de cambios)", example = "0")
+    private long pointsFailed;
+
+    @Schema(description = "Puntos añadidos al recorrer el feed de cambios que no había escrito la cola", example = "0")
+    private long pointsRecovered;
+
+    @Schema(description = "Último cambio del feed llevado al historial", example = "2024-01-15T10:30:00")
+    private LocalDateTime feedCursor;
+
+    @Schema(description = "Puntos pendientes en la cola", example = "0")
+    private int queued;
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getProducts() { return products; }
+    public void setProducts(long products) { this.products = products; }
+
+    public long getBlocks() { return blocks; }
+    public void setBlocks(long blocks) { this.blocks = blocks; }
+
+    public long getChanges() { return changes; }
+    public void setChanges(long changes) { this.changes = changes; }
+
+    public long getBytes() { return bytes; }
+    public void setBytes(long bytes) { this.bytes = bytes; }
+
+    public double getBytesPerChange() { return bytesPerChange; }
+    public void setBytesPerChange(double bytesPerChange) { this.bytesPerChange = bytesPerChange; }
+
+    public long getPointsAppended() { return pointsAppended; }
+    public void setPointsAppended(long pointsAppended) { this.pointsAppended = pointsAppended; }
+
+    public long getPointsSkipped() { return pointsSkipped; }
+    public void setPointsSkipped(long pointsSkipped) { this.pointsSkipped = pointsSkipped; }
+
+    public long getPointsDropped() { return pointsDropped; }
+    public void setPointsDropped(long pointsDropped) { this.pointsDropped = pointsDropped; }
+
+    public long getPointsFailed() { return pointsFailed; }
+    public void setPointsFailed(long pointsFailed) { this.pointsFailed = pointsFailed; }
+
+    public long getPointsRecovered() { return pointsRecovered; }
+    public void setPointsRecovered(long pointsRecovered) { this.pointsRecovered = pointsRecovered; }
+
+    public LocalDateTime getFeedCursor() { return feedCursor; }
+    public void setFeedCursor(LocalDateTime feedCursor) { this.feedCursor = feedCursor; }
+
+    public int getQueued() { return queued; }
+    public void setQueued(int queued) { this.queued = queued; }
+}
@@ -0,0 +1,35 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Precio de un producto vigente desde un instante")
+public class PricePointResponse {
+
+    @Schema(description = "ID del producto", example = "0190f3c2-7a1e-7c3a-9f1e-3b8e2c1d4a5f")
+    private UUID productId;
+
+    @Schema(description = "Precio", example = "999.99")
+    private BigDecimal price;
+
+    @Schema(description = "Código de moneda", example = "USD")
+    private String currency;
+
+    @Schema(description = "Instante desde el que rige el precio (precisión de milisegundos)", example = "2024-01-15T10:30:00")
+    private LocalDateTime effectiveAt;
+
+    // Getters y Setters
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public LocalDateTime getEffectiveAt() { return effectiveAt; }
+    public void setEffectiveAt(LocalDateTime effectiveAt) { this.effectiveAt = effectiveAt; }
+}
@@ -0,0 +1,41 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Evolución del precio de un producto en un rango de tiempo")
+public class PriceSeriesResponse {
+
+    @Schema(description = "ID del producto", example = "0190f3c2-7a1e-7c3a-9f1e-3b8e2c1d4a5f")
+    private UUID productId;
+
+    @Schema(description = "Inicio del rango", example = "2024-01-01T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "Fin del rango (inclusive)", example = "2024-02-01T00:00:00")
+    private LocalDateTime to;
+
+    @Schema(description = "Precio vigente en 'from' (si existía) seguido de cada cambio del rango, en orden")
+    private List<PricePointResponse> points;
+
+    @Schema(description = "Valor de 'from' para pedir la página siguiente (null si no hay más)", example = "2024-01-20T08:15:00")
+    private LocalDateTime nextFrom;
+
+    // Getters y Setters
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public List<PricePointResponse> getPoints() { return points; }
+    public void setPoints(List<PricePointResponse> points) { this.points = points; }
+
+    public LocalDateTime getNextFrom() { return nextFrom; }
+    public void setNextFrom(LocalDateTime nextFrom) { this.nextFrom = nextFrom; }
+}
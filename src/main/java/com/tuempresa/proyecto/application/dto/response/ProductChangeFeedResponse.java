@@ -0,0 +1,35 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Página del feed de cambios del catálogo")
+public class ProductChangeFeedResponse {
+
+    @Schema(description = "Cambios en orden de aplicación")
+    private List<ProductChangeResponse> changes;
+
+    @Schema(description = "Cursor para continuar el feed (usar como 'since')")
+    private String nextCursor;
+
+    @Schema(description = "Indica si hay más cambios disponibles inmediatamente", example = "false")
+    private boolean hasMore;
+
+    public ProductChangeFeedResponse() {}
+
+    public ProductChangeFeedResponse(List<ProductChangeResponse> changes, String nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters y Setters
+    public List<ProductChangeResponse> getChanges() { return changes; }
+    public void setChanges(List<ProductChangeResponse> changes) { this.changes = changes; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
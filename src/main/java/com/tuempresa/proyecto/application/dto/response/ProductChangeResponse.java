@@ -0,0 +1,34 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Cambio de un producto en el feed")
+public class ProductChangeResponse {
+
+    @Schema(description = "Tipo de cambio", example = "UPSERT", allowableValues = {"UPSERT", "DELETE"})
+    private String type;
+
+    @Schema(description = "ID del producto", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID productId;
+
+    @Schema(description = "Momento del cambio", example = "2024-01-15T10:30:00")
+    private LocalDateTime changedAt;
+
+    @Schema(description = "Estado actual del producto (null en borrados)")
+    private ProductResponse product;
+
+    // Getters y Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+
+    public ProductResponse getProduct() { return product; }
+    public void setProduct(ProductResponse product) { this.product = product; }
+}
@@ -0,0 +1,28 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Página de productos con cursor para continuar el recorrido")
+public class ProductPageResponse {
+
+    @Schema(description = "Productos de la página")
+    private List<ProductResponse> items;
+
+    @Schema(description = "Cursor para pedir la página siguiente (null si no hay más)", example = "0190f3c2-7a1e-7c3a-9f1e-3b8e2c1d4a5f")
+    private String nextCursor;
+
+    public ProductPageResponse() {}
+
+    public ProductPageResponse(List<ProductResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters y Setters
+    public List<ProductResponse> getItems() { return items; }
+    public void setItems(List<ProductResponse> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,87 @@
+package com.tuempresa.proyecto.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@Schema(description = "Estado del modelo de lectura del catálogo")
+public class ReadModelStatusResponse {
+
+    @Schema(description = "Indica si el modelo de lectura está habilitado", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Indica si las lecturas se sirven desde el modelo (false: desde la base de datos)", example = "true")
+    private boolean ready;
+
+    @Schema(description = "Indica si hay una reconstrucción en curso", example = "false")
+    private boolean rebuilding;
+
+    @Schema(description = "Productos en el modelo", example = "20000")
+    private int products;
+
+    @Schema(description = "El modelo refleja todo lo confirmado hasta este instante", example = "2024-01-15T10:30:00")
+    private LocalDateTime syncedThrough;
+
+    @Schema(description = "Antigüedad máxima de los datos servidos, en milisegundos", example = "1850")
+    private Long stalenessMillis;
+
+    @Schema(description = "Cambios aplicados desde los casos de uso", example = "1250")
+    private long eventsApplied;
+
+    @Schema(description = "Cambios descartados por cola llena (los recupera el feed)", example = "0")
+    private long eventsDropped;
+
+    @Schema(description = "Cambios pendientes en la cola", example = "0")
+    private int eventsQueued;
+
+    @Schema(description = "Tiempo entre el commit y la aplicación del último cambio, en microsegundos", example = "85")
+    private long lastEventLagMicros;
+
+    @Schema(description = "Cambios aplicados desde el feed de cambios", example = "20000")
+    private long feedChangesApplied;
+
+    @Schema(description = "Inicio de la última reconstrucción completa", example = "2024-01-15T10:00:00")
+    private LocalDateTime lastRebuildAt;
+
+    @Schema(description = "Duración de la última reconstrucción completa, en milisegundos", example = "420")
+    private long lastRebuildMillis;
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public boolean isReady() { return ready; }
+    public void setReady(boolean ready) { this.ready = ready; }
+
+    public boolean isRebuilding() { return rebuilding; }
+    public void setRebuilding(boolean rebuilding) { this.rebuilding = rebuilding; }
+
+    public int getProducts() { return products; }
+    public void setProducts(int products) { this.products = products; }
+
+    public LocalDateTime getSyncedThrough() { return syncedThrough; }
+    public void setSyncedThrough(LocalDateTime syncedThrough) { this.syncedThrough = syncedThrough; }
+
+    public Long getStalenessMillis() { return stalenessMillis; }
+    public void setStalenessMillis(Long stalenessMillis) { this.stalenessMillis = stalenessMillis; }
+
+    public long getEventsApplied() { return eventsApplied; }
+    public void setEventsApplied(long eventsApplied) { this.eventsApplied = eventsApplied; }
+
+    public long getEventsDropped() { return eventsDropped; }
+    public void setEventsDropped(long eventsDropped) { this.eventsDropped = eventsDropped; }
+
+    public int getEventsQueued() { return eventsQueued; }
+    public void setEventsQueued(int eventsQueued) { this.eventsQueued = eventsQueued; }
+
+    public long getLastEventLagMicros() { return lastEventLagMicros; }
+    public void setLastEventLagMicros(long lastEventLagMicros) { this.lastEventLagMicros = lastEventLagMicros; }
+
+    public long getFeedChangesApplied() { return feedChangesApplied; }
+    public void setFeedChangesApplied(long feedChangesApplied) { this.feedChangesApplied = feedChangesApplied; }
+
+    public LocalDateTime getLastRebuildAt() { return lastRebuildAt; }
+    public void setLastRebuildAt(LocalDateTime lastRebuildAt) { this.lastRebuildAt = lastRebuildAt; }
+
+    public long getLastRebuildMillis() { return lastRebuildMillis; }
+    public void setLastRebuildMillis(long lastRebuildMillis) { this.lastRebuildMillis = lastRebuildMillis; }
+}
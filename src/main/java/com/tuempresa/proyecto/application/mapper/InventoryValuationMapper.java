@@ -0,0 +1,18 @@
+package com.tuempresa.proyecto.application.mapper;
+
+import com.tuempresa.proyecto.application.dto.response.InventoryValuationResponse;
+import com.tuempresa.proyecto.domain.model.InventoryValuation;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface InventoryValuationMapper {
+
+    @Mapping(source = "totalValue.amount", target = "totalValue")
+    @Mapping(source = "totalValue.currencyCode", target = "currency")
+    InventoryValuationResponse toResponse(InventoryValuation valuation);
+
+    List<InventoryValuationResponse> toResponseList(List<InventoryValuation> valuations);
+}
@@ -0,0 +1,18 @@
+package com.tuempresa.proyecto.application.mapper;
+
+import com.tuempresa.proyecto.application.dto.response.PricePointResponse;
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface PricePointMapper {
+
+    @Mapping(source = "price.amount", target = "price")
+    @Mapping(source = "price.currencyCode", target = "currency")
+    PricePointResponse toResponse(PricePoint point);
+
+    List<PricePointResponse> toResponseList(List<PricePoint> points);
+}
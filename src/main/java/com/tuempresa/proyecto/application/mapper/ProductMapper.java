@@ -1,7 +1,9 @@
 package com.tuempresa.proyecto.application.mapper;
 
+import com.tuempresa.proyecto.application.dto.response.ProductChangeResponse;
 import com.tuempresa.proyecto.application.dto.response.ProductResponse;
 import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -15,4 +17,8 @@ public interface ProductMapper {
     ProductResponse toResponse(Product product);
 
     List<ProductResponse> toResponseList(List<Product> products);
+
+    ProductChangeResponse toChangeResponse(ProductChange change);
+
+    List<ProductChangeResponse> toChangeResponseList(List<ProductChange> changes);
 }
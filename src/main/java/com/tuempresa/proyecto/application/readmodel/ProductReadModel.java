@@ -0,0 +1,264 @@
+package com.tuempresa.proyecto.application.readmodel;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Modelo de lectura del catálogo en memoria, desnormalizado para los
+ * endpoints de listado y filtro.
+ *
+ * Mantiene los productos por id, en orden de id (UUID v7, es decir, de
+ * creación) y, para los activos, por (categoría, moneda) ordenados por
+ * (precio, id). Lo alimenta ProductReadModelProjector; los cambios se aplican
+ * solo si no son más antiguos que la versión guardada (updatedAt), de modo que
+ * el orden de llegada no importa.
+ *
+ * Los productos guardados no se modifican nunca: cada cambio sustituye la
+ * instancia completa.
+ */
+@Component
+public class ProductReadModel {
+
+    static final UUID MIN_ID = new UUID(0L, 0L);
+    static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    // Mismo orden que la base de datos (comparación sin signo)
+    private static final Comparator<UUID> ID_ORDER = (a, b) -> {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private final AtomicReference<Store> store = new AtomicReference<>(new Store(0));
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return store.get().byId.size();
+    }
+
+    public Optional<Product> findById(UUID id) {
+        return Optional.ofNullable(store.get().byId.get(id));
+    }
+
+    public List<Product> findAll() {
+        return new ArrayList<>(store.get().ordered.values());
+    }
+
+    public List<Product> findByIdRange(UUID fromInclusive, UUID toExclusive, UUID afterId, int limit) {
+        ConcurrentSkipListMap<UUID, Product> ordered = store.get().ordered;
+        // Un cursor anterior a from no amplía el rango
+        Iterable<Product> range = afterId == null || afterId.compareTo(fromInclusive) < 0
+            ? ordered.subMap(fromInclusive, true, toExclusive, false).values()
+            : ordered.subMap(afterId, false, toExclusive, false).values();
+        List<Product> result = new ArrayList<>(limit);
+        for (Product product : range) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(product);
+        }
+        return result;
+    }
+
+    public List<Product> findByPriceRange(String category, String currency, BigDecimal minPrice, BigDecimal maxPrice,
+                                          boolean descending, BigDecimal afterPrice, UUID afterId, int limit) {
+        Store current = store.get();
+        NavigableSet<PriceKey> keys = current.byPrice.get(priceBucket(category, currency));
+        List<Product> result = new ArrayList<>(limit);
+        if (keys == null) {
+            return result;
+        }
+        Iterator<PriceKey> iterator;
+        if (descending) {
+            iterator = afterId == null
+                ? keys.headSet(new PriceKey(maxPrice, MAX_ID), true).descendingIterator()
+                : keys.headSet(new PriceKey(afterPrice, afterId), false).descendingIterator();
+        } else {
+            iterator = afterId == null
+                ? keys.tailSet(new PriceKey(minPrice, MIN_ID), true).iterator()
+                : keys.tailSet(new PriceKey(afterPrice, afterId), false).iterator();
+        }
+        while (result.size() < limit && iterator.hasNext()) {
+            PriceKey key = iterator.next();
+            if (key.price.compareTo(minPrice) < 0 || key.price.compareTo(maxPrice) > 0) {
+                break;
+            }
+            Product product = current.byId.get(key.id);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Aplica un cambio si no es más antiguo que lo que ya hay.
+     */
+    public void apply(ProductChange change) {
+        store.get().apply(change);
+    }
+
+    /**
+     * Construye un contenido completo aparte a partir de una carga masiva
+     * (tabla o instantánea). Al no haber escrituras concurrentes sobre él se
+     * omite la comprobación de versión y las claves de precio se insertan ya
+     * ordenadas por grupo.
+     */
+    Store newStore(List<Product> products) {
+        Store fresh = new Store(products.size());
+        Map<String, List<PriceKey>> buckets = new HashMap<>();
+        for (Product product : products) {
+            fresh.byId.put(product.getId(), product);
+            fresh.ordered.put(product.getId(), product);
+            if (product.isActive()) {
+                buckets.computeIfAbsent(Store.bucket(product), key -> new ArrayList<>())
+                    .add(new PriceKey(product.getPrice().getAmount(), product.getId()));
+            }
+        }
+        buckets.forEach((bucket, keys) -> {
+            keys.sort(null);
+            ConcurrentSkipListSet<PriceKey> set = new ConcurrentSkipListSet<>();
+            set.addAll(keys);
+            fresh.byPrice.put(bucket, set);
+        });
+        return fresh;
+    }
+
+    /**
+     * Sustituye el contenido por uno construido aparte (reconstrucción completa).
+     */
+    void replace(Store fresh) {
+        store.set(fresh);
+        ready = true;
+    }
+
+    /**
+     * Vacía el modelo y vuelve a mandar las lecturas a la base de datos.
+     */
+    void clear() {
+        ready = false;
+        store.set(new Store(0));
+    }
+
+    void purgeTombstonesBefore(LocalDateTime cutoff) {
+        store.get().tombstones.values().removeIf(deletedAt -> deletedAt.isBefore(cutoff));
+    }
+
+    private static String priceBucket(String category, String currency) {
+        return category + '\u0000' + currency;
+    }
+
+    // La base de datos puede truncar a microsegundos; se compara con esa precisión
+    private static LocalDateTime version(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    static final class Store {
+        private final ConcurrentHashMap<UUID, Product> byId;
+        private final ConcurrentSkipListMap<UUID, Product> ordered = new ConcurrentSkipListMap<>(ID_ORDER);
+        private final ConcurrentHashMap<String, ConcurrentSkipListSet<PriceKey>> byPrice = new ConcurrentHashMap<>();
+        // Borrados recientes, para que un alta que llegue tarde no resucite el producto
+        private final ConcurrentHashMap<UUID, LocalDateTime> tombstones = new ConcurrentHashMap<>();
+
+        private Store(int expectedSize) {
+            this.byId = new ConcurrentHashMap<>(Math.max(16, expectedSize * 4 / 3 + 1));
+        }
+
+        void apply(ProductChange change) {
+            UUID id = change.getProductId();
+            if (change.getType() == ProductChange.Type.DELETE) {
+                tombstones.put(id, change.getChangedAt());
+                byId.computeIfPresent(id, (key, current) -> {
+                    unindex(current);
+                    return null;
+                });
+                return;
+            }
+            Product incoming = change.getProduct();
+            byId.compute(id, (key, current) -> {
+                if (tombstones.containsKey(key)) {
+                    return current;
+                }
+                if (current != null && version(current.getUpdatedAt()).isAfter(version(incoming.getUpdatedAt()))) {
+                    return current;
+                }
+                if (current != null) {
+                    unindex(current);
+                }
+                index(incoming);
+                return incoming;
+            });
+        }
+
+        private void index(Product product) {
+            ordered.put(product.getId(), product);
+            if (product.isActive()) {
+                byPrice.computeIfAbsent(bucket(product), key -> new ConcurrentSkipListSet<>())
+                    .add(new PriceKey(product.getPrice().getAmount(), product.getId()));
+            }
+        }
+
+        private void unindex(Product product) {
+            ordered.remove(product.getId());
+            if (product.isActive()) {
+                ConcurrentSkipListSet<PriceKey> keys = byPrice.get(bucket(product));
+                if (keys != null) {
+                    keys.remove(new PriceKey(product.getPrice().getAmount(), product.getId()));
+                }
+            }
+        }
+
+        private static String bucket(Product product) {
+            return priceBucket(product.getCategory(), product.getPrice().getCurrencyCode());
+        }
+    }
+
+    private static final class PriceKey implements Comparable<PriceKey> {
+        private final BigDecimal price;
+        private final UUID id;
+
+        private PriceKey(BigDecimal price, UUID id) {
+            this.price = price;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(PriceKey other) {
+            int result = price.compareTo(other.price);
+            return result != 0 ? result : ID_ORDER.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PriceKey)) return false;
+            return compareTo((PriceKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * price.stripTrailingZeros().hashCode() + id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.tuempresa.proyecto.application.readmodel;
+
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker.HotProduct;
+import com.tuempresa.proyecto.domain.event.ProductsArchivedEvent;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.CatalogSnapshotRepository;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantiene ProductReadModel al día de forma asíncrona.
+ *
+ * Dos fuentes, ambas idempotentes gracias a la comprobación de versión:
+ * <ul>
+ *   <li>Los casos de uso de escritura publican un ProductChange; tras el
+ *   commit se encola en un hilo propio, así que la petición de escritura solo
+ *   paga el encolado. Si la cola está llena el cambio se descarta y lo recoge
+ *   la siguiente fuente.</li>
+ *   <li>Cada catalog.read-model.sync-interval se recorre el feed de cambios
+ *   desde el último cursor. Cubre las escrituras JDBC masivas (importación,
+ *   repreciado, write-behind de stock) y acota el retraso.</li>
+ * </ul>
+ * Además, con catalog.popularity.prefetch=true, tras cada refresco del top-K
+ * los productos calientes se releen de la base de datos en una consulta y se
+ * aplican: un evento descartado por cola llena o una alta que el feed aún no
+ * ha traído no dejan a un producto muy leído desactualizado o yendo a la
+ * tabla en cada GET más allá de catalog.popularity.refresh-interval.
+ * Los productos archivados salen del modelo con ProductsArchivedEvent, que se
+ * aplica en el momento y sin cola; el feed los trae también como borrados
+ * (para las demás instancias y las cargas desde instantánea).
+ * El modelo refleja con seguridad todo lo confirmado hasta syncedThrough; la
+ * antigüedad de ese instante es la que se expone como staleness.
+ *
+ * Con catalog.snapshot.enabled=true el modelo se guarda periódicamente (y al
+ * parar) en una instantánea local. Al arrancar se carga de ella y solo se
+ * piden a la base de datos los cambios posteriores a su syncedThrough.
+ */
+@Service
+public class ProductReadModelProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductReadModelProjector.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductReadModel readModel;
+    private final CatalogSnapshotRepository snapshotRepository;
+    private final ProductPopularityTracker popularityTracker;
+    private final boolean enabled;
+    private final boolean hotRefresh;
+    private final boolean snapshotEnabled;
+    private final Duration snapshotMaxAge;
+    private final Duration settleLag;
+    private final ThreadPoolExecutor eventExecutor;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong eventsApplied = new AtomicLong();
+    private final AtomicLong eventsDropped = new AtomicLong();
+    private final AtomicLong feedChangesApplied = new AtomicLong();
+    private final AtomicLong hotRefreshed = new AtomicLong();
+    private volatile long lastEventLagMicros;
+    private volatile LocalDateTime cursorTime;
+    private volatile UUID cursorId = ProductReadModel.MIN_ID;
+    private volatile LocalDateTime syncedThrough;
+    private volatile LocalDateTime lastRebuildAt;
+    private volatile long lastRebuildMillis;
+
+    public ProductReadModelProjector(ProductRepository productRepository,
+                                     ProductReadModel readModel,
+                                     CatalogSnapshotRepository snapshotRepository,
+                                     ProductPopularityTracker popularityTracker,
+                                     @Value("${catalog.read-model.enabled:true}") boolean enabled,
+                                     @Value("${catalog.popularity.prefetch:true}") boolean hotRefresh,
+                                     @Value("${catalog.snapshot.enabled:false}") boolean snapshotEnabled,
+                                     @Value("${catalog.snapshot.max-age:PT24H}") Duration snapshotMaxAge,
+                                     @Value("${catalog.read-model.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${catalog.changes.settle-lag:PT1S}") Duration settleLag) {
+        this.productRepository = productRepository;
+        this.readModel = readModel;
+        this.snapshotRepository = snapshotRepository;
+        this.popularityTracker = popularityTracker;
+        this.enabled = enabled;
+        this.hotRefresh = hotRefresh && popularityTracker.isEnabled();
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotMaxAge = snapshotMaxAge;
+        this.settleLag = settleLag;
+        this.eventExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "read-model-projector");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChange change) {
+        if (!enabled) {
+            return;
+        }
+        long committedAt = System.nanoTime();
+        try {
+            eventExecutor.execute(() -> {
+                readModel.apply(change);
+                eventsApplied.incrementAndGet();
+                lastEventLagMicros = (System.nanoTime() - committedAt) / 1_000;
+            });
+        } catch (RejectedExecutionException ex) {
+            eventsDropped.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onProductsArchived(ProductsArchivedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (UUID id : event.getProductIds()) {
+            readModel.apply(ProductChange.delete(id, event.getArchivedAt()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            if (!snapshotEnabled || !loadSnapshot()) {
+                rebuildQuietly();
+            }
+        }, "read-model-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.read-model.sync-interval:PT1S}")
+    public void sync() {
+        if (enabled && readModel.isReady() && !rebuilding.get()) {
+            catchUp();
+        }
+    }
+
+    /** Relee los productos calientes y los aplica (la comprobación de versión descarta lo ya visto). */
+    @Scheduled(fixedDelayString = "${catalog.popularity.refresh-interval:PT5S}",
+               initialDelayString = "${catalog.popularity.refresh-interval:PT5S}")
+    public void refreshHot() {
+        if (!enabled || !hotRefresh || !readModel.isReady() || rebuilding.get()) {
+            return;
+        }
+        List<UUID> ids = popularityTracker.getHotProducts().stream().map(HotProduct::getProductId).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            List<Product> products = productRepository.findByIds(ids);
+            for (Product product : products) {
+                readModel.apply(ProductChange.upsert(product));
+            }
+            hotRefreshed.addAndGet(products.size());
+        } catch (RuntimeException ex) {
+            log.warn("Hot product refresh failed for {} products", ids.size(), ex);
+        }
+    }
+
+    // Recarga completa periódica
+    @Scheduled(fixedDelayString = "${catalog.read-model.rebuild-interval:PT6H}",
+        initialDelayString = "${catalog.read-model.rebuild-interval:PT6H}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuildQuietly();
+        }
+    }
+
+    /**
+     * Reconstruye el modelo completo aparte y lo sustituye de una vez; las
+     * lecturas siguen usando el anterior mientras tanto. Después se reaplican
+     * los cambios confirmados desde el inicio de la carga.
+     *
+     * @return false si ya había una reconstrucción en curso
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<Product> products = new ArrayList<>();
+            UUID after = null;
+            List<Product> page;
+            do {
+                page = productRepository.findByIdRange(ProductReadModel.MIN_ID, ProductReadModel.MAX_ID, after, PAGE_SIZE);
+                products.addAll(page);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+            ProductReadModel.Store fresh = readModel.newStore(products);
+
+            synchronized (this) {
+                readModel.replace(fresh);
+                // Lo que confirmó durante la carga se recupera desde el feed
+                cursorTime = startedAt.minus(settleLag);
+                cursorId = ProductReadModel.MIN_ID;
+                catchUp();
+            }
+            lastRebuildAt = startedAt;
+            lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Read model rebuilt: {} products in {} ms", readModel.size(), lastRebuildMillis);
+            return true;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // Si no llegó a cargarse, las lecturas siguen yendo a la base de datos
+            log.warn("Read model rebuild failed", ex);
+        }
+    }
+
+    /**
+     * Carga el modelo desde la instantánea local y aplica los cambios
+     * confirmados después de ella.
+     *
+     * @return false si no hay instantánea válida o es demasiado antigua
+     */
+    private boolean loadSnapshot() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            List<Product> products = new ArrayList<>();
+            Optional<LocalDateTime> snapshotSyncedThrough = snapshotRepository.load(products::add);
+            if (snapshotSyncedThrough.isEmpty()) {
+                return false;
+            }
+            if (snapshotSyncedThrough.get().isBefore(LocalDateTime.now().minus(snapshotMaxAge))) {
+                log.info("Catalog snapshot from {} is older than {}, rebuilding from the database",
+                    snapshotSyncedThrough.get(), snapshotMaxAge);
+                return false;
+            }
+            ProductReadModel.Store fresh = readModel.newStore(products);
+            long loadedMillis = (System.nanoTime() - start) / 1_000_000;
+            long appliedBefore = feedChangesApplied.get();
+            synchronized (this) {
+                readModel.replace(fresh);
+                cursorTime = snapshotSyncedThrough.get();
+                cursorId = ProductReadModel.MIN_ID;
+                catchUp();
+                // El feed no cubre una base de datos recreada
+                long expected = productRepository.count();
+                if (readModel.size() != expected) {
+                    log.info("Catalog snapshot has {} products after catch-up but the table has {}, rebuilding from the database",
+                        readModel.size(), expected);
+                    readModel.clear();
+                    return false;
+                }
+            }
+            log.info("Read model loaded from snapshot: {} products in {} ms, then {} changes since {} in {} ms",
+                readModel.size(), loadedMillis, feedChangesApplied.get() - appliedBefore, snapshotSyncedThrough.get(),
+                (System.nanoTime() - start) / 1_000_000 - loadedMillis);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Catalog snapshot load failed, rebuilding from the database", ex);
+            return false;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.snapshot.interval:PT5M}", initialDelayString = "${catalog.snapshot.interval:PT5M}")
+    public void scheduledSnapshot() {
+        writeSnapshot();
+    }
+
+    private void writeSnapshot() {
+        // Se toma el instante antes de copiar: lo que entre después se volverá a aplicar al cargar
+        LocalDateTime snapshotSyncedThrough = syncedThrough;
+        if (!enabled || !snapshotEnabled || !readModel.isReady() || snapshotSyncedThrough == null) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            List<Product> products = readModel.findAll();
+            snapshotRepository.save(products, snapshotSyncedThrough);
+            log.debug("Catalog snapshot written: {} products in {} ms", products.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Catalog snapshot write failed", ex);
+        }
+    }
+
+    private synchronized void catchUp() {
+        // El límite que el feed aplica de verdad: syncedThrough (staleness y cursor de la
+        // instantánea) no puede pasar de una escritura masiva que aún no ha confirmado
+        LocalDateTime until = productRepository.settledUntil(LocalDateTime.now().minus(settleLag));
+        List<ProductChange> changes;
+        do {
+            changes = productRepository.findChangesSince(cursorTime, cursorId, until, PAGE_SIZE);
+            for (ProductChange change : changes) {
+                readModel.apply(change);
+                cursorTime = change.getChangedAt();
+                cursorId = change.getProductId();
+            }
+            feedChangesApplied.addAndGet(changes.size());
+        } while (changes.size() == PAGE_SIZE);
+        syncedThrough = until;
+        readModel.purgeTombstonesBefore(until.minusMinutes(5));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        eventExecutor.shutdownNow();
+        writeSnapshot();
+    }
+
+    // Métricas
+    public LocalDateTime getSyncedThrough() { return syncedThrough; }
+    public LocalDateTime getLastRebuildAt() { return lastRebuildAt; }
+    public long getLastRebuildMillis() { return lastRebuildMillis; }
+    public long getEventsApplied() { return eventsApplied.get(); }
+    public long getEventsDropped() { return eventsDropped.get(); }
+    public long getFeedChangesApplied() { return feedChangesApplied.get(); }
+    public long getHotRefreshed() { return hotRefreshed.get(); }
+    public long getLastEventLagMicros() { return lastEventLagMicros; }
+    public int getQueuedEvents() { return eventExecutor.getQueue().size(); }
+    public boolean isRebuilding() { return rebuilding.get(); }
+}
@@ -0,0 +1,64 @@
+package com.tuempresa.proyecto.application.result;
+
+import java.util.function.Function;
+
+/**
+ * Resultado explícito de un caso de uso.
+ *
+ * Los desenlaces esperables (producto inexistente, conflicto de estado) se
+ * devuelven como valores en lugar de lanzar excepciones; estas quedan para
+ * fallos reales.
+ *
+ * @param <T> tipo del valor en caso de éxito
+ */
+public final class UseCaseResult<T> {
+
+    public enum Status {
+        OK,
+        NOT_FOUND,
+        CONFLICT
+    }
+
+    private static final UseCaseResult<Void> OK_EMPTY = new UseCaseResult<>(Status.OK, null, null);
+
+    private final Status status;
+    private final T value;
+    private final String message;
+
+    private UseCaseResult(Status status, T value, String message) {
+        this.status = status;
+        this.value = value;
+        this.message = message;
+    }
+
+    public static <T> UseCaseResult<T> ok(T value) {
+        return new UseCaseResult<>(Status.OK, value, null);
+    }
+
+    public static UseCaseResult<Void> ok() {
+        return OK_EMPTY;
+    }
+
+    public static <T> UseCaseResult<T> notFound(String message) {
+        return new UseCaseResult<>(Status.NOT_FOUND, null, message);
+    }
+
+    public static <T> UseCaseResult<T> conflict(String message) {
+        return new UseCaseResult<>(Status.CONFLICT, null, message);
+    }
+
+    public <R> UseCaseResult<R> map(Function<? super T, ? extends R> mapper) {
+        if (status != Status.OK) {
+            return new UseCaseResult<>(status, null, message);
+        }
+        return new UseCaseResult<>(Status.OK, mapper.apply(value), null);
+    }
+
+    public boolean isOk() {
+        return status == Status.OK;
+    }
+
+    public Status getStatus() { return status; }
+    public T getValue() { return value; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,127 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.domain.repository.ExchangeRateRepository;
+import com.tuempresa.proyecto.domain.valueobject.ExchangeRates;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Convierte precios de las respuestas a la moneda que pide el cliente.
+ *
+ * La tabla de tipos se publica como una instantánea inmutable en un
+ * AtomicReference: los lectores solo hacen un get() y nunca se bloquean, y la
+ * recarga periódica construye la tabla nueva aparte y la sustituye de una vez.
+ * Si la recarga falla se mantiene la instantánea anterior.
+ *
+ * Un producto en una moneda que no está en la tabla se devuelve sin convertir,
+ * con su moneda original, en lugar de hacer fallar toda la respuesta; el aviso
+ * se registra una vez por moneda hasta la siguiente recarga.
+ */
+@Service
+public class CurrencyConversionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CurrencyConversionService.class);
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final AtomicReference<ExchangeRates> snapshot;
+    // Monedas de origen sin tipo ya avisadas
+    private final Set<String> missingRates = ConcurrentHashMap.newKeySet();
+
+    public CurrencyConversionService(ExchangeRateRepository exchangeRateRepository) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.snapshot = new AtomicReference<>(exchangeRateRepository.load());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.fx.refresh-interval:PT5M}", initialDelayString = "${catalog.fx.refresh-interval:PT5M}")
+    public void refresh() {
+        try {
+            ExchangeRates rates = exchangeRateRepository.load();
+            snapshot.set(rates);
+            missingRates.clear();
+            log.debug("Loaded {} exchange rates (base {})", rates.getUnitsPerBase().size(), rates.getBase());
+        } catch (RuntimeException e) {
+            log.warn("Exchange rate refresh failed, keeping rates loaded at {}", snapshot.get().getLoadedAt(), e);
+        }
+    }
+
+    public ExchangeRates currentRates() {
+        return snapshot.get();
+    }
+
+    public ProductResponse convert(ProductResponse response, String currencyCode) {
+        if (currencyCode == null) {
+            return response;
+        }
+        convert(List.of(response), currencyCode);
+        return response;
+    }
+
+    /**
+     * Convierte la lista en una sola pasada con la misma instantánea de tipos.
+     * El tipo de cada moneda de origen se resuelve una única vez por llamada;
+     * los productos en una moneda sin tipo se quedan como están.
+     */
+    public List<ProductResponse> convert(List<ProductResponse> responses, String currencyCode) {
+        if (currencyCode == null || responses.isEmpty()) {
+            return responses;
+        }
+        ExchangeRates rates = snapshot.get();
+        Currency target = resolve(rates, currencyCode);
+        Map<String, BigDecimal> factors = new HashMap<>();
+        for (ProductResponse response : responses) {
+            if (response.getPrice() == null || target.getCurrencyCode().equals(response.getCurrency())) {
+                continue;
+            }
+            String source = response.getCurrency();
+            if (!factors.containsKey(source)) {
+                factors.put(source, factor(rates, source, target));
+            }
+            BigDecimal factor = factors.get(source);
+            if (factor == null) {
+                continue;
+            }
+            Money converted = Money.of(response.getPrice(), response.getCurrency()).convertTo(target, factor);
+            response.setPrice(converted.getAmount());
+            response.setCurrency(converted.getCurrencyCode());
+        }
+        return responses;
+    }
+
+    // null si la moneda de origen no está en la tabla
+    private BigDecimal factor(ExchangeRates rates, String source, Currency target) {
+        Currency currency = Currency.getInstance(source);
+        if (!rates.supports(currency)) {
+            if (missingRates.add(source)) {
+                log.warn("No exchange rate for {}, prices in {} are returned unconverted", source, source);
+            }
+            return null;
+        }
+        return rates.rate(currency, target);
+    }
+
+    private Currency resolve(ExchangeRates rates, String currencyCode) {
+        Currency target;
+        try {
+            target = Currency.getInstance(currencyCode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + currencyCode);
+        }
+        if (!rates.supports(target)) {
+            throw new IllegalArgumentException("No exchange rate for currency: " + target.getCurrencyCode());
+        }
+        return target;
+    }
+}
@@ -0,0 +1,300 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuempresa.proyecto.domain.model.IdempotencyRecord;
+import com.tuempresa.proyecto.domain.repository.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una sola vez las peticiones que llegan con la misma
+ * Idempotency-Key y devuelve a los reintentos la respuesta de la primera.
+ *
+ * Cada clave se guarda en memoria (ConcurrentHashMap) con un
+ * CompletableFuture: el primer hilo que la registra ejecuta la acción y los
+ * duplicados que llegan mientras tanto esperan a ese mismo resultado en
+ * lugar de competir con él. Las respuestas se conservan durante el TTL y el
+ * mapa está acotado: si se llena de claves vigentes, las peticiones nuevas se
+ * procesan sin protección (se cuentan en untracked) en lugar de rechazarse.
+ *
+ * Con catalog.idempotency.table.enabled=true las claves se reservan además
+ * en la tabla idempotency_keys, de modo que un reintento que llega a otra
+ * instancia espera o reutiliza la respuesta guardada allí. La reserva dura
+ * catalog.idempotency.table.lease y se renueva cada tercio de ese tiempo
+ * mientras la acción se ejecuta, así que una creación lenta no la pierde;
+ * solo caduca si la instancia cae sin completarla.
+ *
+ * Si la acción falla la clave se libera: quienes esperaban reciben el mismo
+ * error y el siguiente reintento vuelve a ejecutarla. Reutilizar una clave
+ * con otro cuerpo es un error del cliente.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final String IN_PROGRESS = "A request with this Idempotency-Key is still being processed";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final int maxKeys;
+    private final boolean tableEnabled;
+    private final Duration lease;
+    private final ScheduledExecutorService leaseRenewer;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong untracked = new AtomicLong();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${catalog.idempotency.ttl:PT1H}") Duration ttl,
+                              @Value("${catalog.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+                              @Value("${catalog.idempotency.max-keys:50000}") int maxKeys,
+                              @Value("${catalog.idempotency.table.enabled:false}") boolean tableEnabled,
+                              @Value("${catalog.idempotency.table.lease:PT1M}") Duration lease) {
+        if (lease.isNegative() || lease.isZero()) {
+            throw new IllegalArgumentException("catalog.idempotency.table.lease must be positive");
+        }
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.maxKeys = maxKeys;
+        this.tableEnabled = tableEnabled;
+        this.lease = lease;
+        this.leaseRenewer = tableEnabled ? Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "idempotency-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Ejecuta action la primera vez que se ve key y devuelve su resultado;
+     * los reintentos con la misma clave y el mismo request reciben ese
+     * resultado sin ejecutarla de nuevo.
+     */
+    public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.isExpired(System.nanoTime())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (existing != null) {
+                checkFingerprint(existing.fingerprint, fingerprint);
+                replayed.incrementAndGet();
+                return responseType.cast(await(existing.result));
+            }
+            if (entries.size() >= maxKeys) {
+                purgeExpiredEntries();
+                if (entries.size() >= maxKeys) {
+                    untracked.incrementAndGet();
+                    return action.get();
+                }
+            }
+            Entry mine = new Entry(fingerprint);
+            if (entries.putIfAbsent(key, mine) == null) {
+                return executeFirst(key, mine, responseType, action);
+            }
+        }
+    }
+
+    private <T> T executeFirst(String key, Entry mine, Class<T> responseType, Supplier<T> action) {
+        try {
+            T response = tableEnabled ? executeShared(key, mine.fingerprint, responseType, action) : run(action);
+            mine.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            entries.remove(key, mine);
+            mine.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private <T> T executeShared(String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            if (idempotencyKeyRepository.claim(key, fingerprint, LocalDateTime.now().plus(lease))) {
+                T response;
+                long period = Math.max(1, lease.toMillis() / 3);
+                ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(
+                    () -> renewLease(key), period, period, TimeUnit.MILLISECONDS);
+                try {
+                    response = run(action);
+                } catch (RuntimeException ex) {
+                    idempotencyKeyRepository.release(key);
+                    throw ex;
+                } finally {
+                    renewal.cancel(false);
+                }
+                try {
+                    idempotencyKeyRepository.complete(key, serialize(response), LocalDateTime.now().plus(ttl));
+                } catch (RuntimeException ex) {
+                    // La acción ya se ha hecho: no se falla la petición, la reserva caducará sola
+                    log.warn("Could not store response for Idempotency-Key {}", key, ex);
+                }
+                return response;
+            }
+            Optional<IdempotencyRecord> record = idempotencyKeyRepository.find(key);
+            if (record.isPresent()) {
+                checkFingerprint(record.get().getFingerprint(), fingerprint);
+                if (record.get().isCompleted()) {
+                    replayed.incrementAndGet();
+                    return deserialize(record.get().getResponse(), responseType);
+                }
+            }
+            // Otra instancia la está procesando (o acaba de liberarla): se espera y se vuelve a intentar
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(IN_PROGRESS);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(IN_PROGRESS);
+            }
+        }
+    }
+
+    private void renewLease(String key) {
+        try {
+            if (!idempotencyKeyRepository.renew(key, LocalDateTime.now().plus(lease))) {
+                log.warn("Lease for Idempotency-Key {} expired before the request completed", key);
+            }
+        } catch (RuntimeException ex) {
+            // Se reintenta en el siguiente periodo; la reserva aún tiene margen
+            log.warn("Could not renew lease for Idempotency-Key {}", key, ex);
+        }
+    }
+
+    private <T> T run(Supplier<T> action) {
+        T response = action.get();
+        executed.incrementAndGet();
+        return response;
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException(IN_PROGRESS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(IN_PROGRESS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static void checkFingerprint(String stored, String fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint request", ex);
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize idempotent response", ex);
+        }
+    }
+
+    private <T> T deserialize(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored idempotent response", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.idempotency.cleanup-interval:PT1M}")
+    public void purgeExpired() {
+        purgeExpiredEntries();
+        if (tableEnabled) {
+            int removed = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+            if (removed > 0) {
+                log.debug("Removed {} expired idempotency keys", removed);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+        }
+    }
+
+    private void purgeExpiredEntries() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    // Métricas
+    public long getExecuted() { return executed.get(); }
+    public long getReplayed() { return replayed.get(); }
+    public long getUntracked() { return untracked.get(); }
+    public int getKeys() { return entries.size(); }
+
+    // Clave en memoria: caduca ttl después de completarse; mientras se procesa no caduca
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos > 0;
+        }
+    }
+}
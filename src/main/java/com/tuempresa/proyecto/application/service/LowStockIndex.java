@@ -0,0 +1,281 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.event.LowStockDetectedEvent;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de los productos activos ordenados por (stock, id).
+ *
+ * Los N productos con menos stock se leen recorriendo las N primeras entradas
+ * del skip list, sin depender del tamaño del catálogo. Cada camino que cambia
+ * el stock o el estado de un producto avisa al índice; los cambios se aplican
+ * tras el commit para no reflejar transacciones que luego se deshacen. Los
+ * commits concurrentes pueden avisar en otro orden que el de sus escrituras:
+ * cada valor lleva su updated_at y no se aplica sobre uno más reciente.
+ *
+ * Al arrancar (o tras una importación masiva) el índice se carga en segundo
+ * plano; mientras tanto isReady() es false y las consultas deben ir a la base
+ * de datos. Al bajar del umbral catalog.low-stock.threshold se publica un
+ * LowStockDetectedEvent.
+ */
+@Service
+public class LowStockIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockIndex.class);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int threshold;
+
+    private final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<UUID, Stamped> stockById = new ConcurrentHashMap<>();
+    // Bajas recibidas durante la carga, para que el recorrido no las reintroduzca
+    private final Set<UUID> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    // Cambia con cada rebuildAsync(); una carga que empezó antes puede no ver lo que la motivó
+    private final AtomicLong rebuildRequests = new AtomicLong();
+    private volatile boolean ready;
+
+    public LowStockIndex(ProductRepository productRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${catalog.low-stock.threshold:5}") int threshold) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.threshold = threshold;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Ids de los productos activos con menos stock, en orden (stock, id).
+     */
+    public List<UUID> lowest(int limit) {
+        List<UUID> ids = new ArrayList<>(limit);
+        Iterator<Entry> iterator = ordered.iterator();
+        while (ids.size() < limit && iterator.hasNext()) {
+            ids.add(iterator.next().id);
+        }
+        return ids;
+    }
+
+    public void record(Product product) {
+        record(product.getId(), product.getStock(), product.isActive(), product.getUpdatedAt());
+    }
+
+    /**
+     * @param updatedAt momento del valor; se ignora si el índice ya tiene uno
+     * posterior del mismo producto
+     */
+    public void record(UUID productId, int stock, boolean active, LocalDateTime updatedAt) {
+        afterCommit(() -> {
+            if (active) {
+                apply(productId, stock, updatedAt);
+            } else {
+                applyRemove(productId);
+            }
+        });
+    }
+
+    public void remove(UUID productId) {
+        afterCommit(() -> applyRemove(productId));
+    }
+
+    /**
+     * Vuelve a leer un producto de la base de datos, p. ej. cuando un ajuste
+     * que ya se había reflejado en el índice no llegó a escribirse.
+     */
+    public void refresh(UUID productId) {
+        productRepository.findById(productId).ifPresentOrElse(this::record, () -> remove(productId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    /**
+     * Descarta el contenido y lo vuelve a cargar en segundo plano. Se usa tras
+     * escrituras masivas que no pasan por los casos de uso. Si ya hay una
+     * carga en curso, al terminar se repite.
+     */
+    public void rebuildAsync() {
+        rebuildRequests.incrementAndGet();
+        Thread loader = new Thread(this::rebuild, "low-stock-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void rebuild() {
+        while (loading.compareAndSet(false, true)) {
+            long request = rebuildRequests.get();
+            try {
+                load();
+            } finally {
+                removedWhileLoading.clear();
+                loading.set(false);
+            }
+            // Se pidió otra carga durante el recorrido: puede que no viera esa escritura
+            if (request == rebuildRequests.get()) {
+                return;
+            }
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            ready = false;
+            ordered.clear();
+            stockById.clear();
+            removedWhileLoading.clear();
+            // Si un cambio en vivo llegó antes que el recorrido, el valor en vivo es el más reciente
+            productRepository.forEachActiveStock((id, stock) -> {
+                if (!removedWhileLoading.contains(id)) {
+                    stockById.computeIfAbsent(id, key -> {
+                        ordered.add(new Entry(stock, key));
+                        return new Stamped(stock, null);
+                    });
+                }
+            });
+            ready = true;
+            log.info("Low-stock index loaded: {} active products in {} ms",
+                stockById.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Low-stock index load failed, queries will use the database", e);
+        }
+    }
+
+    private void apply(UUID productId, int stock, LocalDateTime updatedAt) {
+        removedWhileLoading.remove(productId);
+        Integer[] previous = new Integer[1];
+        boolean[] applied = new boolean[1];
+        stockById.compute(productId, (id, current) -> {
+            if (current != null) {
+                if (current.isNewerThan(updatedAt)) {
+                    // Aviso tardío de una escritura anterior
+                    return current;
+                }
+                previous[0] = current.stock;
+                if (current.stock != stock) {
+                    ordered.remove(new Entry(current.stock, id));
+                    ordered.add(new Entry(stock, id));
+                }
+            } else {
+                ordered.add(new Entry(stock, id));
+            }
+            applied[0] = true;
+            return new Stamped(stock, updatedAt);
+        });
+        if (applied[0] && stock < threshold && (previous[0] == null || previous[0] >= threshold)) {
+            log.warn("Low stock: product {} has {} units (threshold {})", productId, stock, threshold);
+            eventPublisher.publishEvent(new LowStockDetectedEvent(productId, stock, threshold, LocalDateTime.now()));
+        }
+    }
+
+    private void applyRemove(UUID productId) {
+        if (loading.get()) {
+            removedWhileLoading.add(productId);
+        }
+        stockById.computeIfPresent(productId, (id, current) -> {
+            ordered.remove(new Entry(current.stock, id));
+            return null;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Stock de un producto y el updated_at con el que se escribió (null si
+     * viene de la carga inicial, que cede ante cualquier cambio en vivo).
+     */
+    private static final class Stamped {
+        private final int stock;
+        private final LocalDateTime updatedAt;
+
+        private Stamped(int stock, LocalDateTime updatedAt) {
+            this.stock = stock;
+            this.updatedAt = updatedAt;
+        }
+
+        private boolean isNewerThan(LocalDateTime other) {
+            return updatedAt != null && other != null && updatedAt.isAfter(other);
+        }
+    }
+
+    /**
+     * Entrada del índice. Los ids se comparan sin signo, igual que la base de
+     * datos, para que el orden coincida con el de la consulta de respaldo.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final int stock;
+        private final UUID id;
+
+        private Entry(int stock, UUID id) {
+            this.stock = stock;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Integer.compare(stock, other.stock);
+            if (result == 0) {
+                result = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+            }
+            if (result == 0) {
+                result = Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+            Entry entry = (Entry) o;
+            return stock == entry.stock && id.equals(entry.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * stock + id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.model.ChangeFeedCursor;
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registra los cambios de precio en el historial fuera del camino de la
+ * petición.
+ *
+ * Los puntos se encolan y un único hilo los escribe por lotes. El historial
+ * descarta los que no cambian el precio, así que se puede encolar cualquier
+ * alta o modificación sin comprobarlo antes:
+ * <ul>
+ *   <li>Los casos de uso de escritura publican un ProductChange; tras el
+ *   commit se encola su precio. Si la cola está llena el punto se descarta
+ *   (se cuenta en dropped) en lugar de frenar la petición; lo recupera el
+ *   recorrido del feed.</li>
+ *   <li>Las escrituras masivas (repreciado por categoría, importación)
+ *   llaman a recordAll después de cada tramo; esas sí esperan si la cola
+ *   está llena, para no perder cambios.</li>
+ * </ul>
+ * La cola es solo el camino rápido: un punto descartado, un lote que falla o
+ * lo encolado al caer la instancia se recuperan cada
+ * catalog.price-history.catch-up-interval recorriendo el feed de cambios
+ * desde un cursor guardado en la base de datos, que solo avanza cuando el
+ * tramo se ha escrito. El feed trae el estado actual de cada producto, así
+ * que de un producto que cambió varias veces entre dos recorridos solo se
+ * recupera el último precio si la cola perdió los intermedios. El primer
+ * recorrido, sin cursor, lleva al historial el precio de todo el catálogo.
+ */
+@Service
+public class PriceHistoryRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceHistoryRecorder.class);
+
+    private static final int PAGE_SIZE = 1000;
+    private static final ChangeFeedCursor FEED_START =
+        new ChangeFeedCursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration settleLag;
+    private final BlockingQueue<PricePoint> queue;
+    private final Thread writer;
+
+    private final AtomicLong pointsAppended = new AtomicLong();
+    private final AtomicLong pointsSkipped = new AtomicLong();
+    private final AtomicLong pointsDropped = new AtomicLong();
+    private final AtomicLong pointsFailed = new AtomicLong();
+    private final AtomicLong pointsRecovered = new AtomicLong();
+    private volatile boolean running = true;
+
+    public PriceHistoryRecorder(PriceHistoryRepository priceHistoryRepository,
+                                ProductRepository productRepository,
+                                @Value("${catalog.price-history.enabled:true}") boolean enabled,
+                                @Value("${catalog.price-history.queue-capacity:100000}") int queueCapacity,
+                                @Value("${catalog.price-history.batch-size:1000}") int batchSize,
+                                @Value("${catalog.changes.settle-lag:PT1S}") Duration settleLag) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.settleLag = settleLag;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeLoop, "price-history-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChange change) {
+        if (!enabled || change.getType() != ProductChange.Type.UPSERT) {
+            return;
+        }
+        if (!queue.offer(PricePoint.of(change.getProduct()))) {
+            pointsDropped.incrementAndGet();
+        }
+    }
+
+    /** Encola los precios tras una escritura masiva ya confirmada. */
+    public void recordAll(Collection<Product> products) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Product product : products) {
+                queue.put(PricePoint.of(product));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<PricePoint> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PricePoint first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<PricePoint> batch) {
+        try {
+            int appended = priceHistoryRepository.appendAll(batch);
+            pointsAppended.addAndGet(appended);
+            pointsSkipped.addAndGet(batch.size() - appended);
+        } catch (RuntimeException ex) {
+            pointsFailed.addAndGet(batch.size());
+            log.error("Price history write failed, {} price points left to the change feed catch-up", batch.size(), ex);
+        }
+    }
+
+    /**
+     * Lleva al historial los cambios del feed desde el cursor guardado. Lo
+     * que la cola ya escribió se descarta como repetido (mismo instante).
+     */
+    @Scheduled(fixedDelayString = "${catalog.price-history.catch-up-interval:PT1M}",
+               initialDelayString = "${catalog.price-history.catch-up-interval:PT1M}")
+    public void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime until = productRepository.settledUntil(LocalDateTime.now().minus(settleLag));
+            ChangeFeedCursor cursor = priceHistoryRepository.findFeedCursor().orElse(FEED_START);
+            List<ProductChange> changes;
+            do {
+                changes = productRepository.findChangesSince(cursor.getChangedAt(), cursor.getProductId(), until, PAGE_SIZE);
+                if (changes.isEmpty()) {
+                    break;
+                }
+                List<PricePoint> points = changes.stream()
+                    .filter(change -> change.getType() == ProductChange.Type.UPSERT)
+                    .map(change -> PricePoint.of(change.getProduct()))
+                    .toList();
+                pointsRecovered.addAndGet(priceHistoryRepository.appendAll(points));
+                ProductChange last = changes.get(changes.size() - 1);
+                cursor = new ChangeFeedCursor(last.getChangedAt(), last.getProductId());
+                priceHistoryRepository.saveFeedCursor(cursor);
+            } while (changes.size() == PAGE_SIZE);
+        } catch (RuntimeException ex) {
+            log.warn("Price history catch-up failed, it will resume from the saved cursor", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        // Lo que quede en la cola se escribe en este hilo antes de cerrar la base de datos
+        List<PricePoint> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    // Métricas
+    public long getPointsAppended() { return pointsAppended.get(); }
+    public long getPointsSkipped() { return pointsSkipped.get(); }
+    public long getPointsDropped() { return pointsDropped.get(); }
+    public long getPointsFailed() { return pointsFailed.get(); }
+    public long getPointsRecovered() { return pointsRecovered.get(); }
+    public int getQueued() { return queue.size(); }
+}
@@ -0,0 +1,105 @@
+package com.tuempresa.proyecto.application.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de ids de producto: dice con certeza que un id no está y,
+ * con una probabilidad de error acotada, que puede estar.
+ *
+ * Para n ids y una tasa de falsos positivos p usa m = -n·ln(p)/ln(2)² bits y
+ * k = (m/n)·ln(2) funciones hash: con p = 1% son 9,6 bits (1,2 bytes) por id,
+ * unos 1,2 MB por millón de ids, y 7 hashes. Las k posiciones salen de dos
+ * hashes de 64 bits (h1 + i·h2). Las dos mitades del UUID se mezclan antes
+ * porque en un UUIDv7 los bits altos son la marca de tiempo y no se reparten
+ * de forma uniforme.
+ *
+ * Añadir y consultar no bloquean: los bits viven en un AtomicLongArray y se
+ * activan con operaciones atómicas, nunca se desactivan.
+ */
+public final class ProductIdBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long expectedIds;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    private ProductIdBloomFilter(long bits, int hashes, long expectedIds) {
+        this.words = new AtomicLongArray(Math.toIntExact(bits / Long.SIZE));
+        this.bits = bits;
+        this.hashes = hashes;
+        this.expectedIds = expectedIds;
+    }
+
+    /** Filtro dimensionado para expectedIds ids con la tasa de falsos positivos indicada. */
+    public static ProductIdBloomFilter create(long expectedIds, double falsePositiveRate) {
+        if (expectedIds <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected ids must be positive and the false-positive rate between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedIds * Math.log(falsePositiveRate) / (ln2 * ln2));
+        bits = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedIds * ln2));
+        return new ProductIdBloomFilter(bits, hashes, expectedIds);
+    }
+
+    public void add(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(index) & mask) == 0
+                    && (words.getAndAccumulate(index, mask, (current, m) -> current | m) & mask) == 0) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tasa de falsos positivos con el contenido actual: (bits a uno / m)^k.
+     * Sube si se añaden más ids de los previstos.
+     */
+    public double estimatedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bits, hashes);
+    }
+
+    public long getBits() { return bits; }
+    public int getHashes() { return hashes; }
+    public long getExpectedIds() { return expectedIds; }
+    public long getBytes() { return bits / Byte.SIZE; }
+
+    private static long hash1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    private static long hash2(UUID id) {
+        // Impar para que las k posiciones no se repitan cuando m es potencia de dos
+        return mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L * id.getMostSignificantBits()) | 1;
+    }
+
+    // Finalizador de MurmurHash3 (fmix64)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,225 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro en memoria de los ids de producto existentes, para responder 404 a
+ * ids que no existen (enlaces antiguos, scrapers) sin consultar la base de
+ * datos.
+ *
+ * Se carga al arrancar recorriendo los ids de productos y archivados, y se
+ * reconstruye cada catalog.id-filter.rebuild-interval para olvidar los
+ * borrados (un filtro de Bloom no admite bajas). Mientras se reconstruye, las
+ * altas se escriben en el filtro vigente y en el nuevo.
+ *
+ * Un id solo se da por inexistente si el filtro no lo tiene y es seguro que
+ * el filtro lo habría visto:
+ * <ul>
+ *   <li>Las altas de esta instancia se añaden antes de escribir el producto;
+ *   si la transacción se deshace solo queda un falso positivo.</li>
+ *   <li>Las altas de otras instancias no llegan hasta la siguiente
+ *   reconstrucción. Por eso los UUIDv7 con instante posterior al último
+ *   recorrido (menos catalog.id-filter.recent-window, que cubre transacciones
+ *   en curso y desfase de relojes) siempre se consultan.</li>
+ *   <li>Los ids que no son v7 no llevan instante y también se consultan
+ *   siempre.</li>
+ *   <li>Las escrituras masivas (importación CSV, upsert con ids del fichero)
+ *   traen ids v7 con cualquier instante. Mientras hay una en curso
+ *   ({@link #beginBulkWrite()}) no se descarta ningún id, y al terminar
+ *   ({@link #endBulkWrite()}) el filtro se reconstruye: hasta que hay uno
+ *   cargado después de la escritura todo va a la base de datos. Las
+ *   importaciones de otras instancias llegan por CatalogImportWatcher antes
+ *   de que escriban su primera fila.</li>
+ * </ul>
+ * Hasta que termina la primera carga todo va a la base de datos.
+ */
+@Service
+public class ProductIdFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIdFilter.class);
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long expectedIds;
+    private final Duration recentWindow;
+
+    // Filtro vigente y hasta qué instante de UUIDv7 es completo; se sustituyen juntos
+    private volatile State state;
+    // Filtro en construcción, que también recibe las altas
+    private volatile ProductIdBloomFilter building;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    // Escrituras masivas en curso; la generación cambia al empezar y al terminar cada una
+    private final AtomicInteger bulkWrites = new AtomicInteger();
+    private final AtomicLong bulkGeneration = new AtomicLong();
+
+    private final AtomicLong checked = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ProductIdFilter(ProductRepository productRepository,
+                           @Value("${catalog.id-filter.enabled:true}") boolean enabled,
+                           @Value("${catalog.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${catalog.id-filter.expected-ids:100000}") long expectedIds,
+                           @Value("${catalog.id-filter.recent-window:PT1M}") Duration recentWindow) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.expectedIds = expectedIds;
+        this.recentWindow = recentWindow;
+    }
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * @return false solo si es seguro que el producto no existe; true si puede
+     * existir y hay que consultar la base de datos
+     */
+    public boolean mightExist(UUID id) {
+        State current = state;
+        if (current == null) {
+            return true;
+        }
+        if (bulkWrites.get() > 0 || current.bulkGeneration != bulkGeneration.get()) {
+            return true;
+        }
+        if (id.version() != 7 || UuidGenerator.extractTimestamp(id).toEpochMilli() >= current.completeBeforeMillis) {
+            return true;
+        }
+        checked.incrementAndGet();
+        if (current.filter.mightContain(id)) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /** Se llama antes de escribir un producto nuevo. */
+    public void add(UUID id) {
+        State current = state;
+        if (current != null) {
+            current.filter.add(id);
+        }
+        ProductIdBloomFilter next = building;
+        if (next != null) {
+            next.add(id);
+        }
+    }
+
+    public void addAll(Collection<UUID> ids) {
+        ids.forEach(this::add);
+    }
+
+    /**
+     * Se llama antes de una escritura masiva con ids que no son de esta
+     * instancia; hasta su {@link #endBulkWrite()} no se descarta ningún id.
+     */
+    public void beginBulkWrite() {
+        bulkWrites.incrementAndGet();
+        bulkGeneration.incrementAndGet();
+    }
+
+    /** Termina una escritura masiva y reconstruye el filtro para incluir sus ids. */
+    public void endBulkWrite() {
+        bulkGeneration.incrementAndGet();
+        if (bulkWrites.decrementAndGet() == 0) {
+            rebuildAsync();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.id-filter.rebuild-interval:PT1H}",
+               initialDelayString = "${catalog.id-filter.rebuild-interval:PT1H}")
+    public void rebuildAsync() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::rebuild, "product-id-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void rebuild() {
+        while (loading.compareAndSet(false, true)) {
+            long generation = bulkGeneration.get();
+            boolean loaded;
+            try {
+                loaded = load(generation);
+            } finally {
+                building = null;
+                loading.set(false);
+            }
+            // Una escritura masiva terminó durante el recorrido: puede que no lo viera entero
+            if (!loaded || bulkWrites.get() > 0 || generation == bulkGeneration.get()) {
+                return;
+            }
+        }
+    }
+
+    private boolean load(long generation) {
+        long start = System.nanoTime();
+        try {
+            // Margen para las altas hasta la próxima reconstrucción
+            ProductIdBloomFilter next = ProductIdBloomFilter.create(
+                Math.max(expectedIds, productRepository.count() * 2), falsePositiveRate);
+            building = next;
+            long scanStartMillis = System.currentTimeMillis();
+            long[] scanned = new long[1];
+            productRepository.forEachId(id -> {
+                next.add(id);
+                scanned[0]++;
+            });
+            state = new State(next, scanStartMillis - recentWindow.toMillis(), generation);
+            log.info("Product id filter loaded: {} ids in {} ms, {} KB ({} bits/id), {} hashes, "
+                    + "estimated false-positive rate {}",
+                scanned[0], (System.nanoTime() - start) / 1_000_000, next.getBytes() / 1024,
+                String.format("%.1f", (double) next.getBits() / Math.max(1, scanned[0])), next.getHashes(),
+                String.format("%.4f", next.estimatedFalsePositiveRate()));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Product id filter load failed, lookups will use the database", e);
+            return false;
+        }
+    }
+
+    // Métricas
+    public long getChecked() { return checked.get(); }
+    public long getRejected() { return rejected.get(); }
+    public long getBytes() { State current = state; return current != null ? current.filter.getBytes() : 0; }
+    public double getEstimatedFalsePositiveRate() {
+        State current = state;
+        return current != null ? current.filter.estimatedFalsePositiveRate() : 0.0;
+    }
+
+    private static final class State {
+        private final ProductIdBloomFilter filter;
+        private final long completeBeforeMillis;
+        private final long bulkGeneration;
+
+        private State(ProductIdBloomFilter filter, long completeBeforeMillis, long bulkGeneration) {
+            this.filter = filter;
+            this.completeBeforeMillis = completeBeforeMillis;
+            this.bulkGeneration = bulkGeneration;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.tuempresa.proyecto.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Popularidad de los productos a partir de las lecturas, para saber cuáles
+ * están calientes antes de que lo note la base de datos.
+ *
+ * Cada lectura cuenta en un count-min sketch de DEPTH filas (ancho
+ * catalog.popularity.width): la estimación de un producto es el mínimo de
+ * sus DEPTH contadores, que nunca se queda corta y se pasa como mucho en
+ * unas total/ancho lecturas. Se usa actualización conservadora: solo se
+ * incrementan los contadores que están en el mínimo, normalmente uno, lo
+ * que ahorra operaciones atómicas y reduce el error. Cada half-life todos
+ * los contadores se dividen entre dos, así que la puntuación es un recuento
+ * con decaimiento exponencial.
+ *
+ * Los candidatos a top-K se guardan aparte: una lectura solo toca el
+ * conjunto cuando su estimación supera el umbral de entrada (la K-ésima
+ * puntuación tras la última poda), de modo que los productos fríos solo
+ * pagan los incrementos atómicos. Cuando el conjunto se llena, el hilo que
+ * lo nota lo poda al top-K si nadie lo está haciendo ya; refresh() hace lo
+ * mismo periódicamente y publica la lista que leen el endpoint, las
+ * métricas y la precarga.
+ *
+ * Cuentan las lecturas por id y los productos devueltos por las búsquedas
+ * paginadas. El listado completo no: suma lo mismo a todo el catálogo y
+ * solo subiría el ruido del sketch.
+ *
+ * El total de lecturas (getRecorded) es una muestra: una de cada
+ * RECORDED_SAMPLE lecturas suma RECORDED_SAMPLE. Contarlas todas costaba
+ * otra operación atómica por lectura.
+ */
+@Service
+public class ProductPopularityTracker {
+
+    private static final int DEPTH = 4;
+    // Candidatos admitidos entre dos podas, como máximo
+    private static final int CANDIDATES_PER_SLOT = 8;
+    // Potencia de dos
+    private static final int RECORDED_SAMPLE = 64;
+
+    private final boolean enabled;
+    private final int topK;
+    private final int width;
+    private final int mask;
+    private final Duration halfLife;
+    private final AtomicIntegerArray counts;
+    private final Set<UUID> candidates = ConcurrentHashMap.newKeySet();
+    private final LongAdder recorded = new LongAdder();
+    private final ReentrantLock pruneLock = new ReentrantLock();
+
+    private volatile int admissionThreshold;
+    private volatile List<HotProduct> hot = List.of();
+
+    public ProductPopularityTracker(@Value("${catalog.popularity.enabled:true}") boolean enabled,
+                                    @Value("${catalog.popularity.top-k:100}") int topK,
+                                    @Value("${catalog.popularity.width:16384}") int width,
+                                    @Value("${catalog.popularity.half-life:PT1M}") Duration halfLife) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("catalog.popularity.width must be a power of two");
+        }
+        this.enabled = enabled;
+        this.topK = topK;
+        this.width = width;
+        this.mask = width - 1;
+        this.halfLife = halfLife;
+        this.counts = new AtomicIntegerArray(enabled ? DEPTH * width : 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Cuenta una lectura del producto. Sin bloqueos salvo al podar los candidatos. */
+    public void record(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash(id);
+        int min = estimate(hash);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            int count = counts.get(index);
+            if (count <= min) {
+                count = counts.incrementAndGet(index);
+            }
+            estimate = Math.min(estimate, count);
+        }
+        if ((ThreadLocalRandom.current().nextInt() & (RECORDED_SAMPLE - 1)) == 0) {
+            recorded.add(RECORDED_SAMPLE);
+        }
+        // Se intenta al cruzar el umbral y, por si entonces estaba lleno, cada 16 lecturas;
+        // así los productos ya calientes no consultan el conjunto en cada lectura
+        int threshold = admissionThreshold;
+        if (estimate > threshold && (min <= threshold || (estimate & 15) == 0) && !candidates.contains(id)) {
+            if (candidates.size() >= topK * CANDIDATES_PER_SLOT && pruneLock.tryLock()) {
+                try {
+                    prune();
+                } finally {
+                    pruneLock.unlock();
+                }
+            }
+            if (estimate > admissionThreshold && candidates.size() < topK * CANDIDATES_PER_SLOT) {
+                candidates.add(id);
+            }
+        }
+    }
+
+    /** Puntuación actual: lecturas con decaimiento; nunca menos que las reales. */
+    public int estimate(UUID id) {
+        return estimate(hash(id));
+    }
+
+    private int estimate(long hash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /** Los productos más leídos en el último refresco, de más a menos. */
+    public List<HotProduct> getHotProducts() {
+        return hot;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.popularity.refresh-interval:PT5S}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        pruneLock.lock();
+        try {
+            prune();
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    // Se llama con pruneLock tomado
+    private void prune() {
+        List<HotProduct> scored = new ArrayList<>(candidates.size());
+        for (UUID id : candidates) {
+            int score = estimate(id);
+            if (score > 0) {
+                scored.add(new HotProduct(id, score));
+            }
+        }
+        scored.sort(Comparator.comparingInt(HotProduct::getScore).reversed());
+        List<HotProduct> top = List.copyOf(scored.subList(0, Math.min(topK, scored.size())));
+        for (int i = top.size(); i < scored.size(); i++) {
+            candidates.remove(scored.get(i).getProductId());
+        }
+        // Con el top-K lleno solo entra quien supere al último
+        admissionThreshold = top.size() < topK ? 0 : top.get(top.size() - 1).getScore();
+        hot = top;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.popularity.half-life:PT1M}",
+               initialDelayString = "${catalog.popularity.half-life:PT1M}")
+    public void decay() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.getAndUpdate(i, count -> count >>> 1);
+        }
+        // Las puntuaciones se han reducido a la mitad: se recalcula el umbral
+        refresh();
+    }
+
+    // Métricas
+    // Aproximado, ver RECORDED_SAMPLE
+    public long getRecorded() { return recorded.sum(); }
+    public int getCandidates() { return candidates.size(); }
+    public Duration getHalfLife() { return halfLife; }
+    public int getTopK() { return topK; }
+
+    private static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() * 0x9E3779B97F4A7C15L + id.getLeastSignificantBits());
+    }
+
+    // Doble hashing (h1 + fila * h2) con las dos mitades del hash
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & mask);
+    }
+
+    // Finalizador de MurmurHash3 (fmix64)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /** Producto caliente y su puntuación en el momento del refresco. */
+    public static final class HotProduct {
+        private final UUID productId;
+        private final int score;
+
+        public HotProduct(UUID productId, int score) {
+            this.productId = productId;
+            this.score = score;
+        }
+
+        public UUID getProductId() { return productId; }
+        public int getScore() { return score; }
+    }
+}
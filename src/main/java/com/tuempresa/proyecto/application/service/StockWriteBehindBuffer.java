@@ -0,0 +1,340 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.domain.event.StockDeltaRejectedEvent;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer write-behind para ajustes de stock de alta frecuencia.
+ *
+ * Con catalog.stock.write-behind.enabled=true los ajustes se acumulan por
+ * producto en memoria (ConcurrentHashMap, que bloquea por bin y no de forma
+ * global) y se escriben como un único UPDATE por producto en cada intervalo.
+ * Las lecturas suman los deltas pendientes para mantener read-your-writes.
+ * Al parar la aplicación se vuelca todo lo pendiente.
+ *
+ * Un delta que se está escribiendo sigue contando como pendiente hasta que su
+ * transacción confirma: si falla o se deshace vuelve a la cola, y las
+ * lecturas no lo pierden de vista entre medias. Los deltas que la base de
+ * datos rechaza (stock negativo o producto borrado) se publican como
+ * StockDeltaRejectedEvent y se cuentan en getRejected().
+ *
+ * Para no leer la base de datos en cada ajuste, el producto leído se guarda
+ * hasta el siguiente volcado ({@link #persisted(UUID)}): como mucho se hace
+ * una lectura por producto e intervalo.
+ */
+@Service
+public class StockWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(StockWriteBehindBuffer.class);
+
+    private final ProductRepository productRepository;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int maxPendingProducts;
+    private final ConcurrentHashMap<UUID, Deltas> pending = new ConcurrentHashMap<>();
+    // Productos leídos desde el último volcado; la época descarta lecturas que lo cruzan
+    private final ConcurrentHashMap<UUID, Product> persisted = new ConcurrentHashMap<>();
+    private final AtomicLong persistedEpoch = new AtomicLong();
+    private final ExecutorService overflowFlusher;
+    private final AtomicBoolean overflowFlushQueued = new AtomicBoolean();
+
+    // Métricas
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    public StockWriteBehindBuffer(ProductRepository productRepository,
+                                  LowStockIndex lowStockIndex,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${catalog.stock.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${catalog.stock.write-behind.max-pending-products:10000}") int maxPendingProducts) {
+        this.productRepository = productRepository;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxPendingProducts = maxPendingProducts;
+        this.overflowFlusher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "stock-write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Producto persistido sobre el que se validan los ajustes. Se lee de la
+     * base de datos la primera vez tras cada volcado y después se sirve de
+     * memoria. Puede no reflejar una escritura de otro camino hecha en el
+     * último intervalo; en ese caso la condición del UPDATE rechaza el delta
+     * al volcarlo y se informa como rechazado.
+     */
+    public Optional<Product> persisted(UUID productId) {
+        Product cached = persisted.get(productId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long epoch = persistedEpoch.get();
+        Optional<Product> loaded = productRepository.findById(productId);
+        if (loaded.isPresent() && persistedEpoch.get() == epoch) {
+            persisted.putIfAbsent(productId, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * Acumula un delta si el stock resultante (persistido + pendiente) no queda
+     * negativo.
+     *
+     * @param persistedStock stock leído de la base de datos
+     * @return el stock efectivo tras el ajuste, o null si se rechaza por stock insuficiente
+     */
+    public Integer add(UUID productId, int persistedStock, int delta) {
+        int[] effective = new int[1];
+        boolean[] accepted = new boolean[1];
+        pending.compute(productId, (id, current) -> {
+            Deltas previous = current != null ? current : Deltas.NONE;
+            accepted[0] = persistedStock + previous.total() + delta >= 0;
+            if (!accepted[0]) {
+                effective[0] = persistedStock + previous.total();
+                return current;
+            }
+            effective[0] = persistedStock + previous.total() + delta;
+            return previous.plusQueued(delta);
+        });
+        if (pending.size() > maxPendingProducts) {
+            // Contrapresión: el volcado se adelanta en otro hilo, fuera de la transacción del llamante
+            requestOverflowFlush();
+        }
+        return accepted[0] ? effective[0] : null;
+    }
+
+    public int pendingDelta(UUID productId) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Deltas deltas = pending.get(productId);
+        return deltas != null ? deltas.total() : 0;
+    }
+
+    /** Suma al stock de la respuesta los deltas aún no escritos. */
+    public ProductResponse mergePending(ProductResponse response) {
+        int delta = pendingDelta(response.getId());
+        if (delta != 0) {
+            response.setStock(response.getStock() + delta);
+        }
+        return response;
+    }
+
+    public List<ProductResponse> mergePending(List<ProductResponse> responses) {
+        if (!pending.isEmpty()) {
+            responses.forEach(this::mergePending);
+        }
+        return responses;
+    }
+
+    /**
+     * Escribe ya los deltas pendientes de un producto (antes de fijar su stock
+     * absoluto). Dentro de una transacción los deltas se dan por escritos al
+     * confirmarla; si se deshace vuelven a la cola.
+     */
+    public void flush(UUID productId) {
+        persisted.remove(productId);
+        int delta = take(productId);
+        if (delta != 0) {
+            write(Map.of(productId, delta));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.stock.write-behind.interval:PT0.2S}")
+    public void flush() {
+        Map<UUID, Integer> batch = new HashMap<>();
+        for (UUID productId : pending.keySet()) {
+            int delta = take(productId);
+            if (delta != 0) {
+                batch.put(productId, delta);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        // Los ajustes siguientes vuelven a leer el stock persistido, que ya incluye este volcado
+        persistedEpoch.incrementAndGet();
+        persisted.clear();
+    }
+
+    /** Pasa los deltas en cola de un producto a "en escritura" y devuelve su suma. */
+    private int take(UUID productId) {
+        int[] taken = new int[1];
+        pending.computeIfPresent(productId, (id, current) -> {
+            taken[0] = current.queued;
+            return current.queued != 0 ? current.taking() : current;
+        });
+        return taken[0];
+    }
+
+    private void write(Map<UUID, Integer> batch) {
+        Set<UUID> rejectedIds;
+        try {
+            rejectedIds = productRepository.applyStockDeltas(batch);
+        } catch (RuntimeException ex) {
+            // Se reintentan en el siguiente intervalo
+            failedFlushes.incrementAndGet();
+            requeue(batch);
+            log.error("Stock write-behind flush failed, {} products kept pending", batch.size(), ex);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        settle(batch, rejectedIds);
+                    } else {
+                        requeue(batch);
+                    }
+                }
+            });
+        } else {
+            settle(batch, rejectedIds);
+        }
+    }
+
+    /** Los deltas del lote ya están en la base de datos o se han descartado. */
+    private void settle(Map<UUID, Integer> batch, Set<UUID> rejectedIds) {
+        batch.forEach((productId, delta) -> pending.computeIfPresent(productId,
+            (id, current) -> current.written(delta)));
+        written.addAndGet(batch.size() - rejectedIds.size());
+        if (rejectedIds.isEmpty()) {
+            return;
+        }
+        rejected.addAndGet(rejectedIds.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID productId : rejectedIds) {
+            int delta = batch.get(productId);
+            log.warn("Discarded stock delta {} for product {}: stock would become negative or product no longer exists",
+                delta, productId);
+            eventPublisher.publishEvent(new StockDeltaRejectedEvent(productId, delta, now));
+            // El índice de stock bajo ya reflejaba ese delta
+            lowStockIndex.refresh(productId);
+        }
+    }
+
+    private void requeue(Map<UUID, Integer> batch) {
+        batch.forEach((productId, delta) -> pending.computeIfPresent(productId,
+            (id, current) -> current.requeued(delta)));
+    }
+
+    private void requestOverflowFlush() {
+        if (!overflowFlushQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            overflowFlusher.execute(() -> {
+                overflowFlushQueued.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException ex) {
+            // Parando: shutdown() vuelca lo pendiente
+            overflowFlushQueued.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        overflowFlusher.shutdown();
+        try {
+            overflowFlusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // Métricas
+    public int getPendingProducts() {
+        return pending.size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    /**
+     * Deltas de un producto: los que esperan al siguiente volcado y los que se
+     * están escribiendo. Inmutable, para cambiarlo de forma atómica con compute.
+     */
+    private static final class Deltas {
+
+        static final Deltas NONE = new Deltas(0, 0);
+
+        final int queued;
+        final int inFlight;
+
+        Deltas(int queued, int inFlight) {
+            this.queued = queued;
+            this.inFlight = inFlight;
+        }
+
+        int total() {
+            return queued + inFlight;
+        }
+
+        Deltas plusQueued(int delta) {
+            return of(queued + delta, inFlight);
+        }
+
+        Deltas taking() {
+            return of(0, inFlight + queued);
+        }
+
+        Deltas written(int delta) {
+            return of(queued, inFlight - delta);
+        }
+
+        Deltas requeued(int delta) {
+            return of(queued + delta, inFlight - delta);
+        }
+
+        private static Deltas of(int queued, int inFlight) {
+            return queued == 0 && inFlight == 0 ? null : new Deltas(queued, inFlight);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.request.BulkPriceAdjustmentRequest;
+import com.tuempresa.proyecto.application.dto.response.BulkPriceAdjustmentResponse;
+import com.tuempresa.proyecto.application.service.PriceHistoryRecorder;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ajuste de precios por categoría ejecutado como UPDATEs por tramos de clave
+ * primaria. Cada tramo se confirma por separado, de modo que ninguna
+ * transacción bloquea la categoría completa ni se cargan productos en memoria.
+ *
+ * Con el historial de precios habilitado, cada tramo se relee tras el UPDATE
+ * para registrar los precios nuevos.
+ */
+@Service
+public class AdjustCategoryPricesUseCase {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    // Máximo representable en DECIMAL(10, 2)
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    private static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
+
+    private final ProductRepository productRepository;
+    private final PriceHistoryRecorder priceHistory;
+    private final int chunkSize;
+
+    public AdjustCategoryPricesUseCase(ProductRepository productRepository,
+                                       PriceHistoryRecorder priceHistory,
+                                       @Value("${catalog.bulk.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.priceHistory = priceHistory;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkPriceAdjustmentResponse execute(BulkPriceAdjustmentRequest request) {
+        if (request.getPercentage() == null && request.getCurrency() == null) {
+            throw new IllegalArgumentException("Percentage or currency is required");
+        }
+        String currency = request.getCurrency() != null
+            ? Currency.getInstance(request.getCurrency()).getCurrencyCode()
+            : null;
+        BigDecimal factor = request.getPercentage() != null
+            ? BigDecimal.ONE.add(request.getPercentage().divide(ONE_HUNDRED))
+            : BigDecimal.ONE;
+
+        BulkPriceAdjustmentResponse response = new BulkPriceAdjustmentResponse();
+        response.setCategory(request.getCategory());
+        response.setPercentage(request.getPercentage());
+        response.setCurrency(currency);
+        response.setDryRun(request.isDryRun());
+
+        // Se valida toda la categoría antes del primer tramo (también en la simulación):
+        // un fallo a mitad dejaría tramos ya confirmados
+        if (factor.compareTo(BigDecimal.ONE) != 0) {
+            productRepository.findPriceBounds(request.getCategory(), true).ifPresent(bounds -> {
+                if (adjusted(bounds.getMax(), factor).compareTo(MAX_PRICE) > 0) {
+                    throw new IllegalArgumentException("Adjusted price would exceed " + MAX_PRICE);
+                }
+                if (bounds.getMin().signum() > 0 && adjusted(bounds.getMin(), factor).compareTo(MIN_PRICE) < 0) {
+                    throw new IllegalArgumentException("Adjusted price would round down to 0.00");
+                }
+            });
+        }
+
+        if (request.isDryRun()) {
+            long matched = productRepository.countByCategory(request.getCategory(), true);
+            response.setAffected(matched);
+            response.setChunks((int) ((matched + chunkSize - 1) / chunkSize));
+            return response;
+        }
+
+        long affected = 0;
+        int chunks = 0;
+        UUID afterId = null;
+        Optional<UUID> upToId;
+        while ((upToId = productRepository.findChunkUpperBound(request.getCategory(), true, afterId, chunkSize)).isPresent()) {
+            affected += productRepository.adjustPrices(request.getCategory(), afterId, upToId.get(), factor, currency);
+            if (priceHistory.isEnabled()) {
+                priceHistory.recordAll(productRepository.findChunk(request.getCategory(), true, afterId, upToId.get()));
+            }
+            afterId = upToId.get();
+            chunks++;
+        }
+        response.setAffected(affected);
+        response.setChunks(chunks);
+        return response;
+    }
+
+    // Mismo redondeo que el UPDATE (ROUND(price * factor, 2))
+    private static BigDecimal adjusted(BigDecimal price, BigDecimal factor) {
+        return price.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,109 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.request.StockAdjustmentRequest;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class AdjustStockUseCase {
+
+    private final ProductRepository productRepository;
+    private final ProductIdFilter productIdFilter;
+    private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public AdjustStockUseCase(ProductRepository productRepository, ProductIdFilter productIdFilter,
+                              ProductMapper productMapper,
+                              StockWriteBehindBuffer stockBuffer,
+                              LowStockIndex lowStockIndex,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.productIdFilter = productIdFilter;
+        this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * En modo write-behind no abre transacción ni lee la base de datos en cada
+     * ajuste: el producto persistido sale del buffer, que lo lee una vez por
+     * intervalo. Sin write-behind el delta se aplica con un UPDATE condicionado
+     * y después se lee el producto, en la misma transacción.
+     */
+    public UseCaseResult<ProductResponse> execute(UUID id, StockAdjustmentRequest request) {
+        int delta = request.getDelta();
+        if (delta == 0) {
+            throw new IllegalArgumentException("Delta must not be zero");
+        }
+
+        // Ids que seguro no existen: 404 sin consultar la base de datos
+        if (!productIdFilter.mightExist(id)) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+
+        if (stockBuffer.isEnabled()) {
+            return adjustBuffered(id, delta);
+        }
+        return transactionTemplate.execute(status -> adjustNow(id, delta));
+    }
+
+    private UseCaseResult<ProductResponse> adjustBuffered(UUID id, int delta) {
+        Optional<Product> found = stockBuffer.persisted(id);
+        if (found.isEmpty()) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+        Product product = found.get();
+
+        // El delta se acumula y se escribe en el siguiente volcado
+        Integer effectiveStock = stockBuffer.add(id, product.getStock(), delta);
+        if (effectiveStock == null) {
+            return UseCaseResult.conflict("Insufficient stock");
+        }
+        lowStockIndex.record(id, effectiveStock, product.isActive(), LocalDateTime.now());
+        ProductResponse response = productMapper.toResponse(product);
+        response.setStock(effectiveStock);
+        return UseCaseResult.ok(response);
+    }
+
+    private UseCaseResult<ProductResponse> adjustNow(UUID id, int delta) {
+        // Delta atómico en SQL (stock = stock + delta si no queda negativo): dos ajustes
+        // concurrentes no se pisan, y la comprobación la hace la base de datos sobre la fila bloqueada
+        boolean rejected = !productRepository.applyStockDeltas(Map.of(id, delta)).isEmpty();
+
+        // La fila ya está bloqueada por el UPDATE (o no existe): se lee el resultado
+        Optional<Product> found = productRepository.findById(id);
+        if (found.isEmpty()) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+        if (rejected) {
+            return UseCaseResult.conflict("Insufficient stock");
+        }
+        Product updatedProduct = found.get();
+        lowStockIndex.record(updatedProduct);
+        eventPublisher.publishEvent(ProductChange.upsert(updatedProduct));
+
+        // Convertir a DTO de respuesta
+        return UseCaseResult.ok(productMapper.toResponse(updatedProduct));
+    }
+}
@@ -3,9 +3,13 @@ package com.tuempresa.proyecto.application.usecase.product;
 import com.tuempresa.proyecto.application.dto.request.CreateProductRequest;
 import com.tuempresa.proyecto.application.dto.response.ProductResponse;
 import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
 import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
 import com.tuempresa.proyecto.domain.repository.ProductRepository;
 import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,11 +19,20 @@ import java.util.Currency;
 public class CreateProductUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductIdFilter productIdFilter;
     private final ProductMapper productMapper;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CreateProductUseCase(ProductRepository productRepository, ProductMapper productMapper) {
+    public CreateProductUseCase(ProductRepository productRepository, ProductIdFilter productIdFilter,
+                                ProductMapper productMapper,
+                                LowStockIndex lowStockIndex,
+                                ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.productIdFilter = productIdFilter;
         this.productMapper = productMapper;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -36,8 +49,13 @@ public class CreateProductUseCase {
             request.getCategory()
         );
 
+        // Antes de guardar, para que no haya un instante en que exista y el filtro no lo sepa
+        productIdFilter.add(product.getId());
+
         // Guardar usando el repositorio
         Product savedProduct = productRepository.save(product);
+        lowStockIndex.record(savedProduct);
+        eventPublisher.publishEvent(ProductChange.upsert(savedProduct));
 
         // Convertir a DTO de respuesta
         return productMapper.toResponse(savedProduct);
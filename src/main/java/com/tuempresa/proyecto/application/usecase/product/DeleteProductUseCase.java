@@ -1,28 +1,50 @@
 package com.tuempresa.proyecto.application.usecase.product;
 
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.domain.model.ProductChange;
 import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
 public class DeleteProductUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductIdFilter productIdFilter;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DeleteProductUseCase(ProductRepository productRepository) {
+    public DeleteProductUseCase(ProductRepository productRepository, ProductIdFilter productIdFilter,
+                                LowStockIndex lowStockIndex,
+                                ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.productIdFilter = productIdFilter;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public void execute(UUID id) {
+    public UseCaseResult<Void> execute(UUID id) {
+        // Ids que seguro no existen: 404 sin consultar la base de datos
+        if (!productIdFilter.mightExist(id)) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+
         // Verificar que el producto existe
         if (!productRepository.existsById(id)) {
-            throw new IllegalArgumentException("Product not found with id: " + id);
+            return UseCaseResult.notFound("Product not found with id: " + id);
         }
 
         // Eliminar producto
         productRepository.delete(id);
+        lowStockIndex.remove(id);
+        eventPublisher.publishEvent(ProductChange.delete(id, LocalDateTime.now()));
+        return UseCaseResult.ok();
     }
 }
@@ -2,9 +2,11 @@ package com.tuempresa.proyecto.application.usecase.product;
 
 import com.tuempresa.proyecto.application.dto.response.ProductResponse;
 import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModel;
+import com.tuempresa.proyecto.application.service.CurrencyConversionService;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
 import com.tuempresa.proyecto.domain.repository.ProductRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,16 +14,30 @@ import java.util.List;
 public class GetAllProductsUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductReadModel readModel;
     private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final CurrencyConversionService currencyConversion;
 
-    public GetAllProductsUseCase(ProductRepository productRepository, ProductMapper productMapper) {
+    public GetAllProductsUseCase(ProductRepository productRepository, ProductReadModel readModel,
+                                 ProductMapper productMapper,
+                                 StockWriteBehindBuffer stockBuffer,
+                                 CurrencyConversionService currencyConversion) {
         this.productRepository = productRepository;
+        this.readModel = readModel;
         this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.currencyConversion = currencyConversion;
     }
 
-    @Transactional(readOnly = true)
-    public List<ProductResponse> execute() {
-        List<com.tuempresa.proyecto.domain.model.Product> products = productRepository.findAll();
-        return productMapper.toResponseList(products);
+    /**
+     * @param currency moneda en la que devolver los precios, o null para la original
+     */
+    public List<ProductResponse> execute(String currency) {
+        // Sin transacción propia: servido desde el modelo de lectura no ocupa conexión del pool
+        List<com.tuempresa.proyecto.domain.model.Product> products = readModel.isReady()
+            ? readModel.findAll()
+            : productRepository.findAll();
+        return currencyConversion.convert(stockBuffer.mergePending(productMapper.toResponseList(products)), currency);
     }
 }
@@ -0,0 +1,63 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.HotProductResponse;
+import com.tuempresa.proyecto.application.dto.response.HotProductsResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker.HotProduct;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Productos más consultados según ProductPopularityTracker, con la
+ * puntuación del último refresco.
+ */
+@Service
+public class GetHotProductsUseCase {
+
+    private final ProductPopularityTracker popularityTracker;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+
+    public GetHotProductsUseCase(ProductPopularityTracker popularityTracker, ProductRepository productRepository,
+                                 ProductMapper productMapper, StockWriteBehindBuffer stockBuffer) {
+        this.popularityTracker = popularityTracker;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+    }
+
+    public HotProductsResponse execute(int limit) {
+        if (limit < 1 || limit > popularityTracker.getTopK()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + popularityTracker.getTopK());
+        }
+        List<HotProduct> hot = popularityTracker.getHotProducts();
+        hot = hot.subList(0, Math.min(limit, hot.size()));
+
+        List<UUID> ids = hot.stream().map(HotProduct::getProductId).toList();
+        Map<UUID, Product> byId = productRepository.findByIds(ids).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // Se respeta el orden por puntuación; un producto borrado desde el refresco se omite
+        List<HotProductResponse> items = new ArrayList<>(hot.size());
+        for (HotProduct entry : hot) {
+            Product product = byId.get(entry.getProductId());
+            if (product != null) {
+                ProductResponse response = stockBuffer.mergePending(productMapper.toResponse(product));
+                items.add(new HotProductResponse(response, entry.getScore()));
+            }
+        }
+        return new HotProductsResponse(items, popularityTracker.getHalfLife().toString(),
+            popularityTracker.getRecorded());
+    }
+}
@@ -0,0 +1,32 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.InventoryValuationResponse;
+import com.tuempresa.proyecto.application.mapper.InventoryValuationMapper;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Valor del inventario agrupado por categoría y moneda.
+ *
+ * La agregación se resuelve en la base de datos con aritmética decimal
+ * exacta; el resultado llega ordenado por categoría y moneda.
+ */
+@Service
+public class GetInventoryValuationUseCase {
+
+    private final ProductRepository productRepository;
+    private final InventoryValuationMapper valuationMapper;
+
+    public GetInventoryValuationUseCase(ProductRepository productRepository, InventoryValuationMapper valuationMapper) {
+        this.productRepository = productRepository;
+        this.valuationMapper = valuationMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public List<InventoryValuationResponse> execute(boolean activeOnly) {
+        return valuationMapper.toResponseList(productRepository.summarizeInventoryValue(activeOnly));
+    }
+}
@@ -0,0 +1,71 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.LowStockResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Productos activos con menos stock para el tablero de reposición.
+ *
+ * Con el índice cargado se toman los N primeros ids de memoria y se leen por
+ * clave primaria; mientras se carga se usa el índice parcial (stock, id) de la
+ * base de datos.
+ */
+@Service
+public class GetLowStockProductsUseCase {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final LowStockIndex lowStockIndex;
+    private final StockWriteBehindBuffer stockBuffer;
+
+    public GetLowStockProductsUseCase(ProductRepository productRepository, ProductMapper productMapper,
+                                      LowStockIndex lowStockIndex, StockWriteBehindBuffer stockBuffer) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.lowStockIndex = lowStockIndex;
+        this.stockBuffer = stockBuffer;
+    }
+
+    @Transactional(readOnly = true)
+    public LowStockResponse execute(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        if (!lowStockIndex.isReady()) {
+            List<Product> products = productRepository.findLowestStockActive(limit);
+            List<ProductResponse> items = stockBuffer.mergePending(productMapper.toResponseList(products));
+            return new LowStockResponse(items, lowStockIndex.getThreshold(), "database");
+        }
+
+        List<UUID> ids = lowStockIndex.lowest(limit);
+        Map<UUID, Product> byId = productRepository.findByIds(ids).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // Se respeta el orden del índice; un id borrado entre ambas lecturas se omite
+        List<Product> products = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        List<ProductResponse> items = stockBuffer.mergePending(productMapper.toResponseList(products));
+        return new LowStockResponse(items, lowStockIndex.getThreshold(), "index");
+    }
+}
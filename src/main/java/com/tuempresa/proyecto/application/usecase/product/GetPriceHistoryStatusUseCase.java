@@ -0,0 +1,40 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.PriceHistoryStatusResponse;
+import com.tuempresa.proyecto.application.service.PriceHistoryRecorder;
+import com.tuempresa.proyecto.domain.model.PriceHistoryStats;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GetPriceHistoryStatusUseCase {
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceHistoryRecorder recorder;
+
+    public GetPriceHistoryStatusUseCase(PriceHistoryRepository priceHistoryRepository, PriceHistoryRecorder recorder) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.recorder = recorder;
+    }
+
+    public PriceHistoryStatusResponse execute() {
+        PriceHistoryStats stats = priceHistoryRepository.stats();
+        PriceHistoryStatusResponse response = new PriceHistoryStatusResponse();
+        response.setEnabled(recorder.isEnabled());
+        response.setProducts(stats.getProducts());
+        response.setBlocks(stats.getBlocks());
+        response.setChanges(stats.getChanges());
+        response.setBytes(stats.getBytes());
+        if (stats.getChanges() > 0) {
+            response.setBytesPerChange(Math.round(stats.getBytes() * 100.0 / stats.getChanges()) / 100.0);
+        }
+        response.setPointsAppended(recorder.getPointsAppended());
+        response.setPointsSkipped(recorder.getPointsSkipped());
+        response.setPointsDropped(recorder.getPointsDropped());
+        response.setPointsFailed(recorder.getPointsFailed());
+        response.setPointsRecovered(recorder.getPointsRecovered());
+        priceHistoryRepository.findFeedCursor().ifPresent(cursor -> response.setFeedCursor(cursor.getChangedAt()));
+        response.setQueued(recorder.getQueued());
+        return response;
+    }
+}
@@ -0,0 +1,245 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.ProductChangeFeedResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed incremental de cambios del catálogo.
+ *
+ * Los cambios se recorren por (changedAt, id) a partir de un cursor opaco, de
+ * modo que cada consulta cuesta en proporción a los cambios y no al catálogo.
+ * Solo se sirven cambios más antiguos que el margen de asentamiento
+ * (catalog.changes.settle-lag): updated_at se asigna antes del commit, y el
+ * margen evita saltarse transacciones que confirman fuera de orden.
+ *
+ * Las escrituras masivas aún sin confirmar rebajan ese límite (ver
+ * ProductRepository.findChangesSince), así que una sentencia o un commit
+ * más lentos que el margen no hacen que el cursor se salte sus filas.
+ *
+ * Con wait &gt; 0 la petición espera (long-poll) hasta que haya cambios o se
+ * agote el tiempo. La espera no ocupa un hilo de Tomcat: la respuesta es
+ * asíncrona y queda registrada como pendiente. Un único hilo consulta el feed
+ * cada 250 ms para todas las pendientes a la vez: una consulta desde el
+ * cursor más antiguo dice si hay algo nuevo para alguna, y solo entonces cada
+ * una lee su página. Sin cambios, el coste no crece con el número de clientes
+ * esperando.
+ *
+ * Las marcas de borrado se purgan pasado catalog.changes.tombstone-retention;
+ * un cursor más antiguo podría no ver borrados y se rechaza (409): el cliente
+ * tiene que volver a cargar el catálogo completo.
+ */
+@Service
+public class GetProductChangesUseCase {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final long POLL_INTERVAL_MILLIS = 250;
+    // Orden del feed: instante y después id sin signo, como la base de datos
+    private static final Comparator<Waiter> FEED_ORDER = Comparator.<Waiter, LocalDateTime>comparing(w -> w.since)
+        .thenComparing(w -> w.afterId.getMostSignificantBits(), Long::compareUnsigned)
+        .thenComparing(w -> w.afterId.getLeastSignificantBits(), Long::compareUnsigned);
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final Duration settleLag;
+    private final Duration maxWait;
+    private final Duration tombstoneRetention;
+    private final ScheduledExecutorService poller;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean pollScheduled = new AtomicBoolean();
+
+    public GetProductChangesUseCase(ProductRepository productRepository, ProductMapper productMapper,
+                                    @Value("${catalog.changes.settle-lag:PT1S}") Duration settleLag,
+                                    @Value("${catalog.changes.max-wait:PT30S}") Duration maxWait,
+                                    @Value("${catalog.changes.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.settleLag = settleLag;
+        this.maxWait = maxWait;
+        this.tombstoneRetention = tombstoneRetention;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * La primera consulta se hace en el hilo que llama; si no hay cambios y
+     * wait &gt; 0, la petición queda pendiente del hilo del poller hasta que
+     * haya cambios o venza el plazo.
+     */
+    public CompletableFuture<ProductChangeFeedResponse> execute(String cursor, int limit, Duration wait) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        LocalDateTime since = BEGINNING;
+        UUID afterId = MIN_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor);
+            try {
+                since = LocalDateTime.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]);
+            } catch (DateTimeParseException | IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (since.isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+                throw new IllegalStateException("Cursor is older than the tombstone retention (" + tombstoneRetention
+                    + "); deletes may be missing, reload the catalog and restart the feed");
+            }
+        }
+
+        long deadline = System.nanoTime() + (wait.compareTo(maxWait) > 0 ? maxWait : wait).toNanos();
+        CompletableFuture<ProductChangeFeedResponse> result = new CompletableFuture<>();
+        try {
+            List<ProductChange> changes = productRepository.findChangesSince(since, afterId, settledBound(), limit + 1);
+            if (changes.isEmpty() && !isDue(deadline, System.nanoTime())) {
+                waiters.add(new Waiter(since, afterId, limit, deadline, result));
+                schedulePoll();
+            } else {
+                result.complete(page(since, afterId, limit, changes));
+            }
+        } catch (RuntimeException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    private void schedulePoll() {
+        if (pollScheduled.compareAndSet(false, true)) {
+            poller.schedule(this::pollWaiters, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Una pasada del poller por todas las peticiones pendientes. Las que vencen
+     * se responden con lo que haya; las demás siguen esperando si no hay nada
+     * nuevo para ellas.
+     */
+    private void pollWaiters() {
+        try {
+            // Las ya respondidas por timeout de la petición asíncrona se olvidan
+            waiters.removeIf(waiter -> waiter.result.isDone());
+            List<Waiter> pending = new ArrayList<>(waiters);
+            if (pending.isEmpty()) {
+                return;
+            }
+            long now = System.nanoTime();
+            LocalDateTime until = settledBound();
+            try {
+                Waiter oldest = pending.stream().min(FEED_ORDER).get();
+                boolean changed = !productRepository.findChangesSince(oldest.since, oldest.afterId, until, 1).isEmpty();
+                for (Waiter waiter : pending) {
+                    boolean due = isDue(waiter.deadline, now);
+                    if (!changed && !due) {
+                        continue;
+                    }
+                    List<ProductChange> changes = changed
+                        ? productRepository.findChangesSince(waiter.since, waiter.afterId, until, waiter.limit + 1)
+                        : List.of();
+                    if (changes.isEmpty() && !due) {
+                        continue;
+                    }
+                    waiters.remove(waiter);
+                    waiter.result.complete(page(waiter.since, waiter.afterId, waiter.limit, changes));
+                }
+            } catch (RuntimeException ex) {
+                for (Waiter waiter : pending) {
+                    waiters.remove(waiter);
+                    waiter.result.completeExceptionally(ex);
+                }
+            }
+        } finally {
+            // Después de liberar la marca, para no perder una petición registrada durante la pasada
+            pollScheduled.set(false);
+            if (!waiters.isEmpty()) {
+                schedulePoll();
+            }
+        }
+    }
+
+    private LocalDateTime settledBound() {
+        return LocalDateTime.now().minus(settleLag);
+    }
+
+    // Vence antes de la siguiente pasada del poller
+    private static boolean isDue(long deadline, long now) {
+        return now + TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS) >= deadline;
+    }
+
+    private ProductChangeFeedResponse page(LocalDateTime since, UUID afterId, int limit, List<ProductChange> changes) {
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        String nextCursor = changes.isEmpty()
+            ? encode(since, afterId)
+            : encode(changes.get(changes.size() - 1).getChangedAt(), changes.get(changes.size() - 1).getProductId());
+        return new ProductChangeFeedResponse(productMapper.toChangeResponseList(changes), nextCursor, hasMore);
+    }
+
+    private static String encode(LocalDateTime changedAt, UUID id) {
+        String raw = changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /** Petición de long-poll pendiente. */
+    private static final class Waiter {
+        private final LocalDateTime since;
+        private final UUID afterId;
+        private final int limit;
+        private final long deadline;
+        private final CompletableFuture<ProductChangeFeedResponse> result;
+
+        private Waiter(LocalDateTime since, UUID afterId, int limit, long deadline,
+                       CompletableFuture<ProductChangeFeedResponse> result) {
+            this.since = since;
+            this.afterId = afterId;
+            this.limit = limit;
+            this.deadline = deadline;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.PricePointResponse;
+import com.tuempresa.proyecto.application.mapper.PricePointMapper;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class GetProductPriceAtUseCase {
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PricePointMapper pricePointMapper;
+
+    public GetProductPriceAtUseCase(PriceHistoryRepository priceHistoryRepository, PricePointMapper pricePointMapper) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.pricePointMapper = pricePointMapper;
+    }
+
+    public UseCaseResult<PricePointResponse> execute(UUID id, Instant at) {
+        // Las fechas de los productos se guardan en la zona del servidor
+        LocalDateTime localAt = LocalDateTime.ofInstant(at, ZoneId.systemDefault());
+        Optional<PricePoint> point = priceHistoryRepository.findPriceAt(id, localAt);
+        if (point.isEmpty()) {
+            return UseCaseResult.notFound("No price recorded for product " + id + " at " + at);
+        }
+        return UseCaseResult.ok(pricePointMapper.toResponse(point.get()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.PriceSeriesResponse;
+import com.tuempresa.proyecto.application.mapper.PricePointMapper;
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serie de precios de un producto: el precio vigente al inicio del rango y
+ * cada cambio posterior hasta el final. Las páginas siguientes se piden con
+ * from = nextFrom, y empiezan repitiendo el último punto de la anterior.
+ */
+@Service
+public class GetProductPriceSeriesUseCase {
+
+    public static final int MAX_LIMIT = 5000;
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PricePointMapper pricePointMapper;
+
+    public GetProductPriceSeriesUseCase(PriceHistoryRepository priceHistoryRepository, PricePointMapper pricePointMapper) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.pricePointMapper = pricePointMapper;
+    }
+
+    public PriceSeriesResponse execute(UUID id, Instant from, Instant to, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (limit < 2 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 2 and " + MAX_LIMIT);
+        }
+        LocalDateTime localFrom = LocalDateTime.ofInstant(from, ZoneId.systemDefault());
+        LocalDateTime localTo = LocalDateTime.ofInstant(to, ZoneId.systemDefault());
+
+        List<PricePoint> points = priceHistoryRepository.findSeries(id, localFrom, localTo, limit + 1);
+        PriceSeriesResponse response = new PriceSeriesResponse();
+        response.setProductId(id);
+        response.setFrom(localFrom);
+        response.setTo(localTo);
+        if (points.size() > limit) {
+            points = points.subList(0, limit);
+            response.setNextFrom(points.get(limit - 1).getEffectiveAt());
+        }
+        response.setPoints(pricePointMapper.toResponseList(points));
+        return response;
+    }
+}
@@ -2,29 +2,65 @@ package com.tuempresa.proyecto.application.usecase.product;
 
 import com.tuempresa.proyecto.application.dto.response.ProductResponse;
 import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModel;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.application.service.CurrencyConversionService;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
 import com.tuempresa.proyecto.domain.model.Product;
 import com.tuempresa.proyecto.domain.repository.ProductRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class GetProductUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductIdFilter productIdFilter;
+    private final ProductReadModel readModel;
     private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final CurrencyConversionService currencyConversion;
+    private final ProductPopularityTracker popularityTracker;
 
-    public GetProductUseCase(ProductRepository productRepository, ProductMapper productMapper) {
+    public GetProductUseCase(ProductRepository productRepository, ProductIdFilter productIdFilter,
+                             ProductReadModel readModel,
+                             ProductMapper productMapper,
+                             StockWriteBehindBuffer stockBuffer,
+                             CurrencyConversionService currencyConversion,
+                             ProductPopularityTracker popularityTracker) {
         this.productRepository = productRepository;
+        this.productIdFilter = productIdFilter;
+        this.readModel = readModel;
         this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.currencyConversion = currencyConversion;
+        this.popularityTracker = popularityTracker;
     }
 
-    @Transactional(readOnly = true)
-    public ProductResponse execute(UUID id) {
-        Product product = productRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
-        
-        return productMapper.toResponse(product);
+    /**
+     * @param currency moneda en la que devolver el precio, o null para la original
+     */
+    public UseCaseResult<ProductResponse> execute(UUID id, String currency) {
+        // Ids que seguro no existen: 404 sin consultar la base de datos
+        if (!productIdFilter.mightExist(id)) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+
+        // Si el modelo de lectura aún no lo tiene (alta reciente, archivado) se consulta la tabla
+        Optional<Product> product = readModel.isReady() ? readModel.findById(id) : Optional.empty();
+        if (product.isEmpty()) {
+            product = productRepository.findByIdIncludingArchived(id);
+        }
+        if (product.isEmpty()) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+        popularityTracker.record(id);
+
+        ProductResponse response = stockBuffer.mergePending(productMapper.toResponse(product.get()));
+        return UseCaseResult.ok(currencyConversion.convert(response, currency));
     }
 }
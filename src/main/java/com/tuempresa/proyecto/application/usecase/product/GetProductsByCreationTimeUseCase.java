@@ -0,0 +1,71 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.ProductPageResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModel;
+import com.tuempresa.proyecto.application.service.CurrencyConversionService;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lista productos por fecha de creación recorriendo la clave primaria.
+ *
+ * Como los ids son UUID v7, el rango [from, to) se traduce a un rango de ids
+ * y la consulta es un range scan sobre el índice de la clave primaria, sin
+ * necesidad de un índice sobre created_at. La paginación es por cursor (keyset).
+ */
+@Service
+public class GetProductsByCreationTimeUseCase {
+
+    public static final int MAX_LIMIT = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductReadModel readModel;
+    private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final CurrencyConversionService currencyConversion;
+    private final ProductPopularityTracker popularityTracker;
+
+    public GetProductsByCreationTimeUseCase(ProductRepository productRepository, ProductReadModel readModel,
+                                            ProductMapper productMapper,
+                                            StockWriteBehindBuffer stockBuffer,
+                                            CurrencyConversionService currencyConversion,
+                                            ProductPopularityTracker popularityTracker) {
+        this.productRepository = productRepository;
+        this.readModel = readModel;
+        this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.currencyConversion = currencyConversion;
+        this.popularityTracker = popularityTracker;
+    }
+
+    public ProductPageResponse execute(Instant from, Instant to, UUID after, int limit, String currency) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        UUID lower = UuidGenerator.minForTimestamp(from);
+        UUID upper = UuidGenerator.minForTimestamp(to);
+
+        List<Product> products = readModel.isReady()
+            ? readModel.findByIdRange(lower, upper, after, limit)
+            : productRepository.findByIdRange(lower, upper, after, limit);
+        String nextCursor = products.size() == limit
+            ? products.get(products.size() - 1).getId().toString()
+            : null;
+        products.forEach(product -> popularityTracker.record(product.getId()));
+        List<ProductResponse> items = stockBuffer.mergePending(productMapper.toResponseList(products));
+        return new ProductPageResponse(currencyConversion.convert(items, currency), nextCursor);
+    }
+}
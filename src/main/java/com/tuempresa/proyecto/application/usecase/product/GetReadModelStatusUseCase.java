@@ -0,0 +1,42 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.ReadModelStatusResponse;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModel;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModelProjector;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+public class GetReadModelStatusUseCase {
+
+    private final ProductReadModel readModel;
+    private final ProductReadModelProjector projector;
+
+    public GetReadModelStatusUseCase(ProductReadModel readModel, ProductReadModelProjector projector) {
+        this.readModel = readModel;
+        this.projector = projector;
+    }
+
+    public ReadModelStatusResponse execute() {
+        ReadModelStatusResponse response = new ReadModelStatusResponse();
+        response.setEnabled(projector.isEnabled());
+        response.setReady(readModel.isReady());
+        response.setRebuilding(projector.isRebuilding());
+        response.setProducts(readModel.size());
+        LocalDateTime syncedThrough = projector.getSyncedThrough();
+        response.setSyncedThrough(syncedThrough);
+        if (syncedThrough != null) {
+            response.setStalenessMillis(Duration.between(syncedThrough, LocalDateTime.now()).toMillis());
+        }
+        response.setEventsApplied(projector.getEventsApplied());
+        response.setEventsDropped(projector.getEventsDropped());
+        response.setEventsQueued(projector.getQueuedEvents());
+        response.setLastEventLagMicros(projector.getLastEventLagMicros());
+        response.setFeedChangesApplied(projector.getFeedChangesApplied());
+        response.setLastRebuildAt(projector.getLastRebuildAt());
+        response.setLastRebuildMillis(projector.getLastRebuildMillis());
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.request.PatchProductRequest;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class PatchProductUseCase {
+
+    private final ProductRepository productRepository;
+    private final ProductIdFilter productIdFilter;
+    private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PatchProductUseCase(ProductRepository productRepository, ProductIdFilter productIdFilter,
+                               ProductMapper productMapper,
+                               StockWriteBehindBuffer stockBuffer,
+                               LowStockIndex lowStockIndex,
+                               ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.productIdFilter = productIdFilter;
+        this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public UseCaseResult<ProductResponse> execute(UUID id, PatchProductRequest request) {
+        // Ids que seguro no existen: 404 sin consultar la base de datos
+        if (!productIdFilter.mightExist(id)) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+
+        // Los ajustes de stock pendientes se escriben antes de modificar el producto
+        stockBuffer.flush(id);
+
+        // Buscar producto
+        Optional<Product> found = productRepository.findById(id);
+        if (found.isEmpty()) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+        Product product = found.get();
+        if (!product.isActive()) {
+            return UseCaseResult.conflict("Cannot update inactive product");
+        }
+
+        // Combinar precio y moneda parciales con los valores actuales
+        Money price = null;
+        if (request.getPrice() != null || request.getCurrency() != null) {
+            price = Money.of(
+                request.getPrice() != null ? request.getPrice() : product.getPrice().getAmount(),
+                request.getCurrency() != null ? request.getCurrency() : product.getPrice().getCurrencyCode()
+            );
+        }
+
+        // Aplicar solo los campos presentes; si nada cambia no se escribe
+        boolean changed = product.patch(
+            request.getName(),
+            request.getDescription(),
+            price,
+            request.getStock(),
+            request.getCategory()
+        );
+        if (!changed) {
+            return UseCaseResult.ok(productMapper.toResponse(product));
+        }
+
+        // Guardar cambios
+        Product updatedProduct = productRepository.save(product);
+        lowStockIndex.record(updatedProduct);
+        eventPublisher.publishEvent(ProductChange.upsert(updatedProduct));
+
+        // Convertir a DTO de respuesta
+        return UseCaseResult.ok(productMapper.toResponse(updatedProduct));
+    }
+}
@@ -0,0 +1,33 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.ReadModelStatusResponse;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModelProjector;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reconstruye el modelo de lectura completo desde la tabla products. Las
+ * lecturas siguen sirviéndose del modelo anterior hasta que termina.
+ */
+@Service
+public class RebuildReadModelUseCase {
+
+    private final ProductReadModelProjector projector;
+    private final GetReadModelStatusUseCase getReadModelStatusUseCase;
+
+    public RebuildReadModelUseCase(ProductReadModelProjector projector,
+                                   GetReadModelStatusUseCase getReadModelStatusUseCase) {
+        this.projector = projector;
+        this.getReadModelStatusUseCase = getReadModelStatusUseCase;
+    }
+
+    public UseCaseResult<ReadModelStatusResponse> execute() {
+        if (!projector.isEnabled()) {
+            return UseCaseResult.conflict("Read model is disabled");
+        }
+        if (!projector.rebuild()) {
+            return UseCaseResult.conflict("Read model rebuild already in progress");
+        }
+        return UseCaseResult.ok(getReadModelStatusUseCase.execute());
+    }
+}
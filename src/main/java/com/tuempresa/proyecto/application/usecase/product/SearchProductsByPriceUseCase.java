@@ -0,0 +1,128 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.ProductPageResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.readmodel.ProductReadModel;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Productos activos de una categoría filtrados por banda de precio y
+ * ordenados por precio.
+ *
+ * El precio se guarda en la moneda de cada producto, así que la banda se
+ * aplica dentro de una moneda. La paginación es por cursor sobre (price, id)
+ * y usa el índice (category, active, currency, price, id): cada página cuesta
+ * lo mismo independientemente de su profundidad.
+ */
+@Service
+public class SearchProductsByPriceUseCase {
+
+    public static final int MAX_LIMIT = 500;
+
+    // Máximo representable en DECIMAL(10, 2)
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final ProductRepository productRepository;
+    private final ProductReadModel readModel;
+    private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final ProductPopularityTracker popularityTracker;
+
+    public SearchProductsByPriceUseCase(ProductRepository productRepository, ProductReadModel readModel,
+                                            ProductMapper productMapper,
+                                        StockWriteBehindBuffer stockBuffer,
+                                        ProductPopularityTracker popularityTracker) {
+        this.productRepository = productRepository;
+        this.readModel = readModel;
+        this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.popularityTracker = popularityTracker;
+    }
+
+    /**
+     * @param sort "price" (ascendente) o "-price" (descendente)
+     * @param cursor nextCursor de la página anterior, o null para la primera
+     */
+    public ProductPageResponse execute(String category, String currency, BigDecimal minPrice, BigDecimal maxPrice,
+                                       String sort, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        boolean descending;
+        if ("price".equals(sort)) {
+            descending = false;
+        } else if ("-price".equals(sort)) {
+            descending = true;
+        } else {
+            throw new IllegalArgumentException("Sort must be 'price' or '-price'");
+        }
+        String currencyCode = normalizeCurrency(currency);
+        BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+        BigDecimal max = maxPrice != null ? maxPrice : MAX_PRICE;
+        if (min.signum() < 0 || min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Price range is invalid");
+        }
+
+        BigDecimal afterPrice = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor);
+            afterPrice = new BigDecimal(parts[0]);
+            afterId = UUID.fromString(parts[1]);
+        }
+
+        // Se pide un elemento de más para saber si hay página siguiente sin otra consulta
+        List<Product> products = readModel.isReady()
+            ? readModel.findByPriceRange(category, currencyCode, min, max, descending, afterPrice, afterId, limit + 1)
+            : productRepository.findByPriceRange(category, currencyCode, min, max, descending, afterPrice, afterId, limit + 1);
+        String nextCursor = null;
+        if (products.size() > limit) {
+            products = products.subList(0, limit);
+            Product last = products.get(limit - 1);
+            nextCursor = encode(last.getPrice().getAmount(), last.getId());
+        }
+        products.forEach(product -> popularityTracker.record(product.getId()));
+        List<ProductResponse> items = stockBuffer.mergePending(productMapper.toResponseList(products));
+        return new ProductPageResponse(items, nextCursor);
+    }
+
+    private static String normalizeCurrency(String currency) {
+        try {
+            return Currency.getInstance(currency.trim().toUpperCase()).getCurrencyCode();
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown currency: " + currency);
+        }
+    }
+
+    private static String encode(BigDecimal price, UUID id) {
+        String raw = price.toPlainString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            new BigDecimal(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.request.BulkActivationRequest;
+import com.tuempresa.proyecto.application.dto.response.BulkActivationResponse;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Activación o desactivación masiva, por lista de ids o por categoría.
+ *
+ * Igual que el ajuste de precios, se ejecuta en la base de datos por tramos
+ * de como máximo catalog.bulk.chunk-size productos, cada uno confirmado por
+ * separado y sin cargar entidades. Como Product.activate()/deactivate(), solo
+ * cambian los productos que estaban en el estado contrario; con lista de ids
+ * se informa de los que ya estaban en ese estado y de los que no existen.
+ *
+ * El modelo de lectura recoge los cambios desde el feed (updated_at).
+ */
+@Service
+public class SetProductsActivationUseCase {
+
+    private final ProductRepository productRepository;
+    private final LowStockIndex lowStockIndex;
+    private final int chunkSize;
+
+    public SetProductsActivationUseCase(ProductRepository productRepository,
+                                        LowStockIndex lowStockIndex,
+                                        @Value("${catalog.bulk.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.lowStockIndex = lowStockIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkActivationResponse execute(BulkActivationRequest request) {
+        boolean byIds = request.getIds() != null;
+        if (byIds == (request.getCategory() != null)) {
+            throw new IllegalArgumentException("Exactly one of ids or category is required");
+        }
+        BulkActivationResponse response = new BulkActivationResponse();
+        response.setActive(request.getActive());
+        if (byIds) {
+            applyToIds(request.getIds(), request.getActive(), response);
+        } else {
+            response.setCategory(request.getCategory());
+            applyToCategory(request.getCategory(), request.getActive(), response);
+        }
+        return response;
+    }
+
+    private void applyToIds(List<UUID> requested, boolean active, BulkActivationResponse response) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(requested));
+        List<UUID> unchanged = new ArrayList<>();
+        List<UUID> notFound = new ArrayList<>();
+        long affected = 0;
+        int chunks = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Set<UUID> changed = productRepository.setActive(chunk, active);
+            affected += changed.size();
+            chunks++;
+            updateLowStockIndex(changed, active);
+
+            List<UUID> rest = new ArrayList<>();
+            for (UUID id : chunk) {
+                if (!changed.contains(id)) {
+                    rest.add(id);
+                }
+            }
+            Set<UUID> existing = productRepository.findExistingIds(rest);
+            for (UUID id : rest) {
+                (existing.contains(id) ? unchanged : notFound).add(id);
+            }
+        }
+        response.setAffected(affected);
+        response.setChunks(chunks);
+        response.setUnchanged(unchanged);
+        response.setNotFound(notFound);
+    }
+
+    private void applyToCategory(String category, boolean active, BulkActivationResponse response) {
+        long affected = 0;
+        int chunks = 0;
+        UUID afterId = null;
+        Optional<UUID> upToId;
+        // Los tramos se buscan entre los productos en el estado contrario, que son los que cambian
+        while ((upToId = productRepository.findChunkUpperBound(category, !active, afterId, chunkSize)).isPresent()) {
+            affected += productRepository.setActiveInCategory(category, active, afterId, upToId.get());
+            afterId = upToId.get();
+            chunks++;
+        }
+        if (affected > 0) {
+            lowStockIndex.rebuildAsync();
+        }
+        response.setAffected(affected);
+        response.setChunks(chunks);
+    }
+
+    private void updateLowStockIndex(Set<UUID> changed, boolean active) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (active) {
+            productRepository.findByIds(changed).forEach(lowStockIndex::record);
+        } else {
+            changed.forEach(lowStockIndex::remove);
+        }
+    }
+}
@@ -3,31 +3,64 @@ package com.tuempresa.proyecto.application.usecase.product;
 import com.tuempresa.proyecto.application.dto.request.UpdateProductRequest;
 import com.tuempresa.proyecto.application.dto.response.ProductResponse;
 import com.tuempresa.proyecto.application.mapper.ProductMapper;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.application.service.LowStockIndex;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
 import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
 import com.tuempresa.proyecto.domain.repository.ProductRepository;
 import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Currency;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class UpdateProductUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductIdFilter productIdFilter;
     private final ProductMapper productMapper;
+    private final StockWriteBehindBuffer stockBuffer;
+    private final LowStockIndex lowStockIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UpdateProductUseCase(ProductRepository productRepository, ProductMapper productMapper) {
+    public UpdateProductUseCase(ProductRepository productRepository, ProductIdFilter productIdFilter,
+                                ProductMapper productMapper,
+                                StockWriteBehindBuffer stockBuffer,
+                                LowStockIndex lowStockIndex,
+                                ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.productIdFilter = productIdFilter;
         this.productMapper = productMapper;
+        this.stockBuffer = stockBuffer;
+        this.lowStockIndex = lowStockIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public ProductResponse execute(UUID id, UpdateProductRequest request) {
+    public UseCaseResult<ProductResponse> execute(UUID id, UpdateProductRequest request) {
+        // Ids que seguro no existen: 404 sin consultar la base de datos
+        if (!productIdFilter.mightExist(id)) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+
+        // Los ajustes de stock pendientes se escriben antes de modificar el producto
+        stockBuffer.flush(id);
+
         // Buscar producto
-        Product product = productRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
+        Optional<Product> found = productRepository.findById(id);
+        if (found.isEmpty()) {
+            return UseCaseResult.notFound("Product not found with id: " + id);
+        }
+        Product product = found.get();
+        if (!product.isActive()) {
+            return UseCaseResult.conflict("Cannot update inactive product");
+        }
 
         // Crear value object Money
         Money price = Money.of(request.getPrice(), Currency.getInstance(request.getCurrency()));
@@ -43,8 +76,10 @@ public class UpdateProductUseCase {
 
         // Guardar cambios
         Product updatedProduct = productRepository.save(product);
+        lowStockIndex.record(updatedProduct);
+        eventPublisher.publishEvent(ProductChange.upsert(updatedProduct));
 
         // Convertir a DTO de respuesta
-        return productMapper.toResponse(updatedProduct);
+        return UseCaseResult.ok(productMapper.toResponse(updatedProduct));
     }
 }
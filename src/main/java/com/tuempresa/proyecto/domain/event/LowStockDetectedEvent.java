@@ -0,0 +1,27 @@
+package com.tuempresa.proyecto.domain.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Un producto activo ha bajado del umbral de stock mínimo.
+ */
+public class LowStockDetectedEvent {
+    private final UUID productId;
+    private final int stock;
+    private final int threshold;
+    private final LocalDateTime detectedAt;
+
+    public LowStockDetectedEvent(UUID productId, int stock, int threshold, LocalDateTime detectedAt) {
+        this.productId = productId;
+        this.stock = stock;
+        this.threshold = threshold;
+        this.detectedAt = detectedAt;
+    }
+
+    // Getters
+    public UUID getProductId() { return productId; }
+    public int getStock() { return stock; }
+    public int getThreshold() { return threshold; }
+    public LocalDateTime getDetectedAt() { return detectedAt; }
+}
@@ -0,0 +1,23 @@
+package com.tuempresa.proyecto.domain.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Un lote de productos inactivos se ha movido a products_archive: ya no forman
+ * parte del catálogo, aunque se sigan pudiendo leer por id.
+ */
+public class ProductsArchivedEvent {
+    private final List<UUID> productIds;
+    private final LocalDateTime archivedAt;
+
+    public ProductsArchivedEvent(List<UUID> productIds, LocalDateTime archivedAt) {
+        this.productIds = productIds;
+        this.archivedAt = archivedAt;
+    }
+
+    // Getters
+    public List<UUID> getProductIds() { return productIds; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,25 @@
+package com.tuempresa.proyecto.domain.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Un ajuste de stock aceptado en el buffer write-behind no se pudo escribir:
+ * el stock habría quedado negativo o el producto ya no existe.
+ */
+public class StockDeltaRejectedEvent {
+    private final UUID productId;
+    private final int delta;
+    private final LocalDateTime rejectedAt;
+
+    public StockDeltaRejectedEvent(UUID productId, int delta, LocalDateTime rejectedAt) {
+        this.productId = productId;
+        this.delta = delta;
+        this.rejectedAt = rejectedAt;
+    }
+
+    // Getters
+    public UUID getProductId() { return productId; }
+    public int getDelta() { return delta; }
+    public LocalDateTime getRejectedAt() { return rejectedAt; }
+}
@@ -0,0 +1,22 @@
+package com.tuempresa.proyecto.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Posición en el feed de cambios: el último cambio ya procesado, por
+ * instante e id (el orden del feed).
+ */
+public class ChangeFeedCursor {
+    private final LocalDateTime changedAt;
+    private final UUID productId;
+
+    public ChangeFeedCursor(LocalDateTime changedAt, UUID productId) {
+        this.changedAt = changedAt;
+        this.productId = productId;
+    }
+
+    // Getters
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public UUID getProductId() { return productId; }
+}
@@ -0,0 +1,34 @@
+package com.tuempresa.proyecto.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado guardado de una petición con Idempotency-Key.
+ *
+ * Mientras la petición original se está procesando response es null y
+ * expiresAt marca hasta cuándo se respeta la reserva; después contiene la
+ * respuesta serializada y expiresAt el fin de su TTL.
+ */
+public class IdempotencyRecord {
+    private final String key;
+    private final String fingerprint;
+    private final String response;
+    private final LocalDateTime expiresAt;
+
+    public IdempotencyRecord(String key, String fingerprint, String response, LocalDateTime expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.response = response;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+
+    // Getters
+    public String getKey() { return key; }
+    public String getFingerprint() { return fingerprint; }
+    public String getResponse() { return response; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,26 @@
+package com.tuempresa.proyecto.domain.model;
+
+import com.tuempresa.proyecto.domain.valueobject.Money;
+
+/**
+ * Valor total del stock (precio × unidades) de una categoría en una moneda.
+ */
+public class InventoryValuation {
+    private final String category;
+    private final Money totalValue;
+    private final long units;
+    private final long products;
+
+    public InventoryValuation(String category, Money totalValue, long units, long products) {
+        this.category = category;
+        this.totalValue = totalValue;
+        this.units = units;
+        this.products = products;
+    }
+
+    // Getters
+    public String getCategory() { return category; }
+    public Money getTotalValue() { return totalValue; }
+    public long getUnits() { return units; }
+    public long getProducts() { return products; }
+}
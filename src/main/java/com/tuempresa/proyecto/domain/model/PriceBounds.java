@@ -0,0 +1,21 @@
+package com.tuempresa.proyecto.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Importes mínimo y máximo de un conjunto de productos, sin tener en cuenta
+ * la moneda. Sirve para validar un ajuste masivo antes de aplicarlo.
+ */
+public class PriceBounds {
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    public PriceBounds(BigDecimal min, BigDecimal max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    // Getters
+    public BigDecimal getMin() { return min; }
+    public BigDecimal getMax() { return max; }
+}
@@ -0,0 +1,25 @@
+package com.tuempresa.proyecto.domain.model;
+
+/**
+ * Tamaño del historial de precios: bloques, cambios guardados y bytes que
+ * ocupan sus datos codificados.
+ */
+public class PriceHistoryStats {
+    private final long products;
+    private final long blocks;
+    private final long changes;
+    private final long bytes;
+
+    public PriceHistoryStats(long products, long blocks, long changes, long bytes) {
+        this.products = products;
+        this.blocks = blocks;
+        this.changes = changes;
+        this.bytes = bytes;
+    }
+
+    // Getters
+    public long getProducts() { return products; }
+    public long getBlocks() { return blocks; }
+    public long getChanges() { return changes; }
+    public long getBytes() { return bytes; }
+}
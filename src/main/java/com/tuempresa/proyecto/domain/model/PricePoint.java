@@ -0,0 +1,31 @@
+package com.tuempresa.proyecto.domain.model;
+
+import com.tuempresa.proyecto.domain.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Precio de un producto vigente desde un instante (hasta el siguiente punto
+ * de su historial).
+ */
+public class PricePoint {
+    private final UUID productId;
+    private final Money price;
+    private final LocalDateTime effectiveAt;
+
+    public PricePoint(UUID productId, Money price, LocalDateTime effectiveAt) {
+        this.productId = productId;
+        this.price = price;
+        this.effectiveAt = effectiveAt;
+    }
+
+    public static PricePoint of(Product product) {
+        return new PricePoint(product.getId(), product.getPrice(), product.getUpdatedAt());
+    }
+
+    // Getters
+    public UUID getProductId() { return productId; }
+    public Money getPrice() { return price; }
+    public LocalDateTime getEffectiveAt() { return effectiveAt; }
+}
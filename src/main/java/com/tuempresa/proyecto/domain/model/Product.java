@@ -67,6 +67,43 @@ public class Product {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Aplica cambios parciales. Los argumentos null se ignoran.
+     *
+     * @return true si algún atributo cambió realmente
+     */
+    public boolean patch(String name, String description, Money price,
+                         Integer stock, String category) {
+        if (!this.active) {
+            throw new IllegalStateException("Cannot update inactive product");
+        }
+        boolean changed = false;
+        if (name != null && !name.equals(this.name)) {
+            this.name = name;
+            changed = true;
+        }
+        if (description != null && !description.equals(this.description)) {
+            this.description = description;
+            changed = true;
+        }
+        if (price != null && !price.equals(this.price)) {
+            this.price = price;
+            changed = true;
+        }
+        if (stock != null && !stock.equals(this.stock)) {
+            this.stock = stock;
+            changed = true;
+        }
+        if (category != null && !category.equals(this.category)) {
+            this.category = category;
+            changed = true;
+        }
+        if (changed) {
+            this.updatedAt = LocalDateTime.now();
+        }
+        return changed;
+    }
+
     public void addStock(Integer quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be positive");
@@ -0,0 +1,41 @@
+package com.tuempresa.proyecto.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cambio de un producto en el feed de cambios: alta/modificación o borrado.
+ */
+public class ProductChange {
+
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    private final Type type;
+    private final UUID productId;
+    private final LocalDateTime changedAt;
+    private final Product product;
+
+    private ProductChange(Type type, UUID productId, LocalDateTime changedAt, Product product) {
+        this.type = type;
+        this.productId = productId;
+        this.changedAt = changedAt;
+        this.product = product;
+    }
+
+    public static ProductChange upsert(Product product) {
+        return new ProductChange(Type.UPSERT, product.getId(), product.getUpdatedAt(), product);
+    }
+
+    public static ProductChange delete(UUID productId, LocalDateTime deletedAt) {
+        return new ProductChange(Type.DELETE, productId, deletedAt, null);
+    }
+
+    // Getters
+    public Type getType() { return type; }
+    public UUID getProductId() { return productId; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public Product getProduct() { return product; }
+}
@@ -0,0 +1,15 @@
+package com.tuempresa.proyecto.domain.repository;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface CatalogSnapshotRepository {
+    // Guarda el catálogo junto con el instante hasta el que refleja todos los cambios confirmados
+    void save(Collection<Product> products, LocalDateTime syncedThrough);
+
+    // Entrega los productos de la última instantánea y devuelve su instante; vacío si no hay una válida
+    Optional<LocalDateTime> load(Consumer<Product> consumer);
+}
@@ -0,0 +1,8 @@
+package com.tuempresa.proyecto.domain.repository;
+
+import com.tuempresa.proyecto.domain.valueobject.ExchangeRates;
+
+public interface ExchangeRateRepository {
+    // Lee la tabla de tipos de cambio vigente
+    ExchangeRates load();
+}
@@ -0,0 +1,23 @@
+package com.tuempresa.proyecto.domain.repository;
+
+import com.tuempresa.proyecto.domain.model.IdempotencyRecord;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository {
+    // Reserva la clave hasta leaseUntil; false si otra petición ya la tiene (reservada o completada) y no ha caducado
+    boolean claim(String key, String fingerprint, LocalDateTime leaseUntil);
+
+    Optional<IdempotencyRecord> find(String key);
+
+    // Alarga una reserva aún sin completar; false si ya no existe (caducó y otra petición la tomó)
+    boolean renew(String key, LocalDateTime leaseUntil);
+
+    // Guarda la respuesta de una clave reservada y la conserva hasta expiresAt
+    void complete(String key, String response, LocalDateTime expiresAt);
+
+    // Libera una reserva cuya petición ha fallado, para que el siguiente reintento la procese
+    void release(String key);
+
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,29 @@
+package com.tuempresa.proyecto.domain.repository;
+
+import com.tuempresa.proyecto.domain.model.ChangeFeedCursor;
+import com.tuempresa.proyecto.domain.model.PriceHistoryStats;
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PriceHistoryRepository {
+    // Añade al final del historial de cada producto los puntos que cambian su precio;
+    // se descartan los que no lo cambian o son anteriores al último guardado. Devuelve los añadidos
+    int appendAll(Collection<PricePoint> points);
+
+    // Precio vigente en un instante; vacío si el historial del producto empieza después
+    Optional<PricePoint> findPriceAt(UUID productId, LocalDateTime at);
+
+    // Precio vigente en from seguido de los cambios hasta to (inclusive), como máximo limit puntos
+    List<PricePoint> findSeries(UUID productId, LocalDateTime from, LocalDateTime to, int limit);
+
+    PriceHistoryStats stats();
+
+    // Último cambio del feed ya llevado al historial; vacío si aún no se ha recorrido
+    Optional<ChangeFeedCursor> findFeedCursor();
+
+    void saveFeedCursor(ChangeFeedCursor cursor);
+}
@@ -1,16 +1,74 @@
 package com.tuempresa.proyecto.domain.repository;
 
+import com.tuempresa.proyecto.domain.model.InventoryValuation;
+import com.tuempresa.proyecto.domain.model.PriceBounds;
 import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface ProductRepository {
     Product save(Product product);
+    // Solo la tabla de productos: los archivados no se pueden modificar y las escrituras no los ven
     Optional<Product> findById(UUID id);
+    // Lectura por id que también busca en el archivo (GET /api/products/{id})
+    Optional<Product> findByIdIncludingArchived(UUID id);
     List<Product> findAll();
     List<Product> findByCategory(String category);
     List<Product> findActiveProducts();
     void delete(UUID id);
     boolean existsById(UUID id);
+    long count();
+    List<Product> findByIdRange(UUID fromInclusive, UUID toExclusive, UUID afterId, int limit);
+    List<Product> findByIds(Collection<UUID> ids);
+
+    // Productos activos de una categoría en una banda de precio (en una moneda), recorridos por (price, id).
+    // afterPrice/afterId son el último elemento de la página anterior, o null para la primera
+    List<Product> findByPriceRange(String category, String currency, BigDecimal minPrice, BigDecimal maxPrice,
+                                   boolean descending, BigDecimal afterPrice, UUID afterId, int limit);
+
+    // Productos activos con menos stock, ordenados por (stock, id)
+    List<Product> findLowestStockActive(int limit);
+    // Recorre (id, stock) de los productos activos sin cargar la lista completa
+    void forEachActiveStock(BiConsumer<UUID, Integer> consumer);
+    // Recorre los ids de todos los productos, también los archivados, sin cargar la lista completa
+    void forEachId(Consumer<UUID> consumer);
+
+    // Feed de cambios ordenado por (changedAt, id); los borrados se devuelven como DELETE.
+    // until se rebaja si una escritura masiva con un updated_at anterior aún no ha confirmado
+    List<ProductChange> findChangesSince(LocalDateTime since, UUID afterId, LocalDateTime until, int limit);
+    // Límite que findChangesSince aplica de verdad: until, o justo antes de la escritura masiva pendiente más antigua
+    LocalDateTime settledUntil(LocalDateTime until);
+    // Borra un lote de marcas de borrado anteriores al corte; devuelve cuántas
+    int purgeTombstonesBefore(LocalDateTime cutoff, int batchSize);
+
+    // Reportes
+    List<InventoryValuation> summarizeInventoryValue(boolean activeOnly);
+
+    // Operaciones masivas
+    int upsertAll(List<Product> products);
+    long countByCategory(String category, boolean active);
+    // Precio mínimo y máximo de la categoría; vacío si no tiene productos
+    Optional<PriceBounds> findPriceBounds(String category, boolean active);
+    Optional<UUID> findChunkUpperBound(String category, boolean active, UUID afterId, int chunkSize);
+    int adjustPrices(String category, UUID afterId, UUID upToId, BigDecimal factor, String currency);
+    // Productos del tramo (afterId, upToId] de la categoría, en orden de id
+    List<Product> findChunk(String category, boolean active, UUID afterId, UUID upToId);
+    int setActiveInCategory(String category, boolean active, UUID afterId, UUID upToId);
+    // Activa o desactiva los ids indicados; devuelve los que cambiaron de estado
+    Set<UUID> setActive(Collection<UUID> ids, boolean active);
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+    // Aplica deltas de stock; devuelve los ids rechazados (inexistentes o con stock insuficiente)
+    Set<UUID> applyStockDeltas(Map<UUID, Integer> deltas);
+
+    // Archivado de productos inactivos; devuelve los ids movidos, que quedan como borrados en el feed de cambios
+    List<UUID> archiveInactiveBefore(LocalDateTime cutoff, int batchSize);
 }
@@ -0,0 +1,15 @@
+package com.tuempresa.proyecto.domain.util;
+
+import java.util.UUID;
+
+/**
+ * Estrategia con la que UuidGenerator genera los ids de producto.
+ *
+ * Toda implementación debe devolver UUIDs v7 únicos, crecientes dentro de un
+ * mismo hilo y ordenados por milisegundo de creación entre hilos, para que
+ * las inserciones sigan cayendo al final del índice de la clave primaria.
+ */
+public interface IdGenerationStrategy {
+
+    UUID generate();
+}
@@ -0,0 +1,89 @@
+package com.tuempresa.proyecto.domain.util;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUIDs v7 generados por hilo, sin estado compartido.
+ *
+ * Cada hilo tiene su último milisegundo, su contador y su propio
+ * SecureRandom (DRBG, que no comparte bloqueo entre instancias):
+ * <ul>
+ *   <li>En un milisegundo nuevo los 74 bits aleatorios (rand_a y rand_b) se
+ *   toman al azar, con el bit más alto a cero para que el contador no
+ *   desborde.</li>
+ *   <li>En el mismo milisegundo, o si el reloj retrocede, se incrementan en
+ *   uno sobre el último id del hilo (método 3 de la RFC 9562, como
+ *   uuid-creator): los ids de un hilo son siempre crecientes.</li>
+ * </ul>
+ * Los bits aleatorios se leen de un búfer que se rellena de una vez cada
+ * PREFETCH_IDS milisegundos nuevos, en lugar de pedirlos en cada id.
+ *
+ * Entre hilos no hay coordinación: dos hilos en el mismo milisegundo parten
+ * de puntos al azar de un espacio de 2^73 valores, así que no colisionan en
+ * la práctica, y sus ids se ordenan por milisegundo (k-ordenados).
+ */
+public final class ThreadLocalUuidV7Strategy implements IdGenerationStrategy {
+
+    private static final int PREFETCH_IDS = 64;
+    private static final long RAND_A_MASK = 0x0FFFL;
+    private static final long RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public UUID generate() {
+        return states.get().next(System.currentTimeMillis());
+    }
+
+    private static final class State {
+        private final SecureRandom random = newRandom();
+        private final ByteBuffer prefetched = ByteBuffer.allocate(PREFETCH_IDS * 2 * Long.BYTES);
+        private long lastMillis = -1;
+        private long randA;
+        private long randB;
+
+        private State() {
+            prefetched.position(prefetched.limit());
+        }
+
+        private UUID next(long now) {
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Bit alto de rand_a a cero: deja 2^73 incrementos antes de desbordar
+                randA = nextRandom() & (RAND_A_MASK >>> 1);
+                randB = nextRandom() & RAND_B_MASK;
+            } else {
+                randB = (randB + 1) & RAND_B_MASK;
+                if (randB == 0) {
+                    randA = (randA + 1) & RAND_A_MASK;
+                    if (randA == 0) {
+                        // Contador agotado: se adelanta un milisegundo para seguir creciendo
+                        lastMillis++;
+                    }
+                }
+            }
+            long msb = (lastMillis << 16) | 0x7000L | randA;
+            long lsb = 0x8000000000000000L | randB;
+            return new UUID(msb, lsb);
+        }
+
+        private long nextRandom() {
+            if (!prefetched.hasRemaining()) {
+                random.nextBytes(prefetched.array());
+                prefetched.clear();
+            }
+            return prefetched.getLong();
+        }
+
+        private static SecureRandom newRandom() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
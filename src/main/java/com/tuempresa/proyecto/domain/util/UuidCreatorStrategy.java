@@ -0,0 +1,18 @@
+package com.tuempresa.proyecto.domain.util;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+
+import java.util.UUID;
+
+/**
+ * Generador único de uuid-creator compartido por todos los hilos: cada
+ * llamada sincroniza sobre su estado y su fuente aleatoria.
+ */
+public final class UuidCreatorStrategy implements IdGenerationStrategy {
+
+    @Override
+    public UUID generate() {
+        // getTimeOrderedEpoch() genera un UUID time-ordered compatible con UUID v7
+        return UuidCreator.getTimeOrderedEpoch();
+    }
+}
@@ -1,6 +1,6 @@
 package com.tuempresa.proyecto.domain.util;
 
-import com.github.f4b6a3.uuid.UuidCreator;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -9,10 +9,26 @@ import java.util.UUID;
  * UUID v7 incluye un timestamp de Unix en los primeros 48 bits,
  * lo que permite ordenamiento cronológico natural.
  * 
- * Esta implementación usa uuid-creator que genera UUIDs time-ordered
- * compatibles con el draft RFC 4122 para UUID v7.
+ * La generación se delega en una IdGenerationStrategy: por defecto
+ * ThreadLocalUuidV7Strategy, con estado por hilo; UuidCreatorStrategy
+ * mantiene el generador único de uuid-creator. Se elige con
+ * catalog.ids.strategy (ver IdGenerationConfig).
  */
 public class UuidGenerator {
+
+    private static volatile IdGenerationStrategy strategy = new ThreadLocalUuidV7Strategy();
+
+    /**
+     * Sustituye la estrategia de generación. Se llama al arrancar, antes de
+     * crear productos.
+     */
+    public static void setStrategy(IdGenerationStrategy strategy) {
+        UuidGenerator.strategy = strategy;
+    }
+
+    public static IdGenerationStrategy getStrategy() {
+        return strategy;
+    }
     
     /**
      * Genera un nuevo UUID v7 (time-ordered).
@@ -23,8 +39,7 @@ public class UuidGenerator {
      * @return UUID v7 (time-ordered)
      */
     public static UUID generate() {
-        // getTimeOrderedEpoch() genera un UUID time-ordered compatible con UUID v7
-        return UuidCreator.getTimeOrderedEpoch();
+        return strategy.generate();
     }
     
     /**
@@ -42,6 +57,44 @@ public class UuidGenerator {
         return uuid.version() == 7 || isTimeOrdered(uuid);
     }
     
+    /**
+     * Extrae el instante de creación codificado en un UUID v7.
+     * 
+     * Los 48 bits más significativos contienen los milisegundos Unix.
+     * 
+     * @param uuid UUID v7
+     * @return instante de creación con precisión de milisegundos
+     */
+    public static Instant extractTimestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("UUID is not version 7: " + uuid);
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    }
+    
+    /**
+     * Menor UUID v7 posible para el milisegundo del instante dado.
+     * 
+     * Permite convertir un rango semiabierto de fechas de creación [from, to)
+     * en un rango de la clave primaria [min(from), min(to)), que las bases de
+     * datos comparan byte a byte (sin signo).
+     * 
+     * @param instant instante de referencia
+     * @return UUID v7 con los bits aleatorios a cero
+     */
+    public static UUID minForTimestamp(Instant instant) {
+        long msb = (toEpochMillis(instant) << 16) | 0x7000L;
+        return new UUID(msb, 0x8000000000000000L);
+    }
+    
+    private static long toEpochMillis(Instant instant) {
+        long millis = instant.toEpochMilli();
+        if (millis < 0 || millis >= (1L << 48)) {
+            throw new IllegalArgumentException("Timestamp out of UUID v7 range: " + instant);
+        }
+        return millis;
+    }
+    
     /**
      * Verifica si un UUID es time-ordered (compatible con v7).
      * Los UUIDs time-ordered tienen el bit 12 del campo de variante establecido.
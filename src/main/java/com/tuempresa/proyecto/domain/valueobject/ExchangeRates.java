@@ -0,0 +1,70 @@
+package com.tuempresa.proyecto.domain.valueobject;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabla inmutable de tipos de cambio respecto a una moneda base.
+ *
+ * Cada valor indica cuántas unidades de la moneda equivalen a una unidad de la
+ * base; el tipo entre dos monedas cualesquiera se obtiene como cociente.
+ */
+public class ExchangeRates {
+    private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    private final Currency base;
+    private final Map<Currency, BigDecimal> unitsPerBase;
+    private final Instant loadedAt;
+
+    public ExchangeRates(Currency base, Map<Currency, BigDecimal> unitsPerBase, Instant loadedAt) {
+        if (base == null) {
+            throw new IllegalArgumentException("Base currency cannot be null");
+        }
+        Map<Currency, BigDecimal> rates = new HashMap<>(unitsPerBase);
+        rates.forEach((currency, rate) -> {
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("Exchange rate for " + currency + " must be positive");
+            }
+        });
+        rates.put(base, BigDecimal.ONE);
+        this.base = base;
+        this.unitsPerBase = Collections.unmodifiableMap(rates);
+        this.loadedAt = loadedAt;
+    }
+
+    public boolean supports(Currency currency) {
+        return unitsPerBase.containsKey(currency);
+    }
+
+    /**
+     * Tipo de cambio de una moneda a otra (unidades de destino por unidad de origen).
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        return unitsPerBase(to).divide(unitsPerBase(from), PRECISION);
+    }
+
+    public Money convert(Money money, Currency target) {
+        return money.convertTo(target, rate(money.getCurrency(), target));
+    }
+
+    private BigDecimal unitsPerBase(Currency currency) {
+        BigDecimal rate = unitsPerBase.get(currency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No exchange rate for currency: " + currency.getCurrencyCode());
+        }
+        return rate;
+    }
+
+    // Getters
+    public Currency getBase() { return base; }
+    public Map<Currency, BigDecimal> getUnitsPerBase() { return unitsPerBase; }
+    public Instant getLoadedAt() { return loadedAt; }
+}
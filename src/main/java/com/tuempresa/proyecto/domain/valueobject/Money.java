@@ -50,6 +50,17 @@ public class Money {
         return new Money(this.amount.multiply(multiplier), this.currency);
     }
 
+    /**
+     * Convierte a otra moneda con el tipo indicado (unidades de destino por
+     * unidad de origen). El resultado se redondea como cualquier Money.
+     */
+    public Money convertTo(Currency target, BigDecimal rate) {
+        if (this.currency.equals(target)) {
+            return this;
+        }
+        return new Money(this.amount.multiply(rate), target);
+    }
+
     public BigDecimal getAmount() {
         return amount;
     }
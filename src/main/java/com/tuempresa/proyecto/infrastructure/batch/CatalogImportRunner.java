@@ -0,0 +1,39 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Lanza la importación de catálogo al arrancar cuando se indica un fichero:
+ *
+ * <pre>java -jar app.jar --catalog.import.file=/data/feed.csv</pre>
+ *
+ * Si el proceso se interrumpe, volver a lanzarlo con el mismo fichero
+ * continúa desde el último lote confirmado.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty("catalog.import.file")
+public class CatalogImportRunner implements ApplicationRunner {
+
+    private final CsvProductImportJob importJob;
+    private final String file;
+
+    public CatalogImportRunner(CsvProductImportJob importJob,
+                               @Value("${catalog.import.file}") String file) {
+        this.importJob = importJob;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        importJob.run(Path.of(file));
+    }
+}
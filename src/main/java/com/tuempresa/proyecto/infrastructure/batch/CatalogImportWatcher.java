@@ -0,0 +1,85 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.JpaCatalogImportCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Avisa al filtro de ids de las importaciones con ids del fichero que corren
+ * en cualquier instancia.
+ *
+ * {@link CsvProductImportJob} marca su checkpoint en curso y espera dos
+ * intervalos de comprobación (catalog.id-filter.import-check-interval) antes
+ * de escribir filas, así que cuando aparece el primer id importado todas las
+ * instancias ya han suspendido su filtro ({@link ProductIdFilter#beginBulkWrite()}).
+ * Cuando no queda ninguna en curso el filtro se reconstruye. Una importación
+ * que no confirma ningún lote durante catalog.id-filter.import-lease se da por
+ * abandonada.
+ *
+ * Si no se pueden leer los checkpoints tampoco se sabe si hay importaciones,
+ * y el filtro queda suspendido hasta la siguiente lectura correcta. La
+ * primera comprobación se hace antes de la carga inicial del filtro.
+ */
+@Component
+public class CatalogImportWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportWatcher.class);
+
+    private final JpaCatalogImportCheckpointRepository checkpointRepository;
+    private final ProductIdFilter productIdFilter;
+    private final boolean enabled;
+    private final Duration lease;
+
+    // Protegido por el monitor: la primera comprobación no corre en el planificador
+    private boolean suspended;
+
+    public CatalogImportWatcher(JpaCatalogImportCheckpointRepository checkpointRepository,
+                                ProductIdFilter productIdFilter,
+                                @Value("${catalog.id-filter.enabled:true}") boolean enabled,
+                                @Value("${catalog.id-filter.import-lease:PT5M}") Duration lease) {
+        this.checkpointRepository = checkpointRepository;
+        this.productIdFilter = productIdFilter;
+        this.enabled = enabled;
+        this.lease = lease;
+    }
+
+    // Antes que la carga inicial de ProductIdFilter, que también escucha este evento
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.id-filter.import-check-interval:PT10S}")
+    public synchronized void check() {
+        if (!enabled) {
+            return;
+        }
+        boolean importing;
+        try {
+            importing = checkpointRepository.countRunningSince(LocalDateTime.now().minus(lease)) > 0;
+        } catch (RuntimeException ex) {
+            log.warn("Could not read catalog import checkpoints, product id filter suspended", ex);
+            importing = true;
+        }
+        if (importing && !suspended) {
+            suspended = true;
+            productIdFilter.beginBulkWrite();
+            log.info("Catalog import running, product id filter suspended until it finishes");
+        } else if (!importing && suspended) {
+            suspended = false;
+            productIdFilter.endBulkWrite();
+        }
+    }
+}
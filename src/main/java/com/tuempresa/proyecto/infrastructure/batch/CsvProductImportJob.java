@@ -0,0 +1,563 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import com.tuempresa.proyecto.application.dto.request.CreateProductRequest;
+import com.tuempresa.proyecto.application.service.PriceHistoryRecorder;
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import com.tuempresa.proyecto.infrastructure.persistence.entity.CatalogImportCheckpointEntity;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.JpaCatalogImportCheckpointRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de catálogo desde CSV.
+ *
+ * El fichero se recorre en ventanas mapeadas en memoria y cada fila se
+ * separa en rangos de bytes; solo se crean Strings para los campos de texto.
+ * Las filas válidas (mismas reglas que {@link CreateProductRequest}) se
+ * insertan o actualizan en lotes JDBC y, en la misma transacción, se guarda
+ * el offset en bytes alcanzado, por lo que una importación interrumpida
+ * continúa desde el último lote confirmado. El fichero de rechazos se trunca
+ * a la longitud guardada con ese lote, para no repetir los rechazos de las
+ * filas que se vuelven a leer. Tras cada lote se registran sus precios en el
+ * historial.
+ *
+ * Si el fichero trae ids, el checkpoint se marca en curso antes de escribir
+ * filas y se espera a que todas las instancias lo hayan visto (dos veces
+ * catalog.id-filter.import-check-interval): hasta que se desmarca ningún
+ * filtro de ids descarta un id que la importación pueda haber escrito.
+ *
+ * Columnas reconocidas en la cabecera: id (opcional), name, description,
+ * price, currency, stock, category.
+ */
+@Component
+public class CsvProductImportJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvProductImportJob.class);
+
+    private static final int MAX_FIELDS = 16;
+
+    private final ProductRepository productRepository;
+    private final JpaCatalogImportCheckpointRepository checkpointRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceHistoryRecorder priceHistory;
+    private final ProductIdFilter productIdFilter;
+    private final int batchSize;
+    private final int windowSize;
+    // Espera tras anunciar una importación con ids a las demás instancias
+    private final Duration bulkWriteFence;
+
+    public CsvProductImportJob(ProductRepository productRepository,
+                               JpaCatalogImportCheckpointRepository checkpointRepository,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               PriceHistoryRecorder priceHistory,
+                               ProductIdFilter productIdFilter,
+                               @Value("${catalog.import.batch-size:5000}") int batchSize,
+                               @Value("${catalog.import.window-size:67108864}") int windowSize,
+                               @Value("${catalog.id-filter.enabled:true}") boolean idFilterEnabled,
+                               @Value("${catalog.id-filter.import-check-interval:PT10S}") Duration importCheckInterval) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.priceHistory = priceHistory;
+        this.productIdFilter = productIdFilter;
+        this.batchSize = batchSize;
+        this.windowSize = windowSize;
+        this.bulkWriteFence = idFilterEnabled ? importCheckInterval.multipliedBy(2) : Duration.ZERO;
+    }
+
+    public ImportReport run(Path file) throws IOException {
+        Path source = file.toAbsolutePath().normalize();
+        String fileKey = source.toString();
+        long size = Files.size(source);
+        long modifiedAt = Files.getLastModifiedTime(source).toMillis();
+        Path rejectedFile = source.resolveSibling(source.getFileName() + ".rejected.csv");
+
+        // Un checkpoint de otro fichero en la misma ruta (tamaño o fecha distintos) se descarta
+        CatalogImportCheckpointEntity checkpoint = checkpointRepository.findById(fileKey)
+            .filter(saved -> isSameFile(saved, size, modifiedAt, source))
+            .orElseGet(() -> newCheckpoint(fileKey, size, modifiedAt));
+        long resumedFrom = checkpoint.getByteOffset();
+        long importedBefore = checkpoint.getRowsImported();
+        long rejectedBefore = checkpoint.getRowsRejected();
+        long startNanos = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel rejectedChannel = FileChannel.open(rejectedFile,
+                 StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             OutputStream rejectedOut = new BufferedOutputStream(Channels.newOutputStream(rejectedChannel))) {
+
+            // Lo escrito tras el último lote confirmado corresponde a filas que se van a releer
+            rejectedChannel.truncate(checkpoint.getRejectedBytes());
+            rejectedChannel.position(checkpoint.getRejectedBytes());
+
+            RowReader reader = new RowReader(channel, size, windowSize);
+            if (!reader.next(0)) {
+                throw new IllegalArgumentException("CSV file is empty: " + source);
+            }
+            Map<String, Integer> columns = readHeader(reader);
+            long offset = Math.max(resumedFrom, reader.nextOffset());
+            if (resumedFrom > 0) {
+                log.info("Resuming import of {} at byte {} of {}", source, resumedFrom, size);
+            }
+
+            // Con ids del fichero el filtro de ids no puede fiarse de su instante
+            boolean ownIds = columns.containsKey("id");
+            if (ownIds) {
+                productIdFilter.beginBulkWrite();
+            }
+            try {
+                if (ownIds) {
+                    announceBulkWrite(checkpoint);
+                }
+                List<Product> batch = new ArrayList<>(batchSize);
+                long batchRejected = 0;
+                while (reader.next(offset)) {
+                    offset = reader.nextOffset();
+                    if (reader.isBlank()) {
+                        continue;
+                    }
+                    String error;
+                    try {
+                        error = parseRow(reader, columns, batch);
+                    } catch (IllegalArgumentException ex) {
+                        error = ex.getMessage() != null ? ex.getMessage() : "Invalid row";
+                    }
+                    if (error != null) {
+                        reader.writeRaw(rejectedOut);
+                        rejectedOut.write(',');
+                        rejectedOut.write(quote(error).getBytes(StandardCharsets.UTF_8));
+                        rejectedOut.write('\n');
+                        batchRejected++;
+                    }
+                    if (batch.size() >= batchSize) {
+                        rejectedOut.flush();
+                        commit(checkpoint, batch, batchRejected, offset, rejectedChannel.position());
+                        batch.clear();
+                        batchRejected = 0;
+                    }
+                }
+                rejectedOut.flush();
+                commit(checkpoint, batch, batchRejected, offset, rejectedChannel.position());
+            } finally {
+                if (ownIds) {
+                    finishBulkWrite(checkpoint);
+                    productIdFilter.endBulkWrite();
+                }
+            }
+        }
+
+        ImportReport report = new ImportReport(
+            source,
+            rejectedFile,
+            resumedFrom,
+            checkpoint.getByteOffset(),
+            checkpoint.getRowsImported() - importedBefore,
+            checkpoint.getRowsRejected() - rejectedBefore,
+            System.nanoTime() - startNanos
+        );
+        log.info("Catalog import finished: {}", report);
+        return report;
+    }
+
+    private void announceBulkWrite(CatalogImportCheckpointEntity checkpoint) {
+        checkpoint.setRunning(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        if (bulkWriteFence.isZero()) {
+            return;
+        }
+        log.info("Waiting {} for other instances to suspend their product id filter", bulkWriteFence);
+        try {
+            Thread.sleep(bulkWriteFence.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog import interrupted", e);
+        }
+    }
+
+    private void finishBulkWrite(CatalogImportCheckpointEntity checkpoint) {
+        checkpoint.setRunning(false);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        try {
+            checkpointRepository.save(checkpoint);
+        } catch (RuntimeException ex) {
+            // Las demás instancias la darán por abandonada al vencer catalog.id-filter.import-lease
+            log.warn("Could not clear the running flag of the import checkpoint {}", checkpoint.getFileKey(), ex);
+        }
+    }
+
+    private static boolean isSameFile(CatalogImportCheckpointEntity saved, long size, long modifiedAt, Path source) {
+        if (Long.valueOf(size).equals(saved.getFileSize()) && Long.valueOf(modifiedAt).equals(saved.getFileModifiedAt())) {
+            return true;
+        }
+        log.info("{} changed since its last import checkpoint ({} of {} bytes), importing from the start",
+            source, saved.getByteOffset(), saved.getFileSize());
+        return false;
+    }
+
+    private CatalogImportCheckpointEntity newCheckpoint(String fileKey, long size, long modifiedAt) {
+        CatalogImportCheckpointEntity checkpoint = new CatalogImportCheckpointEntity();
+        checkpoint.setFileKey(fileKey);
+        checkpoint.setFileSize(size);
+        checkpoint.setFileModifiedAt(modifiedAt);
+        return checkpoint;
+    }
+
+    private void commit(CatalogImportCheckpointEntity checkpoint, List<Product> batch,
+                        long rejected, long offset, long rejectedBytes) {
+        // Los ids nuevos entran en el filtro antes de que las filas sean visibles
+        productIdFilter.addAll(batch.stream().map(Product::getId).toList());
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.upsertAll(batch);
+            checkpoint.setByteOffset(offset);
+            checkpoint.setRowsImported(checkpoint.getRowsImported() + batch.size());
+            checkpoint.setRowsRejected(checkpoint.getRowsRejected() + rejected);
+            checkpoint.setRejectedBytes(rejectedBytes);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        });
+        priceHistory.recordAll(batch);
+    }
+
+    private Map<String, Integer> readHeader(RowReader reader) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < reader.fieldCount(); i++) {
+            String name = reader.text(i);
+            if (name != null) {
+                columns.put(name.trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        for (String required : List.of("name", "price", "currency", "stock", "category")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Convierte la fila actual en un producto y la añade al lote.
+     *
+     * @return el motivo del rechazo, o null si la fila es válida
+     */
+    private String parseRow(RowReader reader, Map<String, Integer> columns, List<Product> batch) {
+        CreateProductRequest request = new CreateProductRequest();
+        request.setName(reader.text(columns.get("name")));
+        request.setDescription(columns.containsKey("description") ? reader.text(columns.get("description")) : null);
+        request.setPrice(reader.decimal(columns.get("price")));
+        request.setCurrency(reader.text(columns.get("currency")));
+        request.setStock(reader.integer(columns.get("stock")));
+        request.setCategory(reader.text(columns.get("category")));
+
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+        }
+
+        Money price;
+        try {
+            price = Money.of(request.getPrice(), request.getCurrency());
+        } catch (IllegalArgumentException ex) {
+            return "Currency is invalid";
+        }
+        String id = columns.containsKey("id") ? reader.text(columns.get("id")) : null;
+        Product product;
+        if (id == null) {
+            product = Product.create(request.getName(), request.getDescription(), price,
+                request.getStock(), request.getCategory());
+        } else {
+            LocalDateTime now = LocalDateTime.now();
+            product = Product.reconstruct(UUID.fromString(id.trim()), request.getName(),
+                request.getDescription(), price, request.getStock(), request.getCategory(),
+                now, now, true);
+        }
+        batch.add(product);
+        return null;
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Lector de filas CSV sobre ventanas mapeadas en memoria. Mantiene los
+     * límites de cada campo como offsets dentro de la ventana actual.
+     */
+    private static final class RowReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private final int windowSize;
+        private final int[] starts = new int[MAX_FIELDS];
+        private final int[] ends = new int[MAX_FIELDS];
+        private final boolean[] escaped = new boolean[MAX_FIELDS];
+        private byte[] scratch = new byte[512];
+
+        private MappedByteBuffer window;
+        private long windowStart = -1;
+        private int rowStart;
+        private int rowEnd;
+        private int next;
+        private int fields;
+
+        RowReader(FileChannel channel, long size, int windowSize) {
+            this.channel = channel;
+            this.size = size;
+            this.windowSize = windowSize;
+        }
+
+        /** Posiciona el lector en la fila que empieza en el offset dado. */
+        boolean next(long offset) {
+            if (offset >= size) {
+                return false;
+            }
+            try {
+                if (window == null || offset < windowStart || offset >= windowStart + window.limit()) {
+                    map(offset);
+                }
+                int start = (int) (offset - windowStart);
+                int end = scanRow(start);
+                if (end < 0) {
+                    // La fila cruza el final de la ventana: se vuelve a mapear desde su inicio
+                    if (start == 0) {
+                        throw new IllegalStateException("CSV row at byte " + offset + " exceeds the mapping window");
+                    }
+                    map(offset);
+                    start = 0;
+                    end = scanRow(start);
+                    if (end < 0) {
+                        throw new IllegalStateException("CSV row at byte " + offset + " exceeds the mapping window");
+                    }
+                }
+                rowStart = start;
+                rowEnd = end;
+                return true;
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot map CSV file", ex);
+            }
+        }
+
+        long nextOffset() {
+            return windowStart + next;
+        }
+
+        boolean isBlank() {
+            return rowEnd == rowStart;
+        }
+
+        int fieldCount() {
+            return fields;
+        }
+
+        private void map(long offset) throws IOException {
+            long length = Math.min(windowSize, size - offset);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            windowStart = offset;
+        }
+
+        /**
+         * Separa los campos de la fila que comienza en start. Devuelve el fin
+         * de la fila (sin salto de línea) o -1 si la ventana no la contiene entera.
+         */
+        private int scanRow(int start) {
+            int limit = window.limit();
+            boolean lastWindow = windowStart + limit >= size;
+            fields = 0;
+            int pos = start;
+            int fieldStart = start;
+            boolean quoted = false;
+            boolean inQuotes = false;
+            boolean hasEscapes = false;
+            while (pos < limit) {
+                byte b = window.get(pos);
+                if (inQuotes) {
+                    if (b == '"') {
+                        if (pos + 1 < limit && window.get(pos + 1) == '"') {
+                            hasEscapes = true;
+                            pos += 2;
+                            continue;
+                        }
+                        inQuotes = false;
+                    }
+                    pos++;
+                    continue;
+                }
+                if (b == '"' && pos == fieldStart) {
+                    quoted = true;
+                    inQuotes = true;
+                } else if (b == ',') {
+                    addField(fieldStart, pos, quoted, hasEscapes);
+                    fieldStart = pos + 1;
+                    quoted = false;
+                    hasEscapes = false;
+                } else if (b == '\n') {
+                    int end = pos > start && window.get(pos - 1) == '\r' ? pos - 1 : pos;
+                    addField(fieldStart, Math.max(fieldStart, end), quoted, hasEscapes);
+                    next = pos + 1;
+                    return end;
+                }
+                pos++;
+            }
+            if (!lastWindow) {
+                return -1;
+            }
+            int end = pos > start && window.get(pos - 1) == '\r' ? pos - 1 : pos;
+            addField(fieldStart, Math.max(fieldStart, end), quoted, hasEscapes);
+            next = pos;
+            return end;
+        }
+
+        private void addField(int start, int end, boolean quoted, boolean hasEscapes) {
+            if (fields == MAX_FIELDS) {
+                throw new IllegalArgumentException("Too many columns");
+            }
+            if (quoted && end - start >= 2) {
+                start++;
+                end--;
+            }
+            starts[fields] = start;
+            ends[fields] = end;
+            escaped[fields] = hasEscapes;
+            fields++;
+        }
+
+        String text(int field) {
+            if (field >= fields || ends[field] == starts[field]) {
+                return null;
+            }
+            int length = ends[field] - starts[field];
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            window.get(starts[field], scratch, 0, length);
+            String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            return escaped[field] ? value.replace("\"\"", "\"") : value;
+        }
+
+        /** Interpreta un decimal directamente desde los bytes, sin String intermedio. */
+        BigDecimal decimal(int field) {
+            if (field >= fields || ends[field] == starts[field]) {
+                return null;
+            }
+            int start = trimStart(field);
+            int end = trimEnd(field, start);
+            long unscaled = 0;
+            int scale = -1;
+            int digits = 0;
+            boolean negative = false;
+            for (int i = start; i < end; i++) {
+                byte b = window.get(i);
+                if (b >= '0' && b <= '9') {
+                    if (++digits > 18) {
+                        throw new IllegalArgumentException("Price format is invalid");
+                    }
+                    unscaled = unscaled * 10 + (b - '0');
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else if (b == '.' && scale < 0) {
+                    scale = 0;
+                } else if (b == '-' && i == start) {
+                    negative = true;
+                } else {
+                    throw new IllegalArgumentException("Price format is invalid");
+                }
+            }
+            if (digits == 0) {
+                throw new IllegalArgumentException("Price format is invalid");
+            }
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+        }
+
+        Integer integer(int field) {
+            if (field >= fields || ends[field] == starts[field]) {
+                return null;
+            }
+            int start = trimStart(field);
+            int end = trimEnd(field, start);
+            long value = 0;
+            boolean negative = false;
+            int digits = 0;
+            for (int i = start; i < end; i++) {
+                byte b = window.get(i);
+                if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (++digits > 10 || value > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Stock format is invalid");
+                    }
+                } else if (b == '-' && i == start) {
+                    negative = true;
+                } else {
+                    throw new IllegalArgumentException("Stock format is invalid");
+                }
+            }
+            if (digits == 0) {
+                throw new IllegalArgumentException("Stock format is invalid");
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        // Se admiten espacios alrededor del número, no dentro ("1 2" no es 12)
+        private int trimStart(int field) {
+            int start = starts[field];
+            while (start < ends[field] && window.get(start) == ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private int trimEnd(int field, int start) {
+            int end = ends[field];
+            while (end > start && window.get(end - 1) == ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        void writeRaw(OutputStream out) throws IOException {
+            int length = rowEnd - rowStart;
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            window.get(rowStart, scratch, 0, length);
+            out.write(scratch, 0, length);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultado de una ejecución de {@link CsvProductImportJob}.
+ */
+public class ImportReport {
+
+    private final Path file;
+    private final Path rejectedFile;
+    private final long resumedFromOffset;
+    private final long finalOffset;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+
+    public ImportReport(Path file, Path rejectedFile, long resumedFromOffset, long finalOffset,
+                        long rowsImported, long rowsRejected, long elapsedNanos) {
+        this.file = file;
+        this.rejectedFile = rejectedFile;
+        this.resumedFromOffset = resumedFromOffset;
+        this.finalOffset = finalOffset;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getRowsPerSecond() {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return seconds > 0 ? (rowsImported + rowsRejected) / seconds : 0;
+    }
+
+    // Getters
+    public Path getFile() { return file; }
+    public Path getRejectedFile() { return rejectedFile; }
+    public long getResumedFromOffset() { return resumedFromOffset; }
+    public long getFinalOffset() { return finalOffset; }
+    public long getRowsImported() { return rowsImported; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+    @Override
+    public String toString() {
+        return String.format("file=%s imported=%d rejected=%d rows/sec=%.0f elapsed=%dms resumedFrom=%d rejectedFile=%s",
+            file, rowsImported, rowsRejected, getRowsPerSecond(), getElapsedMillis(), resumedFromOffset, rejectedFile);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import com.tuempresa.proyecto.domain.event.ProductsArchivedEvent;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mueve periódicamente a products_archive los productos que llevan inactivos
+ * más tiempo que el periodo de retención. Un producto inactivo no admite
+ * actualizaciones, por lo que su updatedAt marca el momento de la desactivación.
+ *
+ * Cada lote queda como borrado en el feed de cambios y además se publica un
+ * ProductsArchivedEvent tras su commit, para que el modelo de lectura de esta
+ * instancia lo retire sin esperar al feed.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.archive.enabled", havingValue = "true")
+public class ProductArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductArchiveJob.class);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration retention;
+    private final int batchSize;
+
+    public ProductArchiveJob(ProductRepository productRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${catalog.archive.retention:P90D}") Duration retention,
+                             @Value("${catalog.archive.batch-size:1000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.archive.interval:PT1H}", initialDelayString = "${catalog.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        List<UUID> moved;
+        do {
+            moved = productRepository.archiveInactiveBefore(cutoff, batchSize);
+            if (!moved.isEmpty()) {
+                eventPublisher.publishEvent(new ProductsArchivedEvent(moved, LocalDateTime.now()));
+            }
+            total += moved.size();
+            // Con shards cada uno devuelve hasta batchSize
+        } while (moved.size() >= batchSize);
+        if (total > 0) {
+            log.info("Archived {} products inactive since before {}", total, cutoff);
+        }
+    }
+}
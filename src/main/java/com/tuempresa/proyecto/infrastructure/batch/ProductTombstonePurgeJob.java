@@ -0,0 +1,50 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purga periódicamente las marcas de borrado más antiguas que
+ * catalog.changes.tombstone-retention. El feed de cambios rechaza los cursores
+ * anteriores a esa retención, así que ningún cliente puede perderse un
+ * borrado purgado sin enterarse.
+ */
+@Component
+public class ProductTombstonePurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductTombstonePurgeJob.class);
+
+    private final ProductRepository productRepository;
+    private final Duration retention;
+    private final int batchSize;
+
+    public ProductTombstonePurgeJob(ProductRepository productRepository,
+                                    @Value("${catalog.changes.tombstone-retention:P30D}") Duration retention,
+                                    @Value("${catalog.changes.tombstone-purge-batch-size:1000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.tombstone-purge-interval:PT1H}",
+               initialDelayString = "${catalog.changes.tombstone-purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        int purged;
+        do {
+            purged = productRepository.purgeTombstonesBefore(cutoff, batchSize);
+            total += purged;
+        } while (purged == batchSize);
+        if (total > 0) {
+            log.info("Purged {} tombstones deleted before {}", total, cutoff);
+        }
+    }
+}
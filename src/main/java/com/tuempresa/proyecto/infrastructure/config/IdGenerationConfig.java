@@ -0,0 +1,30 @@
+package com.tuempresa.proyecto.infrastructure.config;
+
+import com.tuempresa.proyecto.domain.util.IdGenerationStrategy;
+import com.tuempresa.proyecto.domain.util.ThreadLocalUuidV7Strategy;
+import com.tuempresa.proyecto.domain.util.UuidCreatorStrategy;
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Elige la estrategia de generación de ids (catalog.ids.strategy):
+ * thread-local (por defecto, sin estado compartido entre hilos) o shared
+ * (el generador único de uuid-creator).
+ */
+@Configuration
+public class IdGenerationConfig {
+
+    public IdGenerationConfig(@Value("${catalog.ids.strategy:thread-local}") String strategy) {
+        UuidGenerator.setStrategy(create(strategy));
+    }
+
+    static IdGenerationStrategy create(String strategy) {
+        return switch (strategy) {
+            case "thread-local" -> new ThreadLocalUuidV7Strategy();
+            case "shared" -> new UuidCreatorStrategy();
+            default -> throw new IllegalArgumentException("Unknown id generation strategy: " + strategy
+                + " (expected thread-local or shared)");
+        };
+    }
+}
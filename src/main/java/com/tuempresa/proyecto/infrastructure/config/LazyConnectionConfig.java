@@ -0,0 +1,35 @@
+package com.tuempresa.proyecto.infrastructure.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Retrasa la obtención de la conexión del pool hasta la primera sentencia
+ * (catalog.datasource.lazy-connections=true, por defecto).
+ *
+ * Una transacción que termina sin ejecutar SQL (p. ej. un caso de uso que
+ * responde 404 porque ProductIdFilter descarta el id) no llega a ocupar una
+ * conexión. El autocommit y el aislamiento se aplican al obtenerla.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.datasource.lazy-connections", havingValue = "true", matchIfMissing = true)
+public class LazyConnectionConfig {
+
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
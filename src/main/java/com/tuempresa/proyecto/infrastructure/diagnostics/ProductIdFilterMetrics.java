@@ -0,0 +1,39 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de ProductIdFilter en /actuator/metrics:
+ * <ul>
+ *   <li>catalog.id-filter.lookups{result=checked|rejected}: ids consultados en el filtro y
+ *   los que se respondieron como inexistentes sin ir a la base de datos</li>
+ *   <li>catalog.id-filter.bytes: memoria de los bits del filtro vigente</li>
+ *   <li>catalog.id-filter.false-positive-rate: estimada con los bits a uno</li>
+ * </ul>
+ */
+@Component
+public class ProductIdFilterMetrics implements MeterBinder {
+
+    private final ProductIdFilter productIdFilter;
+
+    public ProductIdFilterMetrics(ProductIdFilter productIdFilter) {
+        this.productIdFilter = productIdFilter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.id-filter.lookups", productIdFilter, ProductIdFilter::getChecked)
+            .tag("result", "checked").register(registry);
+        FunctionCounter.builder("catalog.id-filter.lookups", productIdFilter, ProductIdFilter::getRejected)
+            .tag("result", "rejected").register(registry);
+        Gauge.builder("catalog.id-filter.bytes", productIdFilter, ProductIdFilter::getBytes)
+            .baseUnit("bytes").register(registry);
+        Gauge.builder("catalog.id-filter.false-positive-rate", productIdFilter,
+            ProductIdFilter::getEstimatedFalsePositiveRate).register(registry);
+    }
+}
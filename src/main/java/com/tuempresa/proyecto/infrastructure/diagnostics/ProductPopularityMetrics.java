@@ -0,0 +1,63 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import com.tuempresa.proyecto.application.readmodel.ProductReadModelProjector;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker.HotProduct;
+import com.tuempresa.proyecto.infrastructure.persistence.cache.HotProductPrefetcher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Métricas de ProductPopularityTracker en /actuator/metrics:
+ * <ul>
+ *   <li>catalog.popularity.recorded: lecturas registradas (por muestreo, aproximado)</li>
+ *   <li>catalog.popularity.candidates: productos que optan al top-K</li>
+ *   <li>catalog.popularity.hot.score{rank=1..10}: puntuación de los diez primeros, para ver
+ *   en un panel si aparece un producto desbocado</li>
+ *   <li>catalog.popularity.prefetched: productos calientes cargados en la caché de segundo nivel</li>
+ *   <li>catalog.popularity.read-model.refreshed: productos calientes releídos en el modelo de lectura</li>
+ * </ul>
+ */
+@Component
+public class ProductPopularityMetrics implements MeterBinder {
+
+    private static final int RANKS = 10;
+
+    private final ProductPopularityTracker popularityTracker;
+    private final HotProductPrefetcher prefetcher;
+    private final ProductReadModelProjector projector;
+
+    public ProductPopularityMetrics(ProductPopularityTracker popularityTracker, HotProductPrefetcher prefetcher,
+                                    ProductReadModelProjector projector) {
+        this.popularityTracker = popularityTracker;
+        this.prefetcher = prefetcher;
+        this.projector = projector;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.popularity.recorded", popularityTracker, ProductPopularityTracker::getRecorded)
+            .register(registry);
+        Gauge.builder("catalog.popularity.candidates", popularityTracker, ProductPopularityTracker::getCandidates)
+            .register(registry);
+        for (int rank = 1; rank <= RANKS; rank++) {
+            int index = rank - 1;
+            Gauge.builder("catalog.popularity.hot.score", popularityTracker, tracker -> score(tracker, index))
+                .tag("rank", String.valueOf(rank)).register(registry);
+        }
+        FunctionCounter.builder("catalog.popularity.prefetched", prefetcher, HotProductPrefetcher::getPrefetched)
+            .register(registry);
+        FunctionCounter.builder("catalog.popularity.read-model.refreshed", projector,
+            ProductReadModelProjector::getHotRefreshed).register(registry);
+    }
+
+    private static double score(ProductPopularityTracker tracker, int index) {
+        List<HotProduct> hot = tracker.getHotProducts();
+        return index < hot.size() ? hot.get(index).getScore() : 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo diagnóstico de SQL (catalog.diagnostics.sql.enabled=true).
+ *
+ * Instrumenta el DataSource y añade a cada respuesta las cabeceras
+ * X-SQL-Statement-Count y X-SQL-Time-Micros. Desactivado no añade ningún
+ * coste a las peticiones.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.diagnostics.sql.enabled", havingValue = "true")
+public class SqlDiagnosticsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlDiagnosticsFilter> sqlDiagnosticsFilter() {
+        FilterRegistrationBean<SqlDiagnosticsFilter> registration = new FilterRegistrationBean<>(new SqlDiagnosticsFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
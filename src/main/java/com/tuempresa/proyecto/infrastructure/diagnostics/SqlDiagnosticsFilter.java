@@ -0,0 +1,69 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Expone por petición el número de sentencias SQL y el tiempo en base de datos.
+ *
+ * El cuerpo se retiene hasta terminar la petición para poder escribir las
+ * cabeceras; por eso solo se registra en modo diagnóstico.
+ *
+ * En las respuestas asíncronas (long-poll del feed de cambios) las cabeceras
+ * se escriben al terminar el dispatch asíncrono. Las consultas que el caso de
+ * uso reprograma en su propio hilo no se cuentan: el recuento cubre las de
+ * los hilos de la petición y las lanzadas con SqlStatementStats.propagating.
+ */
+public class SqlDiagnosticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Micros";
+
+    private static final String STATS_ATTRIBUTE = SqlDiagnosticsFilter.class.getName() + ".stats";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlDiagnosticsFilter.class);
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = (SqlStatementStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null || !isAsyncDispatch(request)) {
+            stats = SqlStatementStats.reset();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+        ContentCachingResponseWrapper existing = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        ContentCachingResponseWrapper wrapper = existing != null ? existing : new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            SqlStatementStats.clear();
+            // Si la respuesta es asíncrona se completa en el dispatch asíncrono
+            if (!isAsyncStarted(request)) {
+                complete(request, wrapper, stats);
+            }
+        }
+    }
+
+    private static void complete(HttpServletRequest request, ContentCachingResponseWrapper wrapper,
+                                 SqlStatementStats stats) throws IOException {
+        wrapper.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatements()));
+        wrapper.setHeader(TIME_HEADER, String.valueOf(stats.getMicros()));
+        log.debug("{} {} -> {} SQL statements, {} us", request.getMethod(), request.getRequestURI(),
+            stats.getStatements(), stats.getMicros());
+        wrapper.copyBodyToResponse();
+    }
+}
@@ -0,0 +1,79 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de sentencias SQL de la petición en curso.
+ *
+ * Se reinician al inicio de cada petición HTTP y se acumulan desde el
+ * DataSource instrumentado, de modo que incluyen tanto las sentencias de
+ * Hibernate como las de JdbcTemplate. Los contadores se asocian al hilo de la
+ * petición; las tareas que ésta reparte a otros hilos (p. ej. las consultas
+ * en paralelo a los shards) siguen sumando en ellos si se lanzan a través de
+ * {@link #propagating(Executor)}.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = ThreadLocal.withInitial(SqlStatementStats::new);
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private SqlStatementStats() {}
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Empieza una medición nueva en el hilo actual. Las tareas de una
+     * medición anterior que sigan en marcha en otros hilos ya no suman en
+     * ésta.
+     */
+    public static SqlStatementStats reset() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Suelta la medición del hilo actual (los hilos de Tomcat se reutilizan).
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Executor que ejecuta cada tarea sumando en la medición del hilo que la
+     * envía, no en la del hilo del pool.
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> {
+            SqlStatementStats stats = CURRENT.get();
+            executor.execute(() -> {
+                SqlStatementStats previous = CURRENT.get();
+                CURRENT.set(stats);
+                try {
+                    task.run();
+                } finally {
+                    CURRENT.set(previous);
+                }
+            });
+        };
+    }
+
+    void record(long elapsedNanos) {
+        statements.incrementAndGet();
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getMicros() {
+        return nanos.get() / 1_000;
+    }
+}
@@ -0,0 +1,169 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Wrapper;
+
+/**
+ * DataSource que cuenta las ejecuciones de sentencias y el tiempo pasado en
+ * la base de datos, acumulándolos en {@link SqlStatementStats}.
+ *
+ * Las conexiones, sentencias, metadatos y ResultSet que devuelve son proxies
+ * que nunca entregan el objeto real (getConnection, getStatement, unwrap), así
+ * que una sentencia creada a partir de ellos también se cuenta.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * unwrap/isWrapperFor del proxy: si lo que se pide ya lo implementa el
+     * proxy se devuelve él mismo, para no saltarse la instrumentación; si no,
+     * se pregunta al objeto envuelto.
+     */
+    private static Object wrapperMethod(Object proxy, Wrapper target, Method method, Object[] args) throws SQLException {
+        Class<?> iface = (Class<?>) args[0];
+        if (method.getName().equals("unwrap")) {
+            return iface.isInstance(proxy) ? proxy : target.unwrap(iface);
+        }
+        return iface.isInstance(proxy) || target.isWrapperFor(iface);
+    }
+
+    private static boolean isWrapperMethod(Method method) {
+        return (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor"))
+            && method.getParameterCount() == 1;
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isWrapperMethod(method)) {
+                return wrapperMethod(proxy, target, method, args);
+            }
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            if (result instanceof Statement) {
+                Class<? extends Statement> type = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+                return proxy(type, new StatementHandler((Statement) result, (Connection) proxy));
+            }
+            if (result instanceof DatabaseMetaData) {
+                return proxy(DatabaseMetaData.class, new ChildHandler((DatabaseMetaData) result, "getConnection", proxy));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+
+        StatementHandler(Statement target, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isWrapperMethod(method)) {
+                return wrapperMethod(proxy, target, method, args);
+            }
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = StatementCountingDataSource.invoke(target, method, args);
+                } finally {
+                    SqlStatementStats.current().record(System.nanoTime() - start);
+                }
+            } else {
+                result = StatementCountingDataSource.invoke(target, method, args);
+            }
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ChildHandler((ResultSet) result, "getStatement", proxy));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Objetos que cuelgan de una conexión o sentencia instrumentada
+     * (DatabaseMetaData, ResultSet): devuelven el proxy del padre en lugar del
+     * objeto real.
+     */
+    private static final class ChildHandler implements InvocationHandler {
+
+        private final Wrapper target;
+        private final String parentMethod;
+        private final Object parent;
+
+        ChildHandler(Wrapper target, String parentMethod, Object parent) {
+            this.target = target;
+            this.parentMethod = parentMethod;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isWrapperMethod(method)) {
+                return wrapperMethod(proxy, target, method, args);
+            }
+            if (method.getName().equals(parentMethod) && method.getParameterCount() == 0) {
+                return parent;
+            }
+            return StatementCountingDataSource.invoke(target, method, args);
+        }
+    }
+}
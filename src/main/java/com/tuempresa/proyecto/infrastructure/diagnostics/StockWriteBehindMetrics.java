@@ -0,0 +1,39 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import com.tuempresa.proyecto.application.service.StockWriteBehindBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de StockWriteBehindBuffer en /actuator/metrics:
+ * <ul>
+ *   <li>catalog.stock.write-behind.pending: productos con deltas sin confirmar</li>
+ *   <li>catalog.stock.write-behind.deltas{result=written|rejected}: deltas por producto
+ *   escritos y los que la base de datos rechazó (stock negativo o producto borrado)</li>
+ *   <li>catalog.stock.write-behind.failed-flushes: volcados fallidos, que se reintentan</li>
+ * </ul>
+ */
+@Component
+public class StockWriteBehindMetrics implements MeterBinder {
+
+    private final StockWriteBehindBuffer stockBuffer;
+
+    public StockWriteBehindMetrics(StockWriteBehindBuffer stockBuffer) {
+        this.stockBuffer = stockBuffer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.stock.write-behind.pending", stockBuffer, StockWriteBehindBuffer::getPendingProducts)
+            .register(registry);
+        FunctionCounter.builder("catalog.stock.write-behind.deltas", stockBuffer, StockWriteBehindBuffer::getWritten)
+            .tag("result", "written").register(registry);
+        FunctionCounter.builder("catalog.stock.write-behind.deltas", stockBuffer, StockWriteBehindBuffer::getRejected)
+            .tag("result", "rejected").register(registry);
+        FunctionCounter.builder("catalog.stock.write-behind.failed-flushes", stockBuffer,
+            StockWriteBehindBuffer::getFailedFlushes).register(registry);
+    }
+}
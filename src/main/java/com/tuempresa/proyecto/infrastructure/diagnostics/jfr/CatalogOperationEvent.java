@@ -0,0 +1,31 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Campos comunes de los eventos JFR del catálogo. La duración la aporta el
+ * propio evento (begin/end).
+ */
+@Category({"Catalog"})
+@StackTrace(false)
+abstract class CatalogOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Clase y método, p. ej. GetProductUseCase.execute")
+    String operation;
+
+    @Label("Product Id")
+    String productId;
+
+    @Label("Rows")
+    @Description("Filas leídas o escritas; -1 si no aplica")
+    long rows = -1;
+
+    @Label("Outcome")
+    @Description("OK, NOT_FOUND, CONFLICT o el nombre de la excepción")
+    String outcome;
+}
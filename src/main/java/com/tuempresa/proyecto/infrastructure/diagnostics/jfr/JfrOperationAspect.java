@@ -0,0 +1,111 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics.jfr;
+
+import com.tuempresa.proyecto.application.dto.response.BulkActivationResponse;
+import com.tuempresa.proyecto.application.dto.response.BulkPriceAdjustmentResponse;
+import com.tuempresa.proyecto.application.dto.response.LowStockResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductChangeFeedResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductPageResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.domain.model.Product;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Emite un evento JFR por cada ejecución de caso de uso y por cada llamada a
+ * ProductRepositoryAdapter (o ShardedProductRepository con el perfil sharding),
+ * con duración, producto, filas y resultado.
+ *
+ * Si no hay una grabación con estos eventos activos, isEnabled() devuelve
+ * false y solo se paga la llamada a través del proxy. Los campos se calculan
+ * únicamente para los eventos que superan el umbral (shouldCommit).
+ * Con catalog.diagnostics.jfr.enabled=false no se crea el aspecto.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "catalog.diagnostics.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrOperationAspect {
+
+    @Around("execution(* com.tuempresa.proyecto.application.usecase..*UseCase.execute(..))")
+    public Object aroundUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new UseCaseEvent(), joinPoint);
+    }
+
+    @Around("execution(public * com.tuempresa.proyecto.infrastructure.persistence.adapter.ProductRepositoryAdapter.*(..))"
+        + " || execution(public * com.tuempresa.proyecto.infrastructure.persistence.sharding.ShardedProductRepository.*(..))")
+    public Object aroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(new RepositoryEvent(), joinPoint);
+    }
+
+    private static Object record(CatalogOperationEvent event, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                    + '.' + joinPoint.getSignature().getName();
+                event.productId = productId(joinPoint.getArgs(), result);
+                event.rows = failure != null ? -1 : rows(result);
+                event.outcome = failure != null ? failure.getClass().getSimpleName() : outcome(result);
+                event.commit();
+            }
+        }
+    }
+
+    private static String productId(Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof UUID) {
+                return arg.toString();
+            }
+            if (arg instanceof Product) {
+                return String.valueOf(((Product) arg).getId());
+            }
+        }
+        Object value = result instanceof UseCaseResult ? ((UseCaseResult<?>) result).getValue() : result;
+        if (value instanceof ProductResponse) {
+            return String.valueOf(((ProductResponse) value).getId());
+        }
+        return null;
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof UseCaseResult) {
+            UseCaseResult<?> useCaseResult = (UseCaseResult<?>) result;
+            return useCaseResult.isOk() && useCaseResult.getValue() != null ? rows(useCaseResult.getValue()) : 0;
+        }
+        if (result instanceof Collection) return ((Collection<?>) result).size();
+        if (result instanceof Map) return ((Map<?, ?>) result).size();
+        if (result instanceof Optional) return ((Optional<?>) result).isPresent() ? 1 : 0;
+        if (result instanceof Number) return ((Number) result).longValue();
+        if (result instanceof Product || result instanceof ProductResponse) return 1;
+        if (result instanceof ProductPageResponse) return ((ProductPageResponse) result).getItems().size();
+        if (result instanceof LowStockResponse) return ((LowStockResponse) result).getItems().size();
+        if (result instanceof ProductChangeFeedResponse) return ((ProductChangeFeedResponse) result).getChanges().size();
+        if (result instanceof BulkPriceAdjustmentResponse) return ((BulkPriceAdjustmentResponse) result).getAffected();
+        if (result instanceof BulkActivationResponse) return ((BulkActivationResponse) result).getAffected();
+        return -1;
+    }
+
+    private static String outcome(Object result) {
+        return result instanceof UseCaseResult ? ((UseCaseResult<?>) result).getStatus().name() : "OK";
+    }
+}
@@ -0,0 +1,13 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(RepositoryEvent.NAME)
+@Label("Catalog Repository Call")
+@Category({"Catalog", "Repository"})
+class RepositoryEvent extends CatalogOperationEvent {
+
+    static final String NAME = "com.tuempresa.proyecto.Repository";
+}
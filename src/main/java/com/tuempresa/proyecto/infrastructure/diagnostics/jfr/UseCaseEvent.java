@@ -0,0 +1,13 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(UseCaseEvent.NAME)
+@Label("Catalog Use Case")
+@Category({"Catalog", "Use Cases"})
+class UseCaseEvent extends CatalogOperationEvent {
+
+    static final String NAME = "com.tuempresa.proyecto.UseCase";
+}
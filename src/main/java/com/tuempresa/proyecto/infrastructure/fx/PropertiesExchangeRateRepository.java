@@ -0,0 +1,57 @@
+package com.tuempresa.proyecto.infrastructure.fx;
+
+import com.tuempresa.proyecto.domain.repository.ExchangeRateRepository;
+import com.tuempresa.proyecto.domain.valueobject.ExchangeRates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Lee los tipos de cambio de un fichero .properties: la clave "base" indica la
+ * moneda base y el resto de claves son códigos ISO 4217 con las unidades por
+ * unidad de la base (p. ej. EUR=0.92).
+ */
+@Repository
+public class PropertiesExchangeRateRepository implements ExchangeRateRepository {
+
+    private static final String BASE_KEY = "base";
+
+    private final Resource location;
+
+    public PropertiesExchangeRateRepository(
+            @Value("${catalog.fx.rates-location:classpath:fx-rates.properties}") Resource location) {
+        this.location = location;
+    }
+
+    @Override
+    public ExchangeRates load() {
+        Properties properties = new Properties();
+        try (InputStream in = location.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read exchange rates from " + location, e);
+        }
+
+        String base = properties.getProperty(BASE_KEY);
+        if (base == null) {
+            throw new IllegalStateException("Exchange rates file has no '" + BASE_KEY + "' entry: " + location);
+        }
+        Map<Currency, BigDecimal> rates = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!BASE_KEY.equals(key)) {
+                rates.put(Currency.getInstance(key.trim()), new BigDecimal(properties.getProperty(key).trim()));
+            }
+        }
+        return new ExchangeRates(Currency.getInstance(base.trim()), rates, Instant.now());
+    }
+}
@@ -2,6 +2,7 @@ package com.tuempresa.proyecto.infrastructure.persistence.adapter;
 
 import com.tuempresa.proyecto.domain.model.Product;
 import com.tuempresa.proyecto.domain.valueobject.Money;
+import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductArchiveEntity;
 import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductEntity;
 import org.springframework.stereotype.Component;
 
@@ -43,6 +44,22 @@ public class ProductEntityMapper {
         );
     }
 
+    public Product toDomain(ProductArchiveEntity entity) {
+        Money price = Money.of(entity.getPrice(), Currency.getInstance(entity.getCurrency()));
+
+        return Product.reconstruct(
+            entity.getId(),
+            entity.getName(),
+            entity.getDescription(),
+            price,
+            entity.getStock(),
+            entity.getCategory(),
+            entity.getCreatedAt(),
+            entity.getUpdatedAt(),
+            entity.isActive()
+        );
+    }
+
     public List<Product> toDomainList(List<ProductEntity> entities) {
         return entities.stream()
             .map(this::toDomain)
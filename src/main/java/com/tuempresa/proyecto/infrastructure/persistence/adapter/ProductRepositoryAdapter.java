@@ -1,25 +1,55 @@
 package com.tuempresa.proyecto.infrastructure.persistence.adapter;
 
+import com.tuempresa.proyecto.domain.model.InventoryValuation;
+import com.tuempresa.proyecto.domain.model.PriceBounds;
 import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
 import com.tuempresa.proyecto.domain.repository.ProductRepository;
 import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductEntity;
+import com.tuempresa.proyecto.infrastructure.persistence.cache.ProductCacheEvictor;
+import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductTombstoneEntity;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.JpaProductArchiveRepository;
 import com.tuempresa.proyecto.infrastructure.persistence.repository.JpaProductRepository;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.JpaProductTombstoneRepository;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.ProductJdbcRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Component
 public class ProductRepositoryAdapter implements ProductRepository {
     
     private final JpaProductRepository jpaProductRepository;
+    private final JpaProductArchiveRepository jpaProductArchiveRepository;
+    private final JpaProductTombstoneRepository jpaProductTombstoneRepository;
+    private final ProductJdbcRepository productJdbcRepository;
     private final ProductEntityMapper entityMapper;
+    private final ProductCacheEvictor cacheEvictor;
 
     public ProductRepositoryAdapter(JpaProductRepository jpaProductRepository, 
-                                   ProductEntityMapper entityMapper) {
+                                   JpaProductArchiveRepository jpaProductArchiveRepository,
+                                   JpaProductTombstoneRepository jpaProductTombstoneRepository,
+                                   ProductJdbcRepository productJdbcRepository,
+                                   ProductEntityMapper entityMapper,
+                                   ProductCacheEvictor cacheEvictor) {
         this.jpaProductRepository = jpaProductRepository;
+        this.jpaProductArchiveRepository = jpaProductArchiveRepository;
+        this.jpaProductTombstoneRepository = jpaProductTombstoneRepository;
+        this.productJdbcRepository = productJdbcRepository;
         this.entityMapper = entityMapper;
+        this.cacheEvictor = cacheEvictor;
     }
 
     @Override
@@ -35,6 +65,18 @@ public class ProductRepositoryAdapter implements ProductRepository {
             .map(entityMapper::toDomain);
     }
 
+    @Override
+    public Optional<Product> findByIdIncludingArchived(UUID id) {
+        Optional<Product> product = findById(id);
+        if (product.isPresent()) {
+            return product;
+        }
+        // Los productos archivados siguen siendo consultables por id, pero no
+        // se devuelven en findById: guardarlos los volvería a meter en products
+        return jpaProductArchiveRepository.findById(id)
+            .map(entityMapper::toDomain);
+    }
+
     @Override
     public List<Product> findAll() {
         List<ProductEntity> entities = jpaProductRepository.findAll();
@@ -47,6 +89,43 @@ public class ProductRepositoryAdapter implements ProductRepository {
         return entityMapper.toDomainList(entities);
     }
 
+    @Override
+    public List<Product> findByIds(Collection<UUID> ids) {
+        return entityMapper.toDomainList(jpaProductRepository.findAllById(ids));
+    }
+
+    @Override
+    public List<Product> findByPriceRange(String category, String currency, BigDecimal minPrice, BigDecimal maxPrice,
+                                          boolean descending, BigDecimal afterPrice, UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<ProductEntity> entities;
+        if (afterId == null) {
+            entities = descending
+                ? jpaProductRepository.findPriceRangeDesc(category, currency, minPrice, maxPrice, page)
+                : jpaProductRepository.findPriceRange(category, currency, minPrice, maxPrice, page);
+        } else {
+            entities = descending
+                ? jpaProductRepository.findPriceRangeDescAfter(category, currency, minPrice, maxPrice, afterPrice, afterId, page)
+                : jpaProductRepository.findPriceRangeAfter(category, currency, minPrice, maxPrice, afterPrice, afterId, page);
+        }
+        return entityMapper.toDomainList(entities);
+    }
+
+    @Override
+    public List<Product> findLowestStockActive(int limit) {
+        return entityMapper.toDomainList(jpaProductRepository.findLowestStockActive(PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public void forEachActiveStock(BiConsumer<UUID, Integer> consumer) {
+        productJdbcRepository.forEachActiveStock(consumer);
+    }
+
+    @Override
+    public void forEachId(Consumer<UUID> consumer) {
+        productJdbcRepository.forEachId(consumer);
+    }
+
     @Override
     public List<Product> findActiveProducts() {
         List<ProductEntity> entities = jpaProductRepository.findByActiveTrue();
@@ -55,11 +134,137 @@ public class ProductRepositoryAdapter implements ProductRepository {
 
     @Override
     public void delete(UUID id) {
-        jpaProductRepository.deleteById(id);
+        jpaProductRepository.findById(id).ifPresentOrElse(
+            jpaProductRepository::delete,
+            () -> jpaProductArchiveRepository.deleteById(id));
+        // Marca de borrado para el feed de cambios
+        jpaProductTombstoneRepository.save(new ProductTombstoneEntity(id, LocalDateTime.now()));
     }
 
     @Override
     public boolean existsById(UUID id) {
-        return jpaProductRepository.existsById(id);
+        return jpaProductRepository.existsById(id) || jpaProductArchiveRepository.existsById(id);
+    }
+
+    @Override
+    public List<Product> findByIdRange(UUID fromInclusive, UUID toExclusive, UUID afterId, int limit) {
+        // Con cursor, el rango empieza en el mayor de from y el último id devuelto
+        List<ProductEntity> entities = afterId == null
+            ? jpaProductRepository.findIdRange(fromInclusive, toExclusive, PageRequest.of(0, limit))
+            : jpaProductRepository.findIdRangeAfter(fromInclusive, afterId, toExclusive, PageRequest.of(0, limit));
+        return entityMapper.toDomainList(entities);
+    }
+
+    @Override
+    public List<ProductChange> findChangesSince(LocalDateTime since, UUID afterId, LocalDateTime requestedUntil, int limit) {
+        LocalDateTime until = settledUntil(requestedUntil);
+        PageRequest page = PageRequest.of(0, limit);
+        List<ProductChange> changes = new ArrayList<>(limit * 2);
+        jpaProductRepository.findChangesSince(since, afterId, until, page)
+            .forEach(entity -> changes.add(ProductChange.upsert(entityMapper.toDomain(entity))));
+        jpaProductTombstoneRepository.findChangesSince(since, afterId, until, page)
+            .forEach(tombstone -> changes.add(ProductChange.delete(tombstone.getId(), tombstone.getDeletedAt())));
+        // Mezcla de ambas fuentes; el desempate por id usa el mismo orden sin signo que la base de datos
+        changes.sort(Comparator.comparing(ProductChange::getChangedAt)
+            .thenComparing(ProductChange::getProductId, ProductRepositoryAdapter::compareUnsigned));
+        return changes.size() > limit ? changes.subList(0, limit) : changes;
+    }
+
+    @Override
+    public LocalDateTime settledUntil(LocalDateTime until) {
+        return productJdbcRepository.settledUntil(until);
+    }
+
+    @Override
+    public int purgeTombstonesBefore(LocalDateTime cutoff, int batchSize) {
+        return productJdbcRepository.purgeTombstonesBefore(cutoff, batchSize);
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Override
+    public List<InventoryValuation> summarizeInventoryValue(boolean activeOnly) {
+        return productJdbcRepository.summarizeInventoryValue(activeOnly);
+    }
+
+    @Override
+    public int upsertAll(List<Product> products) {
+        int upserted = productJdbcRepository.upsertAll(products);
+        // Las escrituras JDBC no pasan por Hibernate: se invalida su caché a mano
+        cacheEvictor.evictProducts(products.stream().map(Product::getId).toList(), true);
+        return upserted;
+    }
+
+    @Override
+    public long count() {
+        return jpaProductRepository.count();
+    }
+
+    @Override
+    public long countByCategory(String category, boolean active) {
+        return productJdbcRepository.countByCategory(category, active);
+    }
+
+    @Override
+    public Optional<PriceBounds> findPriceBounds(String category, boolean active) {
+        return productJdbcRepository.findPriceBounds(category, active);
+    }
+
+    @Override
+    public Optional<UUID> findChunkUpperBound(String category, boolean active, UUID afterId, int chunkSize) {
+        return productJdbcRepository.findChunkUpperBound(category, active, afterId, chunkSize);
+    }
+
+    @Override
+    public int adjustPrices(String category, UUID afterId, UUID upToId, BigDecimal factor, String currency) {
+        int adjusted = productJdbcRepository.adjustPrices(category, afterId, upToId, factor, currency);
+        cacheEvictor.evictAllProducts(false);
+        return adjusted;
+    }
+
+    @Override
+    public List<Product> findChunk(String category, boolean active, UUID afterId, UUID upToId) {
+        List<ProductEntity> entities = afterId == null
+            ? jpaProductRepository.findChunk(category, active, upToId)
+            : jpaProductRepository.findChunkAfter(category, active, afterId, upToId);
+        return entityMapper.toDomainList(entities);
+    }
+
+    @Override
+    public int setActiveInCategory(String category, boolean active, UUID afterId, UUID upToId) {
+        int changed = productJdbcRepository.setActiveInCategory(category, active, afterId, upToId);
+        cacheEvictor.evictAllProducts(true);
+        return changed;
+    }
+
+    @Override
+    public Set<UUID> setActive(Collection<UUID> ids, boolean active) {
+        Set<UUID> changed = productJdbcRepository.setActive(ids, active);
+        cacheEvictor.evictProducts(changed, true);
+        return changed;
+    }
+
+    @Override
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        return productJdbcRepository.findExistingIds(ids);
+    }
+
+    @Override
+    public Set<UUID> applyStockDeltas(Map<UUID, Integer> deltas) {
+        Set<UUID> rejected = productJdbcRepository.applyStockDeltas(deltas);
+        cacheEvictor.evictProducts(deltas.keySet(), false);
+        return rejected;
+    }
+
+    @Override
+    public List<UUID> archiveInactiveBefore(LocalDateTime cutoff, int batchSize) {
+        List<UUID> archived = productJdbcRepository.archiveInactiveBefore(cutoff, batchSize);
+        if (!archived.isEmpty()) {
+            cacheEvictor.evictAllProducts(true);
+        }
+        return archived;
     }
 }
@@ -0,0 +1,80 @@
+package com.tuempresa.proyecto.infrastructure.persistence.cache;
+
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker.HotProduct;
+import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantiene los productos calientes en la caché de segundo nivel.
+ *
+ * Tras cada refresco del top-K se cargan los que no están en la caché: los
+ * que acaban de ponerse de moda, los invalidados por una escritura y los
+ * que caducaron por TTL. Los productos fríos siguen entrando solo al leerse.
+ *
+ * El GET por id se sirve del modelo de lectura, y ProductReadModelProjector
+ * ya relee allí los calientes. Esta precarga cubre las lecturas que pasan
+ * por JPA: la carga de la entidad en PUT, PATCH, ajuste de stock y borrado,
+ * y el GET mientras el modelo de lectura no está listo o está desactivado.
+ * El GET de un producto archivado va a su propia tabla, que no tiene caché.
+ */
+@Component
+public class HotProductPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(HotProductPrefetcher.class);
+
+    private final ProductPopularityTracker popularityTracker;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final AtomicLong prefetched = new AtomicLong();
+
+    public HotProductPrefetcher(ProductPopularityTracker popularityTracker, EntityManagerFactory entityManagerFactory,
+                                @Value("${catalog.popularity.prefetch:true}") boolean prefetch,
+                                @Value("${catalog.cache.second-level.enabled:true}") boolean secondLevelCache) {
+        this.popularityTracker = popularityTracker;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = prefetch && secondLevelCache && popularityTracker.isEnabled();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.popularity.refresh-interval:PT5S}",
+               initialDelayString = "${catalog.popularity.refresh-interval:PT5S}")
+    public void prefetch() {
+        if (!enabled) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache();
+        List<UUID> missing = new ArrayList<>();
+        for (HotProduct hot : popularityTracker.getHotProducts()) {
+            if (!cache.contains(ProductEntity.class, hot.getProductId())) {
+                missing.add(hot.getProductId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try (Session session = entityManagerFactory.createEntityManager().unwrap(Session.class)) {
+            // Una consulta por lotes; las entidades cargadas quedan en la caché de segundo nivel
+            long loaded = session.byMultipleIds(ProductEntity.class).multiLoad(missing).stream()
+                .filter(entity -> entity != null)
+                .count();
+            prefetched.addAndGet(loaded);
+        } catch (RuntimeException ex) {
+            log.warn("Hot product prefetch failed for {} products", missing.size(), ex);
+        }
+    }
+
+    // Métricas
+    public long getPrefetched() { return prefetched.get(); }
+}
@@ -0,0 +1,86 @@
+package com.tuempresa.proyecto.infrastructure.persistence.cache;
+
+import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalida la caché de segundo nivel de ProductEntity tras las escrituras
+ * JDBC (importación, operaciones masivas, write-behind de stock), que
+ * Hibernate no ve.
+ *
+ * Se invalida al momento y otra vez al terminar la transacción: una lectura
+ * concurrente que cargue la fila antigua antes del commit no deja en la
+ * caché un valor obsoleto. Los resultados de las consultas cacheables solo
+ * se descartan cuando la escritura puede cambiar qué productos devuelven
+ * (categoría, estado, altas y bajas), no en cambios de precio o stock.
+ */
+@Component
+public class ProductCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AtomicLong entityEvictions = new AtomicLong();
+    private final AtomicLong regionEvictions = new AtomicLong();
+    private final AtomicLong queryEvictions = new AtomicLong();
+
+    public ProductCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictProducts(Collection<UUID> ids, boolean queries) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<UUID> evicted = List.copyOf(ids);
+        runNowAndAfterCompletion(() -> {
+            Cache cache = entityManagerFactory.getCache();
+            evicted.forEach(id -> cache.evict(ProductEntity.class, id));
+            entityEvictions.addAndGet(evicted.size());
+            if (queries) {
+                evictQueries();
+            }
+        });
+    }
+
+    /** Para escrituras por rango o por categoría, donde no se conocen los ids. */
+    public void evictAllProducts(boolean queries) {
+        runNowAndAfterCompletion(() -> {
+            entityManagerFactory.getCache().evict(ProductEntity.class);
+            regionEvictions.incrementAndGet();
+            if (queries) {
+                evictQueries();
+            }
+        });
+    }
+
+    private void evictQueries() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        queryEvictions.incrementAndGet();
+    }
+
+    private static void runNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    // Métricas
+    public long getEntityEvictions() { return entityEvictions.get(); }
+    public long getRegionEvictions() { return regionEvictions.get(); }
+    public long getQueryEvictions() { return queryEvictions.get(); }
+}
@@ -0,0 +1,69 @@
+package com.tuempresa.proyecto.infrastructure.persistence.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Aciertos, fallos y escrituras de la caché de segundo nivel y de la caché
+ * de consultas, a partir de las estadísticas de Hibernate
+ * (hibernate.generate_statistics, que activa catalog.cache.statistics.enabled;
+ * sin ellas solo se publican las invalidaciones). Se consultan en /actuator/metrics:
+ * <ul>
+ *   <li>catalog.cache.requests{cache=entity|query, result=hit|miss}</li>
+ *   <li>catalog.cache.puts{cache=entity|query}</li>
+ *   <li>catalog.cache.hit.ratio{cache=entity|query}</li>
+ *   <li>catalog.cache.evictions{scope=entity|region|query}: invalidaciones por escrituras JDBC</li>
+ * </ul>
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final ProductCacheEvictor evictor;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, ProductCacheEvictor evictor) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.evictor = evictor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (statistics.isStatisticsEnabled()) {
+            bindCache(registry, "entity", Statistics::getSecondLevelCacheHitCount,
+                Statistics::getSecondLevelCacheMissCount, Statistics::getSecondLevelCachePutCount);
+            bindCache(registry, "query", Statistics::getQueryCacheHitCount,
+                Statistics::getQueryCacheMissCount, Statistics::getQueryCachePutCount);
+        }
+
+        FunctionCounter.builder("catalog.cache.evictions", evictor, ProductCacheEvictor::getEntityEvictions)
+            .tag("scope", "entity").description("Products evicted one by one after JDBC writes").register(registry);
+        FunctionCounter.builder("catalog.cache.evictions", evictor, ProductCacheEvictor::getRegionEvictions)
+            .tag("scope", "region").description("Full product region evictions after bulk JDBC writes").register(registry);
+        FunctionCounter.builder("catalog.cache.evictions", evictor, ProductCacheEvictor::getQueryEvictions)
+            .tag("scope", "query").description("Query cache evictions after JDBC writes").register(registry);
+    }
+
+    private void bindCache(MeterRegistry registry, String cache, ToLongFunction<Statistics> hits,
+                           ToLongFunction<Statistics> misses, ToLongFunction<Statistics> puts) {
+        FunctionCounter.builder("catalog.cache.requests", statistics, s -> hits.applyAsLong(s))
+            .tags("cache", cache, "result", "hit").register(registry);
+        FunctionCounter.builder("catalog.cache.requests", statistics, s -> misses.applyAsLong(s))
+            .tags("cache", cache, "result", "miss").register(registry);
+        FunctionCounter.builder("catalog.cache.puts", statistics, s -> puts.applyAsLong(s))
+            .tag("cache", cache).register(registry);
+        Gauge.builder("catalog.cache.hit.ratio", statistics, s -> {
+                long hit = hits.applyAsLong(s);
+                long total = hit + misses.applyAsLong(s);
+                return total == 0 ? 0.0 : (double) hit / total;
+            })
+            .tag("cache", cache).register(registry);
+    }
+}
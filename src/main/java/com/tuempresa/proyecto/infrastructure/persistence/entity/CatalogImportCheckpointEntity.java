@@ -0,0 +1,80 @@
+package com.tuempresa.proyecto.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Punto de control de una importación de catálogo. Se escribe en la misma
+ * transacción que cada lote, de modo que el offset siempre refleja lo confirmado.
+ *
+ * Guarda también el tamaño y la fecha de modificación del fichero: si en la
+ * misma ruta aparece otro fichero, el checkpoint no le corresponde y la
+ * importación empieza de cero.
+ *
+ * running indica a todas las instancias que la importación trae ids del
+ * fichero y que, mientras dure, su filtro de ids no puede descartar ninguno
+ * (ver CatalogImportWatcher).
+ */
+@Entity
+@Table(name = "catalog_import_checkpoints")
+public class CatalogImportCheckpointEntity {
+
+    @Id
+    @Column(name = "file_key", length = 500)
+    private String fileKey;
+
+    @Column(name = "byte_offset", nullable = false)
+    private long byteOffset;
+
+    @Column(name = "rows_imported", nullable = false)
+    private long rowsImported;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private long rowsRejected;
+
+    // Longitud del fichero de rechazos al confirmar el lote; al reanudar se trunca a ella
+    @Column(name = "rejected_bytes", nullable = false)
+    private long rejectedBytes;
+
+    // Nulos en checkpoints anteriores a esta comprobación: no coinciden con ningún fichero
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "file_modified_at")
+    private Long fileModifiedAt;
+
+    // Nulo equivale a false, también en checkpoints anteriores a esta columna
+    @Column(name = "running")
+    private Boolean running;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters y Setters
+    public String getFileKey() { return fileKey; }
+    public void setFileKey(String fileKey) { this.fileKey = fileKey; }
+
+    public long getByteOffset() { return byteOffset; }
+    public void setByteOffset(long byteOffset) { this.byteOffset = byteOffset; }
+
+    public long getRowsImported() { return rowsImported; }
+    public void setRowsImported(long rowsImported) { this.rowsImported = rowsImported; }
+
+    public long getRowsRejected() { return rowsRejected; }
+    public void setRowsRejected(long rowsRejected) { this.rowsRejected = rowsRejected; }
+
+    public long getRejectedBytes() { return rejectedBytes; }
+    public void setRejectedBytes(long rejectedBytes) { this.rejectedBytes = rejectedBytes; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public Long getFileModifiedAt() { return fileModifiedAt; }
+    public void setFileModifiedAt(Long fileModifiedAt) { this.fileModifiedAt = fileModifiedAt; }
+
+    public boolean isRunning() { return Boolean.TRUE.equals(running); }
+    public void setRunning(boolean running) { this.running = running; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,44 @@
+package com.tuempresa.proyecto.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Clave de idempotencia y respuesta guardada (ver JdbcIdempotencyKeyRepository).
+ * response es null mientras la petición original se procesa.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    // Limpieza periódica de claves caducadas; ver V8
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(length = 8192)
+    private String response;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyKeyEntity() {}
+
+    // Getters y Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+    public String getResponse() { return response; }
+    public void setResponse(String response) { this.response = response; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
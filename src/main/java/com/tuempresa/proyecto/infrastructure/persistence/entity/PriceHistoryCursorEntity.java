@@ -0,0 +1,36 @@
+package com.tuempresa.proyecto.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Hasta dónde se ha llevado el feed de cambios al historial de precios (ver
+ * PriceHistoryRecorder). Una sola fila, con id 1, compartida por todas las
+ * instancias.
+ */
+@Entity
+@Table(name = "price_history_cursor")
+public class PriceHistoryCursorEntity {
+
+    @Id
+    private int id;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "product_id", columnDefinition = "UUID", nullable = false)
+    private UUID productId;
+
+    public PriceHistoryCursorEntity() {}
+
+    // Getters y Setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+}
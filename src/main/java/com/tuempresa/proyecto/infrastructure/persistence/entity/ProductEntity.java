@@ -1,12 +1,34 @@
 package com.tuempresa.proyecto.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    // Filtro por banda de precio con orden y paginación por (price, id); ver V5
+    @Index(name = "idx_products_category_active_currency_price_id", columnList = "category, active, currency, price, id"),
+    // Tramos de clave de las operaciones masivas por categoría; ver V6
+    @Index(name = "idx_products_category_active_id", columnList = "category, active, id"),
+    // Feed de cambios recorrido por (updated_at, id); ver V3
+    @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id"),
+    // Candidatos del archivado (active = FALSE AND updated_at < ?). V2 lo crea como índice parcial,
+    // que JPA no sabe declarar; con ddl-auto se crea completo
+    @Index(name = "idx_products_inactive_updated_at", columnList = "active, updated_at"),
+    // Respaldo del índice de stock bajo (active = TRUE ORDER BY stock, id). V4 lo crea como
+    // índice parcial; con ddl-auto se crea completo
+    @Index(name = "idx_products_active_stock_id", columnList = "stock, id")
+})
+// Los UPDATE incluyen solo las columnas modificadas (evita reescribir índices de category/active)
+@DynamicUpdate
+// Caché de segundo nivel (región "products" de ehcache.xml). Las escrituras JDBC
+// no pasan por Hibernate: ProductCacheEvictor la invalida tras cada una
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class ProductEntity {
     
     @Id
@@ -0,0 +1,87 @@
+package com.tuempresa.proyecto.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Bloque del historial de precios de un producto (ver PriceHistoryBlock).
+ * Los bloques de un producto se numeran con seq; solo el último admite
+ * nuevos cambios. first_at/last_at delimitan los instantes que contiene.
+ */
+@Entity
+@Table(name = "product_price_history", indexes = {
+    // Bloque vigente en un instante; ver V7
+    @Index(name = "idx_product_price_history_product_first_at", columnList = "product_id, first_at")
+})
+@IdClass(ProductPriceHistoryEntity.Key.class)
+public class ProductPriceHistoryEntity {
+
+    @Id
+    @Column(name = "product_id", columnDefinition = "UUID")
+    private UUID productId;
+
+    @Id
+    private int seq;
+
+    @Column(name = "first_at", nullable = false)
+    private LocalDateTime firstAt;
+
+    @Column(name = "last_at", nullable = false)
+    private LocalDateTime lastAt;
+
+    @Column(nullable = false)
+    private int entries;
+
+    @Column(nullable = false, length = 512)
+    private byte[] data;
+
+    public ProductPriceHistoryEntity() {}
+
+    // Getters y Setters
+    public UUID getProductId() { return productId; }
+    public void setProductId(UUID productId) { this.productId = productId; }
+
+    public int getSeq() { return seq; }
+    public void setSeq(int seq) { this.seq = seq; }
+
+    public LocalDateTime getFirstAt() { return firstAt; }
+    public void setFirstAt(LocalDateTime firstAt) { this.firstAt = firstAt; }
+
+    public LocalDateTime getLastAt() { return lastAt; }
+    public void setLastAt(LocalDateTime lastAt) { this.lastAt = lastAt; }
+
+    public int getEntries() { return entries; }
+    public void setEntries(int entries) { this.entries = entries; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private UUID productId;
+        private int seq;
+
+        public Key() {}
+
+        public Key(UUID productId, int seq) {
+            this.productId = productId;
+            this.seq = seq;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return seq == key.seq && Objects.equals(productId, key.productId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, seq);
+        }
+    }
+}
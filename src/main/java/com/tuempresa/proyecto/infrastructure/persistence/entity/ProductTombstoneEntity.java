@@ -0,0 +1,38 @@
+package com.tuempresa.proyecto.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marca de borrado de un producto, para que el feed de cambios pueda
+ * informar de los borrados físicos.
+ */
+@Entity
+@Table(name = "product_tombstones", indexes = {
+    // Feed de cambios y purga de marcas antiguas, ambos por (deleted_at, id); ver V3
+    @Index(name = "idx_product_tombstones_deleted_at_id", columnList = "deleted_at, id")
+})
+public class ProductTombstoneEntity {
+
+    @Id
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public ProductTombstoneEntity() {}
+
+    public ProductTombstoneEntity(UUID id, LocalDateTime deletedAt) {
+        this.id = id;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters y Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
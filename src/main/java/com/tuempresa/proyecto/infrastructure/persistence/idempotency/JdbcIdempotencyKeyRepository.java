@@ -0,0 +1,82 @@
+package com.tuempresa.proyecto.infrastructure.persistence.idempotency;
+
+import com.tuempresa.proyecto.domain.model.IdempotencyRecord;
+import com.tuempresa.proyecto.domain.repository.IdempotencyKeyRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Claves de idempotencia en la tabla idempotency_keys, para que los
+ * reintentos que llegan a otra instancia también se reconozcan.
+ *
+ * La reserva es un INSERT sobre la clave primaria: entre varias instancias
+ * solo una lo consigue. Una reserva caducada (la instancia que la tenía cayó
+ * antes de completarla) se borra y se vuelve a intentar. Mientras la petición
+ * se procesa su instancia renueva la reserva ({@link #renew}).
+ */
+@Repository
+public class JdbcIdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint, LocalDateTime leaseUntil) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                jdbcTemplate.update(
+                    "INSERT INTO idempotency_keys (idempotency_key, fingerprint, response, expires_at) VALUES (?, ?, NULL, ?)",
+                    key, fingerprint, Timestamp.valueOf(leaseUntil));
+                return true;
+            } catch (DuplicateKeyException ex) {
+                int removed = jdbcTemplate.update(
+                    "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at < ?",
+                    key, Timestamp.valueOf(LocalDateTime.now()));
+                if (removed == 0) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query(
+            "SELECT idempotency_key, fingerprint, response, expires_at FROM idempotency_keys WHERE idempotency_key = ?",
+            (rs, rowNum) -> new IdempotencyRecord(rs.getString(1), rs.getString(2), rs.getString(3),
+                rs.getTimestamp(4).toLocalDateTime()),
+            key).stream().findFirst();
+    }
+
+    @Override
+    public boolean renew(String key, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(
+            "UPDATE idempotency_keys SET expires_at = ? WHERE idempotency_key = ? AND response IS NULL",
+            Timestamp.valueOf(leaseUntil), key) == 1;
+    }
+
+    @Override
+    public void complete(String key, String response, LocalDateTime expiresAt) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET response = ?, expires_at = ? WHERE idempotency_key = ?",
+            response, Timestamp.valueOf(expiresAt), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND response IS NULL", key);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", Timestamp.valueOf(now));
+    }
+}
@@ -0,0 +1,381 @@
+package com.tuempresa.proyecto.infrastructure.persistence.pricehistory;
+
+import com.tuempresa.proyecto.domain.model.ChangeFeedCursor;
+import com.tuempresa.proyecto.domain.model.PriceHistoryStats;
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Historial de precios en la tabla product_price_history, por bloques
+ * comprimidos (PriceHistoryBlock).
+ *
+ * Añadir un cambio reescribe solo el último bloque del producto (unos cientos
+ * de bytes) o inserta uno nuevo si está lleno. El UPDATE comprueba que el
+ * bloque no haya cambiado desde que se leyó, así que dos instancias que
+ * escriban a la vez no se pisan: la que pierde repite el lote.
+ *
+ * Un cambio anterior al último guardado (commits que llegan desordenados) se
+ * intercala: se reescriben los bloques desde el que lo contiene. Un punto con
+ * el mismo instante que uno ya guardado se toma como repetido y se ignora.
+ *
+ * El precio en un instante usa el índice (product_id, first_at) para llegar
+ * al bloque que lo contiene y después recorre como mucho MAX_ENTRIES cambios.
+ *
+ * El cursor del feed de cambios es la única fila de price_history_cursor.
+ */
+@Repository
+public class JdbcPriceHistoryRepository implements PriceHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcPriceHistoryRepository.class);
+
+    private static final int IN_LIST_SIZE = 500;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcPriceHistoryRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public int appendAll(Collection<PricePoint> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, List<PricePoint>> byProduct = new LinkedHashMap<>();
+        for (PricePoint point : points) {
+            byProduct.computeIfAbsent(point.getProductId(), id -> new ArrayList<>()).add(point);
+        }
+        byProduct.values().forEach(list -> list.sort(Comparator.comparing(PricePoint::getEffectiveAt)));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer appended = transactionTemplate.execute(status -> append(byProduct));
+                return appended != null ? appended : 0;
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Price history blocks changed concurrently, retrying ({}/{})", attempt, MAX_ATTEMPTS);
+            }
+        }
+    }
+
+    private int append(Map<UUID, List<PricePoint>> byProduct) {
+        Map<UUID, Tail> tails = findTails(byProduct.keySet());
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> rewrites = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        int appended = 0;
+        for (Map.Entry<UUID, List<PricePoint>> entry : byProduct.entrySet()) {
+            UUID productId = entry.getKey();
+            Tail tail = tails.get(productId);
+            long earliest = PriceHistoryBlock.toMillis(entry.getValue().get(0).getEffectiveAt());
+            if (tail != null && earliest <= tail.block.getLastMillis()) {
+                appended += merge(productId, entry.getValue(), earliest, rewrites, inserts, deletes);
+                continue;
+            }
+            PriceHistoryBlock block = tail != null ? tail.block : PriceHistoryBlock.empty();
+            int seq = tail != null ? tail.seq : 0;
+            boolean isTail = tail != null;
+            long lastMillis = tail != null ? block.getLastMillis() : Long.MIN_VALUE;
+            Money lastPrice = tail != null ? block.getLastPrice() : null;
+
+            for (PricePoint point : entry.getValue()) {
+                long millis = PriceHistoryBlock.toMillis(point.getEffectiveAt());
+                // Solo si el precio cambia (y sin repetir instante dentro del lote)
+                if (millis <= lastMillis || point.getPrice().equals(lastPrice)) {
+                    continue;
+                }
+                if (!block.append(millis, point.getPrice())) {
+                    addWrite(productId, seq, block, isTail ? tail.entries : -1, updates, inserts);
+                    block = PriceHistoryBlock.empty();
+                    block.append(millis, point.getPrice());
+                    seq++;
+                    isTail = false;
+                }
+                lastMillis = millis;
+                lastPrice = point.getPrice();
+                appended++;
+            }
+            addWrite(productId, seq, block, isTail ? tail.entries : -1, updates, inserts);
+        }
+
+        if (!updates.isEmpty()) {
+            checkUnchanged(jdbcTemplate.batchUpdate(
+                "UPDATE product_price_history SET last_at = ?, entries = ?, data = ? "
+                    + "WHERE product_id = ? AND seq = ? AND entries = ?", updates));
+        }
+        if (!rewrites.isEmpty()) {
+            checkUnchanged(jdbcTemplate.batchUpdate(
+                "UPDATE product_price_history SET first_at = ?, last_at = ?, entries = ?, data = ? "
+                    + "WHERE product_id = ? AND seq = ? AND entries = ?", rewrites));
+        }
+        if (!deletes.isEmpty()) {
+            checkUnchanged(jdbcTemplate.batchUpdate(
+                "DELETE FROM product_price_history WHERE product_id = ? AND seq = ? AND entries = ?", deletes));
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO product_price_history (product_id, seq, first_at, last_at, entries, data) VALUES (?, ?, ?, ?, ?, ?)",
+                inserts);
+        }
+        return appended;
+    }
+
+    /**
+     * Intercala cambios anteriores al último guardado: decodifica los bloques
+     * desde el que contiene el más antiguo, mezcla, quita los puntos que dejan
+     * de cambiar el precio y vuelve a codificar a partir del mismo seq.
+     *
+     * @return puntos nuevos guardados
+     */
+    private int merge(UUID productId, List<PricePoint> points, long earliest,
+                      List<Object[]> rewrites, List<Object[]> inserts, List<Object[]> deletes) {
+        List<StoredBlock> stored = jdbcTemplate.query(
+            "SELECT seq, entries, data FROM product_price_history WHERE product_id = ? AND seq >= COALESCE("
+                + "(SELECT MAX(seq) FROM product_price_history WHERE product_id = ? AND first_at <= ?), 0) ORDER BY seq",
+            (rs, rowNum) -> new StoredBlock(rs.getInt(1), rs.getInt(2), rs.getBytes(3)),
+            productId, productId, Timestamp.valueOf(PriceHistoryBlock.fromMillis(earliest)));
+
+        TreeMap<Long, PricePoint> series = new TreeMap<>();
+        for (StoredBlock block : stored) {
+            for (PricePoint point : PriceHistoryBlock.decode(productId, block.data)) {
+                series.put(PriceHistoryBlock.toMillis(point.getEffectiveAt()), point);
+            }
+        }
+        Set<Long> added = new HashSet<>();
+        for (PricePoint point : points) {
+            long millis = PriceHistoryBlock.toMillis(point.getEffectiveAt());
+            if (series.putIfAbsent(millis, point) == null) {
+                added.add(millis);
+            }
+        }
+        if (added.isEmpty()) {
+            return 0;
+        }
+
+        // El primer punto del tramo sigue siendo un cambio respecto al bloque anterior
+        List<PriceHistoryBlock> blocks = new ArrayList<>();
+        PriceHistoryBlock block = PriceHistoryBlock.empty();
+        Money lastPrice = null;
+        int kept = 0;
+        boolean changed = false;
+        for (Map.Entry<Long, PricePoint> entry : series.entrySet()) {
+            Money price = entry.getValue().getPrice();
+            if (price.equals(lastPrice)) {
+                // Un punto nuevo sin cambio de precio, o uno guardado que el nuevo deja sin efecto
+                changed |= !added.contains(entry.getKey());
+                continue;
+            }
+            if (!block.append(entry.getKey(), price)) {
+                blocks.add(block);
+                block = PriceHistoryBlock.empty();
+                block.append(entry.getKey(), price);
+            }
+            lastPrice = price;
+            if (added.contains(entry.getKey())) {
+                kept++;
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return 0;
+        }
+        blocks.add(block);
+
+        int firstSeq = stored.get(0).seq;
+        for (int i = 0; i < Math.max(blocks.size(), stored.size()); i++) {
+            if (i >= blocks.size()) {
+                deletes.add(new Object[] {productId, stored.get(i).seq, stored.get(i).entries});
+                continue;
+            }
+            PriceHistoryBlock rewritten = blocks.get(i);
+            Timestamp firstAt = Timestamp.valueOf(PriceHistoryBlock.fromMillis(rewritten.getFirstMillis()));
+            Timestamp lastAt = Timestamp.valueOf(PriceHistoryBlock.fromMillis(rewritten.getLastMillis()));
+            if (i < stored.size()) {
+                rewrites.add(new Object[] {firstAt, lastAt, rewritten.getEntries(), rewritten.toBytes(),
+                    productId, stored.get(i).seq, stored.get(i).entries});
+            } else {
+                inserts.add(new Object[] {productId, firstSeq + i, firstAt, lastAt, rewritten.getEntries(), rewritten.toBytes()});
+            }
+        }
+        return kept;
+    }
+
+    private static void checkUnchanged(int[] counts) {
+        for (int count : counts) {
+            if (count == 0) {
+                throw new OptimisticLockingFailureException("Price history block was modified concurrently");
+            }
+        }
+    }
+
+    /**
+     * Prepara la escritura de un bloque: UPDATE si es el último ya guardado y
+     * ha crecido, INSERT si es nuevo.
+     *
+     * @param storedEntries cambios que tenía el bloque al leerlo, o -1 si es nuevo
+     */
+    private static void addWrite(UUID productId, int seq, PriceHistoryBlock block, int storedEntries,
+                                 List<Object[]> updates, List<Object[]> inserts) {
+        if (block.isEmpty() || block.getEntries() == storedEntries) {
+            return;
+        }
+        Timestamp lastAt = Timestamp.valueOf(PriceHistoryBlock.fromMillis(block.getLastMillis()));
+        if (storedEntries >= 0) {
+            updates.add(new Object[] {lastAt, block.getEntries(), block.toBytes(), productId, seq, storedEntries});
+        } else {
+            inserts.add(new Object[] {productId, seq, Timestamp.valueOf(PriceHistoryBlock.fromMillis(block.getFirstMillis())),
+                lastAt, block.getEntries(), block.toBytes()});
+        }
+    }
+
+    private Map<UUID, Tail> findTails(Collection<UUID> productIds) {
+        Map<UUID, Tail> tails = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(productIds);
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()));
+            jdbcTemplate.query(
+                "SELECT h.product_id, h.seq, h.entries, h.data FROM product_price_history h "
+                    + "WHERE h.product_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") "
+                    + "AND h.seq = (SELECT MAX(m.seq) FROM product_price_history m WHERE m.product_id = h.product_id)",
+                rs -> {
+                    tails.put(rs.getObject(1, UUID.class),
+                        new Tail(rs.getInt(2), rs.getInt(3), PriceHistoryBlock.open(rs.getBytes(4))));
+                },
+                chunk.toArray());
+        }
+        return tails;
+    }
+
+    @Override
+    public Optional<PricePoint> findPriceAt(UUID productId, LocalDateTime at) {
+        List<byte[]> blocks = jdbcTemplate.query(
+            "SELECT data FROM product_price_history WHERE product_id = ? AND first_at <= ? ORDER BY first_at DESC LIMIT 1",
+            (rs, rowNum) -> rs.getBytes(1), productId, Timestamp.valueOf(at));
+        if (blocks.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(PriceHistoryBlock.findAt(productId, blocks.get(0), PriceHistoryBlock.toMillis(at)));
+    }
+
+    @Override
+    public List<PricePoint> findSeries(UUID productId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<Integer> startSeq = jdbcTemplate.queryForList(
+            "SELECT seq FROM product_price_history WHERE product_id = ? AND first_at <= ? ORDER BY first_at DESC LIMIT 1",
+            Integer.class, productId, Timestamp.valueOf(from));
+        // Cada bloque tiene al menos un cambio: limit + 2 bloques bastan aunque el primero acabe en from
+        List<byte[]> blocks = jdbcTemplate.query(
+            "SELECT data FROM product_price_history WHERE product_id = ? AND seq >= ? AND first_at <= ? ORDER BY seq LIMIT ?",
+            (rs, rowNum) -> rs.getBytes(1),
+            productId, startSeq.isEmpty() ? 0 : startSeq.get(0), Timestamp.valueOf(to), limit + 2);
+
+        long fromMillis = PriceHistoryBlock.toMillis(from);
+        long toMillis = PriceHistoryBlock.toMillis(to);
+        PricePoint start = null;
+        List<PricePoint> series = new ArrayList<>();
+        decode:
+        for (byte[] data : blocks) {
+            for (PricePoint point : PriceHistoryBlock.decode(productId, data)) {
+                long millis = PriceHistoryBlock.toMillis(point.getEffectiveAt());
+                if (millis <= fromMillis) {
+                    start = point;
+                    continue;
+                }
+                if (millis > toMillis || series.size() + (start != null ? 1 : 0) >= limit) {
+                    break decode;
+                }
+                series.add(point);
+            }
+        }
+        if (start != null) {
+            series.add(0, start);
+        }
+        return series;
+    }
+
+    @Override
+    public PriceHistoryStats stats() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT product_id), COUNT(*), COALESCE(SUM(entries), 0), COALESCE(SUM(OCTET_LENGTH(data)), 0) "
+                + "FROM product_price_history",
+            (rs, rowNum) -> new PriceHistoryStats(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+
+    @Override
+    public Optional<ChangeFeedCursor> findFeedCursor() {
+        return jdbcTemplate.query("SELECT changed_at, product_id FROM price_history_cursor WHERE id = 1",
+            (rs, rowNum) -> new ChangeFeedCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getObject(2, UUID.class)))
+            .stream().findFirst();
+    }
+
+    @Override
+    public void saveFeedCursor(ChangeFeedCursor cursor) {
+        Timestamp changedAt = Timestamp.valueOf(cursor.getChangedAt());
+        String update = "UPDATE price_history_cursor SET changed_at = ?, product_id = ? WHERE id = 1";
+        if (jdbcTemplate.update(update, changedAt, cursor.getProductId()) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO price_history_cursor (id, changed_at, product_id) VALUES (1, ?, ?)",
+                changedAt, cursor.getProductId());
+        } catch (DuplicateKeyException ex) {
+            // Otra instancia la creó a la vez
+            jdbcTemplate.update(update, changedAt, cursor.getProductId());
+        }
+    }
+
+    // Bloque leído para intercalar cambios
+    private static final class StoredBlock {
+        private final int seq;
+        private final int entries;
+        private final byte[] data;
+
+        private StoredBlock(int seq, int entries, byte[] data) {
+            this.seq = seq;
+            this.entries = entries;
+            this.data = data;
+        }
+    }
+
+    // Último bloque guardado de un producto
+    private static final class Tail {
+        private final int seq;
+        private final int entries;
+        private final PriceHistoryBlock block;
+
+        private Tail(int seq, int entries, PriceHistoryBlock block) {
+            this.seq = seq;
+            this.entries = entries;
+            this.block = block;
+        }
+    }
+}
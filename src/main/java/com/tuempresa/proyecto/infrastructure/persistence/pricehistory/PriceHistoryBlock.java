@@ -0,0 +1,213 @@
+package com.tuempresa.proyecto.infrastructure.persistence.pricehistory;
+
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bloque del historial de precios de un producto: hasta MAX_ENTRIES cambios
+ * codificados como diferencias con el anterior.
+ *
+ * Cada cambio son dos varints y, si cambia la moneda, su código:
+ * <pre>
+ *   varint(ms desde el cambio anterior)        el primero: ms desde epoch
+ *   varint(zigzag(Δ céntimos) << 1 | moneda)   el primero: desde 0
+ *   [3 bytes ASCII con la moneda]              siempre en el primero
+ * </pre>
+ * Un cambio de precio habitual ocupa entre 4 y 7 bytes. Cada bloque se
+ * decodifica por sí solo, sin leer los anteriores.
+ *
+ * Los instantes se guardan con precisión de milisegundos.
+ */
+final class PriceHistoryBlock {
+
+    static final int MAX_ENTRIES = 64;
+    static final int MAX_BYTES = 512;
+
+    // Peor caso de un cambio: dos varints de 10 bytes y la moneda
+    private static final int MAX_ENTRY_BYTES = 23;
+
+    private final byte[] buffer = new byte[MAX_BYTES];
+    private int length;
+    private int entries;
+    private long firstMillis;
+    private long lastMillis;
+    private long lastCents;
+    private String lastCurrency;
+
+    static PriceHistoryBlock empty() {
+        return new PriceHistoryBlock();
+    }
+
+    /** Reabre un bloque guardado para seguir añadiendo cambios al final. */
+    static PriceHistoryBlock open(byte[] data) {
+        PriceHistoryBlock block = new PriceHistoryBlock();
+        System.arraycopy(data, 0, block.buffer, 0, data.length);
+        block.length = data.length;
+        Reader reader = new Reader(data);
+        while (reader.next()) {
+            if (block.entries == 0) {
+                block.firstMillis = reader.millis;
+            }
+            block.entries++;
+        }
+        block.lastMillis = reader.millis;
+        block.lastCents = reader.cents;
+        block.lastCurrency = reader.currency;
+        return block;
+    }
+
+    static List<PricePoint> decode(UUID productId, byte[] data) {
+        List<PricePoint> points = new ArrayList<>();
+        Reader reader = new Reader(data);
+        while (reader.next()) {
+            points.add(reader.toPoint(productId));
+        }
+        return points;
+    }
+
+    /**
+     * Último punto con instante menor o igual que atMillis, recorriendo el
+     * bloque desde el principio; null si todos son posteriores.
+     */
+    static PricePoint findAt(UUID productId, byte[] data, long atMillis) {
+        Reader reader = new Reader(data);
+        PricePoint found = null;
+        while (reader.next() && reader.millis <= atMillis) {
+            found = reader.toPoint(productId);
+        }
+        return found;
+    }
+
+    boolean isEmpty() {
+        return entries == 0;
+    }
+
+    /** Precio del último cambio del bloque; null si está vacío. */
+    Money getLastPrice() {
+        return entries == 0 ? null : Money.of(BigDecimal.valueOf(lastCents, 2), Currency.getInstance(lastCurrency));
+    }
+
+    /**
+     * Añade un cambio posterior al último.
+     *
+     * @return false si el bloque está lleno y hay que empezar otro
+     */
+    boolean append(long millis, Money price) {
+        if (entries >= MAX_ENTRIES || length + MAX_ENTRY_BYTES > MAX_BYTES) {
+            return false;
+        }
+        long cents = cents(price);
+        String currency = price.getCurrencyCode();
+        boolean currencyChanged = !currency.equals(lastCurrency);
+        writeVarint(entries == 0 ? millis : millis - lastMillis);
+        writeVarint(zigzag(cents - lastCents) << 1 | (currencyChanged ? 1 : 0));
+        if (currencyChanged) {
+            byte[] code = currency.getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(code, 0, buffer, length, code.length);
+            length += code.length;
+        }
+        if (entries == 0) {
+            firstMillis = millis;
+        }
+        entries++;
+        lastMillis = millis;
+        lastCents = cents;
+        lastCurrency = currency;
+        return true;
+    }
+
+    int getEntries() { return entries; }
+    long getFirstMillis() { return firstMillis; }
+    long getLastMillis() { return lastMillis; }
+
+    byte[] toBytes() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    static long toMillis(LocalDateTime at) {
+        return at.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static long cents(Money price) {
+        // Money siempre tiene dos decimales
+        return price.getAmount().unscaledValue().longValueExact();
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Recorre los cambios de un bloque acumulando las diferencias. */
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+        private boolean first = true;
+        private long millis;
+        private long cents;
+        private String currency;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private boolean next() {
+            if (position >= data.length) {
+                return false;
+            }
+            long delta = readVarint();
+            millis = first ? delta : millis + delta;
+            long priceField = readVarint();
+            cents += unzigzag(priceField >>> 1);
+            if ((priceField & 1) != 0) {
+                currency = new String(data, position, 3, StandardCharsets.US_ASCII);
+                position += 3;
+            }
+            first = false;
+            return true;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        private PricePoint toPoint(UUID productId) {
+            return new PricePoint(productId, Money.of(BigDecimal.valueOf(cents, 2), Currency.getInstance(currency)),
+                fromMillis(millis));
+        }
+    }
+}
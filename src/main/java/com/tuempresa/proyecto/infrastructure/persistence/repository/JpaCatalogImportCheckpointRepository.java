@@ -0,0 +1,17 @@
+package com.tuempresa.proyecto.infrastructure.persistence.repository;
+
+import com.tuempresa.proyecto.infrastructure.persistence.entity.CatalogImportCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JpaCatalogImportCheckpointRepository extends JpaRepository<CatalogImportCheckpointEntity, String> {
+
+    // Importaciones con ids del fichero en curso en cualquier instancia; las que no
+    // confirman nada desde since se consideran abandonadas
+    @Query("SELECT COUNT(c) FROM CatalogImportCheckpointEntity c WHERE c.running = true AND c.updatedAt > :since")
+    long countRunningSince(LocalDateTime since);
+}
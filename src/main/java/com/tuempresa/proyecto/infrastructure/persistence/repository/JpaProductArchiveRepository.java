@@ -0,0 +1,11 @@
+package com.tuempresa.proyecto.infrastructure.persistence.repository;
+
+import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface JpaProductArchiveRepository extends JpaRepository<ProductArchiveEntity, UUID> {
+}
@@ -1,16 +1,88 @@
 package com.tuempresa.proyecto.infrastructure.persistence.repository;
 
 import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface JpaProductRepository extends JpaRepository<ProductEntity, UUID> {
+    // Consultas cacheables: se guardan los ids y las entidades salen de la caché de segundo nivel
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProductEntity> findByCategory(String category);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProductEntity> findByActiveTrue();
+
     boolean existsById(UUID id);
+
+    // Rangos sobre la clave primaria (UUID v7 ordenados por fecha de creación)
+    @Query("SELECT p FROM ProductEntity p WHERE p.id >= :from AND p.id < :to ORDER BY p.id")
+    List<ProductEntity> findIdRange(@Param("from") UUID from, @Param("to") UUID to, Pageable pageable);
+
+    // El cursor no sustituye al límite inferior: un after anterior a from no amplía el rango
+    @Query("SELECT p FROM ProductEntity p WHERE p.id >= :from AND p.id > :after AND p.id < :to ORDER BY p.id")
+    List<ProductEntity> findIdRangeAfter(@Param("from") UUID from, @Param("after") UUID after, @Param("to") UUID to,
+                                         Pageable pageable);
+
+    // Banda de precio por categoría y moneda, recorrida por (price, id) con keyset
+    String PRICE_RANGE = "SELECT p FROM ProductEntity p WHERE p.category = :category AND p.active = true "
+        + "AND p.currency = :currency AND p.price >= :minPrice AND p.price <= :maxPrice ";
+
+    @Query(PRICE_RANGE + "ORDER BY p.price, p.id")
+    List<ProductEntity> findPriceRange(@Param("category") String category, @Param("currency") String currency,
+                                       @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                                       Pageable pageable);
+
+    @Query(PRICE_RANGE + "AND p.price >= :afterPrice AND (p.price > :afterPrice OR p.id > :afterId) "
+        + "ORDER BY p.price, p.id")
+    List<ProductEntity> findPriceRangeAfter(@Param("category") String category, @Param("currency") String currency,
+                                            @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                                            @Param("afterPrice") BigDecimal afterPrice, @Param("afterId") UUID afterId,
+                                            Pageable pageable);
+
+    @Query(PRICE_RANGE + "ORDER BY p.price DESC, p.id DESC")
+    List<ProductEntity> findPriceRangeDesc(@Param("category") String category, @Param("currency") String currency,
+                                           @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                                           Pageable pageable);
+
+    @Query(PRICE_RANGE + "AND p.price <= :afterPrice AND (p.price < :afterPrice OR p.id < :afterId) "
+        + "ORDER BY p.price DESC, p.id DESC")
+    List<ProductEntity> findPriceRangeDescAfter(@Param("category") String category, @Param("currency") String currency,
+                                                @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                                                @Param("afterPrice") BigDecimal afterPrice, @Param("afterId") UUID afterId,
+                                                Pageable pageable);
+
+    // Tramo de una operación masiva por categoría (índice idx_products_category_active_id)
+    @Query("SELECT p FROM ProductEntity p WHERE p.category = :category AND p.active = :active AND p.id <= :upTo "
+        + "ORDER BY p.id")
+    List<ProductEntity> findChunk(@Param("category") String category, @Param("active") boolean active,
+                                  @Param("upTo") UUID upTo);
+
+    @Query("SELECT p FROM ProductEntity p WHERE p.category = :category AND p.active = :active "
+        + "AND p.id > :after AND p.id <= :upTo ORDER BY p.id")
+    List<ProductEntity> findChunkAfter(@Param("category") String category, @Param("active") boolean active,
+                                       @Param("after") UUID after, @Param("upTo") UUID upTo);
+
+    // Stock más bajo entre los activos (índice parcial idx_products_active_stock_id)
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true ORDER BY p.stock, p.id")
+    List<ProductEntity> findLowestStockActive(Pageable pageable);
+
+    // Feed de cambios: recorrido por (updatedAt, id)
+    @Query("SELECT p FROM ProductEntity p "
+        + "WHERE (p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId)) AND p.updatedAt <= :until "
+        + "ORDER BY p.updatedAt, p.id")
+    List<ProductEntity> findChangesSince(@Param("since") LocalDateTime since, @Param("afterId") UUID afterId,
+                                         @Param("until") LocalDateTime until, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.tuempresa.proyecto.infrastructure.persistence.repository;
+
+import com.tuempresa.proyecto.infrastructure.persistence.entity.ProductTombstoneEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaProductTombstoneRepository extends JpaRepository<ProductTombstoneEntity, UUID> {
+
+    @Query("SELECT t FROM ProductTombstoneEntity t "
+        + "WHERE (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :afterId)) AND t.deletedAt <= :until "
+        + "ORDER BY t.deletedAt, t.id")
+    List<ProductTombstoneEntity> findChangesSince(@Param("since") LocalDateTime since, @Param("afterId") UUID afterId,
+                                                  @Param("until") LocalDateTime until, Pageable pageable);
+}
@@ -0,0 +1,88 @@
+package com.tuempresa.proyecto.infrastructure.persistence.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * updated_at de las escrituras masivas que aún no han confirmado.
+ *
+ * Una escritura masiva asigna updated_at antes de una sentencia larga o de un
+ * commit tardío; si tarda más que el margen de asentamiento, el feed de
+ * cambios ya habría avanzado el cursor más allá de esa marca y sus filas no se
+ * servirían nunca. Mientras la escritura está en curso el feed no pasa de su
+ * marca ({@link #settledUntil(LocalDateTime)}).
+ *
+ * Solo ve las escrituras de esta instancia; las de otras instancias siguen
+ * cubiertas únicamente por el margen de asentamiento.
+ */
+final class PendingChangeStamps {
+
+    private final ConcurrentSkipListSet<Pending> pending = new ConcurrentSkipListSet<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Ejecuta la escritura con la marca registrada como pendiente. Dentro de
+     * una transacción la marca se libera al terminar ésta; fuera, al volver la
+     * sentencia (autocommit).
+     */
+    <T> T write(LocalDateTime stamp, Supplier<T> write) {
+        Pending entry = new Pending(stamp, sequence.incrementAndGet());
+        pending.add(entry);
+        boolean releaseOnCompletion = false;
+        try {
+            T result = write.get();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        pending.remove(entry);
+                    }
+                });
+                releaseOnCompletion = true;
+            }
+            return result;
+        } finally {
+            if (!releaseOnCompletion) {
+                pending.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * @return until, o el instante justo anterior a la escritura pendiente más
+     * antigua si es anterior
+     */
+    LocalDateTime settledUntil(LocalDateTime until) {
+        Iterator<Pending> oldest = pending.iterator();
+        if (!oldest.hasNext()) {
+            return until;
+        }
+        // La base de datos guarda microsegundos (y PostgreSQL redondea): se deja un microsegundo de margen
+        LocalDateTime limit = oldest.next().stamp.truncatedTo(ChronoUnit.MICROS).minusNanos(1_000);
+        return limit.isBefore(until) ? limit : until;
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+
+        private final LocalDateTime stamp;
+        private final long sequence;
+
+        Pending(LocalDateTime stamp, long sequence) {
+            this.stamp = stamp;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int byStamp = stamp.compareTo(other.stamp);
+            return byStamp != 0 ? byStamp : Long.compare(sequence, other.sequence);
+        }
+    }
+}
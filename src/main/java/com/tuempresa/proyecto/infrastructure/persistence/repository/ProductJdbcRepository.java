@@ -0,0 +1,380 @@
+package com.tuempresa.proyecto.infrastructure.persistence.repository;
+
+import com.tuempresa.proyecto.domain.model.InventoryValuation;
+import com.tuempresa.proyecto.domain.model.PriceBounds;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones masivas sobre la tabla products usando JDBC directo.
+ *
+ * Se usa para los caminos donde cargar entidades JPA fila a fila sería
+ * demasiado costoso (importaciones, actualizaciones por lotes).
+ */
+@Repository
+public class ProductJdbcRepository {
+
+    private static final String POSTGRES_UPSERT =
+        "INSERT INTO products (id, name, description, price, currency, stock, category, created_at, updated_at, active) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description, "
+            + "price = EXCLUDED.price, currency = EXCLUDED.currency, stock = EXCLUDED.stock, "
+            + "category = EXCLUDED.category, updated_at = EXCLUDED.updated_at";
+
+    private static final String STANDARD_UPSERT =
+        "MERGE INTO products t USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(500)), "
+            + "CAST(? AS DECIMAL(10, 2)), CAST(? AS VARCHAR(3)), CAST(? AS INTEGER), CAST(? AS VARCHAR(50)), "
+            + "CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), CAST(? AS BOOLEAN))) "
+            + "s (id, name, description, price, currency, stock, category, created_at, updated_at, active) ON t.id = s.id "
+            + "WHEN MATCHED THEN UPDATE SET name = s.name, description = s.description, price = s.price, "
+            + "currency = s.currency, stock = s.stock, category = s.category, updated_at = s.updated_at "
+            + "WHEN NOT MATCHED THEN INSERT (id, name, description, price, currency, stock, category, created_at, updated_at, active) "
+            + "VALUES (s.id, s.name, s.description, s.price, s.currency, s.stock, s.category, s.created_at, s.updated_at, s.active)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PendingChangeStamps pendingStamps = new PendingChangeStamps();
+    private volatile Boolean postgres;
+
+    public ProductJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Límite superior seguro para el feed de cambios: until, salvo que una
+     * escritura masiva de esta instancia con un updated_at anterior siga sin
+     * confirmar.
+     */
+    public LocalDateTime settledUntil(LocalDateTime until) {
+        return pendingStamps.settledUntil(until);
+    }
+
+    /**
+     * Inserta o actualiza los productos en un único batch JDBC.
+     * En actualizaciones se conservan created_at y active de la fila existente;
+     * updated_at es el momento de la escritura, no el de product (un lote de
+     * importación se construye mucho antes de escribirse).
+     */
+    public int upsertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+        String sql = isPostgres() ? POSTGRES_UPSERT : STANDARD_UPSERT;
+        LocalDateTime stamp = LocalDateTime.now();
+        return pendingStamps.write(stamp, () -> batchUpsert(sql, products, Timestamp.valueOf(stamp)));
+    }
+
+    private int batchUpsert(String sql, List<Product> products, Timestamp now) {
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Product product = products.get(i);
+                ps.setObject(1, product.getId());
+                ps.setString(2, product.getName());
+                ps.setString(3, product.getDescription());
+                ps.setBigDecimal(4, product.getPrice().getAmount());
+                ps.setString(5, product.getPrice().getCurrencyCode());
+                ps.setInt(6, product.getStock());
+                ps.setString(7, product.getCategory());
+                ps.setTimestamp(8, Timestamp.valueOf(product.getCreatedAt()));
+                ps.setTimestamp(9, now);
+                ps.setBoolean(10, product.isActive());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+        return products.size();
+    }
+
+    public long countByCategory(String category, boolean active) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM products WHERE category = ? AND active = ?", Long.class, category, active);
+        return count != null ? count : 0;
+    }
+
+    public Optional<PriceBounds> findPriceBounds(String category, boolean active) {
+        return jdbcTemplate.query(
+            "SELECT MIN(price), MAX(price) FROM products WHERE category = ? AND active = ?",
+            rs -> {
+                rs.next();
+                BigDecimal min = rs.getBigDecimal(1);
+                return min == null ? Optional.<PriceBounds>empty() : Optional.of(new PriceBounds(min, rs.getBigDecimal(2)));
+            },
+            category, active);
+    }
+
+    /**
+     * Devuelve el id que cierra el siguiente tramo de como máximo chunkSize
+     * filas (ordenadas por clave primaria) posteriores a afterId.
+     *
+     * Se lee solo la fila chunkSize-ésima; si el tramo es el último y no
+     * llega a chunkSize filas, su id más alto.
+     */
+    public Optional<UUID> findChunkUpperBound(String category, boolean active, UUID afterId, int chunkSize) {
+        String filter = afterId == null
+            ? "WHERE category = ? AND active = ?"
+            : "WHERE category = ? AND active = ? AND id > ?";
+        Object[] args = afterId == null ? new Object[] {category, active} : new Object[] {category, active, afterId};
+        List<Object> offsetArgs = new ArrayList<>(List.of(args));
+        offsetArgs.add(chunkSize - 1);
+        List<UUID> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM products " + filter + " ORDER BY id LIMIT 1 OFFSET ?", UUID.class, offsetArgs.toArray());
+        if (ids.isEmpty()) {
+            ids = jdbcTemplate.queryForList(
+                "SELECT id FROM products " + filter + " ORDER BY id DESC LIMIT 1", UUID.class, args);
+        }
+        return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+    }
+
+    /**
+     * Ajusta el precio de los productos activos de la categoría cuyo id está
+     * en (afterId, upToId]. El redondeo a 2 decimales coincide con el
+     * HALF_UP de Money para importes no negativos.
+     */
+    public int adjustPrices(String category, UUID afterId, UUID upToId, BigDecimal factor, String currency) {
+        LocalDateTime stamp = LocalDateTime.now();
+        return pendingStamps.write(stamp, () -> adjustPrices(category, afterId, upToId, factor, currency, Timestamp.valueOf(stamp)));
+    }
+
+    private int adjustPrices(String category, UUID afterId, UUID upToId, BigDecimal factor, String currency, Timestamp now) {
+        if (afterId == null) {
+            return jdbcTemplate.update(
+                "UPDATE products SET price = ROUND(price * ?, 2), currency = COALESCE(CAST(? AS VARCHAR(3)), currency), updated_at = ? "
+                    + "WHERE category = ? AND active = TRUE AND id <= ?",
+                factor, currency, now, category, upToId);
+        }
+        return jdbcTemplate.update(
+            "UPDATE products SET price = ROUND(price * ?, 2), currency = COALESCE(CAST(? AS VARCHAR(3)), currency), updated_at = ? "
+                + "WHERE category = ? AND active = TRUE AND id > ? AND id <= ?",
+            factor, currency, now, category, afterId, upToId);
+    }
+
+    /**
+     * Cambia el estado active de los productos de la categoría cuyo id está
+     * en (afterId, upToId]. Solo se tocan los que están en el estado
+     * contrario, igual que Product.activate()/deactivate().
+     */
+    public int setActiveInCategory(String category, boolean active, UUID afterId, UUID upToId) {
+        LocalDateTime stamp = LocalDateTime.now();
+        return pendingStamps.write(stamp, () -> setActiveInCategory(category, active, afterId, upToId, Timestamp.valueOf(stamp)));
+    }
+
+    private int setActiveInCategory(String category, boolean active, UUID afterId, UUID upToId, Timestamp now) {
+        if (afterId == null) {
+            return jdbcTemplate.update(
+                "UPDATE products SET active = ?, updated_at = ? WHERE category = ? AND active = ? AND id <= ?",
+                active, now, category, !active, upToId);
+        }
+        return jdbcTemplate.update(
+            "UPDATE products SET active = ?, updated_at = ? WHERE category = ? AND active = ? AND id > ? AND id <= ?",
+            active, now, category, !active, afterId, upToId);
+    }
+
+    /**
+     * Cambia el estado active de un tramo de ids con dos sentencias: se
+     * bloquean los que están en el estado contrario y se actualizan de una vez.
+     * El bloqueo hace que los ids devueltos sean exactamente los cambiados.
+     *
+     * @return ids que cambiaron de estado
+     */
+    @Transactional
+    public Set<UUID> setActive(Collection<UUID> ids, boolean active) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Object> args = new ArrayList<>(ids);
+        args.add(!active);
+        List<UUID> toChange = jdbcTemplate.queryForList(
+            "SELECT id FROM products WHERE id IN (" + placeholders(ids.size()) + ") AND active = ? FOR UPDATE",
+            UUID.class, args.toArray());
+        if (toChange.isEmpty()) {
+            return Collections.emptySet();
+        }
+        LocalDateTime stamp = LocalDateTime.now();
+        List<Object> updateArgs = new ArrayList<>(toChange.size() + 2);
+        updateArgs.add(active);
+        updateArgs.add(Timestamp.valueOf(stamp));
+        updateArgs.addAll(toChange);
+        pendingStamps.write(stamp, () -> jdbcTemplate.update(
+            "UPDATE products SET active = ?, updated_at = ? WHERE id IN (" + placeholders(toChange.size()) + ")",
+            updateArgs.toArray()));
+        return new HashSet<>(toChange);
+    }
+
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT id FROM products WHERE id IN (" + placeholders(ids.size()) + ")", UUID.class, ids.toArray()));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Aplica deltas de stock en un único batch, una sentencia por producto.
+     * La condición stock + delta &gt;= 0 mantiene la invariante de dominio.
+     *
+     * @return ids cuyo delta no se aplicó
+     */
+    @Transactional
+    public Set<UUID> applyStockDeltas(Map<UUID, Integer> deltas) {
+        List<Map.Entry<UUID, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        LocalDateTime stamp = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(stamp);
+        int[] updated = pendingStamps.write(stamp, () -> jdbcTemplate.batchUpdate(
+            "UPDATE products SET stock = stock + ?, updated_at = ? WHERE id = ? AND stock + ? >= 0",
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Map.Entry<UUID, Integer> entry = entries.get(i);
+                    ps.setInt(1, entry.getValue());
+                    ps.setTimestamp(2, now);
+                    ps.setObject(3, entry.getKey());
+                    ps.setInt(4, entry.getValue());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return entries.size();
+                }
+            }));
+        Set<UUID> rejected = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Recorre (id, stock) de los productos activos con un cursor, sin
+     * materializar el resultado. En PostgreSQL el fetch size solo se respeta
+     * dentro de una transacción.
+     */
+    @Transactional(readOnly = true)
+    public void forEachActiveStock(BiConsumer<UUID, Integer> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT id, stock FROM products WHERE active = TRUE");
+            ps.setFetchSize(1000);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class), rs.getInt(2)));
+    }
+
+    public void forEachId(Consumer<UUID> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT id FROM products UNION ALL SELECT id FROM products_archive");
+            ps.setFetchSize(1000);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class)));
+    }
+
+    /**
+     * Agrega precio × stock por categoría y moneda en la base de datos.
+     * SUM sobre DECIMAL es exacto, por lo que el resultado no depende del
+     * orden de evaluación.
+     */
+    public List<InventoryValuation> summarizeInventoryValue(boolean activeOnly) {
+        String sql = "SELECT category, currency, SUM(price * stock) AS total_value, SUM(CAST(stock AS BIGINT)) AS units, "
+            + "COUNT(*) AS products FROM products "
+            + (activeOnly ? "WHERE active = TRUE " : "")
+            + "GROUP BY category, currency ORDER BY category, currency";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new InventoryValuation(
+            rs.getString("category"),
+            Money.of(rs.getBigDecimal("total_value"), rs.getString("currency")),
+            rs.getLong("units"),
+            rs.getLong("products")
+        ));
+    }
+
+    /**
+     * Mueve a products_archive un lote de productos inactivos cuya última
+     * modificación es anterior al corte. Las filas se bloquean antes de
+     * copiarlas para que una reactivación concurrente no las duplique.
+     *
+     * Cada producto archivado deja una marca de borrado con el instante del
+     * archivado: para el feed de cambios (y el modelo de lectura que se
+     * alimenta de él) sale del catálogo, aunque se siga pudiendo leer por id.
+     *
+     * @return ids de los productos archivados
+     */
+    @Transactional
+    public List<UUID> archiveInactiveBefore(LocalDateTime cutoff, int batchSize) {
+        List<UUID> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM products WHERE active = FALSE AND updated_at < ? ORDER BY id LIMIT ? FOR UPDATE",
+            UUID.class, Timestamp.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        LocalDateTime stamp = LocalDateTime.now();
+        Timestamp archivedAt = Timestamp.valueOf(stamp);
+        String placeholders = placeholders(ids.size());
+        Object[] insertArgs = new Object[ids.size() + 1];
+        insertArgs[0] = archivedAt;
+        System.arraycopy(ids.toArray(), 0, insertArgs, 1, ids.size());
+        return pendingStamps.write(stamp, () -> {
+            jdbcTemplate.update(
+                "INSERT INTO products_archive (id, name, description, price, currency, stock, category, "
+                    + "created_at, updated_at, active, archived_at) "
+                    + "SELECT id, name, description, price, currency, stock, category, created_at, updated_at, active, ? "
+                    + "FROM products WHERE id IN (" + placeholders + ")",
+                insertArgs);
+            jdbcTemplate.update("DELETE FROM products WHERE id IN (" + placeholders + ")", ids.toArray());
+            jdbcTemplate.update("DELETE FROM product_tombstones WHERE id IN (" + placeholders + ")", ids.toArray());
+            jdbcTemplate.batchUpdate("INSERT INTO product_tombstones (id, deleted_at) VALUES (?, ?)",
+                ids.stream().map(id -> new Object[] {id, archivedAt}).toList());
+            return ids;
+        });
+    }
+
+    /**
+     * Borra un lote de marcas de borrado anteriores al corte, las más antiguas
+     * primero (índice (deleted_at, id)).
+     *
+     * @return número de marcas borradas
+     */
+    public int purgeTombstonesBefore(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update(
+            "DELETE FROM product_tombstones WHERE id IN ("
+                + "SELECT id FROM product_tombstones WHERE deleted_at < ? ORDER BY deleted_at, id LIMIT ?)",
+            Timestamp.valueOf(cutoff), batchSize);
+    }
+
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres"));
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,356 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.ProductJdbcRepository;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Acceso JDBC a un shard del catálogo.
+ *
+ * Las operaciones masivas se delegan en un ProductJdbcRepository propio del
+ * shard; las que en el adaptador de una sola base usan JPA se implementan
+ * aquí con SQL equivalente. Las operaciones que necesitan transacción se
+ * ejecutan con el TransactionTemplate del shard, ya que las anotaciones
+ * @Transactional solo actúan sobre el DataSource principal.
+ */
+public class ProductShard {
+
+    private static final String COLUMNS =
+        "id, name, description, price, currency, stock, category, created_at, updated_at, active";
+
+    // Guardado completo (equivale al save de JPA): todas las columnas salvo created_at
+    private static final String POSTGRES_SAVE =
+        "INSERT INTO products (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, description = EXCLUDED.description, "
+            + "price = EXCLUDED.price, currency = EXCLUDED.currency, stock = EXCLUDED.stock, "
+            + "category = EXCLUDED.category, updated_at = EXCLUDED.updated_at, active = EXCLUDED.active";
+
+    private static final String STANDARD_SAVE =
+        "MERGE INTO products t USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(500)), "
+            + "CAST(? AS DECIMAL(10, 2)), CAST(? AS VARCHAR(3)), CAST(? AS INTEGER), CAST(? AS VARCHAR(50)), "
+            + "CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), CAST(? AS BOOLEAN))) "
+            + "s (" + COLUMNS + ") ON t.id = s.id "
+            + "WHEN MATCHED THEN UPDATE SET name = s.name, description = s.description, price = s.price, "
+            + "currency = s.currency, stock = s.stock, category = s.category, updated_at = s.updated_at, active = s.active "
+            + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") "
+            + "VALUES (s.id, s.name, s.description, s.price, s.currency, s.stock, s.category, s.created_at, s.updated_at, s.active)";
+
+    // Copia durante un reparto: solo sustituye filas más antiguas
+    private static final String POSTGRES_COPY = POSTGRES_SAVE + " WHERE products.updated_at < EXCLUDED.updated_at";
+
+    private static final String STANDARD_COPY = STANDARD_SAVE.replace(
+        "WHEN MATCHED THEN", "WHEN MATCHED AND t.updated_at < s.updated_at THEN");
+
+    private static final RowMapper<Product> PRODUCT_ROW = (rs, rowNum) -> Product.reconstruct(
+        rs.getObject("id", UUID.class),
+        rs.getString("name"),
+        rs.getString("description"),
+        Money.of(rs.getBigDecimal("price"), Currency.getInstance(rs.getString("currency"))),
+        rs.getInt("stock"),
+        rs.getString("category"),
+        rs.getTimestamp("created_at").toLocalDateTime(),
+        rs.getTimestamp("updated_at").toLocalDateTime(),
+        rs.getBoolean("active"));
+
+    private final int index;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductJdbcRepository bulk;
+
+    public ProductShard(int index, DataSource dataSource) {
+        this.index = index;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.bulk = new ProductJdbcRepository(jdbcTemplate);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    ProductJdbcRepository bulk() {
+        return bulk;
+    }
+
+    <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    // Escrituras
+
+    void save(Product product) {
+        write(bulk.isPostgres() ? POSTGRES_SAVE : STANDARD_SAVE, List.of(product));
+    }
+
+    void copyIfNewer(List<Product> products) {
+        if (!products.isEmpty()) {
+            inTransaction(() -> {
+                write(bulk.isPostgres() ? POSTGRES_COPY : STANDARD_COPY, products);
+                return null;
+            });
+        }
+    }
+
+    private void write(String sql, List<Product> products) {
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Product product = products.get(i);
+                ps.setObject(1, product.getId());
+                ps.setString(2, product.getName());
+                ps.setString(3, product.getDescription());
+                ps.setBigDecimal(4, product.getPrice().getAmount());
+                ps.setString(5, product.getPrice().getCurrencyCode());
+                ps.setInt(6, product.getStock());
+                ps.setString(7, product.getCategory());
+                ps.setTimestamp(8, Timestamp.valueOf(product.getCreatedAt()));
+                ps.setTimestamp(9, Timestamp.valueOf(product.getUpdatedAt()));
+                ps.setBoolean(10, product.isActive());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+    }
+
+    /**
+     * Borra el producto (de la tabla o del archivo) y, si se indica, deja la
+     * marca de borrado para el feed de cambios.
+     */
+    void delete(UUID id, LocalDateTime deletedAt) {
+        inTransaction(() -> {
+            if (jdbcTemplate.update("DELETE FROM products WHERE id = ?", id) == 0) {
+                jdbcTemplate.update("DELETE FROM products_archive WHERE id = ?", id);
+            }
+            if (deletedAt != null) {
+                jdbcTemplate.update("DELETE FROM product_tombstones WHERE id = ?", id);
+                jdbcTemplate.update("INSERT INTO product_tombstones (id, deleted_at) VALUES (?, ?)",
+                    id, Timestamp.valueOf(deletedAt));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Borra filas copiadas a otro shard (sin marca de borrado: el producto
+     * sigue existiendo en su nuevo shard).
+     */
+    int deleteMoved(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(ids.size());
+        Object[] args = ids.toArray();
+        return inTransaction(() -> jdbcTemplate.update("DELETE FROM products WHERE id IN (" + in + ")", args)
+            + jdbcTemplate.update("DELETE FROM products_archive WHERE id IN (" + in + ")", args));
+    }
+
+    // Lecturas
+
+    Optional<Product> findById(UUID id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE id = ?", PRODUCT_ROW, id)
+            .stream().findFirst();
+    }
+
+    Optional<Product> findByIdIncludingArchived(UUID id) {
+        Optional<Product> found = findById(id);
+        if (found.isPresent()) {
+            return found;
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products_archive WHERE id = ?", PRODUCT_ROW, id)
+            .stream().findFirst();
+    }
+
+    boolean existsById(UUID id) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT (SELECT COUNT(*) FROM products WHERE id = ?) + (SELECT COUNT(*) FROM products_archive WHERE id = ?)",
+            Integer.class, id, id);
+        return count != null && count > 0;
+    }
+
+    List<Product> findByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE id IN (" + placeholders(ids.size()) + ")",
+            PRODUCT_ROW, ids.toArray());
+    }
+
+    long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Página por clave primaria con filtro opcional; base de los recorridos
+     * completos (findAll, findByCategory, findActiveProducts).
+     */
+    List<Product> findPage(String category, Boolean active, UUID afterId, UUID toExclusive, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM products WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (category != null) {
+            sql.append(" AND category = ?");
+            args.add(category);
+        }
+        if (active != null) {
+            sql.append(" AND active = ?");
+            args.add(active);
+        }
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            args.add(afterId);
+        }
+        if (toExclusive != null) {
+            sql.append(" AND id < ?");
+            args.add(toExclusive);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), PRODUCT_ROW, args.toArray());
+    }
+
+    List<Product> findIdRange(UUID fromInclusive, UUID toExclusive, UUID afterId, int limit) {
+        if (afterId == null) {
+            return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE id >= ? AND id < ? ORDER BY id LIMIT ?",
+                PRODUCT_ROW, fromInclusive, toExclusive, limit);
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE id >= ? AND id > ? AND id < ? ORDER BY id LIMIT ?",
+            PRODUCT_ROW, fromInclusive, afterId, toExclusive, limit);
+    }
+
+    List<Product> findByPriceRange(String category, String currency, BigDecimal minPrice, BigDecimal maxPrice,
+                                   boolean descending, BigDecimal afterPrice, UUID afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM products "
+            + "WHERE category = ? AND active = TRUE AND currency = ? AND price >= ? AND price <= ?");
+        List<Object> args = new ArrayList<>(List.of(category, currency, minPrice, maxPrice));
+        if (afterId != null) {
+            sql.append(descending
+                ? " AND price <= ? AND (price < ? OR id < ?)"
+                : " AND price >= ? AND (price > ? OR id > ?)");
+            args.add(afterPrice);
+            args.add(afterPrice);
+            args.add(afterId);
+        }
+        sql.append(descending ? " ORDER BY price DESC, id DESC LIMIT ?" : " ORDER BY price, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), PRODUCT_ROW, args.toArray());
+    }
+
+    List<Product> findLowestStockActive(int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE active = TRUE ORDER BY stock, id LIMIT ?",
+            PRODUCT_ROW, limit);
+    }
+
+    List<ProductChange> findChangesSince(LocalDateTime since, UUID afterId, LocalDateTime until, int limit) {
+        Timestamp sinceTs = Timestamp.valueOf(since);
+        Timestamp untilTs = Timestamp.valueOf(until);
+        List<ProductChange> changes = new ArrayList<>();
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM products "
+                + "WHERE (updated_at > ? OR (updated_at = ? AND id > ?)) AND updated_at <= ? ORDER BY updated_at, id LIMIT ?",
+            PRODUCT_ROW, sinceTs, sinceTs, afterId, untilTs, limit)
+            .forEach(product -> changes.add(ProductChange.upsert(product)));
+        jdbcTemplate.query("SELECT id, deleted_at FROM product_tombstones "
+                + "WHERE (deleted_at > ? OR (deleted_at = ? AND id > ?)) AND deleted_at <= ? ORDER BY deleted_at, id LIMIT ?",
+            (rs, rowNum) -> ProductChange.delete(rs.getObject(1, UUID.class), rs.getTimestamp(2).toLocalDateTime()),
+            sinceTs, sinceTs, afterId, untilTs, limit)
+            .forEach(changes::add);
+        return changes;
+    }
+
+    /**
+     * Ids (en orden) de los siguientes productos de la categoría en el estado
+     * indicado; el tramo global se obtiene mezclando los de todos los shards.
+     */
+    List<UUID> findChunkIds(String category, boolean active, UUID afterId, int chunkSize) {
+        return afterId == null
+            ? jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE category = ? AND active = ? ORDER BY id LIMIT ?",
+                UUID.class, category, active, chunkSize)
+            : jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE category = ? AND active = ? AND id > ? ORDER BY id LIMIT ?",
+                UUID.class, category, active, afterId, chunkSize);
+    }
+
+    List<Product> findChunk(String category, boolean active, UUID afterId, UUID upToId) {
+        return afterId == null
+            ? jdbcTemplate.query("SELECT " + COLUMNS + " FROM products WHERE category = ? AND active = ? AND id <= ? ORDER BY id",
+                PRODUCT_ROW, category, active, upToId)
+            : jdbcTemplate.query("SELECT " + COLUMNS + " FROM products "
+                    + "WHERE category = ? AND active = ? AND id > ? AND id <= ? ORDER BY id",
+                PRODUCT_ROW, category, active, afterId, upToId);
+    }
+
+    // Reparto de buckets
+
+    List<Product> findUpdatedSince(LocalDateTime since, UUID afterId, int limit) {
+        Timestamp sinceTs = Timestamp.valueOf(since);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products "
+                + "WHERE (updated_at > ? OR (updated_at = ? AND id > ?)) ORDER BY updated_at, id LIMIT ?",
+            PRODUCT_ROW, sinceTs, sinceTs, afterId, limit);
+    }
+
+    List<Product> findArchivedPage(UUID afterId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM products_archive WHERE id > ? ORDER BY id LIMIT ?",
+            PRODUCT_ROW, afterId, limit);
+    }
+
+    void copyArchived(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        inTransaction(() -> {
+            for (Product product : products) {
+                jdbcTemplate.update("DELETE FROM products_archive WHERE id = ?", product.getId());
+                jdbcTemplate.update("INSERT INTO products_archive (" + COLUMNS + ", archived_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    product.getId(), product.getName(), product.getDescription(), product.getPrice().getAmount(),
+                    product.getPrice().getCurrencyCode(), product.getStock(), product.getCategory(),
+                    Timestamp.valueOf(product.getCreatedAt()), Timestamp.valueOf(product.getUpdatedAt()),
+                    product.isActive(), now);
+            }
+            return null;
+        });
+    }
+
+    List<UUID> findIdPage(String table, UUID afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?",
+            UUID.class, afterId, limit);
+    }
+
+    List<UUID> findTombstonesSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList("SELECT id FROM product_tombstones WHERE deleted_at >= ?",
+            UUID.class, Timestamp.valueOf(since));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
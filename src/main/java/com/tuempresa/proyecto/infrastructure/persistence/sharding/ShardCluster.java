@@ -0,0 +1,107 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Conjunto de shards configurados: un pool de conexiones por base de datos,
+ * el mapa de buckets y los hilos para las consultas en paralelo.
+ *
+ * El índice de cada shard es su posición en catalog.sharding.urls, así que
+ * para añadir uno se añade al final de la lista (en todas las instancias) y
+ * después se lanza un reparto.
+ */
+public class ShardCluster implements AutoCloseable {
+
+    private final List<HikariDataSource> dataSources;
+    private final List<ProductShard> shards;
+    private final ShardMap shardMap;
+    private final ExecutorService executor;
+
+    private ShardCluster(List<HikariDataSource> dataSources, List<ProductShard> shards, ShardMap shardMap,
+                         ExecutorService executor) {
+        this.dataSources = dataSources;
+        this.shards = shards;
+        this.shardMap = shardMap;
+        this.executor = executor;
+    }
+
+    /**
+     * Abre los pools, crea el esquema en cada shard si no existe y carga el
+     * mapa de buckets (o crea el inicial).
+     */
+    public static ShardCluster open(List<String> urls, String username, String password, int poolSize,
+                                    int buckets, int queryThreads) {
+        return open(urls, username, password, poolSize, buckets, queryThreads, UnaryOperator.identity());
+    }
+
+    /**
+     * Igual que {@link #open(List, String, String, int, int, int)}, pero cada
+     * shard accede a su pool a través de instrumentation (p. ej. el contador
+     * de sentencias del modo diagnóstico).
+     */
+    public static ShardCluster open(List<String> urls, String username, String password, int poolSize,
+                                    int buckets, int queryThreads, UnaryOperator<DataSource> instrumentation) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("catalog.sharding.urls must list at least one database");
+        }
+        List<HikariDataSource> dataSources = new ArrayList<>(urls.size());
+        List<ProductShard> shards = new ArrayList<>(urls.size());
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/sharding/schema.sql"));
+        try {
+            for (int i = 0; i < urls.size(); i++) {
+                HikariConfig config = new HikariConfig();
+                config.setPoolName("shard-" + i);
+                config.setJdbcUrl(urls.get(i).trim());
+                config.setUsername(username);
+                config.setPassword(password);
+                config.setMaximumPoolSize(poolSize);
+                HikariDataSource dataSource = new HikariDataSource(config);
+                dataSources.add(dataSource);
+                schema.execute(dataSource);
+                shards.add(new ProductShard(i, instrumentation.apply(dataSource)));
+            }
+            ShardMap shardMap = new ShardMap(shards.size(), buckets, shards.get(0).jdbc());
+            shardMap.load();
+            AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(queryThreads, runnable -> {
+                Thread thread = new Thread(runnable, "shard-query-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            return new ShardCluster(dataSources, Collections.unmodifiableList(shards), shardMap, executor);
+        } catch (RuntimeException ex) {
+            dataSources.forEach(HikariDataSource::close);
+            throw ex;
+        }
+    }
+
+    public List<ProductShard> getShards() {
+        return shards;
+    }
+
+    public ShardMap getShardMap() {
+        return shardMap;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,170 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Asignación de productos a shards.
+ *
+ * El id se reparte con un hash en un número fijo de buckets
+ * (catalog.sharding.buckets) y cada bucket pertenece a un shard. Al añadir
+ * shards solo se mueven buckets completos, no se rehashea el catálogo.
+ *
+ * Durante un reparto un bucket puede tener además un shard de doble
+ * escritura: las escrituras van a ambos y las lecturas al propietario.
+ *
+ * El mapa se guarda en la tabla product_shard_map del shard 0 y cada
+ * instancia lo relee periódicamente; la vista en memoria se sustituye
+ * completa, así que las lecturas no necesitan sincronización.
+ */
+public class ShardMap {
+
+    // Sin shard de doble escritura
+    static final int NONE = -1;
+
+    private final int shardCount;
+    private final int buckets;
+    private final JdbcTemplate coordinator;
+    private volatile Assignment assignment;
+
+    public ShardMap(int shardCount, int buckets, JdbcTemplate coordinator) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+        this.buckets = buckets;
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * Carga el mapa; si aún no existe crea el reparto inicial (bucket mod N).
+     */
+    public synchronized void load() {
+        List<Map<String, Object>> rows = coordinator.queryForList(
+            "SELECT bucket, shard, dual_write_shard FROM product_shard_map");
+        if (rows.isEmpty()) {
+            int[] owners = new int[buckets];
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                owners[bucket] = bucket % shardCount;
+                coordinator.update("INSERT INTO product_shard_map (bucket, shard, dual_write_shard) VALUES (?, ?, NULL)",
+                    bucket, owners[bucket]);
+            }
+            int[] dualWrite = new int[buckets];
+            Arrays.fill(dualWrite, NONE);
+            assignment = new Assignment(owners, dualWrite);
+            return;
+        }
+        if (rows.size() != buckets) {
+            throw new IllegalStateException("Shard map has " + rows.size() + " buckets but catalog.sharding.buckets is " + buckets);
+        }
+        int[] owners = new int[buckets];
+        int[] dualWrite = new int[buckets];
+        for (Map<String, Object> row : rows) {
+            int bucket = ((Number) row.get("bucket")).intValue();
+            owners[bucket] = checkShard(((Number) row.get("shard")).intValue());
+            Object dual = row.get("dual_write_shard");
+            dualWrite[bucket] = dual == null ? NONE : checkShard(((Number) dual).intValue());
+        }
+        assignment = new Assignment(owners, dualWrite);
+    }
+
+    private int checkShard(int shard) {
+        if (shard >= shardCount) {
+            throw new IllegalStateException("Shard map references shard " + shard + " but only " + shardCount + " are configured");
+        }
+        return shard;
+    }
+
+    /**
+     * Cambia propietario y shard de doble escritura de un conjunto de buckets.
+     */
+    synchronized void update(Map<Integer, int[]> changes) {
+        int[] owners = assignment.owners.clone();
+        int[] dualWrite = assignment.dualWrite.clone();
+        changes.forEach((bucket, ownerAndDual) -> {
+            owners[bucket] = ownerAndDual[0];
+            dualWrite[bucket] = ownerAndDual[1];
+            coordinator.update("UPDATE product_shard_map SET shard = ?, dual_write_shard = ? WHERE bucket = ?",
+                ownerAndDual[0], ownerAndDual[1] == NONE ? null : ownerAndDual[1], bucket);
+        });
+        assignment = new Assignment(owners, dualWrite);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public int bucketOf(UUID id) {
+        // Los UUID v7 empiezan por la marca de tiempo: se mezclan los bits antes de repartir
+        return (int) Long.remainderUnsigned(mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits()), buckets);
+    }
+
+    public int ownerOf(UUID id) {
+        return assignment.owners[bucketOf(id)];
+    }
+
+    public int ownerOfBucket(int bucket) {
+        return assignment.owners[bucket];
+    }
+
+    public int dualWriteOfBucket(int bucket) {
+        return assignment.dualWrite[bucket];
+    }
+
+    /**
+     * Shards en los que hay que escribir el producto: el propietario y, si el
+     * bucket se está moviendo, el otro extremo del reparto.
+     */
+    public int[] writeShardsOf(UUID id) {
+        // Una sola lectura del mapa: propietario y doble escritura deben salir del mismo reparto
+        Assignment current = assignment;
+        int bucket = bucketOf(id);
+        int dual = current.dualWrite[bucket];
+        return dual == NONE ? new int[] {current.owners[bucket]} : new int[] {current.owners[bucket], dual};
+    }
+
+    public boolean isMigrating() {
+        for (int dual : assignment.dualWrite) {
+            if (dual != NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int[] bucketsPerShard() {
+        int[] counts = new int[shardCount];
+        for (int owner : assignment.owners) {
+            counts[owner]++;
+        }
+        return counts;
+    }
+
+    // fmix64 de MurmurHash3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53e33ddL;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Assignment {
+        private final int[] owners;
+        private final int[] dualWrite;
+
+        private Assignment(int[] owners, int[] dualWrite) {
+            this.owners = owners;
+            this.dualWrite = dualWrite;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reparto en línea de buckets entre shards (p. ej. tras añadir uno).
+ *
+ * Cada bucket que cambia de shard pasa por estas fases sin dejar de aceptar
+ * lecturas ni escrituras:
+ * <ol>
+ *   <li>Doble escritura: el origen sigue siendo propietario y las
+ *   escrituras van también al destino.</li>
+ *   <li>Copia completa del origen al destino (productos y archivo), y
+ *   pasadas de recuperación por updated_at hasta que una no copia nada. La
+ *   copia solo sustituye filas más antiguas, así que nunca pisa una
+ *   escritura posterior.</li>
+ *   <li>Cambio de propietario: las lecturas pasan al destino; las escrituras
+ *   siguen yendo a ambos.</li>
+ *   <li>Última pasada de recuperación y borrado en el destino de los
+ *   productos con marca de borrado posterior al inicio del reparto.</li>
+ *   <li>Fin de la doble escritura y limpieza de las filas en el origen.</li>
+ * </ol>
+ * Entre fases se espera catalog.sharding.map-refresh-interval dos veces para
+ * que todas las instancias hayan releído el mapa. Como el feed de cambios, se
+ * asume que los relojes de las instancias no difieren más que
+ * catalog.changes.settle-lag.
+ */
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int MAX_CATCH_UP_PASSES = 10;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ShardCluster cluster;
+    private final Duration propagationDelay;
+    private final Duration settleLag;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Report lastReport;
+
+    public ShardRebalancer(ShardCluster cluster, Duration mapRefreshInterval, Duration settleLag) {
+        this.cluster = cluster;
+        this.propagationDelay = mapRefreshInterval.multipliedBy(2);
+        this.settleLag = settleLag;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.sharding.map-refresh-interval:PT5S}")
+    public void refreshMap() {
+        // Quien reparte ya tiene el mapa al día
+        if (!running.get()) {
+            cluster.getShardMap().load();
+        }
+    }
+
+    /**
+     * Lanza el reparto en segundo plano.
+     *
+     * @return false si ya había uno en curso
+     */
+    public boolean rebalanceAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                lastReport = rebalance();
+            } catch (RuntimeException ex) {
+                log.error("Shard rebalance failed; buckets stay in dual-write until it is run again", ex);
+            } finally {
+                running.set(false);
+            }
+        }, "shard-rebalancer");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    private Report rebalance() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        ShardMap shardMap = cluster.getShardMap();
+        Report report = new Report();
+        report.rowsRemoved += recoverInterrupted(shardMap);
+        Map<Integer, int[]> moves = plan(shardMap);
+        report.startedAt = startedAt;
+        report.movedBuckets = moves.size();
+        if (moves.isEmpty()) {
+            report.bucketsPerShard = shardMap.bucketsPerShard();
+            return report;
+        }
+        log.info("Shard rebalance started: moving {} of {} buckets", moves.size(), shardMap.getBuckets());
+
+        // 1. Doble escritura
+        Map<Integer, int[]> dualWrite = new HashMap<>();
+        moves.forEach((bucket, fromTo) -> dualWrite.put(bucket, new int[] {fromTo[0], fromTo[1]}));
+        shardMap.update(dualWrite);
+        waitForPropagation();
+
+        // 2. Copia completa y pasadas de recuperación
+        LocalDateTime passStart = LocalDateTime.now();
+        report.rowsCopied += copyAll(moves);
+        for (int pass = 0; pass < MAX_CATCH_UP_PASSES; pass++) {
+            LocalDateTime since = passStart.minus(settleLag);
+            passStart = LocalDateTime.now();
+            long copied = copyUpdatedSince(moves, since);
+            report.rowsCopied += copied;
+            report.catchUpPasses++;
+            if (copied == 0) {
+                break;
+            }
+        }
+
+        // 3. Cambio de propietario
+        Map<Integer, int[]> flipped = new HashMap<>();
+        moves.forEach((bucket, fromTo) -> flipped.put(bucket, new int[] {fromTo[1], fromTo[0]}));
+        shardMap.update(flipped);
+        waitForPropagation();
+
+        // 4. Última recuperación y borrados
+        report.rowsCopied += copyUpdatedSince(moves, passStart.minus(settleLag));
+        report.catchUpPasses++;
+        report.rowsRemoved += removeDeletedAtTarget(moves, startedAt.minus(settleLag));
+
+        // 5. Fin de la doble escritura y limpieza del origen
+        Map<Integer, int[]> settled = new HashMap<>();
+        moves.forEach((bucket, fromTo) -> settled.put(bucket, new int[] {fromTo[1], ShardMap.NONE}));
+        shardMap.update(settled);
+        waitForPropagation();
+        report.rowsRemoved += cleanUpSources(moves);
+
+        report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        report.bucketsPerShard = shardMap.bucketsPerShard();
+        log.info("Shard rebalance finished: {} buckets, {} rows copied in {} catch-up passes, {} rows removed, {} ms",
+            report.movedBuckets, report.rowsCopied, report.catchUpPasses, report.rowsRemoved, report.elapsedMillis);
+        return report;
+    }
+
+    /**
+     * Cierra los buckets que quedaron en doble escritura por un reparto
+     * interrumpido. El propietario se queda con el bucket: se le copia lo que
+     * sea más reciente en el otro shard, se aplican los borrados y se limpia
+     * la copia sobrante.
+     */
+    private long recoverInterrupted(ShardMap shardMap) {
+        Map<Integer, int[]> stuck = new HashMap<>();
+        for (int bucket = 0; bucket < shardMap.getBuckets(); bucket++) {
+            int dual = shardMap.dualWriteOfBucket(bucket);
+            if (dual != ShardMap.NONE) {
+                stuck.put(bucket, new int[] {dual, shardMap.ownerOfBucket(bucket)});
+            }
+        }
+        if (stuck.isEmpty()) {
+            return 0;
+        }
+        log.warn("Recovering {} buckets left in dual-write by an interrupted rebalance", stuck.size());
+        copyAll(stuck);
+        long removed = removeDeletedAtTarget(stuck, EPOCH);
+        Map<Integer, int[]> settled = new HashMap<>();
+        stuck.forEach((bucket, fromTo) -> settled.put(bucket, new int[] {fromTo[1], ShardMap.NONE}));
+        shardMap.update(settled);
+        waitForPropagation();
+        return removed + cleanUpSources(stuck);
+    }
+
+    /**
+     * Reparto uniforme moviendo el mínimo de buckets: los shards por encima
+     * de su cuota ceden buckets a los que están por debajo.
+     */
+    private static Map<Integer, int[]> plan(ShardMap shardMap) {
+        int shardCount = shardMap.getShardCount();
+        int buckets = shardMap.getBuckets();
+        int[] counts = shardMap.bucketsPerShard();
+        int[] quota = new int[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            quota[shard] = buckets / shardCount + (shard < buckets % shardCount ? 1 : 0);
+        }
+        Map<Integer, int[]> moves = new LinkedHashMap<>();
+        int receiver = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int owner = shardMap.ownerOfBucket(bucket);
+            if (counts[owner] <= quota[owner]) {
+                continue;
+            }
+            while (counts[receiver] >= quota[receiver]) {
+                receiver++;
+            }
+            moves.put(bucket, new int[] {owner, receiver});
+            counts[owner]--;
+            counts[receiver]++;
+        }
+        return moves;
+    }
+
+    private long copyAll(Map<Integer, int[]> moves) {
+        long copied = 0;
+        for (ProductShard source : sources(moves)) {
+            UUID after = MIN_ID;
+            List<Product> page;
+            do {
+                page = source.findPage(null, null, after, null, PAGE_SIZE);
+                copied += copyToTargets(moves, source, page, ProductShard::copyIfNewer);
+                after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+            } while (page.size() == PAGE_SIZE);
+
+            after = MIN_ID;
+            do {
+                page = source.findArchivedPage(after, PAGE_SIZE);
+                copied += copyToTargets(moves, source, page, ProductShard::copyArchived);
+                after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+            } while (page.size() == PAGE_SIZE);
+        }
+        return copied;
+    }
+
+    private long copyUpdatedSince(Map<Integer, int[]> moves, LocalDateTime since) {
+        long copied = 0;
+        for (ProductShard source : sources(moves)) {
+            LocalDateTime cursorTime = since;
+            UUID cursorId = MIN_ID;
+            List<Product> page;
+            do {
+                page = source.findUpdatedSince(cursorTime, cursorId, PAGE_SIZE);
+                copied += copyToTargets(moves, source, page, ProductShard::copyIfNewer);
+                if (!page.isEmpty()) {
+                    cursorTime = page.get(page.size() - 1).getUpdatedAt();
+                    cursorId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+        }
+        return copied;
+    }
+
+    private long copyToTargets(Map<Integer, int[]> moves, ProductShard source, List<Product> page,
+                               CopyStep step) {
+        ShardMap shardMap = cluster.getShardMap();
+        Map<Integer, List<Product>> byTarget = new HashMap<>();
+        for (Product product : page) {
+            int[] fromTo = moves.get(shardMap.bucketOf(product.getId()));
+            if (fromTo != null && fromTo[0] == source.getIndex()) {
+                byTarget.computeIfAbsent(fromTo[1], key -> new ArrayList<>()).add(product);
+            }
+        }
+        long copied = 0;
+        for (Map.Entry<Integer, List<Product>> entry : byTarget.entrySet()) {
+            step.copy(cluster.getShards().get(entry.getKey()), entry.getValue());
+            copied += entry.getValue().size();
+        }
+        return copied;
+    }
+
+    private long removeDeletedAtTarget(Map<Integer, int[]> moves, LocalDateTime since) {
+        ShardMap shardMap = cluster.getShardMap();
+        long removed = 0;
+        for (ProductShard source : sources(moves)) {
+            Map<Integer, List<UUID>> byTarget = new HashMap<>();
+            for (UUID id : source.findTombstonesSince(since)) {
+                int[] fromTo = moves.get(shardMap.bucketOf(id));
+                if (fromTo != null && fromTo[0] == source.getIndex()) {
+                    byTarget.computeIfAbsent(fromTo[1], key -> new ArrayList<>()).add(id);
+                }
+            }
+            for (Map.Entry<Integer, List<UUID>> entry : byTarget.entrySet()) {
+                removed += inBatches(entry.getValue(), cluster.getShards().get(entry.getKey())::deleteMoved);
+            }
+        }
+        return removed;
+    }
+
+    private long cleanUpSources(Map<Integer, int[]> moves) {
+        ShardMap shardMap = cluster.getShardMap();
+        long removed = 0;
+        for (ProductShard source : sources(moves)) {
+            for (String table : List.of("products", "products_archive")) {
+                UUID after = MIN_ID;
+                List<UUID> page;
+                do {
+                    page = source.findIdPage(table, after, PAGE_SIZE);
+                    List<UUID> moved = new ArrayList<>();
+                    for (UUID id : page) {
+                        int[] fromTo = moves.get(shardMap.bucketOf(id));
+                        if (fromTo != null && fromTo[0] == source.getIndex()) {
+                            moved.add(id);
+                        }
+                    }
+                    removed += source.deleteMoved(moved);
+                    after = page.isEmpty() ? after : page.get(page.size() - 1);
+                } while (page.size() == PAGE_SIZE);
+            }
+        }
+        return removed;
+    }
+
+    private List<ProductShard> sources(Map<Integer, int[]> moves) {
+        Set<Integer> indexes = new TreeSet<>();
+        moves.values().forEach(fromTo -> indexes.add(fromTo[0]));
+        List<ProductShard> sources = new ArrayList<>();
+        indexes.forEach(index -> sources.add(cluster.getShards().get(index)));
+        return sources;
+    }
+
+    private static long inBatches(List<UUID> ids, ToIntFunction<List<UUID>> action) {
+        long total = 0;
+        for (int from = 0; from < ids.size(); from += PAGE_SIZE) {
+            total += action.applyAsInt(ids.subList(from, Math.min(from + PAGE_SIZE, ids.size())));
+        }
+        return total;
+    }
+
+    private void waitForPropagation() {
+        try {
+            Thread.sleep(propagationDelay.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Shard rebalance interrupted", ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CopyStep {
+        void copy(ProductShard target, List<Product> products);
+    }
+
+    /**
+     * Resumen del último reparto.
+     */
+    public static final class Report {
+        private LocalDateTime startedAt;
+        private int movedBuckets;
+        private long rowsCopied;
+        private int catchUpPasses;
+        private long rowsRemoved;
+        private long elapsedMillis;
+        private int[] bucketsPerShard;
+
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public int getMovedBuckets() { return movedBuckets; }
+        public long getRowsCopied() { return rowsCopied; }
+        public int getCatchUpPasses() { return catchUpPasses; }
+        public long getRowsRemoved() { return rowsRemoved; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public int[] getBucketsPerShard() { return bucketsPerShard; }
+    }
+}
@@ -0,0 +1,497 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.tuempresa.proyecto.domain.model.InventoryValuation;
+import com.tuempresa.proyecto.domain.model.PriceBounds;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Implementación de ProductRepository repartida en varias bases de datos.
+ *
+ * Cada producto vive en el shard propietario de su bucket (ver ShardMap):
+ * <ul>
+ *   <li>Las operaciones por id van a un único shard; las de varios ids se
+ *   agrupan por shard y se ejecutan en paralelo.</li>
+ *   <li>Las consultas sin id se lanzan en paralelo a todos los shards y se
+ *   mezclan en el mismo orden que devolvería una sola base de datos. Las
+ *   que tienen límite piden como mucho ese límite a cada shard; los
+ *   recorridos completos avanzan por páginas de clave primaria, de modo que
+ *   en memoria solo hay una página por shard además del resultado.</li>
+ *   <li>Las operaciones masivas por categoría y tramo de clave se aplican en
+ *   todos los shards y suman sus resultados.</li>
+ * </ul>
+ * Mientras un bucket se mueve existe en dos shards: las lecturas descartan
+ * la copia que no es del propietario, pero los recuentos (count, resúmenes,
+ * filas afectadas) pueden incluirla hasta que termina el reparto.
+ *
+ * Cada llamada es atómica dentro de su shard; no hay transacciones entre
+ * shards ni con el DataSource principal.
+ */
+public class ShardedProductRepository implements ProductRepository {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final Comparator<UUID> ID_ORDER = (a, b) -> {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId, ID_ORDER);
+
+    private final List<ProductShard> shards;
+    private final ShardMap shardMap;
+    private final Executor executor;
+
+    public ShardedProductRepository(List<ProductShard> shards, ShardMap shardMap, Executor executor) {
+        this.shards = shards;
+        this.shardMap = shardMap;
+        this.executor = executor;
+    }
+
+    // Por id
+
+    @Override
+    public Product save(Product product) {
+        for (int shard : shardMap.writeShardsOf(product.getId())) {
+            shards.get(shard).save(product);
+        }
+        return product;
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return owner(id).findById(id);
+    }
+
+    @Override
+    public Optional<Product> findByIdIncludingArchived(UUID id) {
+        return owner(id).findByIdIncludingArchived(id);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return owner(id).existsById(id);
+    }
+
+    @Override
+    public void delete(UUID id) {
+        LocalDateTime deletedAt = LocalDateTime.now();
+        for (int shard : shardMap.writeShardsOf(id)) {
+            shards.get(shard).delete(id, deletedAt);
+        }
+    }
+
+    // Varios ids
+
+    @Override
+    public List<Product> findByIds(Collection<UUID> ids) {
+        Map<Integer, List<UUID>> byShard = groupByOwner(ids);
+        List<Product> result = new ArrayList<>(ids.size());
+        forShards(byShard, (shard, shardIds) -> shard.findByIds(shardIds)).values().forEach(result::addAll);
+        return result;
+    }
+
+    @Override
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        Set<UUID> existing = new HashSet<>();
+        forShards(groupByOwner(ids), (shard, shardIds) -> shard.bulk().findExistingIds(shardIds))
+            .values().forEach(existing::addAll);
+        return existing;
+    }
+
+    @Override
+    public int upsertAll(List<Product> products) {
+        Map<Integer, List<Product>> byShard = new HashMap<>();
+        for (Product product : products) {
+            for (int shard : shardMap.writeShardsOf(product.getId())) {
+                byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(product);
+            }
+        }
+        forShards(byShard, (shard, shardProducts) -> shard.inTransaction(() -> shard.bulk().upsertAll(shardProducts)));
+        return products.size();
+    }
+
+    @Override
+    public Set<UUID> applyStockDeltas(Map<UUID, Integer> deltas) {
+        Map<Integer, Map<UUID, Integer>> byShard = new HashMap<>();
+        deltas.forEach((id, delta) -> {
+            for (int shard : shardMap.writeShardsOf(id)) {
+                byShard.computeIfAbsent(shard, key -> new LinkedHashMap<>()).put(id, delta);
+            }
+        });
+        Map<ProductShard, Set<UUID>> rejected = forShards(byShard,
+            (shard, shardDeltas) -> shard.inTransaction(() -> shard.bulk().applyStockDeltas(shardDeltas)));
+        // Cuenta lo que diga el propietario; la copia en movimiento se alinea al terminar el reparto
+        return ownedOnly(rejected);
+    }
+
+    @Override
+    public Set<UUID> setActive(Collection<UUID> ids, boolean active) {
+        Map<Integer, List<UUID>> byShard = new HashMap<>();
+        for (UUID id : ids) {
+            for (int shard : shardMap.writeShardsOf(id)) {
+                byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(id);
+            }
+        }
+        return ownedOnly(forShards(byShard,
+            (shard, shardIds) -> shard.inTransaction(() -> shard.bulk().setActive(shardIds, active))));
+    }
+
+    // Consultas repartidas
+
+    @Override
+    public List<Product> findAll() {
+        return scan(null, null);
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return scan(category, null);
+    }
+
+    @Override
+    public List<Product> findActiveProducts() {
+        return scan(null, true);
+    }
+
+    @Override
+    public List<Product> findByIdRange(UUID fromInclusive, UUID toExclusive, UUID afterId, int limit) {
+        List<List<Product>> pages = fanOut(shard -> owned(shard,
+            shard.findIdRange(fromInclusive, toExclusive, afterId, limit)));
+        return mergeTop(pages, BY_ID, limit);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(String category, String currency, BigDecimal minPrice, BigDecimal maxPrice,
+                                          boolean descending, BigDecimal afterPrice, UUID afterId, int limit) {
+        Comparator<Product> order = Comparator.comparing((Product product) -> product.getPrice().getAmount())
+            .thenComparing(BY_ID);
+        List<List<Product>> pages = fanOut(shard -> owned(shard,
+            shard.findByPriceRange(category, currency, minPrice, maxPrice, descending, afterPrice, afterId, limit)));
+        return mergeTop(pages, descending ? order.reversed() : order, limit);
+    }
+
+    @Override
+    public List<Product> findLowestStockActive(int limit) {
+        Comparator<Product> order = Comparator.comparingInt(Product::getStock).thenComparing(BY_ID);
+        return mergeTop(fanOut(shard -> owned(shard, shard.findLowestStockActive(limit))), order, limit);
+    }
+
+    @Override
+    public void forEachActiveStock(BiConsumer<UUID, Integer> consumer) {
+        for (ProductShard shard : shards) {
+            shard.inTransaction(() -> {
+                shard.bulk().forEachActiveStock((id, stock) -> {
+                    if (shardMap.ownerOf(id) == shard.getIndex()) {
+                        consumer.accept(id, stock);
+                    }
+                });
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Sin filtrar por propietario: durante un movimiento un id puede salir de
+     * los dos shards, y para quien lo recorre es mejor verlo dos veces que
+     * ninguna.
+     */
+    @Override
+    public void forEachId(Consumer<UUID> consumer) {
+        for (ProductShard shard : shards) {
+            shard.inTransaction(() -> {
+                shard.bulk().forEachId(consumer);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public LocalDateTime settledUntil(LocalDateTime requestedUntil) {
+        // El mismo límite para todos los shards: si no, el cursor pasaría por encima
+        // de la escritura pendiente de un shard con los cambios de otro
+        LocalDateTime until = requestedUntil;
+        for (ProductShard shard : shards) {
+            until = shard.bulk().settledUntil(until);
+        }
+        return until;
+    }
+
+    @Override
+    public List<ProductChange> findChangesSince(LocalDateTime since, UUID afterId, LocalDateTime requestedUntil, int limit) {
+        LocalDateTime settled = settledUntil(requestedUntil);
+        List<ProductChange> changes = new ArrayList<>();
+        fanOut(shard -> shard.findChangesSince(since, afterId, settled, limit)).forEach(changes::addAll);
+        changes.sort(Comparator.comparing(ProductChange::getChangedAt)
+            .thenComparing(ProductChange::getProductId, ID_ORDER));
+        // Un bucket en movimiento aporta el mismo cambio desde los dos shards
+        List<ProductChange> result = new ArrayList<>(Math.min(limit, changes.size()));
+        ProductChange previous = null;
+        for (ProductChange change : changes) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (previous == null || !previous.getProductId().equals(change.getProductId())
+                || !previous.getChangedAt().equals(change.getChangedAt())) {
+                result.add(change);
+            }
+            previous = change;
+        }
+        return result;
+    }
+
+    @Override
+    public int purgeTombstonesBefore(LocalDateTime cutoff, int batchSize) {
+        return fanOut(shard -> shard.bulk().purgeTombstonesBefore(cutoff, batchSize)).stream()
+            .mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public List<InventoryValuation> summarizeInventoryValue(boolean activeOnly) {
+        Map<String, InventoryValuation> totals = new TreeMap<>();
+        for (List<InventoryValuation> partial : fanOut(shard -> shard.bulk().summarizeInventoryValue(activeOnly))) {
+            for (InventoryValuation valuation : partial) {
+                totals.merge(valuation.getCategory() + '\u0000' + valuation.getTotalValue().getCurrencyCode(), valuation,
+                    (a, b) -> new InventoryValuation(a.getCategory(), a.getTotalValue().add(b.getTotalValue()),
+                        a.getUnits() + b.getUnits(), a.getProducts() + b.getProducts()));
+            }
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    @Override
+    public long count() {
+        return fanOut(ProductShard::count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public long countByCategory(String category, boolean active) {
+        return fanOut(shard -> shard.bulk().countByCategory(category, active)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Optional<PriceBounds> findPriceBounds(String category, boolean active) {
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (Optional<PriceBounds> bounds : fanOut(shard -> shard.bulk().findPriceBounds(category, active))) {
+            if (bounds.isPresent()) {
+                min = min == null || bounds.get().getMin().compareTo(min) < 0 ? bounds.get().getMin() : min;
+                max = max == null || bounds.get().getMax().compareTo(max) > 0 ? bounds.get().getMax() : max;
+            }
+        }
+        return min == null ? Optional.empty() : Optional.of(new PriceBounds(min, max));
+    }
+
+    /**
+     * El tramo global acaba en el chunkSize-ésimo id más pequeño entre los
+     * siguientes de cada shard; así ningún shard aporta más de chunkSize filas.
+     */
+    @Override
+    public Optional<UUID> findChunkUpperBound(String category, boolean active, UUID afterId, int chunkSize) {
+        Set<UUID> ids = new HashSet<>();
+        fanOut(shard -> shard.findChunkIds(category, active, afterId, chunkSize)).forEach(ids::addAll);
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+        List<UUID> sorted = new ArrayList<>(ids);
+        sorted.sort(ID_ORDER);
+        return Optional.of(sorted.get(Math.min(chunkSize, sorted.size()) - 1));
+    }
+
+    @Override
+    public int adjustPrices(String category, UUID afterId, UUID upToId, BigDecimal factor, String currency) {
+        return fanOut(shard -> shard.bulk().adjustPrices(category, afterId, upToId, factor, currency))
+            .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public List<Product> findChunk(String category, boolean active, UUID afterId, UUID upToId) {
+        List<Product> products = new ArrayList<>();
+        fanOut(shard -> owned(shard, shard.findChunk(category, active, afterId, upToId))).forEach(products::addAll);
+        products.sort(BY_ID);
+        return products;
+    }
+
+    @Override
+    public int setActiveInCategory(String category, boolean active, UUID afterId, UUID upToId) {
+        return fanOut(shard -> shard.bulk().setActiveInCategory(category, active, afterId, upToId))
+            .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public List<UUID> archiveInactiveBefore(LocalDateTime cutoff, int batchSize) {
+        return fanOut(shard -> shard.inTransaction(() -> shard.bulk().archiveInactiveBefore(cutoff, batchSize)))
+            .stream().flatMap(List::stream).toList();
+    }
+
+    // Utilidades
+
+    private ProductShard owner(UUID id) {
+        return shards.get(shardMap.ownerOf(id));
+    }
+
+    private Map<Integer, List<UUID>> groupByOwner(Collection<UUID> ids) {
+        Map<Integer, List<UUID>> byShard = new HashMap<>();
+        for (UUID id : ids) {
+            byShard.computeIfAbsent(shardMap.ownerOf(id), key -> new ArrayList<>()).add(id);
+        }
+        return byShard;
+    }
+
+    private List<Product> owned(ProductShard shard, List<Product> products) {
+        if (!shardMap.isMigrating()) {
+            return products;
+        }
+        List<Product> owned = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (shardMap.ownerOf(product.getId()) == shard.getIndex()) {
+                owned.add(product);
+            }
+        }
+        return owned;
+    }
+
+    private Set<UUID> ownedOnly(Map<ProductShard, Set<UUID>> byShard) {
+        Set<UUID> result = new HashSet<>();
+        byShard.forEach((shard, ids) -> ids.forEach(id -> {
+            if (shardMap.ownerOf(id) == shard.getIndex()) {
+                result.add(id);
+            }
+        }));
+        return result;
+    }
+
+    private static List<Product> mergeTop(List<List<Product>> pages, Comparator<Product> order, int limit) {
+        List<Product> merged = new ArrayList<>();
+        pages.forEach(merged::addAll);
+        merged.sort(order);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Recorrido completo en orden de id mezclando un cursor paginado por shard.
+     */
+    private List<Product> scan(String category, Boolean active) {
+        List<List<Product>> firstPages = fanOut(shard -> shard.findPage(category, active, null, null, PAGE_SIZE));
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(Comparator.comparing(ShardCursor::peek, BY_ID));
+        for (int i = 0; i < shards.size(); i++) {
+            ShardCursor cursor = new ShardCursor(shards.get(i), category, active, firstPages.get(i));
+            if (cursor.hasNext()) {
+                heads.add(cursor);
+            }
+        }
+        List<Product> result = new ArrayList<>();
+        while (!heads.isEmpty()) {
+            ShardCursor cursor = heads.poll();
+            Product product = cursor.next();
+            if (shardMap.ownerOf(product.getId()) == cursor.shard.getIndex()) {
+                result.add(product);
+            }
+            if (cursor.hasNext()) {
+                heads.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private <T> List<T> fanOut(Function<ProductShard, T> query) {
+        if (shards.size() == 1) {
+            return List.of(query.apply(shards.get(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (ProductShard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private <K, T> Map<ProductShard, T> forShards(Map<Integer, K> work, ShardCall<K, T> call) {
+        Map<ProductShard, CompletableFuture<T>> futures = new HashMap<>();
+        work.forEach((index, input) -> {
+            ProductShard shard = shards.get(index);
+            futures.put(shard, work.size() == 1
+                ? CompletableFuture.completedFuture(call.apply(shard, input))
+                : CompletableFuture.supplyAsync(() -> call.apply(shard, input), executor));
+        });
+        Map<ProductShard, T> results = new HashMap<>();
+        futures.forEach((shard, future) -> results.put(shard, join(future)));
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardCall<K, T> {
+        T apply(ProductShard shard, K input);
+    }
+
+    private static final class ShardCursor {
+        private final ProductShard shard;
+        private final String category;
+        private final Boolean active;
+        private List<Product> page;
+        private int position;
+
+        private ShardCursor(ProductShard shard, String category, Boolean active, List<Product> firstPage) {
+            this.shard = shard;
+            this.category = category;
+            this.active = active;
+            this.page = firstPage;
+        }
+
+        private boolean hasNext() {
+            if (position < page.size()) {
+                return true;
+            }
+            if (page.size() < PAGE_SIZE) {
+                return false;
+            }
+            page = shard.findPage(category, active, page.get(page.size() - 1).getId(), null, PAGE_SIZE);
+            position = 0;
+            return !page.isEmpty();
+        }
+
+        private Product peek() {
+            return page.get(position);
+        }
+
+        private Product next() {
+            return page.get(position++);
+        }
+    }
+}
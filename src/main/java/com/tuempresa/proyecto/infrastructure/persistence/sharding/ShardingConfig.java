@@ -0,0 +1,62 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.infrastructure.diagnostics.SqlStatementStats;
+import com.tuempresa.proyecto.infrastructure.diagnostics.StatementCountingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+
+/**
+ * Catálogo repartido en varias bases de datos (catalog.sharding.enabled=true).
+ *
+ * Sustituye a ProductRepositoryAdapter como implementación de
+ * ProductRepository; el DataSource principal sigue guardando el resto de
+ * tablas (p. ej. los checkpoints de importación). Perfil de ejemplo con
+ * cuatro H2 en memoria: application-sharding.properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardCluster shardCluster(@Value("${catalog.sharding.urls}") List<String> urls,
+                                     @Value("${catalog.sharding.username:sa}") String username,
+                                     @Value("${catalog.sharding.password:}") String password,
+                                     @Value("${catalog.sharding.pool-size:10}") int poolSize,
+                                     @Value("${catalog.sharding.buckets:1024}") int buckets,
+                                     @Value("${catalog.sharding.query-threads:16}") int queryThreads,
+                                     @Value("${catalog.diagnostics.sql.enabled:false}") boolean sqlDiagnostics) {
+        // Los pools de los shards no son beans: el modo diagnóstico los instrumenta aquí
+        return ShardCluster.open(urls, username, password, poolSize, buckets, queryThreads,
+            sqlDiagnostics ? StatementCountingDataSource::new : UnaryOperator.identity());
+    }
+
+    @Bean
+    @Primary
+    public ProductRepository shardedProductRepository(ShardCluster cluster,
+                                                      @Value("${catalog.diagnostics.sql.enabled:false}") boolean sqlDiagnostics) {
+        // Las consultas en paralelo cuentan en la petición que las lanza
+        Executor executor = sqlDiagnostics ? SqlStatementStats.propagating(cluster.getExecutor()) : cluster.getExecutor();
+        return new ShardedProductRepository(cluster.getShards(), cluster.getShardMap(), executor);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardCluster cluster,
+                                           @Value("${catalog.sharding.map-refresh-interval:PT5S}") Duration mapRefreshInterval,
+                                           @Value("${catalog.changes.settle-lag:PT1S}") Duration settleLag) {
+        return new ShardRebalancer(cluster, mapRefreshInterval, settleLag);
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardCluster cluster, ShardRebalancer rebalancer) {
+        return new ShardsEndpoint(cluster, rebalancer);
+    }
+}
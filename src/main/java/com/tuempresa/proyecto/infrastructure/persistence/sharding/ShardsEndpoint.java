@@ -0,0 +1,57 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de administración /actuator/shards: estado de los shards
+ * (buckets y filas de cada uno, último reparto) y lanzamiento del reparto.
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ShardCluster cluster;
+    private final ShardRebalancer rebalancer;
+
+    public ShardsEndpoint(ShardCluster cluster, ShardRebalancer rebalancer) {
+        this.cluster = cluster;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        ShardMap shardMap = cluster.getShardMap();
+        int[] buckets = shardMap.bucketsPerShard();
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (ProductShard shard : cluster.getShards()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("index", shard.getIndex());
+            entry.put("buckets", buckets[shard.getIndex()]);
+            entry.put("products", shard.count());
+            shards.add(entry);
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("buckets", shardMap.getBuckets());
+        status.put("migrating", shardMap.isMigrating());
+        status.put("rebalancing", rebalancer.isRunning());
+        status.put("shards", shards);
+        status.put("lastRebalance", rebalancer.getLastReport());
+        return status;
+    }
+
+    /**
+     * Reparte los buckets de forma uniforme entre los shards configurados.
+     */
+    @WriteOperation
+    public Map<String, Object> rebalance() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("started", rebalancer.rebalanceAsync());
+        return result;
+    }
+}
@@ -0,0 +1,249 @@
+package com.tuempresa.proyecto.infrastructure.snapshot;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.CatalogSnapshotRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantánea binaria del catálogo en disco local, leída con mmap.
+ *
+ * <pre>
+ * cabecera (64 bytes)
+ *   magic int, versión int, productos int, cadenas int,
+ *   syncedThrough long (µs, hora local), offset filas long, offset cadenas long,
+ *   longitud long, CRC32C long (de todo lo que sigue a la cabecera)
+ * filas (64 bytes cada una, ordenadas por id)
+ *   id msb long, id lsb long, precio en céntimos long, stock int, flags int,
+ *   createdAt long (µs, hora local), updatedAt long (µs, hora local),
+ *   name int, description int (-1 si es null), category int, currency int
+ * tabla de cadenas
+ *   (cadenas + 1) offsets int relativos al inicio de los datos, datos UTF-8
+ * </pre>
+ *
+ * Las columnas de texto son índices a una tabla de cadenas sin repetidos, así
+ * que categorías y monedas se guardan una vez y al cargar comparten la misma
+ * instancia de String. El fichero se escribe aparte y se renombra de forma
+ * atómica; una instantánea incompleta o corrupta se descarta.
+ *
+ * Las marcas de tiempo son LocalDateTime, igual que en la base de datos: se
+ * guarda la hora local tal cual, contada desde 1970-01-01T00:00 sin aplicar
+ * zona. Una instantánea solo es válida en una máquina con la misma zona
+ * horaria que la que la escribió.
+ */
+@Repository
+public class MappedCatalogSnapshotRepository implements CatalogSnapshotRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedCatalogSnapshotRepository.class);
+
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int ROW_SIZE = 64;
+    private static final int FLAG_ACTIVE = 1;
+    private static final int NULL_STRING = -1;
+
+    private final Path path;
+
+    public MappedCatalogSnapshotRepository(@Value("${catalog.snapshot.path:data/catalog.snapshot}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void save(Collection<Product> products, LocalDateTime syncedThrough) {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.position(HEADER_SIZE);
+                CRC32C crc = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+
+                Map<String, Integer> stringIds = new HashMap<>();
+                List<byte[]> strings = new ArrayList<>();
+                for (Product product : products) {
+                    out.writeLong(product.getId().getMostSignificantBits());
+                    out.writeLong(product.getId().getLeastSignificantBits());
+                    out.writeLong(product.getPrice().getAmount().unscaledValue().longValueExact());
+                    out.writeInt(product.getStock());
+                    out.writeInt(product.isActive() ? FLAG_ACTIVE : 0);
+                    out.writeLong(toMicros(product.getCreatedAt()));
+                    out.writeLong(toMicros(product.getUpdatedAt()));
+                    out.writeInt(intern(product.getName(), stringIds, strings));
+                    out.writeInt(intern(product.getDescription(), stringIds, strings));
+                    out.writeInt(intern(product.getCategory(), stringIds, strings));
+                    out.writeInt(intern(product.getPrice().getCurrencyCode(), stringIds, strings));
+                }
+                long stringsOffset = HEADER_SIZE + (long) products.size() * ROW_SIZE;
+                int offset = 0;
+                for (byte[] bytes : strings) {
+                    out.writeInt(offset);
+                    offset += bytes.length;
+                }
+                out.writeInt(offset);
+                for (byte[] bytes : strings) {
+                    out.write(bytes);
+                }
+                out.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(products.size()).putInt(strings.size())
+                    .putLong(toMicros(syncedThrough)).putLong(HEADER_SIZE).putLong(stringsOffset)
+                    .putLong(channel.size()).putLong(crc.getValue());
+                header.flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write catalog snapshot to " + path, e);
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> load(Consumer<Product> consumer) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring catalog snapshot {} with unexpected size {}", path, size);
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int magic = buffer.getInt(0);
+            int version = buffer.getInt(4);
+            int productCount = buffer.getInt(8);
+            int stringCount = buffer.getInt(12);
+            LocalDateTime syncedThrough = fromMicros(buffer.getLong(16));
+            int rowsOffset = (int) buffer.getLong(24);
+            int stringsOffset = (int) buffer.getLong(32);
+            long length = buffer.getLong(40);
+            long checksum = buffer.getLong(48);
+            if (magic != MAGIC || version != VERSION || length != size
+                    || stringsOffset != rowsOffset + (long) productCount * ROW_SIZE) {
+                log.warn("Ignoring catalog snapshot {}: unknown format or truncated file", path);
+                return Optional.empty();
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(HEADER_SIZE, (int) size - HEADER_SIZE));
+            if (crc.getValue() != checksum) {
+                log.warn("Ignoring catalog snapshot {}: checksum mismatch", path);
+                return Optional.empty();
+            }
+
+            StringTable strings = new StringTable(buffer, stringsOffset, stringCount);
+            Map<Integer, Currency> currencies = new HashMap<>();
+            for (int i = 0; i < productCount; i++) {
+                int row = rowsOffset + i * ROW_SIZE;
+                UUID id = new UUID(buffer.getLong(row), buffer.getLong(row + 8));
+                int currencyId = buffer.getInt(row + 60);
+                Currency currency = currencies.computeIfAbsent(currencyId, key -> Currency.getInstance(strings.get(key)));
+                consumer.accept(Product.reconstruct(
+                    id,
+                    strings.get(buffer.getInt(row + 48)),
+                    strings.get(buffer.getInt(row + 52)),
+                    Money.of(BigDecimal.valueOf(buffer.getLong(row + 16), 2), currency),
+                    buffer.getInt(row + 24),
+                    strings.get(buffer.getInt(row + 56)),
+                    fromMicros(buffer.getLong(row + 32)),
+                    fromMicros(buffer.getLong(row + 40)),
+                    (buffer.getInt(row + 28) & FLAG_ACTIVE) != 0
+                ));
+            }
+            return Optional.of(syncedThrough);
+        } catch (IOException e) {
+            log.warn("Cannot read catalog snapshot {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<byte[]> strings) {
+        if (value == null) {
+            return NULL_STRING;
+        }
+        return ids.computeIfAbsent(value, key -> {
+            strings.add(key.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    // Microsegundos de la hora local desde 1970-01-01T00:00; ZoneOffset.UTC solo evita aplicar una zona
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Decodifica cada cadena la primera vez que se pide y reutiliza la instancia.
+     */
+    private static final class StringTable {
+        private final ByteBuffer buffer;
+        private final int offsetsStart;
+        private final int dataStart;
+        private final String[] decoded;
+
+        private StringTable(ByteBuffer buffer, int start, int count) {
+            this.buffer = buffer;
+            this.offsetsStart = start;
+            this.dataStart = start + (count + 1) * Integer.BYTES;
+            this.decoded = new String[count];
+        }
+
+        private String get(int index) {
+            if (index == NULL_STRING) {
+                return null;
+            }
+            String value = decoded[index];
+            if (value == null) {
+                int from = buffer.getInt(offsetsStart + index * Integer.BYTES);
+                int to = buffer.getInt(offsetsStart + (index + 1) * Integer.BYTES);
+                byte[] bytes = new byte[to - from];
+                buffer.get(dataStart + from, bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                decoded[index] = value;
+            }
+            return value;
+        }
+    }
+}
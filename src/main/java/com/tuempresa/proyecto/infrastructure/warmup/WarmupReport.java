@@ -0,0 +1,48 @@
+package com.tuempresa.proyecto.infrastructure.warmup;
+
+import java.util.Arrays;
+
+/**
+ * Latencias de las peticiones sintéticas del calentamiento, en orden de envío.
+ * Compara las primeras N (JVM en frío) con las últimas N (ya compilado por el JIT).
+ */
+public class WarmupReport {
+    private final long[] latenciesNanos;
+    private final int failures;
+    private final int poolConnections;
+    private final long elapsedMillis;
+
+    public WarmupReport(long[] latenciesNanos, int failures, int poolConnections, long elapsedMillis) {
+        this.latenciesNanos = latenciesNanos;
+        this.failures = failures;
+        this.poolConnections = poolConnections;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRequests() { return latenciesNanos.length; }
+    public int getFailures() { return failures; }
+    public int getPoolConnections() { return poolConnections; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public double percentileMillis(int from, int to, double percentile) {
+        long[] window = Arrays.copyOfRange(latenciesNanos, from, to);
+        if (window.length == 0) {
+            return 0;
+        }
+        Arrays.sort(window);
+        int index = (int) Math.ceil(percentile / 100.0 * window.length) - 1;
+        return window[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    public String summary(int window) {
+        int n = Math.min(window, latenciesNanos.length / 2);
+        int total = latenciesNanos.length;
+        return String.format(
+            "Warm-up finished in %d ms: %d pooled connections, %d requests (%d failed); "
+                + "first %d p50=%.2f ms p99=%.2f ms, last %d p50=%.2f ms p99=%.2f ms (p99 %.1fx faster)",
+            elapsedMillis, poolConnections, total, failures,
+            n, percentileMillis(0, n, 50), percentileMillis(0, n, 99),
+            n, percentileMillis(total - n, total, 50), percentileMillis(total - n, total, 99),
+            percentileMillis(0, n, 99) / Math.max(percentileMillis(total - n, total, 99), 0.001));
+    }
+}
@@ -0,0 +1,184 @@
+package com.tuempresa.proyecto.infrastructure.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calienta la instancia antes de que el readiness probe pase a UP.
+ *
+ * Spring Boot publica ReadinessState.ACCEPTING_TRAFFIC después de ejecutar los
+ * ApplicationRunner, así que mientras este runner trabaja la instancia ya
+ * escucha en su puerto pero /actuator/health/readiness responde 503. En ese
+ * tiempo se abren todas las conexiones del pool y se envían peticiones GET de
+ * solo lectura a los endpoints reales (controlador, Jackson, MapStruct,
+ * Hibernate) para que el JIT compile el camino caliente.
+ *
+ * Se ejecuta el último, después de la importación de catálogo si la hay.
+ * Un fallo del calentamiento se registra pero no impide el arranque.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "catalog.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int connections;
+    private final int requests;
+    private final int concurrency;
+    private final Duration maxDuration;
+    private final int reportWindow;
+
+    public WarmupRunner(DataSource dataSource,
+                        ObjectMapper objectMapper,
+                        Environment environment,
+                        @Value("${catalog.warmup.connections:${spring.datasource.hikari.maximum-pool-size:10}}") int connections,
+                        @Value("${catalog.warmup.requests:2000}") int requests,
+                        @Value("${catalog.warmup.concurrency:4}") int concurrency,
+                        @Value("${catalog.warmup.max-duration:PT60S}") Duration maxDuration,
+                        @Value("${catalog.warmup.report-window:100}") int reportWindow) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.connections = connections;
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.maxDuration = maxDuration;
+        this.reportWindow = reportWindow;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            int pooled = prefillPool();
+            String baseUrl = "http://localhost:" + environment.getRequiredProperty("local.server.port");
+            WarmupReport report = sendTraffic(baseUrl, pooled, start);
+            log.info(report.summary(reportWindow));
+        } catch (Exception e) {
+            log.warn("Warm-up aborted, continuing startup", e);
+        }
+    }
+
+    /**
+     * Pide todas las conexiones a la vez para obligar al pool a abrirlas ahora
+     * y no durante las primeras peticiones reales.
+     */
+    private int prefillPool() throws SQLException {
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+        return held.size();
+    }
+
+    private WarmupReport sendTraffic(String baseUrl, int pooled, long start) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+        List<String> paths = warmupPaths(client, baseUrl);
+
+        long[] latencies = new long[requests];
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long deadline = start + maxDuration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            executor.execute(() -> {
+                int i;
+                // El plazo se comprueba antes de reservar un índice: uno reservado y no enviado
+                // contaría como petición completada con latencia cero
+                while (System.nanoTime() < deadline && (i = sequence.getAndIncrement()) < requests) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(i % paths.size())))
+                        .timeout(Duration.ofSeconds(5))
+                        .GET()
+                        .build();
+                    long sent = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 500) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - sent;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(maxDuration.toMillis() + 10_000, TimeUnit.MILLISECONDS);
+
+        int completed = Math.min(sequence.get(), requests);
+        long[] recorded = new long[completed];
+        System.arraycopy(latencies, 0, recorded, 0, completed);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new WarmupReport(recorded, failures.get(), pooled, elapsedMillis);
+    }
+
+    /**
+     * Rutas de solo lectura a recorrer: listados, detalle con y sin conversión
+     * de moneda, el camino 404 y el reporte de inventario. Los ids se toman de
+     * una primera página del catálogo; con la base vacía solo se usan listados.
+     */
+    private List<String> warmupPaths(HttpClient client, String baseUrl) {
+        String page = "/api/products/created?from=1970-01-01T00:00:00Z&limit=20";
+        List<String> paths = new ArrayList<>(List.of(
+            page,
+            page + "&currency=EUR",
+            "/api/products/" + UUID.randomUUID(),
+            "/api/products/changes?limit=20",
+            "/api/products/reports/valuation"));
+        try {
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + page)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+                String id = item.path("id").asText();
+                paths.add("/api/products/" + id);
+                paths.add("/api/products/" + id + "?currency=EUR");
+            }
+        } catch (Exception e) {
+            log.debug("Could not fetch product ids for warm-up", e);
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import com.tuempresa.proyecto.application.dto.request.BulkActivationRequest;
+import com.tuempresa.proyecto.application.dto.request.BulkPriceAdjustmentRequest;
+import com.tuempresa.proyecto.application.dto.response.BulkActivationResponse;
+import com.tuempresa.proyecto.application.dto.response.BulkPriceAdjustmentResponse;
+import com.tuempresa.proyecto.application.usecase.product.AdjustCategoryPricesUseCase;
+import com.tuempresa.proyecto.application.usecase.product.SetProductsActivationUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products/bulk")
+@Tag(name = "Productos - Operaciones masivas", description = "Operaciones sobre conjuntos de productos ejecutadas en la base de datos")
+public class ProductBulkController {
+
+    private final AdjustCategoryPricesUseCase adjustCategoryPricesUseCase;
+    private final SetProductsActivationUseCase setProductsActivationUseCase;
+
+    public ProductBulkController(AdjustCategoryPricesUseCase adjustCategoryPricesUseCase,
+                                 SetProductsActivationUseCase setProductsActivationUseCase) {
+        this.adjustCategoryPricesUseCase = adjustCategoryPricesUseCase;
+        this.setProductsActivationUseCase = setProductsActivationUseCase;
+    }
+
+    @Operation(
+        summary = "Ajustar precios de una categoría",
+        description = "Aplica un porcentaje y/o asigna una moneda a todos los productos activos de la categoría. "
+            + "Con dryRun=true solo devuelve cuántos productos se verían afectados"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ajuste aplicado (o simulado) exitosamente",
+            content = @Content(schema = @Schema(implementation = BulkPriceAdjustmentResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Datos de entrada inválidos",
+            content = @Content
+        )
+    })
+    @PostMapping("/price-adjustment")
+    public ResponseEntity<BulkPriceAdjustmentResponse> adjustPrices(
+            @Parameter(description = "Parámetros del ajuste", required = true)
+            @Valid @RequestBody BulkPriceAdjustmentRequest request) {
+        return ResponseEntity.ok(adjustCategoryPricesUseCase.execute(request));
+    }
+
+    @Operation(
+        summary = "Activar o desactivar productos en bloque",
+        description = "Cambia el estado de una lista de ids o de todos los productos de una categoría. "
+            + "Solo cambian los productos que estaban en el estado contrario; con lista de ids se indican "
+            + "los que ya estaban en ese estado y los que no existen"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cambio de estado aplicado exitosamente",
+            content = @Content(schema = @Schema(implementation = BulkActivationResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Datos de entrada inválidos",
+            content = @Content
+        )
+    })
+    @PostMapping("/activation")
+    public ResponseEntity<BulkActivationResponse> setActivation(
+            @Parameter(description = "Productos y estado a aplicar", required = true)
+            @Valid @RequestBody BulkActivationRequest request) {
+        return ResponseEntity.ok(setProductsActivationUseCase.execute(request));
+    }
+}
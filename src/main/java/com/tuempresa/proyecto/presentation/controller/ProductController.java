@@ -1,13 +1,24 @@
 package com.tuempresa.proyecto.presentation.controller;
 
 import com.tuempresa.proyecto.application.dto.request.CreateProductRequest;
+import com.tuempresa.proyecto.application.dto.request.PatchProductRequest;
+import com.tuempresa.proyecto.application.dto.request.StockAdjustmentRequest;
 import com.tuempresa.proyecto.application.dto.request.UpdateProductRequest;
+import com.tuempresa.proyecto.application.dto.response.ProductChangeFeedResponse;
+import com.tuempresa.proyecto.application.dto.response.ProductPageResponse;
 import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.application.service.IdempotencyService;
+import com.tuempresa.proyecto.application.usecase.product.AdjustStockUseCase;
 import com.tuempresa.proyecto.application.usecase.product.CreateProductUseCase;
 import com.tuempresa.proyecto.application.usecase.product.DeleteProductUseCase;
 import com.tuempresa.proyecto.application.usecase.product.GetAllProductsUseCase;
+import com.tuempresa.proyecto.application.usecase.product.GetProductChangesUseCase;
 import com.tuempresa.proyecto.application.usecase.product.GetProductUseCase;
+import com.tuempresa.proyecto.application.usecase.product.GetProductsByCreationTimeUseCase;
+import com.tuempresa.proyecto.application.usecase.product.PatchProductUseCase;
+import com.tuempresa.proyecto.application.usecase.product.SearchProductsByPriceUseCase;
 import com.tuempresa.proyecto.application.usecase.product.UpdateProductUseCase;
+import com.tuempresa.proyecto.presentation.mapper.UseCaseResultMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,12 +27,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/products")
@@ -31,25 +48,44 @@ public class ProductController {
     private final CreateProductUseCase createProductUseCase;
     private final GetProductUseCase getProductUseCase;
     private final GetAllProductsUseCase getAllProductsUseCase;
+    private final GetProductsByCreationTimeUseCase getProductsByCreationTimeUseCase;
+    private final GetProductChangesUseCase getProductChangesUseCase;
+    private final SearchProductsByPriceUseCase searchProductsByPriceUseCase;
     private final UpdateProductUseCase updateProductUseCase;
+    private final PatchProductUseCase patchProductUseCase;
+    private final AdjustStockUseCase adjustStockUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
+    private final IdempotencyService idempotencyService;
 
     public ProductController(
             CreateProductUseCase createProductUseCase,
             GetProductUseCase getProductUseCase,
             GetAllProductsUseCase getAllProductsUseCase,
+            GetProductsByCreationTimeUseCase getProductsByCreationTimeUseCase,
+            GetProductChangesUseCase getProductChangesUseCase,
+            SearchProductsByPriceUseCase searchProductsByPriceUseCase,
             UpdateProductUseCase updateProductUseCase,
-            DeleteProductUseCase deleteProductUseCase) {
+            PatchProductUseCase patchProductUseCase,
+            AdjustStockUseCase adjustStockUseCase,
+            DeleteProductUseCase deleteProductUseCase,
+            IdempotencyService idempotencyService) {
         this.createProductUseCase = createProductUseCase;
         this.getProductUseCase = getProductUseCase;
         this.getAllProductsUseCase = getAllProductsUseCase;
+        this.getProductsByCreationTimeUseCase = getProductsByCreationTimeUseCase;
+        this.getProductChangesUseCase = getProductChangesUseCase;
+        this.searchProductsByPriceUseCase = searchProductsByPriceUseCase;
         this.updateProductUseCase = updateProductUseCase;
+        this.patchProductUseCase = patchProductUseCase;
+        this.adjustStockUseCase = adjustStockUseCase;
         this.deleteProductUseCase = deleteProductUseCase;
+        this.idempotencyService = idempotencyService;
     }
 
     @Operation(
         summary = "Crear un nuevo producto",
-        description = "Crea un nuevo producto en el sistema con la información proporcionada"
+        description = "Crea un nuevo producto en el sistema con la información proporcionada. "
+            + "Con Idempotency-Key, los reintentos con la misma clave devuelven el producto creado la primera vez"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -59,15 +95,25 @@ public class ProductController {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Datos de entrada inválidos",
+            description = "Datos de entrada inválidos o Idempotency-Key reutilizada con otros datos",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "La petición original con esa Idempotency-Key sigue en curso",
             content = @Content
         )
     })
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(
             @Parameter(description = "Datos del producto a crear", required = true)
-            @Valid @RequestBody CreateProductRequest request) {
-        ProductResponse response = createProductUseCase.execute(request);
+            @Valid @RequestBody CreateProductRequest request,
+            @Parameter(description = "Clave única por producto a crear, repetida en cada reintento", example = "3f1c2a9e-order-1234")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        ProductResponse response = idempotencyKey == null
+            ? createProductUseCase.execute(request)
+            : idempotencyService.execute(idempotencyKey, request, ProductResponse.class,
+                () -> createProductUseCase.execute(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -83,6 +129,11 @@ public class ProductController {
         ),
         @ApiResponse(
             responseCode = "400",
+            description = "Moneda no soportada",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
             description = "Producto no encontrado",
             content = @Content
         )
@@ -90,9 +141,10 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProduct(
             @Parameter(description = "ID único del producto", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
-            @PathVariable UUID id) {
-        ProductResponse response = getProductUseCase.execute(id);
-        return ResponseEntity.ok(response);
+            @PathVariable UUID id,
+            @Parameter(description = "Moneda en la que expresar los precios (ISO 4217). Por defecto, la de cada producto", example = "EUR")
+            @RequestParam(required = false) String currency) {
+        return UseCaseResultMapper.toResponse(getProductUseCase.execute(id, currency), ResponseEntity::ok);
     }
 
     @Operation(
@@ -104,14 +156,125 @@ public class ProductController {
             responseCode = "200",
             description = "Lista de productos obtenida exitosamente",
             content = @Content(schema = @Schema(implementation = ProductResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Moneda no soportada",
+            content = @Content
         )
     })
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> responses = getAllProductsUseCase.execute();
+    public ResponseEntity<List<ProductResponse>> getAllProducts(
+            @Parameter(description = "Moneda en la que expresar los precios (ISO 4217). Por defecto, la de cada producto", example = "EUR")
+            @RequestParam(required = false) String currency) {
+        List<ProductResponse> responses = getAllProductsUseCase.execute(currency);
         return ResponseEntity.ok(responses);
     }
 
+    @Operation(
+        summary = "Listar productos por fecha de creación",
+        description = "Retorna los productos creados en [from, to) ordenados por id. "
+            + "El rango se resuelve sobre la clave primaria UUID v7; usar nextCursor como 'after' para la página siguiente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de productos obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = ProductPageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Rango, límite o moneda inválidos",
+            content = @Content
+        )
+    })
+    @GetMapping("/created")
+    public ResponseEntity<ProductPageResponse> getProductsByCreationTime(
+            @Parameter(description = "Inicio del rango (ISO-8601, inclusive)", required = true, example = "2024-01-15T00:00:00Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Fin del rango (ISO-8601, exclusivo). Por defecto, ahora", example = "2024-01-16T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamaño de página (1-500)", example = "100")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Moneda en la que expresar los precios (ISO 4217). Por defecto, la de cada producto", example = "EUR")
+            @RequestParam(required = false) String currency) {
+        Instant upper = to != null ? to : Instant.now();
+        return ResponseEntity.ok(getProductsByCreationTimeUseCase.execute(from, upper, after, limit, currency));
+    }
+
+    @Operation(
+        summary = "Buscar productos por banda de precio",
+        description = "Retorna los productos activos de una categoría con precio en [minPrice, maxPrice], ordenados por precio. "
+            + "Los precios se comparan en la moneda indicada; usar nextCursor como 'after' para la página siguiente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de productos obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = ProductPageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Filtros, orden, cursor o límite inválidos",
+            content = @Content
+        )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<ProductPageResponse> searchProductsByPrice(
+            @Parameter(description = "Categoría", required = true, example = "Electronics")
+            @RequestParam String category,
+            @Parameter(description = "Moneda en la que se expresa la banda de precio (ISO 4217)", required = true, example = "USD")
+            @RequestParam String currency,
+            @Parameter(description = "Precio mínimo (inclusive)", example = "100.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Precio máximo (inclusive)", example = "500.00")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Orden: 'price' ascendente o '-price' descendente", example = "price")
+            @RequestParam(defaultValue = "price") String sort,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de página (1-500)", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(searchProductsByPriceUseCase.execute(category, currency, minPrice, maxPrice, sort, after, limit));
+    }
+
+    @Operation(
+        summary = "Feed de cambios del catálogo",
+        description = "Retorna altas, modificaciones y borrados posteriores al cursor 'since', en orden de aplicación. "
+            + "Con 'wait' la petición espera hasta que haya cambios (long-poll)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cambios obtenidos exitosamente",
+            content = @Content(schema = @Schema(implementation = ProductChangeFeedResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor o límite inválidos",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Cursor anterior a la retención de borrados: hay que recargar el catálogo",
+            content = @Content
+        )
+    })
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<ProductChangeFeedResponse>> getProductChanges(
+            @Parameter(description = "Cursor devuelto por la llamada anterior (vacío para empezar desde el principio)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Máximo de cambios por página (1-1000)", example = "500")
+            @RequestParam(defaultValue = "500") int limit,
+            @Parameter(description = "Segundos a esperar si no hay cambios (long-poll)", example = "20")
+            @RequestParam(defaultValue = "0") long wait) {
+        // Respuesta asíncrona: el long-poll no retiene el hilo de Tomcat
+        return getProductChangesUseCase.execute(since, limit, Duration.ofSeconds(Math.max(wait, 0)))
+            .thenApply(ResponseEntity::ok);
+    }
+
     @Operation(
         summary = "Actualizar un producto existente",
         description = "Actualiza la información de un producto existente mediante su ID"
@@ -124,7 +287,12 @@ public class ProductController {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Producto no encontrado o datos inválidos",
+            description = "Datos inválidos",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado",
             content = @Content
         ),
         @ApiResponse(
@@ -139,8 +307,79 @@ public class ProductController {
             @PathVariable UUID id,
             @Parameter(description = "Datos actualizados del producto", required = true)
             @Valid @RequestBody UpdateProductRequest request) {
-        ProductResponse response = updateProductUseCase.execute(id, request);
-        return ResponseEntity.ok(response);
+        return UseCaseResultMapper.toResponse(updateProductUseCase.execute(id, request), ResponseEntity::ok);
+    }
+
+    @Operation(
+        summary = "Actualizar parcialmente un producto",
+        description = "Aplica un JSON Merge Patch: solo se modifican los campos presentes. "
+            + "Si ningún valor cambia no se escribe en la base de datos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Producto actualizado exitosamente",
+            content = @Content(schema = @Schema(implementation = ProductResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Datos inválidos",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "No se puede actualizar un producto inactivo",
+            content = @Content
+        )
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductResponse> patchProduct(
+            @Parameter(description = "ID único del producto a actualizar", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID id,
+            @Parameter(description = "Campos a modificar", required = true)
+            @Valid @RequestBody PatchProductRequest request) {
+        return UseCaseResultMapper.toResponse(patchProductUseCase.execute(id, request), ResponseEntity::ok);
+    }
+
+    @Operation(
+        summary = "Ajustar el stock de un producto",
+        description = "Suma o resta unidades al stock. En modo write-behind el ajuste se acumula en memoria "
+            + "y se escribe en el siguiente volcado; las lecturas ya lo reflejan"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stock ajustado exitosamente",
+            content = @Content(schema = @Schema(implementation = ProductResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Datos inválidos",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Stock insuficiente",
+            content = @Content
+        )
+    })
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<ProductResponse> adjustStock(
+            @Parameter(description = "ID único del producto", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID id,
+            @Parameter(description = "Ajuste a aplicar", required = true)
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        return UseCaseResultMapper.toResponse(adjustStockUseCase.execute(id, request), ResponseEntity::ok);
     }
 
     @Operation(
@@ -154,7 +393,7 @@ public class ProductController {
             content = @Content
         ),
         @ApiResponse(
-            responseCode = "400",
+            responseCode = "404",
             description = "Producto no encontrado",
             content = @Content
         )
@@ -163,7 +402,7 @@ public class ProductController {
     public ResponseEntity<Void> deleteProduct(
             @Parameter(description = "ID único del producto a eliminar", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
             @PathVariable UUID id) {
-        deleteProductUseCase.execute(id);
-        return ResponseEntity.noContent().build();
+        return UseCaseResultMapper.toResponse(deleteProductUseCase.execute(id),
+            result -> ResponseEntity.<Void>noContent().build());
     }
 }
@@ -0,0 +1,113 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import com.tuempresa.proyecto.application.dto.response.PriceHistoryStatusResponse;
+import com.tuempresa.proyecto.application.dto.response.PricePointResponse;
+import com.tuempresa.proyecto.application.dto.response.PriceSeriesResponse;
+import com.tuempresa.proyecto.application.usecase.product.GetPriceHistoryStatusUseCase;
+import com.tuempresa.proyecto.application.usecase.product.GetProductPriceAtUseCase;
+import com.tuempresa.proyecto.application.usecase.product.GetProductPriceSeriesUseCase;
+import com.tuempresa.proyecto.presentation.mapper.UseCaseResultMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/products")
+@Tag(name = "Productos - Historial de precios", description = "Precio de un producto en un instante y su evolución en el tiempo")
+public class ProductPriceHistoryController {
+
+    private final GetProductPriceAtUseCase getProductPriceAtUseCase;
+    private final GetProductPriceSeriesUseCase getProductPriceSeriesUseCase;
+    private final GetPriceHistoryStatusUseCase getPriceHistoryStatusUseCase;
+
+    public ProductPriceHistoryController(GetProductPriceAtUseCase getProductPriceAtUseCase,
+                                         GetProductPriceSeriesUseCase getProductPriceSeriesUseCase,
+                                         GetPriceHistoryStatusUseCase getPriceHistoryStatusUseCase) {
+        this.getProductPriceAtUseCase = getProductPriceAtUseCase;
+        this.getProductPriceSeriesUseCase = getProductPriceSeriesUseCase;
+        this.getPriceHistoryStatusUseCase = getPriceHistoryStatusUseCase;
+    }
+
+    @Operation(
+        summary = "Precio de un producto en un instante",
+        description = "Retorna el precio que tenía el producto en el instante indicado y desde cuándo regía"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Precio encontrado",
+            content = @Content(schema = @Schema(implementation = PricePointResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "No hay precio registrado para el producto en ese instante",
+            content = @Content
+        )
+    })
+    @GetMapping("/{id}/prices/at")
+    public ResponseEntity<PricePointResponse> getPriceAt(
+            @Parameter(description = "ID único del producto", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID id,
+            @Parameter(description = "Instante (ISO-8601). Por defecto, ahora", example = "2024-01-15T10:30:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant time) {
+        Instant at = time != null ? time : Instant.now();
+        return UseCaseResultMapper.toResponse(getProductPriceAtUseCase.execute(id, at), ResponseEntity::ok);
+    }
+
+    @Operation(
+        summary = "Evolución del precio de un producto",
+        description = "Retorna el precio vigente al inicio del rango y cada cambio hasta el final, en orden. "
+            + "Usar nextFrom como 'from' para la página siguiente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Serie obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = PriceSeriesResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Rango o límite inválidos",
+            content = @Content
+        )
+    })
+    @GetMapping("/{id}/prices")
+    public ResponseEntity<PriceSeriesResponse> getPriceSeries(
+            @Parameter(description = "ID único del producto", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable UUID id,
+            @Parameter(description = "Inicio del rango (ISO-8601)", required = true, example = "2024-01-01T00:00:00Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Fin del rango (ISO-8601, inclusive). Por defecto, ahora", example = "2024-02-01T00:00:00Z")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Máximo de puntos (2-5000)", example = "1000")
+            @RequestParam(defaultValue = "1000") int limit) {
+        Instant upper = to != null ? to : Instant.now();
+        return ResponseEntity.ok(getProductPriceSeriesUseCase.execute(id, from, upper, limit));
+    }
+
+    @Operation(
+        summary = "Estado del historial de precios",
+        description = "Bloques, cambios y bytes guardados, y métricas del registro asíncrono"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estado obtenido exitosamente",
+            content = @Content(schema = @Schema(implementation = PriceHistoryStatusResponse.class))
+        )
+    })
+    @GetMapping("/price-history")
+    public ResponseEntity<PriceHistoryStatusResponse> getStatus() {
+        return ResponseEntity.ok(getPriceHistoryStatusUseCase.execute());
+    }
+}
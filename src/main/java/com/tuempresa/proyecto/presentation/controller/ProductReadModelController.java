@@ -0,0 +1,66 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import com.tuempresa.proyecto.application.dto.response.ReadModelStatusResponse;
+import com.tuempresa.proyecto.application.usecase.product.GetReadModelStatusUseCase;
+import com.tuempresa.proyecto.application.usecase.product.RebuildReadModelUseCase;
+import com.tuempresa.proyecto.presentation.mapper.UseCaseResultMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products/read-model")
+@Tag(name = "Productos - Modelo de lectura", description = "Estado y reconstrucción del modelo de lectura del catálogo")
+public class ProductReadModelController {
+
+    private final GetReadModelStatusUseCase getReadModelStatusUseCase;
+    private final RebuildReadModelUseCase rebuildReadModelUseCase;
+
+    public ProductReadModelController(GetReadModelStatusUseCase getReadModelStatusUseCase,
+                                      RebuildReadModelUseCase rebuildReadModelUseCase) {
+        this.getReadModelStatusUseCase = getReadModelStatusUseCase;
+        this.rebuildReadModelUseCase = rebuildReadModelUseCase;
+    }
+
+    @Operation(
+        summary = "Estado del modelo de lectura",
+        description = "Tamaño, antigüedad de los datos (staleness) y métricas de sincronización"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estado obtenido exitosamente",
+            content = @Content(schema = @Schema(implementation = ReadModelStatusResponse.class))
+        )
+    })
+    @GetMapping
+    public ResponseEntity<ReadModelStatusResponse> getStatus() {
+        return ResponseEntity.ok(getReadModelStatusUseCase.execute());
+    }
+
+    @Operation(
+        summary = "Reconstruir el modelo de lectura",
+        description = "Recarga el modelo completo desde la base de datos; las lecturas usan el anterior hasta que termina"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Modelo reconstruido exitosamente",
+            content = @Content(schema = @Schema(implementation = ReadModelStatusResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Modelo deshabilitado o reconstrucción ya en curso",
+            content = @Content
+        )
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<ReadModelStatusResponse> rebuild() {
+        return UseCaseResultMapper.toResponse(rebuildReadModelUseCase.execute(), ResponseEntity::ok);
+    }
+}
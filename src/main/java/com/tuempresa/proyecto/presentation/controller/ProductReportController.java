@@ -0,0 +1,103 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import com.tuempresa.proyecto.application.dto.response.HotProductsResponse;
+import com.tuempresa.proyecto.application.dto.response.InventoryValuationResponse;
+import com.tuempresa.proyecto.application.dto.response.LowStockResponse;
+import com.tuempresa.proyecto.application.usecase.product.GetHotProductsUseCase;
+import com.tuempresa.proyecto.application.usecase.product.GetInventoryValuationUseCase;
+import com.tuempresa.proyecto.application.usecase.product.GetLowStockProductsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/reports")
+@Tag(name = "Productos - Reportes", description = "Reportes agregados sobre el catálogo")
+public class ProductReportController {
+
+    private final GetInventoryValuationUseCase getInventoryValuationUseCase;
+    private final GetLowStockProductsUseCase getLowStockProductsUseCase;
+    private final GetHotProductsUseCase getHotProductsUseCase;
+
+    public ProductReportController(GetInventoryValuationUseCase getInventoryValuationUseCase,
+                                   GetLowStockProductsUseCase getLowStockProductsUseCase,
+                                   GetHotProductsUseCase getHotProductsUseCase) {
+        this.getInventoryValuationUseCase = getInventoryValuationUseCase;
+        this.getLowStockProductsUseCase = getLowStockProductsUseCase;
+        this.getHotProductsUseCase = getHotProductsUseCase;
+    }
+
+    @Operation(
+        summary = "Valoración del inventario",
+        description = "Suma de precio × stock agrupada por categoría y moneda"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reporte generado exitosamente",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = InventoryValuationResponse.class)))
+        )
+    })
+    @GetMapping("/valuation")
+    public ResponseEntity<List<InventoryValuationResponse>> getValuation(
+            @Parameter(description = "Incluir solo productos activos", example = "true")
+            @RequestParam(defaultValue = "true") boolean activeOnly) {
+        return ResponseEntity.ok(getInventoryValuationUseCase.execute(activeOnly));
+    }
+
+    @Operation(
+        summary = "Productos con menos stock",
+        description = "Los N productos activos con menos stock, ordenados por stock e id, para el tablero de reposición"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reporte generado exitosamente",
+            content = @Content(schema = @Schema(implementation = LowStockResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Límite inválido",
+            content = @Content
+        )
+    })
+    @GetMapping("/low-stock")
+    public ResponseEntity<LowStockResponse> getLowStock(
+            @Parameter(description = "Número de productos (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(getLowStockProductsUseCase.execute(limit));
+    }
+
+    @Operation(
+        summary = "Productos más consultados",
+        description = "Los N productos con más lecturas recientes (por id y en búsquedas paginadas), "
+            + "con una puntuación que decae a la mitad cada semivida. Se actualiza cada pocos segundos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reporte generado exitosamente",
+            content = @Content(schema = @Schema(implementation = HotProductsResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Límite inválido",
+            content = @Content
+        )
+    })
+    @GetMapping("/hot")
+    public ResponseEntity<HotProductsResponse> getHot(
+            @Parameter(description = "Número de productos (1-top-k, por defecto 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(getHotProductsUseCase.execute(limit));
+    }
+}
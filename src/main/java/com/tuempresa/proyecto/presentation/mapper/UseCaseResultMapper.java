@@ -0,0 +1,47 @@
+package com.tuempresa.proyecto.presentation.mapper;
+
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.presentation.exception.GlobalExceptionHandler.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Traduce un {@link UseCaseResult} a la respuesta HTTP correspondiente.
+ *
+ * La respuesta conserva el tipo del caso de éxito, de modo que el esquema
+ * del 200 aparece en OpenAPI; los 404 y 409 llevan un ErrorResponse como
+ * cuerpo, igual que los errores de GlobalExceptionHandler.
+ */
+public final class UseCaseResultMapper {
+
+    private UseCaseResultMapper() {}
+
+    public static <T, R> ResponseEntity<R> toResponse(UseCaseResult<T> result,
+                                                      Function<T, ResponseEntity<R>> onSuccess) {
+        switch (result.getStatus()) {
+            case OK:
+                return onSuccess.apply(result.getValue());
+            case NOT_FOUND:
+                return error(HttpStatus.NOT_FOUND, result.getMessage());
+            case CONFLICT:
+                return error(HttpStatus.CONFLICT, result.getMessage());
+            default:
+                throw new IllegalStateException("Unknown result status: " + result.getStatus());
+        }
+    }
+
+    // El cuerpo de error no es R; solo se serializa, nadie lo lee con ese tipo
+    @SuppressWarnings("unchecked")
+    private static <R> ResponseEntity<R> error(HttpStatus status, String message) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            message,
+            null,
+            status.value(),
+            LocalDateTime.now()
+        );
+        return (ResponseEntity<R>) (ResponseEntity<?>) ResponseEntity.status(status).body(errorResponse);
+    }
+}
@@ -0,0 +1,20 @@
+-- Tabla de archivo para productos inactivos (hot/cold tiering)
+-- El proceso de archivado mueve aquí los productos inactivos fuera del
+-- periodo de retención, manteniendo pequeños la tabla products y sus índices.
+
+CREATE TABLE IF NOT EXISTS products_archive (
+    id UUID PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price DECIMAL(10, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    stock INTEGER NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    active BOOLEAN NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Candidatos a archivar: solo se indexan las filas inactivas
+CREATE INDEX IF NOT EXISTS idx_products_inactive_updated_at ON products(updated_at) WHERE active = FALSE;
@@ -0,0 +1,12 @@
+-- Soporte para el feed de cambios incremental
+-- Los clientes recorren los cambios por (updated_at, id), así que el coste de
+-- cada consulta depende del número de cambios y no del tamaño del catálogo.
+
+CREATE INDEX IF NOT EXISTS idx_products_updated_at_id ON products(updated_at, id);
+
+CREATE TABLE IF NOT EXISTS product_tombstones (
+    id UUID PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at_id ON product_tombstones(deleted_at, id);
@@ -0,0 +1,5 @@
+-- Índice parcial para el tablero de reposición
+-- Sirve "los N productos activos con menos stock" leyendo N entradas del
+-- índice, mientras el índice en memoria (LowStockIndex) se está cargando.
+
+CREATE INDEX IF NOT EXISTS idx_products_active_stock_id ON products(stock, id) WHERE active = TRUE;
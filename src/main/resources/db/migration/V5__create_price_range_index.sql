@@ -0,0 +1,8 @@
+-- Filtro por banda de precio con orden y paginación por (price, id)
+-- El precio se guarda en la moneda de cada producto, así que las bandas solo
+-- tienen sentido dentro de una moneda: currency va antes de price en el índice
+-- para que la búsqueda sea un único range scan. Con id al final, cada página
+-- continúa desde el último (price, id) sin recorrer las anteriores.
+
+CREATE INDEX IF NOT EXISTS idx_products_category_active_currency_price_id
+    ON products(category, active, currency, price, id);
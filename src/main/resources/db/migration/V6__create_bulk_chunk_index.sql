@@ -0,0 +1,7 @@
+-- Operaciones masivas por categoría (ajuste de precios, activación)
+-- Cada tramo busca los siguientes N ids de (category, active) en orden de
+-- clave primaria. Sin id en el índice cada tramo ordena la categoría completa;
+-- con él es un range scan que continúa desde el último id.
+
+CREATE INDEX IF NOT EXISTS idx_products_category_active_id
+    ON products(category, active, id);
@@ -0,0 +1,19 @@
+-- Historial de precios por producto, solo de añadido
+-- Cada fila es un bloque de hasta 64 cambios codificados como diferencias
+-- (varints de milisegundos y céntimos, ver PriceHistoryBlock); solo el
+-- último bloque de cada producto se reescribe al añadir. Un cambio ocupa
+-- unos pocos bytes en lugar de una fila completa.
+
+CREATE TABLE IF NOT EXISTS product_price_history (
+    product_id UUID NOT NULL,
+    seq INTEGER NOT NULL,
+    first_at TIMESTAMP NOT NULL,
+    last_at TIMESTAMP NOT NULL,
+    entries INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    PRIMARY KEY (product_id, seq)
+);
+
+-- Precio en un instante: el bloque con mayor first_at <= instante
+CREATE INDEX IF NOT EXISTS idx_product_price_history_product_first_at
+    ON product_price_history(product_id, first_at);
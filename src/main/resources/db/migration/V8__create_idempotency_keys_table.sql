@@ -0,0 +1,15 @@
+-- Claves de idempotencia de POST /api/products (cabecera Idempotency-Key)
+-- Una fila por clave: con response a NULL mientras la petición original se
+-- procesa y con la respuesta serializada después. La clave primaria hace que
+-- solo una instancia pueda reservar cada clave.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    response VARCHAR(8192),
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Limpieza periódica de claves caducadas
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at
+    ON idempotency_keys(expires_at);
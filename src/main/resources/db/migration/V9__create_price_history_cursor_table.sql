@@ -0,0 +1,10 @@
+-- Posición del feed de cambios ya llevada al historial de precios
+-- Una sola fila (id = 1): PriceHistoryRecorder recorre el feed desde aquí
+-- para recuperar los puntos que la cola en memoria perdió (cola llena,
+-- lote fallido, caída de la instancia).
+
+CREATE TABLE IF NOT EXISTS price_history_cursor (
+    id INTEGER PRIMARY KEY,
+    changed_at TIMESTAMP NOT NULL,
+    product_id UUID NOT NULL
+);
@@ -0,0 +1,51 @@
+-- Esquema de cada shard del catálogo (catalog.sharding.enabled=true)
+-- Mismas tablas que V1-V6, con SQL válido en PostgreSQL y H2: los índices
+-- parciales de PostgreSQL se sustituyen por índices completos.
+
+CREATE TABLE IF NOT EXISTS products (
+    id UUID PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price DECIMAL(10, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    stock INTEGER NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_products_updated_at_id ON products(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_stock_id ON products(stock, id);
+CREATE INDEX IF NOT EXISTS idx_products_inactive_updated_at ON products(active, updated_at);
+CREATE INDEX IF NOT EXISTS idx_products_category_active_id ON products(category, active, id);
+CREATE INDEX IF NOT EXISTS idx_products_category_active_currency_price_id
+    ON products(category, active, currency, price, id);
+
+CREATE TABLE IF NOT EXISTS products_archive (
+    id UUID PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    price DECIMAL(10, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    stock INTEGER NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    active BOOLEAN NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS product_tombstones (
+    id UUID PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_tombstones_deleted_at_id ON product_tombstones(deleted_at, id);
+
+-- Mapa de buckets a shards; solo se usa la copia del shard 0
+CREATE TABLE IF NOT EXISTS product_shard_map (
+    bucket INTEGER PRIMARY KEY,
+    shard INTEGER NOT NULL,
+    dual_write_shard INTEGER
+);
@@ -0,0 +1,105 @@
+package com.tuempresa.proyecto.application.readmodel;
+
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Un producto caliente que el modelo de lectura no ha recibido (evento
+ * descartado, feed aún sin sincronizar) entra con el refresco de calientes,
+ * y syncedThrough no pasa de una escritura masiva sin confirmar.
+ */
+@SpringBootTest(properties = {
+    "catalog.read-model.sync-interval=PT1H",
+    "catalog.popularity.refresh-interval=PT1H",
+    "catalog.changes.settle-lag=PT0S",
+    "catalog.price-history.enabled=false"
+})
+class ProductReadModelProjectorTest {
+
+    @Autowired
+    private ProductReadModelProjector projector;
+
+    @Autowired
+    private ProductReadModel readModel;
+
+    @Autowired
+    private ProductPopularityTracker popularityTracker;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void hotProductMissingFromTheReadModel_isRefreshed() throws InterruptedException {
+        awaitReady();
+
+        // Escrito sin pasar por un caso de uso: no se publica ProductChange
+        Product product = Product.create("Hot product", "Popular", Money.of(new BigDecimal("9.90"), "EUR"), 5, "Hot");
+        productRepository.save(product);
+        assertFalse(readModel.findById(product.getId()).isPresent());
+
+        for (int i = 0; i < 50; i++) {
+            popularityTracker.record(product.getId());
+        }
+        popularityTracker.refresh();
+        projector.refreshHot();
+
+        assertTrue(readModel.findById(product.getId()).isPresent());
+    }
+
+    @Test
+    void syncedThrough_stopsBeforeAnUncommittedBulkWrite() throws InterruptedException {
+        awaitReady();
+        Product product = Product.create("Bulk target", "Pending", Money.of(new BigDecimal("1.00"), "EUR"), 5, "Bulk");
+        productRepository.save(product);
+
+        LocalDateTime[] writtenBy = new LocalDateTime[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            // Escritura masiva: su updated_at queda pendiente hasta el commit
+            productRepository.applyStockDeltas(Map.of(product.getId(), 1));
+            writtenBy[0] = LocalDateTime.now();
+            sleep(50);
+            projector.sync();
+            assertTrue(projector.getSyncedThrough().isBefore(writtenBy[0]),
+                projector.getSyncedThrough() + " >= " + writtenBy[0]);
+        });
+
+        sleep(50);
+        projector.sync();
+        assertTrue(projector.getSyncedThrough().isAfter(writtenBy[0]));
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!readModel.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(readModel.isReady());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
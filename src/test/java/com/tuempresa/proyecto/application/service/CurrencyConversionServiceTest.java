@@ -0,0 +1,39 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.application.dto.response.ProductResponse;
+import com.tuempresa.proyecto.domain.valueobject.ExchangeRates;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CurrencyConversionServiceTest {
+
+    private final CurrencyConversionService service = new CurrencyConversionService(() -> new ExchangeRates(
+        Currency.getInstance("USD"), Map.of(Currency.getInstance("EUR"), new BigDecimal("0.50")), Instant.now()));
+
+    @Test
+    void productInACurrencyWithoutRate_isReturnedUnconverted() {
+        ProductResponse usd = response("10.00", "USD");
+        ProductResponse cad = response("7.00", "CAD");
+
+        service.convert(List.of(usd, cad), "eur");
+
+        assertEquals(0, new BigDecimal("5.00").compareTo(usd.getPrice()));
+        assertEquals("EUR", usd.getCurrency());
+        assertEquals(0, new BigDecimal("7.00").compareTo(cad.getPrice()));
+        assertEquals("CAD", cad.getCurrency());
+    }
+
+    private static ProductResponse response(String price, String currency) {
+        ProductResponse response = new ProductResponse();
+        response.setPrice(new BigDecimal(price));
+        response.setCurrency(currency);
+        return response;
+    }
+}
@@ -0,0 +1,102 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tuempresa.proyecto.domain.model.IdempotencyRecord;
+import com.tuempresa.proyecto.domain.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * La reserva de la tabla no caduca mientras la petición original sigue en
+ * curso, aunque tarde más que la propia reserva.
+ */
+class IdempotencyServiceTest {
+
+    @Test
+    void leaseIsRenewedWhileTheActionRuns() {
+        InMemoryKeys keys = new InMemoryKeys();
+        IdempotencyService service = new IdempotencyService(keys, new ObjectMapper(), Duration.ofHours(1),
+            Duration.ofSeconds(30), 100, true, Duration.ofMillis(300));
+        try {
+            String response = service.execute("slow-create", "body", String.class, () -> {
+                sleep(1_000);
+                // Tres veces la reserva después, sigue siendo de esta petición
+                assertFalse(keys.claim("slow-create", "other", LocalDateTime.now().plusSeconds(1)));
+                return "created";
+            });
+
+            assertEquals("created", response);
+            assertTrue(keys.renewals >= 2, "renewals: " + keys.renewals);
+            assertEquals("\"created\"", keys.find("slow-create").orElseThrow().getResponse());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Misma semántica que la tabla: una reserva caducada la puede tomar otra petición
+    private static final class InMemoryKeys implements IdempotencyKeyRepository {
+
+        private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+        private volatile int renewals;
+
+        @Override
+        public synchronized boolean claim(String key, String fingerprint, LocalDateTime leaseUntil) {
+            IdempotencyRecord current = records.get(key);
+            if (current != null && !current.getExpiresAt().isBefore(LocalDateTime.now())) {
+                return false;
+            }
+            records.put(key, new IdempotencyRecord(key, fingerprint, null, leaseUntil));
+            return true;
+        }
+
+        @Override
+        public Optional<IdempotencyRecord> find(String key) {
+            return Optional.ofNullable(records.get(key));
+        }
+
+        @Override
+        public synchronized boolean renew(String key, LocalDateTime leaseUntil) {
+            IdempotencyRecord current = records.get(key);
+            if (current == null || current.isCompleted()) {
+                return false;
+            }
+            records.put(key, new IdempotencyRecord(key, current.getFingerprint(), null, leaseUntil));
+            renewals++;
+            return true;
+        }
+
+        @Override
+        public synchronized void complete(String key, String response, LocalDateTime expiresAt) {
+            IdempotencyRecord current = records.get(key);
+            records.put(key, new IdempotencyRecord(key, current.getFingerprint(), response, expiresAt));
+        }
+
+        @Override
+        public void release(String key) {
+            records.remove(key);
+        }
+
+        @Override
+        public int deleteExpired(LocalDateTime now) {
+            return 0;
+        }
+    }
+}
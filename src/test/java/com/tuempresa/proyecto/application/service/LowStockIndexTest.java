@@ -0,0 +1,82 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LowStockIndexTest {
+
+    private final LowStockIndex index = new LowStockIndex(null, event -> { }, 5);
+
+    @Test
+    void lateCommitOfAnOlderWriteDoesNotOverwriteTheIndex() {
+        UUID low = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime first = LocalDateTime.now();
+        LocalDateTime second = first.plusNanos(1_000);
+
+        index.record(other, 5, true, first);
+        index.record(low, 3, true, second);
+        // El commit de la escritura anterior llega el último
+        index.record(low, 8, true, first);
+
+        assertEquals(List.of(low, other), index.lowest(2));
+    }
+
+    @Test
+    void newerWriteReplacesTheStock() {
+        UUID id = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime first = LocalDateTime.now();
+
+        index.record(other, 5, true, first);
+        index.record(id, 3, true, first);
+        index.record(id, 8, true, first.plusNanos(1_000));
+
+        assertEquals(List.of(other, id), index.lowest(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildRequestedDuringALoad_loadsAgainAfterIt() throws InterruptedException {
+        UUID activated = UUID.randomUUID();
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch activationCommitted = new CountDownLatch(1);
+        AtomicInteger scans = new AtomicInteger();
+        ProductRepository repository = (ProductRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {ProductRepository.class}, (proxy, method, args) -> {
+                BiConsumer<UUID, Integer> consumer = (BiConsumer<UUID, Integer>) args[0];
+                if (scans.incrementAndGet() == 1) {
+                    // El primer recorrido ya ha pasado por el producto cuando se activa
+                    scanning.countDown();
+                    activationCommitted.await();
+                } else {
+                    consumer.accept(activated, 2);
+                }
+                return null;
+            });
+        LowStockIndex rebuilding = new LowStockIndex(repository, event -> { }, 5);
+
+        rebuilding.rebuildAsync();
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+        rebuilding.rebuildAsync();
+        activationCommitted.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!rebuilding.lowest(1).equals(List.of(activated)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(activated), rebuilding.lowest(1));
+    }
+}
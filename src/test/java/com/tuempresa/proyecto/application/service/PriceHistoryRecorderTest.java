@@ -0,0 +1,59 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Un cambio de precio que no pasó por la cola (descartado, lote fallido,
+ * caída) llega al historial desde el feed de cambios.
+ */
+@SpringBootTest(properties = {
+    "catalog.read-model.enabled=false",
+    "catalog.price-history.catch-up-interval=PT1H",
+    "catalog.changes.settle-lag=PT0S"
+})
+class PriceHistoryRecorderTest {
+
+    @Autowired
+    private PriceHistoryRecorder recorder;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void priceMissedByTheQueue_isRecoveredFromTheChangeFeed() {
+        // Escrito sin publicar el ProductChange: la cola nunca lo ve
+        Product product = Product.create("Missed by the queue", "Catch-up", Money.of(new BigDecimal("12.50"), "EUR"), 1, "History");
+        productRepository.save(product);
+        assertFalse(priceHistoryRepository.findPriceAt(product.getId(), LocalDateTime.now()).isPresent());
+
+        recorder.catchUp();
+
+        Optional<PricePoint> recorded = priceHistoryRepository.findPriceAt(product.getId(), LocalDateTime.now());
+        assertTrue(recorded.isPresent());
+        assertEquals(0, new BigDecimal("12.50").compareTo(recorded.get().getPrice().getAmount()));
+        assertTrue(priceHistoryRepository.findFeedCursor().isPresent());
+
+        // Un segundo recorrido no repite el punto
+        long recovered = recorder.getPointsRecovered();
+        recorder.catchUp();
+        assertEquals(recovered, recorder.getPointsRecovered());
+    }
+}
@@ -0,0 +1,126 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import com.tuempresa.proyecto.infrastructure.batch.CsvProductImportJob;
+import com.tuempresa.proyecto.infrastructure.persistence.entity.CatalogImportCheckpointEntity;
+import com.tuempresa.proyecto.infrastructure.persistence.repository.JpaCatalogImportCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Los ids importados con un instante anterior a la carga del filtro no se
+ * dan por inexistentes, tampoco los que importa otra instancia.
+ */
+@SpringBootTest(properties = {
+    "catalog.read-model.enabled=false",
+    "catalog.price-history.enabled=false",
+    "catalog.id-filter.import-check-interval=PT0.2S"
+})
+class ProductIdFilterTest {
+
+    @Autowired
+    private ProductIdFilter productIdFilter;
+
+    @Autowired
+    private CsvProductImportJob importJob;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JpaCatalogImportCheckpointRepository checkpointRepository;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void importedIdFromThePast_isFoundAfterTheImport() throws Exception {
+        UUID unknown = pastV7Id();
+        awaitTrue(() -> !productIdFilter.mightExist(unknown));
+
+        UUID imported = pastV7Id();
+        Path file = dir.resolve("catalog.csv");
+        Files.writeString(file, "id,name,description,price,currency,stock,category\n"
+            + imported + ",Imported product,From file,4.00,EUR,3,Import\n");
+        importJob.run(file);
+
+        assertTrue(productRepository.findById(imported).isPresent());
+        assertTrue(productIdFilter.mightExist(imported));
+        // Reconstruido tras la importación: vuelve a descartar ids inexistentes y conoce el importado
+        awaitTrue(() -> !productIdFilter.mightExist(unknown));
+        assertTrue(productIdFilter.mightExist(imported));
+    }
+
+    @Test
+    void noIdIsDiscardedDuringABulkWrite() throws Exception {
+        UUID unknown = pastV7Id();
+        awaitTrue(() -> !productIdFilter.mightExist(unknown));
+
+        productIdFilter.beginBulkWrite();
+        try {
+            assertTrue(productIdFilter.mightExist(unknown));
+        } finally {
+            productIdFilter.endBulkWrite();
+        }
+        awaitTrue(() -> !productIdFilter.mightExist(unknown));
+    }
+
+    @Test
+    void importOnAnotherInstance_suspendsTheFilterBeforeItsFirstRow() throws Exception {
+        UUID unknown = pastV7Id();
+        awaitTrue(() -> !productIdFilter.mightExist(unknown));
+
+        // Otra instancia anuncia su importación y, pasada la espera, escribe filas sin tocar este filtro
+        CatalogImportCheckpointEntity checkpoint = new CatalogImportCheckpointEntity();
+        checkpoint.setFileKey("/other-instance/catalog.csv");
+        checkpoint.setRunning(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        awaitTrue(() -> productIdFilter.mightExist(unknown));
+
+        UUID imported = pastV7Id();
+        productRepository.upsertAll(List.of(Product.reconstruct(imported, "Imported elsewhere", "From file",
+            Money.of(new BigDecimal("4.00"), "EUR"), 3, "Import", LocalDateTime.now(), LocalDateTime.now(), true)));
+        assertTrue(productIdFilter.mightExist(imported));
+
+        checkpoint.setRunning(false);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        awaitTrue(() -> !productIdFilter.mightExist(unknown));
+        assertTrue(productIdFilter.mightExist(imported));
+    }
+
+    private static UUID pastV7Id() {
+        UUID min = UuidGenerator.minForTimestamp(Instant.now().minus(1, ChronoUnit.DAYS));
+        // Bits aleatorios sin tocar la variante
+        long random = ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL;
+        return new UUID(min.getMostSignificantBits(), min.getLeastSignificantBits() | random);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not met within 10 s");
+    }
+}
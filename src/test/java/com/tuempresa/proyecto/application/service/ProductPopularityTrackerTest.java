@@ -0,0 +1,75 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.application.service.ProductPopularityTracker.HotProduct;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * El top-K del sketch coincide con el recuento exacto en una secuencia Zipf
+ * (s = 1), y las estimaciones nunca se quedan cortas.
+ */
+class ProductPopularityTrackerTest {
+
+    private static final int TOP_K = 100;
+    private static final int PRODUCTS = 200_000;
+    private static final int READS = 2_000_000;
+
+    @Test
+    void topK_matchesTheExactCount() {
+        ProductPopularityTracker tracker = new ProductPopularityTracker(true, TOP_K, 16384, Duration.ofMinutes(1));
+        Map<UUID, Integer> exact = new HashMap<>();
+        for (UUID id : zipfReads()) {
+            tracker.record(id);
+            exact.merge(id, 1, Integer::sum);
+        }
+        tracker.refresh();
+
+        List<Map.Entry<UUID, Integer>> sorted = new ArrayList<>(exact.entrySet());
+        sorted.sort(Map.Entry.<UUID, Integer>comparingByValue().reversed());
+        Set<UUID> expected = new HashSet<>();
+        sorted.subList(0, TOP_K).forEach(entry -> expected.add(entry.getKey()));
+
+        List<HotProduct> hot = tracker.getHotProducts();
+        assertEquals(TOP_K, hot.size());
+        long found = hot.stream().filter(product -> expected.contains(product.getProductId())).count();
+        assertTrue(found >= TOP_K * 9 / 10, "top-" + TOP_K + " recall " + found);
+        for (HotProduct product : hot) {
+            int overestimate = tracker.estimate(product.getProductId()) - exact.get(product.getProductId());
+            assertTrue(overestimate >= 0 && overestimate < READS / 1000, "overestimate " + overestimate);
+        }
+    }
+
+    private static UUID[] zipfReads() {
+        SplittableRandom random = new SplittableRandom(7);
+        UUID[] ids = new UUID[PRODUCTS];
+        double[] cumulative = new double[PRODUCTS];
+        double sum = 0;
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            cumulative[i] /= sum;
+        }
+        UUID[] reads = new UUID[READS];
+        for (int i = 0; i < READS; i++) {
+            int position = Arrays.binarySearch(cumulative, random.nextDouble());
+            reads[i] = ids[Math.min(PRODUCTS - 1, position >= 0 ? position : -position - 1)];
+        }
+        return reads;
+    }
+}
@@ -0,0 +1,126 @@
+package com.tuempresa.proyecto.application.service;
+
+import com.tuempresa.proyecto.application.dto.request.StockAdjustmentRequest;
+import com.tuempresa.proyecto.application.usecase.product.AdjustStockUseCase;
+import com.tuempresa.proyecto.domain.event.StockDeltaRejectedEvent;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import com.tuempresa.proyecto.infrastructure.diagnostics.SqlStatementStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Los deltas del buffer write-behind no se pierden ni se descartan en
+ * silencio, y los ajustes no leen la base de datos cada vez.
+ */
+@SpringBootTest(properties = {
+    "catalog.stock.write-behind.enabled=true",
+    "catalog.stock.write-behind.interval=PT1H",
+    "catalog.diagnostics.sql.enabled=true",
+    "catalog.read-model.enabled=false"
+})
+@RecordApplicationEvents
+class StockWriteBehindBufferTest {
+
+    @Autowired
+    private StockWriteBehindBuffer stockBuffer;
+
+    @Autowired
+    private AdjustStockUseCase adjustStockUseCase;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.clear();
+    }
+
+    @Test
+    void deltaStaysPendingWhenTheFlushRollsBack() {
+        UUID id = saveProduct(10);
+        stockBuffer.add(id, 10, -3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockBuffer.flush(id);
+            // Mientras se escribe sigue contando en las lecturas
+            assertEquals(-3, stockBuffer.pendingDelta(id));
+            status.setRollbackOnly();
+        });
+        assertEquals(-3, stockBuffer.pendingDelta(id));
+        assertEquals(10, stock(id));
+
+        stockBuffer.flush();
+        assertEquals(0, stockBuffer.pendingDelta(id));
+        assertEquals(7, stock(id));
+    }
+
+    @Test
+    void rejectedDeltaIsReported() {
+        UUID id = saveProduct(2);
+        long rejectedBefore = stockBuffer.getRejected();
+        // Stock persistido desactualizado: el UPDATE condicionado lo rechaza
+        stockBuffer.add(id, 10, -5);
+
+        stockBuffer.flush();
+
+        assertEquals(rejectedBefore + 1, stockBuffer.getRejected());
+        assertEquals(0, stockBuffer.pendingDelta(id));
+        assertEquals(2, stock(id));
+        List<StockDeltaRejectedEvent> rejected = events.stream(StockDeltaRejectedEvent.class)
+            .filter(event -> event.getProductId().equals(id))
+            .toList();
+        assertEquals(1, rejected.size());
+        assertEquals(-5, rejected.get(0).getDelta());
+    }
+
+    @Test
+    void adjustmentsReuseThePersistedStockUntilTheNextFlush() {
+        UUID id = saveProduct(20);
+        adjustStockUseCase.execute(id, adjustment(-1));
+
+        SqlStatementStats stats = SqlStatementStats.reset();
+        assertTrue(adjustStockUseCase.execute(id, adjustment(-1)).isOk());
+        assertEquals(0, stats.getStatements());
+        assertEquals(-2, stockBuffer.pendingDelta(id));
+
+        stockBuffer.flush();
+        assertEquals(18, stock(id));
+    }
+
+    private UUID saveProduct(int stock) {
+        Product product = Product.create("Buffered product", "Write-behind", Money.of(new BigDecimal("3.50"), "USD"),
+            stock, "Buffer");
+        productRepository.save(product);
+        return product.getId();
+    }
+
+    private int stock(UUID id) {
+        return productRepository.findById(id).orElseThrow().getStock();
+    }
+
+    private static StockAdjustmentRequest adjustment(int delta) {
+        StockAdjustmentRequest request = new StockAdjustmentRequest();
+        request.setDelta(delta);
+        return request;
+    }
+}
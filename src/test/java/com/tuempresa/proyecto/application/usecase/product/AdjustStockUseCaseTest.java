@@ -0,0 +1,101 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.request.StockAdjustmentRequest;
+import com.tuempresa.proyecto.application.result.UseCaseResult;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Los ajustes de stock concurrentes (sin write-behind) no pierden
+ * actualizaciones ni dejan el stock negativo.
+ */
+@SpringBootTest(properties = {
+    "catalog.stock.write-behind.enabled=false",
+    "catalog.read-model.enabled=false",
+    "catalog.price-history.enabled=false"
+})
+class AdjustStockUseCaseTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AdjustStockUseCase adjustStockUseCase;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void concurrentAdjustments_areAllApplied() throws Exception {
+        UUID id = saveProduct(100);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int delta = i % 2 == 0 ? 5 : -3;
+            tasks.add(() -> adjustStockUseCase.execute(id, adjustment(delta)).isOk());
+        }
+
+        assertEquals(200, run(tasks));
+        assertEquals(100 + 100 * 5 - 100 * 3, stock(id));
+    }
+
+    @Test
+    void concurrentWithdrawals_neverGoBelowZero() throws Exception {
+        UUID id = saveProduct(10);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tasks.add(() -> {
+                UseCaseResult<?> result = adjustStockUseCase.execute(id, adjustment(-1));
+                return result.isOk();
+            });
+        }
+
+        assertEquals(10, run(tasks));
+        assertEquals(0, stock(id));
+    }
+
+    private static long run(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long ok = 0;
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                if (future.get()) {
+                    ok++;
+                }
+            }
+            return ok;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private UUID saveProduct(int stock) {
+        Product product = Product.create("Concurrent stock", "Adjustments", Money.of(new BigDecimal("1.00"), "EUR"),
+            stock, "Stock");
+        productRepository.save(product);
+        return product.getId();
+    }
+
+    private int stock(UUID id) {
+        return productRepository.findById(id).orElseThrow().getStock();
+    }
+
+    private static StockAdjustmentRequest adjustment(int delta) {
+        StockAdjustmentRequest request = new StockAdjustmentRequest();
+        request.setDelta(delta);
+        return request;
+    }
+}
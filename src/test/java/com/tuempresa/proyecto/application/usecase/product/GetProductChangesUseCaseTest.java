@@ -0,0 +1,66 @@
+package com.tuempresa.proyecto.application.usecase.product;
+
+import com.tuempresa.proyecto.application.dto.response.ProductChangeFeedResponse;
+import com.tuempresa.proyecto.application.mapper.ProductMapperImpl;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Los clientes en long-poll comparten una consulta por pasada del poller
+ * mientras no hay cambios.
+ */
+class GetProductChangesUseCaseTest {
+
+    private static final int CLIENTS = 20;
+
+    @Test
+    void waitingClients_shareOneQueryPerPoll() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        AtomicReference<List<ProductChange>> feed = new AtomicReference<>(List.of());
+        ProductRepository repository = (ProductRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {ProductRepository.class}, (proxy, method, args) -> {
+                if (!method.getName().equals("findChangesSince")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                queries.incrementAndGet();
+                return feed.get();
+            });
+        GetProductChangesUseCase useCase = new GetProductChangesUseCase(repository, new ProductMapperImpl(),
+            Duration.ZERO, Duration.ofSeconds(30), Duration.ofDays(30));
+        try {
+            List<CompletableFuture<ProductChangeFeedResponse>> waiting = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                waiting.add(useCase.execute(null, 10, Duration.ofSeconds(20)));
+            }
+            assertEquals(CLIENTS, queries.get());
+
+            // Unas 4 pasadas: una consulta por pasada, no una por cliente
+            Thread.sleep(1_100);
+            int idleQueries = queries.get() - CLIENTS;
+            assertTrue(idleQueries >= 1 && idleQueries <= 5, "queries while idle: " + idleQueries);
+            assertTrue(waiting.stream().noneMatch(CompletableFuture::isDone));
+
+            feed.set(List.of(ProductChange.delete(UUID.randomUUID(), LocalDateTime.now())));
+            for (CompletableFuture<ProductChangeFeedResponse> response : waiting) {
+                assertEquals(1, response.get(5, TimeUnit.SECONDS).getChanges().size());
+            }
+        } finally {
+            useCase.shutdown();
+        }
+    }
+}
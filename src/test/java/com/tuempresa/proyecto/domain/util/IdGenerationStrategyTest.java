@@ -0,0 +1,60 @@
+package com.tuempresa.proyecto.domain.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Con varios hilos generando a la vez, cada estrategia da ids v7 únicos y
+ * estrictamente crecientes dentro de cada hilo.
+ */
+class IdGenerationStrategyTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    private static final Comparator<UUID> UNSIGNED = Comparator
+        .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @Test
+    void threadLocal_isUniqueAndOrderedPerThread() throws InterruptedException {
+        check(new ThreadLocalUuidV7Strategy());
+    }
+
+    @Test
+    void uuidCreator_isUniqueAndOrderedPerThread() throws InterruptedException {
+        check(new UuidCreatorStrategy());
+    }
+
+    private static void check(IdGenerationStrategy strategy) throws InterruptedException {
+        UUID[][] perThread = new UUID[THREADS][IDS_PER_THREAD];
+        Thread[] workers = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            UUID[] ids = perThread[t];
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = strategy.generate();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        for (UUID[] ids : perThread) {
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(UNSIGNED.compare(ids[i - 1], ids[i]) < 0, ids[i - 1] + " >= " + ids[i]);
+            }
+        }
+        UUID[] all = Arrays.stream(perThread).flatMap(Arrays::stream).toArray(UUID[]::new);
+        assertEquals(all.length, Arrays.stream(all).distinct().count(), "duplicate ids");
+        assertTrue(Arrays.stream(all).allMatch(id -> id.version() == 7 && id.variant() == 2), "ids that are not v7");
+    }
+}
@@ -0,0 +1,57 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Un fichero nuevo entregado en la misma ruta se importa entero, sin reutilizar
+ * el checkpoint del anterior.
+ */
+@SpringBootTest(properties = {
+    "catalog.read-model.enabled=false",
+    "catalog.price-history.enabled=false"
+})
+class CsvProductImportJobTest {
+
+    private static final String HEADER = "name,description,price,currency,stock,category\n";
+
+    @Autowired
+    private CsvProductImportJob importJob;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void replacedFileAtTheSamePath_isImportedFromTheStart() throws Exception {
+        Path file = dir.resolve("catalog.csv");
+        Files.writeString(file, HEADER
+            + "First feed A,Feed,1.00,EUR,1,Import\n"
+            + "First feed B,Feed,2.00,EUR,2,Import\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        assertEquals(2, importJob.run(file).getRowsImported());
+
+        // El mismo fichero ya importado no vuelve a cargarse
+        ImportReport again = importJob.run(file);
+        assertEquals(0, again.getRowsImported());
+
+        Files.writeString(file, HEADER
+            + "Second feed A,Feed,3.00,EUR,3,Import\n"
+            + "Second feed B,Feed,4.00,EUR,4,Import\n"
+            + "Second feed C,Feed,5.00,EUR,5,Import\n");
+        ImportReport replaced = importJob.run(file);
+
+        assertEquals(0, replaced.getResumedFromOffset());
+        assertEquals(3, replaced.getRowsImported());
+        assertEquals(Files.size(file), replaced.getFinalOffset());
+    }
+}
@@ -0,0 +1,65 @@
+package com.tuempresa.proyecto.infrastructure.batch;
+
+import com.tuempresa.proyecto.application.readmodel.ProductReadModel;
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.model.ProductChange;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Los productos archivados salen del modelo de lectura en cuanto se mueven y
+ * el feed de cambios los publica como borrados.
+ */
+@SpringBootTest(properties = {
+    "catalog.archive.enabled=true",
+    "catalog.archive.retention=PT0S",
+    "catalog.read-model.sync-interval=PT1H"
+})
+class ProductArchiveJobTest {
+
+    @Autowired
+    private ProductArchiveJob archiveJob;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductReadModel readModel;
+
+    @Test
+    void archivedProductsLeaveTheReadModelAndTheFeed() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!readModel.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(readModel.isReady());
+
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        Product product = Product.create("Soon archived", "Archive", Money.of(new BigDecimal("4.00"), "USD"), 3, "Archive");
+        productRepository.save(product);
+        UUID id = product.getId();
+        productRepository.setActive(List.of(id), false);
+        readModel.apply(ProductChange.upsert(productRepository.findById(id).orElseThrow()));
+        assertTrue(readModel.findById(id).isPresent());
+
+        archiveJob.archive();
+
+        assertFalse(readModel.findById(id).isPresent());
+        assertTrue(readModel.findAll().stream().noneMatch(p -> p.getId().equals(id)));
+        List<ProductChange> changes = productRepository.findChangesSince(before, new UUID(0L, 0L), LocalDateTime.now(), 1000);
+        assertTrue(changes.stream().anyMatch(change ->
+            change.getProductId().equals(id) && change.getType() == ProductChange.Type.DELETE));
+    }
+}
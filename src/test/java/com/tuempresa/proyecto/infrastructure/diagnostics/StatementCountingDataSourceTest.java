@@ -0,0 +1,103 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCountingDataSourceTest {
+
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new StatementCountingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:statement-counting;DB_CLOSE_DELAY=-1", "sa", ""));
+        SqlStatementStats.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementStats.clear();
+    }
+
+    @Test
+    void countsEveryExecution() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.executeQuery().close();
+            statement.executeQuery().close();
+        }
+        assertEquals(2, SqlStatementStats.current().getStatements());
+    }
+
+    @Test
+    void unwrapReturnsTheProxyForInterfacesItImplements() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertTrue(connection.isWrapperFor(Connection.class));
+            assertSame(statement, statement.unwrap(Statement.class));
+
+            connection.unwrap(Connection.class).createStatement().execute("SELECT 1");
+            statement.unwrap(Statement.class).execute("SELECT 1");
+        }
+        assertEquals(2, SqlStatementStats.current().getStatements());
+    }
+
+    @Test
+    void navigatingBackToTheConnectionKeepsCounting() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertSame(connection, statement.getConnection());
+            assertSame(connection, connection.getMetaData().getConnection());
+            try (ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                assertSame(statement, resultSet.getStatement());
+            }
+
+            statement.getConnection().createStatement().execute("SELECT 1");
+            connection.getMetaData().getConnection().prepareStatement("SELECT 1").execute();
+        }
+        assertEquals(3, SqlStatementStats.current().getStatements());
+    }
+
+    @Test
+    void propagatingExecutorCountsInTheSubmittingRequest() throws SQLException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            SqlStatementStats request = SqlStatementStats.reset();
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = CompletableFuture.runAsync(this::selectOne, SqlStatementStats.propagating(pool));
+            }
+            CompletableFuture.allOf(futures).join();
+            selectOne();
+
+            assertEquals(9, request.getStatements());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void selectOne() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tuempresa.proyecto.infrastructure.persistence.adapter;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "catalog.read-model.enabled=false")
+class ProductRepositoryAdapterTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void findByIdRange_cursorBeforeFromDoesNotWidenTheRange() {
+        Instant base = Instant.parse("2001-02-03T04:05:06Z");
+        UUID early = save(base);
+        UUID first = save(base.plus(1, ChronoUnit.HOURS));
+        UUID second = save(base.plus(2, ChronoUnit.HOURS));
+
+        UUID from = UuidGenerator.minForTimestamp(base.plus(1, ChronoUnit.HOURS));
+        UUID to = UuidGenerator.minForTimestamp(base.plus(3, ChronoUnit.HOURS));
+
+        assertEquals(List.of(first, second), ids(productRepository.findByIdRange(from, to, early, 10)));
+        assertEquals(List.of(second), ids(productRepository.findByIdRange(from, to, first, 10)));
+    }
+
+    private UUID save(Instant createdAt) {
+        UUID id = new UUID(UuidGenerator.minForTimestamp(createdAt).getMostSignificantBits() | 0x0123L,
+            0x8000000000000001L);
+        LocalDateTime now = LocalDateTime.now();
+        productRepository.save(Product.reconstruct(id, "Range product", null, Money.of(BigDecimal.ONE, "USD"), 1,
+            "Range", now, now, true));
+        return id;
+    }
+
+    private static List<UUID> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
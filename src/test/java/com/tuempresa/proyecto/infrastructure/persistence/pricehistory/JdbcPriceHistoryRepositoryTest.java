@@ -0,0 +1,76 @@
+package com.tuempresa.proyecto.infrastructure.persistence.pricehistory;
+
+import com.tuempresa.proyecto.domain.model.PricePoint;
+import com.tuempresa.proyecto.domain.repository.PriceHistoryRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Los cambios de precio que llegan desordenados se intercalan en el
+ * historial en vez de descartarse.
+ */
+@SpringBootTest(properties = {
+    "catalog.price-history.enabled=false",
+    "catalog.read-model.enabled=false"
+})
+class JdbcPriceHistoryRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Test
+    void lateChange_isInterleaved() {
+        UUID id = UUID.randomUUID();
+        priceHistoryRepository.appendAll(List.of(point(id, 1, "1.00"), point(id, 3, "2.00")));
+
+        // Confirmado después pero efectivo antes: adelanta el cambio a 2.00
+        assertEquals(1, priceHistoryRepository.appendAll(List.of(point(id, 2, "2.00"))));
+
+        assertEquals(List.of("1@1.00", "2@2.00"), series(id));
+    }
+
+    @Test
+    void lateChange_spanningSeveralBlocks_keepsEveryPoint() {
+        UUID id = UUID.randomUUID();
+        int count = 3 * PriceHistoryBlock.MAX_ENTRIES;
+        List<PricePoint> points = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String price = (i % 2 == 0 ? "1" : "2") + "." + String.format("%02d", i % 100);
+            points.add(point(id, 2 * i, price));
+            expected.add((2 * i) + "@" + price);
+        }
+        priceHistoryRepository.appendAll(points);
+
+        assertEquals(1, priceHistoryRepository.appendAll(List.of(point(id, 3, "9.99"))));
+        // Mismo instante que uno guardado: repetido
+        assertEquals(0, priceHistoryRepository.appendAll(List.of(point(id, 4, "8.88"))));
+
+        expected.add(2, "3@9.99");
+        assertEquals(expected, series(id));
+    }
+
+    private List<String> series(UUID id) {
+        return priceHistoryRepository.findSeries(id, T0, T0.plusDays(1), 1000).stream()
+            .map(point -> Duration.between(T0, point.getEffectiveAt()).getSeconds() + "@"
+                + point.getPrice().getAmount().toPlainString())
+            .toList();
+    }
+
+    private static PricePoint point(UUID id, int second, String price) {
+        return new PricePoint(id, Money.of(new BigDecimal(price), "EUR"), T0.plusSeconds(second));
+    }
+}
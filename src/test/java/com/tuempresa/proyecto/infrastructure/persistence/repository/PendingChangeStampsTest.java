@@ -0,0 +1,68 @@
+package com.tuempresa.proyecto.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PendingChangeStampsTest {
+
+    private static final LocalDateTime STAMP = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_789);
+    private static final LocalDateTime LATER = STAMP.plusSeconds(10);
+
+    private final PendingChangeStamps stamps = new PendingChangeStamps();
+
+    @Test
+    void withoutPendingWrites_untilIsUnchanged() {
+        assertEquals(LATER, stamps.settledUntil(LATER));
+    }
+
+    @Test
+    void pendingWrite_holdsTheFeedJustBeforeItsStamp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = new Thread(() -> stamps.write(STAMP, () -> {
+            started.countDown();
+            await(release);
+            return 1;
+        }));
+        writer.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_455_000), stamps.settledUntil(LATER));
+
+        release.countDown();
+        writer.join();
+        assertEquals(LATER, stamps.settledUntil(LATER));
+    }
+
+    @Test
+    void insideTransaction_stampIsReleasedOnCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stamps.write(STAMP, () -> 1);
+            assertTrue(stamps.settledUntil(LATER).isBefore(STAMP));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            assertEquals(LATER, stamps.settledUntil(LATER));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
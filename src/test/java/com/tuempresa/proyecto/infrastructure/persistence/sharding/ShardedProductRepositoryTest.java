@@ -0,0 +1,111 @@
+package com.tuempresa.proyecto.infrastructure.persistence.sharding;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Enrutado del repositorio repartido sobre tres H2 en memoria, sin Spring.
+ */
+class ShardedProductRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    private ShardCluster cluster;
+    private ShardMap shardMap;
+    private ShardedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        String name = UUID.randomUUID().toString();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            urls.add("jdbc:h2:mem:shard-test-" + name + "-" + i + ";DB_CLOSE_DELAY=-1");
+        }
+        cluster = ShardCluster.open(urls, "sa", "", 2, 64, 4);
+        shardMap = cluster.getShardMap();
+        repository = new ShardedProductRepository(cluster.getShards(), shardMap, cluster.getExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    void save_writesOnlyToTheOwnerShard() {
+        for (int i = 0; i < 20; i++) {
+            Product product = product(i);
+            repository.save(product);
+            int owner = shardMap.ownerOf(product.getId());
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(shard == owner, stored(shard, product.getId()), "shard " + shard);
+            }
+        }
+    }
+
+    @Test
+    void bucketBeingMoved_isWrittenToBothShardsAndReadFromTheOwner() {
+        Product product = product(0);
+        int bucket = shardMap.bucketOf(product.getId());
+        int owner = shardMap.ownerOfBucket(bucket);
+        int target = (owner + 1) % SHARDS;
+        shardMap.update(Map.of(bucket, new int[] {owner, target}));
+
+        repository.save(product);
+        assertTrue(stored(owner, product.getId()));
+        assertTrue(stored(target, product.getId()));
+        assertEquals(product.getName(), repository.findById(product.getId()).orElseThrow().getName());
+
+        repository.delete(product.getId());
+        assertFalse(stored(owner, product.getId()));
+        assertFalse(stored(target, product.getId()));
+    }
+
+    @Test
+    void forEachIdAndFindById_coverEveryShard() {
+        Set<UUID> expected = new HashSet<>();
+        int[] perShard = new int[SHARDS];
+        for (int i = 0; i < 60; i++) {
+            Product product = product(i);
+            repository.save(product);
+            expected.add(product.getId());
+            perShard[shardMap.ownerOf(product.getId())]++;
+        }
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertTrue(perShard[shard] > 0, "shard " + shard + " got no products");
+        }
+
+        Set<UUID> seen = new HashSet<>();
+        repository.forEachId(seen::add);
+        assertEquals(expected, seen);
+        for (UUID id : expected) {
+            assertTrue(repository.findById(id).isPresent(), id.toString());
+        }
+        assertEquals(expected.size(), repository.count());
+    }
+
+    private boolean stored(int shard, UUID id) {
+        Integer rows = cluster.getShards().get(shard).jdbc()
+            .queryForObject("SELECT COUNT(*) FROM products WHERE id = ?", Integer.class, id);
+        return rows != null && rows == 1;
+    }
+
+    private static Product product(int i) {
+        return Product.create("Sharded " + i, "Routing", Money.of(new BigDecimal("2.00"), "EUR"), i, "Cat" + (i % 5));
+    }
+}
@@ -0,0 +1,79 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import com.tuempresa.proyecto.domain.model.Product;
+import com.tuempresa.proyecto.domain.repository.ProductRepository;
+import com.tuempresa.proyecto.domain.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Los productos archivados se pueden leer por id pero no modificar: una
+ * escritura los volvería a guardar en products.
+ */
+@SpringBootTest(properties = "catalog.read-model.enabled=false")
+@AutoConfigureMockMvc
+class ArchivedProductEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private UUID archivedId;
+
+    @BeforeEach
+    void archiveProduct() {
+        Product product = Product.create("Archived product", "Old", Money.of(new BigDecimal("9.99"), "USD"), 4, "Archive");
+        productRepository.save(product);
+        archivedId = product.getId();
+        productRepository.setActive(List.of(archivedId), false);
+        assertTrue(productRepository.archiveInactiveBefore(LocalDateTime.now().plusDays(1), 1000).contains(archivedId));
+    }
+
+    @Test
+    void getById_readsTheArchive() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", archivedId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(archivedId.toString()));
+    }
+
+    @Test
+    void writes_doNotSeeArchivedProducts() throws Exception {
+        mockMvc.perform(post("/api/products/{id}/stock", archivedId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\": 1}"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/products/{id}", archivedId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Back\", \"price\": 1.00, \"currency\": \"USD\", \"stock\": 1, \"category\": \"Archive\"}"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/products/{id}", archivedId)
+                .contentType("application/merge-patch+json")
+                .content("{\"stock\": 7}"))
+            .andExpect(status().isNotFound());
+
+        assertFalse(productRepository.findById(archivedId).isPresent());
+        assertEquals(4, productRepository.findByIdIncludingArchived(archivedId).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,60 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "catalog.read-model.enabled=false")
+@AutoConfigureMockMvc
+class ProductChangeFeedEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void malformedCursor_isBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/changes").param("since", cursor("not-a-date|" + UUID.randomUUID())))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/changes").param("since", cursor(LocalDateTime.now() + "|not-a-uuid")))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/changes").param("since", "%%%"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cursorOlderThanTombstoneRetention_isConflict() throws Exception {
+        String old = cursor(LocalDateTime.now().minusDays(31) + "|" + new UUID(0L, 0L));
+        mockMvc.perform(get("/api/products/changes").param("since", old))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void longPoll_isAnsweredAsynchronously() throws Exception {
+        String future = cursor(LocalDateTime.now().plusHours(1) + "|" + new UUID(0L, 0L));
+        MvcResult result = mockMvc.perform(get("/api/products/changes").param("since", future).param("wait", "1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes").isEmpty())
+            .andExpect(jsonPath("$.nextCursor").value(future));
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
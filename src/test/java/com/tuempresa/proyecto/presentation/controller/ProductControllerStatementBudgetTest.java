@@ -0,0 +1,165 @@
+package com.tuempresa.proyecto.presentation.controller;
+
+import com.tuempresa.proyecto.application.service.ProductIdFilter;
+import com.tuempresa.proyecto.domain.util.UuidGenerator;
+import com.tuempresa.proyecto.infrastructure.diagnostics.SqlDiagnosticsFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint de ProductController.
+ *
+ * Cada prueba fija el número exacto de sentencias que ejecuta una petición
+ * (cabecera X-SQL-Statement-Count del modo diagnóstico). Si un cambio añade
+ * una consulta (un N+1, una lectura de más antes de escribir) la prueba falla;
+ * si la quita, hay que bajar el presupuesto aquí.
+ *
+ * El modelo de lectura y la caché de segundo nivel se desactivan para que las
+ * cifras no dependan de si la proyección o la caché ya tienen el producto: lo
+ * que se mide es el acceso a la base de datos.
+ */
+@SpringBootTest(properties = {
+    "catalog.diagnostics.sql.enabled=true",
+    "catalog.read-model.enabled=false",
+    "catalog.cache.second-level.enabled=false",
+    "catalog.cache.query.enabled=false",
+    "catalog.price-history.enabled=false",
+    "catalog.popularity.enabled=false"
+})
+@AutoConfigureMockMvc
+class ProductControllerStatementBudgetTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductIdFilter productIdFilter;
+
+    private UUID productId;
+
+    @BeforeEach
+    void createProduct() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(productJson("Budget product", "10.00", 20)))
+            .andReturn();
+        assertEquals(201, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        Matcher matcher = ID.matcher(result.getResponse().getContentAsString());
+        assertTrue(matcher.find());
+        productId = UUID.fromString(matcher.group(1));
+    }
+
+    @Test
+    void createProduct_budget() throws Exception {
+        assertBudget(post("/api/products")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(productJson("Another product", "5.00", 3)), 201, 2);
+    }
+
+    @Test
+    void getProduct_budget() throws Exception {
+        assertBudget(get("/api/products/{id}", productId), 200, 1);
+    }
+
+    @Test
+    void getProduct_unknownId_isAnsweredWithoutQueries() throws Exception {
+        // El filtro de ids solo descarta ids anteriores a su última carga
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!productIdFilter.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        UUID unknown = UuidGenerator.minForTimestamp(Instant.now().minus(1, ChronoUnit.DAYS));
+        assertBudget(get("/api/products/{id}", unknown), 404, 0);
+    }
+
+    @Test
+    void getAllProducts_budget() throws Exception {
+        assertBudget(get("/api/products"), 200, 1);
+    }
+
+    @Test
+    void getProductsByCreationTime_budget() throws Exception {
+        String from = Instant.now().minus(1, ChronoUnit.HOURS).toString();
+        assertBudget(get("/api/products/created").param("from", from).param("limit", "10"), 200, 1);
+    }
+
+    @Test
+    void searchProductsByPrice_budget() throws Exception {
+        assertBudget(get("/api/products/search")
+            .param("category", "Budget")
+            .param("currency", "USD")
+            .param("limit", "10"), 200, 1);
+    }
+
+    @Test
+    void getProductChanges_budget() throws Exception {
+        assertBudget(get("/api/products/changes").param("limit", "10"), 200, 2);
+    }
+
+    @Test
+    void updateProduct_budget() throws Exception {
+        assertBudget(put("/api/products/{id}", productId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(productJson("Budget product v2", "11.00", 21)), 200, 2);
+    }
+
+    @Test
+    void patchProduct_budget() throws Exception {
+        assertBudget(patch("/api/products/{id}", productId)
+            .contentType("application/merge-patch+json")
+            .content("{\"price\": 12.00}"), 200, 2);
+    }
+
+    @Test
+    void adjustStock_budget() throws Exception {
+        assertBudget(post("/api/products/{id}/stock", productId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"delta\": -2}"), 200, 2);
+    }
+
+    @Test
+    void deleteProduct_budget() throws Exception {
+        assertBudget(delete("/api/products/{id}", productId), 204, 5);
+    }
+
+    private void assertBudget(RequestBuilder request, int expectedStatus, int expectedStatements) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            // El feed de cambios responde de forma asíncrona; las cabeceras llegan con el dispatch
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        String statements = result.getResponse().getHeader(SqlDiagnosticsFilter.STATEMENT_COUNT_HEADER);
+        assertEquals(String.valueOf(expectedStatements), statements, "SQL statements");
+    }
+
+    private static String productJson(String name, String price, int stock) {
+        return "{\"name\": \"" + name + "\", \"description\": \"Statement budget\", \"price\": " + price
+            + ", \"currency\": \"USD\", \"stock\": " + stock + ", \"category\": \"Budget\"}";
+    }
+}
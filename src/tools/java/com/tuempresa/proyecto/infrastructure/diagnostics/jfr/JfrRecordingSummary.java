@@ -0,0 +1,119 @@
+package com.tuempresa.proyecto.infrastructure.diagnostics.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Analizador offline de grabaciones JFR: resume los eventos del catálogo
+ * (casos de uso y llamadas al repositorio) en una distribución de latencia
+ * por operación, ordenada por tiempo total.
+ *
+ * Es una herramienta de línea de comandos, no parte de la aplicación ni de
+ * los benchmarks: vive en src/tools/java, que ningún perfil compila. Solo
+ * depende del JDK y se ejecuta como fichero fuente:
+ * <pre>
+ * java src/tools/java/com/tuempresa/proyecto/infrastructure/diagnostics/jfr/JfrRecordingSummary.java recording.jfr
+ * </pre>
+ * Los percentiles se calculan sobre los eventos grabados, es decir, los que
+ * superan el umbral del perfil usado (ver jfr/catalog.jfc).
+ */
+public final class JfrRecordingSummary {
+
+    private static final String EVENT_PREFIX = "com.tuempresa.proyecto.";
+
+    private JfrRecordingSummary() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrRecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+        Map<String, Operation> operations = new TreeMap<>();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                if (!type.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                String key = type.substring(EVENT_PREFIX.length()) + ' ' + event.getString("operation");
+                operations.computeIfAbsent(key, Operation::new).add(event);
+            }
+        }
+        if (operations.isEmpty()) {
+            System.out.println("No catalog events in " + args[0]);
+            return;
+        }
+        List<Operation> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparingLong(Operation::totalNanos).reversed());
+        System.out.printf("%-60s %8s %10s %10s %10s %10s %10s %8s %10s%n",
+            "operation", "count", "total ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors", "rows/call");
+        for (Operation operation : sorted) {
+            operation.print();
+        }
+    }
+
+    private static final class Operation {
+        private final String name;
+        private long[] durations = new long[64];
+        private int count;
+        private int errors;
+        private long rows;
+        private int rowSamples;
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        private void add(RecordedEvent event) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = event.getDuration().toNanos();
+            String outcome = event.getString("outcome");
+            if (outcome != null && !outcome.equals("OK") && !outcome.equals("NOT_FOUND") && !outcome.equals("CONFLICT")) {
+                errors++;
+            }
+            long eventRows = event.getLong("rows");
+            if (eventRows >= 0) {
+                rows += eventRows;
+                rowSamples++;
+            }
+        }
+
+        private long totalNanos() {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += durations[i];
+            }
+            return total;
+        }
+
+        private void print() {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-60s %8d %10.1f %10.3f %10.3f %10.3f %10.3f %8d %10s%n",
+                name, count, millis(totalNanos()), millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                millis(percentile(sorted, 99)), millis(sorted[count - 1]), errors,
+                rowSamples == 0 ? "-" : String.format("%.1f", (double) rows / rowSamples));
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}